@@ -0,0 +1,98 @@
+package com.fasterxml.jackson.dataformat.benchmarks.csv;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.benchmarks.data.*;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Benchmarks for the CSV read path: raw {@link CsvParser#nextToken} iteration
+ * (from both byte- and char-based sources) and POJO binding.
+ *<p>
+ * Run with {@code -prof gc} to also get bytes-allocated-per-op figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvReadBenchmark
+{
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public DatasetSize size;
+
+    protected CsvMapper _mapper;
+    protected CsvSchema _schema;
+    protected ObjectReader _reader;
+
+    protected byte[] _csvBytes;
+    protected String _csvText;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        _mapper = new CsvMapper();
+        _schema = _mapper.schemaFor(Record.class).withHeader();
+        _reader = _mapper.readerFor(Record.class).with(_schema);
+        _csvBytes = _mapper.writer(_schema).writeValueAsBytes(Datasets.records(size));
+        _csvText = new String(_csvBytes, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int nextTokenFromBytes(Blackhole bh) throws IOException {
+        return _readTokens(bh, _mapper.createParser(_csvBytes));
+    }
+
+    @Benchmark
+    public int nextTokenFromInputStream(Blackhole bh) throws IOException {
+        return _readTokens(bh, _mapper.createParser(new ByteArrayInputStream(_csvBytes)));
+    }
+
+    @Benchmark
+    public int nextTokenFromReader(Blackhole bh) throws IOException {
+        return _readTokens(bh, _mapper.createParser(new StringReader(_csvText)));
+    }
+
+    @Benchmark
+    public int readPojos(Blackhole bh) throws IOException
+    {
+        int count = 0;
+        try (MappingIterator<Record> it = _reader.readValues(_csvBytes)) {
+            while (it.hasNextValue()) {
+                bh.consume(it.nextValue());
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    protected int _readTokens(Blackhole bh, JsonParser p) throws IOException
+    {
+        int count = 0;
+        try {
+            p.setSchema(_schema);
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t == JsonToken.VALUE_STRING) {
+                    bh.consume(p.getText());
+                } else {
+                    bh.consume(t);
+                }
+                ++count;
+            }
+        } finally {
+            p.close();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,85 @@
+package com.fasterxml.jackson.dataformat.benchmarks.csv;
+
+import java.io.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Benchmark for comparing default char-by-char scanning of values with
+ * {@link CsvParser.Feature#USE_BULK_SCANNING}, for different value lengths
+ * (both unquoted and quoted).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvScanBenchmark
+{
+    private final static int DOC_LENGTH = 4 * 1024 * 1024;
+
+    @Param({ "false", "true" })
+    public boolean bulkScanning;
+
+    @Param({ "4", "16", "64", "256" })
+    public int valueLength;
+
+    @Param({ "false", "true" })
+    public boolean quoted;
+
+    protected CsvMapper _mapper;
+    protected String _doc;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        _mapper = CsvMapper.builder()
+                .configure(CsvParser.Feature.USE_BULK_SCANNING, bulkScanning)
+                .build();
+        Random r = new Random(valueLength);
+        StringBuilder sb = new StringBuilder(DOC_LENGTH + 1000);
+        while (sb.length() < DOC_LENGTH) {
+            for (int col = 0; col < 8; ++col) {
+                if (col > 0) {
+                    sb.append(',');
+                }
+                if (quoted) {
+                    sb.append('"');
+                }
+                // vary length a bit, to avoid perfectly predictable branches
+                for (int i = 0, len = valueLength / 2 + r.nextInt(valueLength); i < len; ++i) {
+                    sb.append((char) ('a' + r.nextInt(26)));
+                }
+                if (quoted) {
+                    sb.append('"');
+                }
+            }
+            sb.append('\n');
+        }
+        _doc = sb.toString();
+    }
+
+    @Benchmark
+    public int scan(Blackhole bh) throws IOException
+    {
+        int count = 0;
+        try (JsonParser p = _mapper.createParser(new StringReader(_doc))) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t == JsonToken.VALUE_STRING) {
+                    bh.consume(p.getText());
+                }
+                ++count;
+            }
+        }
+        return count;
+    }
+}
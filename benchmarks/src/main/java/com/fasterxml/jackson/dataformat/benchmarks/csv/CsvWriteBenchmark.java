@@ -0,0 +1,123 @@
+package com.fasterxml.jackson.dataformat.benchmarks.csv;
+
+import java.io.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.benchmarks.data.*;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Benchmarks for the CSV write path: low-level {@link CsvGenerator} row writes
+ * (both in schema order and out of order, latter of which requires buffering
+ * by the encoder), and POJO serialization.
+ *<p>
+ * Run with {@code -prof gc} to also get bytes-allocated-per-op figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvWriteBenchmark
+{
+    @Param({ "SMALL", "MEDIUM", "LARGE" })
+    public DatasetSize size;
+
+    protected CsvMapper _mapper;
+    protected CsvSchema _schema;
+    protected ObjectWriter _writer;
+
+    protected List<Record> _records;
+
+    protected ByteArrayOutputStream _bytes;
+    protected StringWriter _chars;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        _mapper = new CsvMapper();
+        _schema = _mapper.schemaFor(Record.class).withHeader();
+        _writer = _mapper.writer(_schema);
+        _records = Datasets.records(size);
+        // size buffers to avoid measuring growth of target
+        byte[] doc = _writer.writeValueAsBytes(_records);
+        _bytes = new ByteArrayOutputStream(doc.length + 1000);
+        _chars = new StringWriter(doc.length + 1000);
+    }
+
+    @Benchmark
+    public int writeRowsInOrderToOutputStream() throws IOException
+    {
+        _bytes.reset();
+        try (JsonGenerator g = _mapper.createGenerator(_bytes)) {
+            _writeRows(g, false);
+        }
+        return _bytes.size();
+    }
+
+    @Benchmark
+    public int writeRowsInOrderToWriter() throws IOException
+    {
+        _chars.getBuffer().setLength(0);
+        try (JsonGenerator g = _mapper.createGenerator(_chars)) {
+            _writeRows(g, false);
+        }
+        return _chars.getBuffer().length();
+    }
+
+    @Benchmark
+    public int writeRowsOutOfOrderToOutputStream() throws IOException
+    {
+        _bytes.reset();
+        try (JsonGenerator g = _mapper.createGenerator(_bytes)) {
+            _writeRows(g, true);
+        }
+        return _bytes.size();
+    }
+
+    @Benchmark
+    public int writePojos() throws IOException
+    {
+        _bytes.reset();
+        _writer.writeValue(_bytes, _records);
+        return _bytes.size();
+    }
+
+    protected void _writeRows(JsonGenerator g, boolean reverse) throws IOException
+    {
+        g.setSchema(_schema);
+        for (Record r : _records) {
+            g.writeStartObject();
+            if (reverse) {
+                g.writeStringField("comment", r.comment);
+                g.writeNumberField("timestamp", r.timestamp);
+                g.writeBooleanField("active", r.active);
+                g.writeNumberField("ratio", r.ratio);
+                g.writeNumberField("price", r.price);
+                g.writeNumberField("quantity", r.quantity);
+                g.writeStringField("status", r.status);
+                g.writeStringField("country", r.country);
+                g.writeStringField("name", r.name);
+                g.writeNumberField("id", r.id);
+            } else {
+                g.writeNumberField("id", r.id);
+                g.writeStringField("name", r.name);
+                g.writeStringField("country", r.country);
+                g.writeStringField("status", r.status);
+                g.writeNumberField("quantity", r.quantity);
+                g.writeNumberField("price", r.price);
+                g.writeNumberField("ratio", r.ratio);
+                g.writeBooleanField("active", r.active);
+                g.writeNumberField("timestamp", r.timestamp);
+                g.writeStringField("comment", r.comment);
+            }
+            g.writeEndObject();
+        }
+    }
+}
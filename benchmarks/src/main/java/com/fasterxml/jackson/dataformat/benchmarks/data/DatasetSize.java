@@ -0,0 +1,22 @@
+package com.fasterxml.jackson.dataformat.benchmarks.data;
+
+/**
+ * Standard dataset sizes used as JMH {@code @Param} values, so that
+ * per-document overhead (small) and steady-state throughput (large)
+ * can be tracked separately.
+ */
+public enum DatasetSize
+{
+    SMALL(100),
+    MEDIUM(10_000),
+    LARGE(250_000)
+    ;
+
+    private final int _rows;
+
+    private DatasetSize(int rows) {
+        _rows = rows;
+    }
+
+    public int rows() { return _rows; }
+}
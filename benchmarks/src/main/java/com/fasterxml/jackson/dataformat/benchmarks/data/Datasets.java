@@ -0,0 +1,87 @@
+package com.fasterxml.jackson.dataformat.benchmarks.data;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generator for deterministic benchmark datasets: same size always produces
+ * exactly the same content, so that results are comparable across runs
+ * and versions.
+ */
+public final class Datasets
+{
+    private final static long SEED = 0x5EEDL;
+
+    private final static String[] COUNTRIES = {
+        "US", "CA", "MX", "BR", "GB", "DE", "FR", "ES", "IT", "FI",
+        "SE", "NO", "PL", "IN", "CN", "JP", "KR", "AU", "NZ", "ZA"
+    };
+
+    private final static String[] STATUSES = {
+        "NEW", "PENDING", "SHIPPED", "DELIVERED", "CANCELLED", "RETURNED"
+    };
+
+    private final static String[] WORDS = {
+        "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "golf",
+        "hotel", "india", "juliett", "kilo", "lima", "mike", "november",
+        "oscar", "papa", "quebec", "romeo", "sierra", "tango", "zürich",
+        "münchen", "ångström", "東京"
+    };
+
+    private Datasets() { }
+
+    public static List<Record> records(DatasetSize size) {
+        return records(size.rows());
+    }
+
+    public static List<Record> records(int count)
+    {
+        Random r = new Random(SEED);
+        List<Record> result = new ArrayList<>(count);
+        long timestamp = 1500000000000L;
+        for (int i = 0; i < count; ++i) {
+            Record rec = new Record();
+            rec.id = 1000000L + i;
+            rec.name = _words(r, 1 + r.nextInt(3), ' ');
+            rec.country = COUNTRIES[r.nextInt(COUNTRIES.length)];
+            rec.status = STATUSES[r.nextInt(STATUSES.length)];
+            rec.quantity = r.nextInt(10000);
+            // prices with 2 decimals; ratios with "full" precision
+            rec.price = r.nextInt(10000000) / 100.0;
+            rec.ratio = r.nextDouble();
+            rec.active = r.nextBoolean();
+            timestamp += r.nextInt(60000);
+            rec.timestamp = timestamp;
+            // about every 4th comment has to be quoted (separator, quote)
+            switch (r.nextInt(8)) {
+            case 0:
+                rec.comment = "";
+                break;
+            case 1:
+                rec.comment = _words(r, 3, ',');
+                break;
+            case 2:
+                rec.comment = "\""+_words(r, 2, ' ')+"\" said "+_words(r, 1, ' ');
+                break;
+            default:
+                rec.comment = _words(r, 2 + r.nextInt(6), ' ');
+            }
+            result.add(rec);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static String _words(Random r, int count, char sep)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; ++i) {
+            if (i > 0) {
+                sb.append(sep);
+            }
+            sb.append(WORDS[r.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,26 @@
+package com.fasterxml.jackson.dataformat.benchmarks.data;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Flat value type used by all benchmarks; shape is loosely modelled after
+ * typical export feeds, mixing low-cardinality text columns, free-form text
+ * (some of which needs quoting), integral and floating-point values.
+ */
+@JsonPropertyOrder({ "id", "name", "country", "status", "quantity",
+    "price", "ratio", "active", "timestamp", "comment" })
+public class Record
+{
+    public long id;
+    public String name;
+    public String country;
+    public String status;
+    public int quantity;
+    public double price;
+    public double ratio;
+    public boolean active;
+    public long timestamp;
+    public String comment;
+
+    public Record() { }
+}
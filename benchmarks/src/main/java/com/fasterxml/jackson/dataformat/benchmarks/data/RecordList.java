@@ -0,0 +1,18 @@
+package com.fasterxml.jackson.dataformat.benchmarks.data;
+
+import java.util.List;
+
+/**
+ * Wrapper needed for formats that can not have a sequence of values as the
+ * root-level value (Java Properties).
+ */
+public class RecordList
+{
+    public List<Record> records;
+
+    public RecordList() { }
+
+    public RecordList(List<Record> r) {
+        records = r;
+    }
+}
@@ -0,0 +1,78 @@
+package com.fasterxml.jackson.dataformat.benchmarks.javaprop;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.benchmarks.data.*;
+import com.fasterxml.jackson.dataformat.javaprop.JavaPropsMapper;
+
+/**
+ * Benchmarks for {@link com.fasterxml.jackson.dataformat.javaprop.JavaPropsParser}
+ * token streaming, and POJO reads and writes via {@link JavaPropsMapper}.
+ *<p>
+ * Run with {@code -prof gc} to also get bytes-allocated-per-op figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JavaPropsBenchmark
+{
+    // Properties tokenization is quadratic-ish wrt path depth, no need for LARGE
+    @Param({ "SMALL", "MEDIUM" })
+    public DatasetSize size;
+
+    protected JavaPropsMapper _mapper;
+
+    protected RecordList _records;
+    protected byte[] _propsBytes;
+
+    protected ByteArrayOutputStream _bytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        _mapper = new JavaPropsMapper();
+        _records = new RecordList(Datasets.records(size));
+        _propsBytes = _mapper.writeValueAsBytes(_records);
+        _bytes = new ByteArrayOutputStream(_propsBytes.length + 1000);
+    }
+
+    @Benchmark
+    public int readTokens(Blackhole bh) throws IOException
+    {
+        int count = 0;
+        try (JsonParser p = _mapper.createParser(_propsBytes)) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t == JsonToken.VALUE_STRING) {
+                    bh.consume(p.getText());
+                } else {
+                    bh.consume(t);
+                }
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public Object readPojos() throws IOException {
+        return _mapper.readValue(_propsBytes, RecordList.class);
+    }
+
+    @Benchmark
+    public int writePojos() throws IOException
+    {
+        _bytes.reset();
+        _mapper.writeValue(_bytes, _records);
+        return _bytes.size();
+    }
+}
@@ -0,0 +1,105 @@
+package com.fasterxml.jackson.dataformat.benchmarks.yaml;
+
+import java.io.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.dataformat.benchmarks.data.*;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+
+/**
+ * Benchmarks for {@link com.fasterxml.jackson.dataformat.yaml.YAMLParser} and
+ * {@link com.fasterxml.jackson.dataformat.yaml.YAMLGenerator}: token streaming
+ * in both directions, as well as full POJO round-trips.
+ *<p>
+ * Run with {@code -prof gc} to also get bytes-allocated-per-op figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class YAMLBenchmark
+{
+    @Param({ "SMALL", "MEDIUM" })
+    public DatasetSize size;
+
+    protected YAMLMapper _mapper;
+    protected JavaType _listType;
+
+    protected List<Record> _records;
+    protected byte[] _yamlBytes;
+
+    protected ByteArrayOutputStream _bytes;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        _mapper = new YAMLMapper();
+        _listType = _mapper.getTypeFactory().constructCollectionType(List.class, Record.class);
+        _records = Datasets.records(size);
+        _yamlBytes = _mapper.writeValueAsBytes(_records);
+        _bytes = new ByteArrayOutputStream(_yamlBytes.length + 1000);
+    }
+
+    @Benchmark
+    public int readTokens(Blackhole bh) throws IOException
+    {
+        int count = 0;
+        try (JsonParser p = _mapper.createParser(_yamlBytes)) {
+            JsonToken t;
+            while ((t = p.nextToken()) != null) {
+                if (t.isScalarValue()) {
+                    bh.consume(p.getText());
+                } else {
+                    bh.consume(t);
+                }
+                ++count;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int copyTokens() throws IOException
+    {
+        _bytes.reset();
+        try (JsonParser p = _mapper.createParser(_yamlBytes)) {
+            try (JsonGenerator g = _mapper.createGenerator(_bytes)) {
+                while (p.nextToken() != null) {
+                    g.copyCurrentEvent(p);
+                }
+            }
+        }
+        return _bytes.size();
+    }
+
+    @Benchmark
+    public Object readPojos() throws IOException {
+        return _mapper.readValue(_yamlBytes, _listType);
+    }
+
+    @Benchmark
+    public int writePojos() throws IOException
+    {
+        _bytes.reset();
+        _mapper.writeValue(_bytes, _records);
+        return _bytes.size();
+    }
+
+    @Benchmark
+    public Object roundTrip() throws IOException
+    {
+        _bytes.reset();
+        _mapper.writeValue(_bytes, _records);
+        return _mapper.readValue(_bytes.toByteArray(), _listType);
+    }
+}
@@ -0,0 +1,327 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+
+import com.fasterxml.jackson.dataformat.csv.impl.CsvDecoder;
+import com.fasterxml.jackson.dataformat.csv.impl.TextBuffer;
+
+/**
+ * Reader that reads rows of a CSV document in batches, filling one
+ * {@link CsvColumnVector} per column: values are decoded directly from the
+ * input buffer into primitive arrays (or dictionary codes, for Strings),
+ * without constructing tokens, boxed values or per-value Strings.
+ * This is much more efficient than binding rows one at a time when
+ * data is processed column-by-column.
+ *<p>
+ * Reader is constructed for a {@link CsvParser} that has its schema set
+ * but that has not yet been used for reading: schema (or header line, if
+ * one is used) defines columns. Vector type of a column is determined by
+ * {@link CsvSchema.ColumnType} of the column (see
+ * {@link CsvColumnVector.Type#defaultFor}) unless overridden using
+ * {@link #withVectorType}. Projection and row filters of the schema are
+ * applied; values of extra columns are ignored, and missing values are
+ * considered nulls.
+ *<p>
+ * Dictionaries of String vectors are retained between batches, up to
+ * a maximum size (see {@link #withMaxDictionarySize}), so that memory used
+ * is bounded even for columns with lots of distinct values.
+ *<pre>
+ *   CsvParser p = (CsvParser) mapper.createParser(file);
+ *   p.setSchema(CsvSchema.emptySchema().withHeader());
+ *   try (CsvBatchReader r = new CsvBatchReader(p).withVectorType("id", CsvColumnVector.Type.LONG)) {
+ *       int rows;
+ *       while ((rows = r.next(4096)) &gt; 0) {
+ *           long[] ids = ((CsvColumnVector.LongVector) r.getVector("id")).getValues();
+ *           // ...
+ *       }
+ *   }
+ *</pre>
+ *
+ * @since 3.0
+ */
+public class CsvBatchReader
+    implements Closeable
+{
+    /**
+     * Default maximum number of entries retained in dictionary of a String
+     * vector between batches
+     */
+    public final static int DEFAULT_MAX_DICTIONARY_SIZE = 0x10000;
+
+    protected final CsvParser _parser;
+
+    protected final CsvDecoder _reader;
+
+    protected final TextBuffer _textBuffer;
+
+    protected final Map<String, CsvColumnVector.Type> _vectorTypes = new HashMap<>();
+
+    protected int _maxDictionarySize = DEFAULT_MAX_DICTIONARY_SIZE;
+
+    /**
+     * Vectors by column index; <code>null</code> for columns excluded by projection.
+     * Constructed lazily, once header line (if any) has been read.
+     */
+    protected CsvColumnVector[] _vectorsByColumn;
+
+    protected List<CsvColumnVector> _vectors;
+
+    protected boolean _endOfInput;
+
+    /**
+     * Number of rows read so far (including ones skipped by row filters),
+     * used for error messages
+     */
+    protected int _rowCount;
+
+    public CsvBatchReader(CsvParser parser)
+    {
+        if (parser instanceof NonBlockingCsvParser) {
+            throw new IllegalArgumentException("Non-blocking parsers not supported");
+        }
+        if (parser.currentToken() != null) {
+            throw new IllegalStateException("Parser must not have been used for reading");
+        }
+        _parser = parser;
+        _reader = parser._reader;
+        _textBuffer = parser._textBuffer;
+    }
+
+    /**
+     * Method for overriding type of vector to use for given column
+     * (for example, {@link CsvColumnVector.Type#INT} or
+     * {@link CsvColumnVector.Type#LONG} for integral values); must be called
+     * before reading the first batch.
+     */
+    public CsvBatchReader withVectorType(String columnName, CsvColumnVector.Type type)
+    {
+        if (_vectorsByColumn != null) {
+            throw new IllegalStateException("Can not change vector types after reading has started");
+        }
+        _vectorTypes.put(columnName, type);
+        return this;
+    }
+
+    /**
+     * Method for specifying how many entries dictionaries of String vectors
+     * may have before new ones are started (at the beginning of the next batch);
+     * must be called before reading the first batch. {@link Integer#MAX_VALUE}
+     * means that dictionaries are retained for the whole document, and 0 that
+     * a new dictionary is used for every batch.
+     * Default is {@link #DEFAULT_MAX_DICTIONARY_SIZE}.
+     */
+    public CsvBatchReader withMaxDictionarySize(int maxSize)
+    {
+        if (_vectorsByColumn != null) {
+            throw new IllegalStateException("Can not change dictionary size after reading has started");
+        }
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Invalid maxSize ("+maxSize+"): can not be negative");
+        }
+        _maxDictionarySize = maxSize;
+        return this;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for reading the next batch of rows into vectors.
+     *
+     * @param maxRows Maximum number of rows to read
+     *
+     * @return Number of rows read; 0 if end of input was reached
+     */
+    public int next(int maxRows) throws IOException
+    {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("Invalid maxRows ("+maxRows+"): must be positive");
+        }
+        if (_vectorsByColumn == null) {
+            _startDocument();
+        }
+        for (CsvColumnVector vector : _vectors) {
+            vector.reset(maxRows);
+        }
+        int rows = 0;
+        while ((rows < maxRows) && !_endOfInput) {
+            if (_readRow()) {
+                ++rows;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * @return Vectors for all columns, except ones excluded by projection,
+     *    in column order; available after the first batch is read
+     */
+    public List<CsvColumnVector> getVectors() {
+        return (_vectors == null) ? Collections.<CsvColumnVector>emptyList() : _vectors;
+    }
+
+    /**
+     * @return Vector for column with given name, if any (columns excluded
+     *    by projection have no vectors); available after the first batch is read
+     */
+    public CsvColumnVector getVector(String columnName)
+    {
+        if (_vectors != null) {
+            for (CsvColumnVector vector : _vectors) {
+                if (vector.getName().equals(columnName)) {
+                    return vector;
+                }
+            }
+        }
+        return null;
+    }
+
+    public CsvSchema getSchema() {
+        return _parser.getSchema();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _parser.close();
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    /**
+     * Method called before reading the first batch, to handle header line
+     * and other settings similar to what {@link CsvParser} does for its first
+     * token; and to construct vectors.
+     */
+    protected void _startDocument() throws IOException
+    {
+        final CsvSchema origSchema = _parser.getSchema();
+        _reader.skipLeadingComments();
+        if (origSchema.usesHeader()) {
+            _parser._readHeaderLine();
+            _reader.skipLeadingComments();
+        }
+        if (origSchema.skipsFirstDataRow()) {
+            _reader.skipLine();
+            _reader.skipLeadingComments();
+        }
+        final CsvSchema schema = _parser.getSchema();
+        final int count = schema.size();
+        if (count == 0) {
+            _parser._reportCsvMappingError("Can not read batches without column definitions");
+        }
+        _vectorsByColumn = new CsvColumnVector[count];
+        _vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            CsvSchema.Column column = schema.column(i);
+            if ((_parser._excludedColumns != null) && _parser._excludedColumns[i]) {
+                continue;
+            }
+            CsvColumnVector.Type type = _vectorTypes.get(column.getName());
+            if (type == null) {
+                type = CsvColumnVector.Type.defaultFor(column.getType());
+            }
+            CsvColumnVector vector = _createVector(column.getName(), type);
+            _vectorsByColumn[i] = vector;
+            _vectors.add(vector);
+        }
+        _vectors = Collections.unmodifiableList(_vectors);
+        _endOfInput = !_reader.hasMoreInput();
+    }
+
+    protected CsvColumnVector _createVector(String name, CsvColumnVector.Type type)
+    {
+        switch (type) {
+        case INT:
+            return new CsvColumnVector.IntVector(name);
+        case LONG:
+            return new CsvColumnVector.LongVector(name);
+        case DOUBLE:
+            return new CsvColumnVector.DoubleVector(name);
+        case BOOLEAN:
+            return new CsvColumnVector.BooleanVector(name);
+        default:
+            return new CsvColumnVector.StringVector(name, _maxDictionarySize);
+        }
+    }
+
+    /**
+     * Method called to read a single row, if one matches row filters
+     * (if any).
+     *
+     * @return True if a row was read; false if it was skipped
+     */
+    protected boolean _readRow() throws IOException
+    {
+        final CsvParser p = _parser;
+        final CsvColumnVector[] vectors = _vectorsByColumn;
+        final int count = vectors.length;
+        ++_rowCount;
+        int i = 0;
+
+        p._filteredValueCount = 0;
+        if (p.getSchema().getRowFilters() != null) {
+            if (!p._matchesRowFilters()) {
+                _endOfInput = !_reader.startNewLine();
+                return false;
+            }
+            for (final int end = p._filteredValueCount; i < end; ++i) {
+                if (vectors[i] != null) {
+                    _append(vectors[i], p._filteredChars, p._filteredOffsets[i],
+                            p._filteredLengths[i]);
+                }
+            }
+        }
+        boolean rowEnded = false;
+        for (; i < count; ++i) {
+            final CsvColumnVector vector = vectors[i];
+            if (vector == null) { // excluded by projection
+                if (!_reader.skipValue()) {
+                    rowEnded = true;
+                    break;
+                }
+                continue;
+            }
+            if (!_reader.nextValue()) {
+                rowEnded = true;
+                break;
+            }
+            _append(vector, _textBuffer.getTextBuffer(), _textBuffer.getTextOffset(),
+                    _textBuffer.size());
+        }
+        if (rowEnded) { // missing values are nulls
+            for (; i < count; ++i) {
+                if (vectors[i] != null) {
+                    vectors[i].appendNull();
+                }
+            }
+        } else { // ignore extra values, if any
+            while (_reader.skipValue()) { }
+        }
+        _endOfInput = !_reader.startNewLine();
+        return true;
+    }
+
+    private void _append(CsvColumnVector vector, char[] buf, int offset, int len)
+        throws IOException
+    {
+        final String nullValue = _parser._nullValue;
+        if ((nullValue != null) && (len == nullValue.length())
+                && CsvRowFilter._equals(nullValue, buf, offset, len)) {
+            vector.appendNull();
+            return;
+        }
+        if (!vector.appendValue(buf, offset, len)) {
+            _parser._reportCsvMappingError("Invalid value for column \"%s\" (%s) of row #%d: \"%s\"",
+                    vector.getName(), vector.getType(), _rowCount, new String(buf, offset, len));
+        }
+    }
+}
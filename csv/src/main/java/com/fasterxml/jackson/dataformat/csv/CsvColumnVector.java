@@ -0,0 +1,524 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.dataformat.csv.impl.NumberInput;
+
+/**
+ * Container for values of a single column for a batch of rows, filled by
+ * {@link CsvBatchReader}: values are stored in primitive arrays (or, for
+ * Strings, as dictionary codes), along with a bitmap that indicates
+ * which values are nulls (empty, or equal to null value of the schema).
+ *<p>
+ * Vectors are reused between batches, so contents are only valid until
+ * the next batch is read. Arrays returned by accessors may be longer than
+ * the number of rows in the batch ({@link #size()}).
+ *
+ * @since 3.0
+ */
+public abstract class CsvColumnVector
+{
+    /**
+     * Types of vectors, that is, representations of values
+     */
+    public enum Type {
+        INT,
+        LONG,
+        DOUBLE,
+        BOOLEAN,
+        /**
+         * String values, stored as codes of dictionary that may be shared by
+         * multiple batches (see {@link StringVector#getDictionary})
+         */
+        STRING;
+
+        /**
+         * Method for determining default vector type for values of
+         * given column type.
+         */
+        public static Type defaultFor(CsvSchema.ColumnType columnType) {
+            switch (columnType) {
+            case NUMBER:
+                return DOUBLE;
+            case BOOLEAN:
+                return BOOLEAN;
+            default:
+                return STRING;
+            }
+        }
+    }
+
+    protected final static int INITIAL_CAPACITY = 64;
+
+    protected final String _name;
+
+    /**
+     * Bitmap with a bit set for each row with null value
+     */
+    protected long[] _nulls = new long[1];
+
+    /**
+     * Number of rows in the current batch
+     */
+    protected int _size;
+
+    protected CsvColumnVector(String name) {
+        _name = name;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public String getName() { return _name; }
+
+    public abstract Type getType();
+
+    /**
+     * @return Number of rows in the current batch
+     */
+    public int size() { return _size; }
+
+    public boolean isNull(int row) {
+        return (_nulls[row >> 6] & (1L << row)) != 0L;
+    }
+
+    /**
+     * @return Bitmap with a bit set for each row with null value
+     *    (bit <code>row &amp; 63</code> of entry <code>row &gt;&gt; 6</code>)
+     */
+    public long[] getNulls() { return _nulls; }
+
+    /*
+    /**********************************************************************
+    /* Internal methods for CsvBatchReader
+    /**********************************************************************
+     */
+
+    protected void reset(int capacity)
+    {
+        _size = 0;
+        final int words = (capacity + 63) >> 6;
+        if (_nulls.length < words) {
+            _nulls = new long[words];
+        } else {
+            Arrays.fill(_nulls, 0, words, 0L);
+        }
+        _ensureCapacity(capacity);
+    }
+
+    protected abstract void _ensureCapacity(int capacity);
+
+    protected void appendNull() {
+        final int row = _size++;
+        _nulls[row >> 6] |= (1L << row);
+    }
+
+    /**
+     * Method called to append a value read from a column. For non-String
+     * types value is trimmed, and empty values as well as literal "null"
+     * are considered nulls.
+     *
+     * @return False if value is not valid for this vector
+     */
+    protected boolean appendValue(char[] buf, int offset, int len)
+    {
+        int start = offset;
+        int end = offset + len;
+        while ((start < end) && (buf[start] <= ' ')) {
+            ++start;
+        }
+        while ((end > start) && (buf[end-1] <= ' ')) {
+            --end;
+        }
+        len = end - start;
+        if ((len == 0) || ((len == 4) && (buf[start] == 'n') && (buf[start+1] == 'u')
+                && (buf[start+2] == 'l') && (buf[start+3] == 'l'))) {
+            appendNull();
+            return true;
+        }
+        return append(buf, start, len);
+    }
+
+    /**
+     * Method called to append non-null (and trimmed) value
+     *
+     * @return False if value is not valid for this vector
+     */
+    protected abstract boolean append(char[] buf, int offset, int len);
+
+    /*
+    /**********************************************************************
+    /* Implementations
+    /**********************************************************************
+     */
+
+    public static class IntVector extends CsvColumnVector
+    {
+        protected int[] _values = new int[INITIAL_CAPACITY];
+
+        public IntVector(String name) { super(name); }
+
+        @Override
+        public Type getType() { return Type.INT; }
+
+        public int[] getValues() { return _values; }
+
+        public int get(int row) { return _values[row]; }
+
+        @Override
+        protected void _ensureCapacity(int capacity) {
+            if (_values.length < capacity) {
+                _values = new int[capacity];
+            }
+        }
+
+        @Override
+        protected void appendNull() {
+            _values[_size] = 0;
+            super.appendNull();
+        }
+
+        @Override
+        protected boolean append(char[] buf, int offset, int len) {
+            final long l = LongVector._parseLong(buf, offset, len);
+            if ((l < Integer.MIN_VALUE) || (l > Integer.MAX_VALUE)) {
+                return false;
+            }
+            _values[_size++] = (int) l;
+            return true;
+        }
+    }
+
+    public static class LongVector extends CsvColumnVector
+    {
+        /**
+         * Marker returned for invalid values: note that it is outside
+         * of int range, and valid long values that equal it are verified
+         */
+        private final static long INVALID = Long.MIN_VALUE;
+
+        protected long[] _values = new long[INITIAL_CAPACITY];
+
+        public LongVector(String name) { super(name); }
+
+        @Override
+        public Type getType() { return Type.LONG; }
+
+        public long[] getValues() { return _values; }
+
+        public long get(int row) { return _values[row]; }
+
+        @Override
+        protected void _ensureCapacity(int capacity) {
+            if (_values.length < capacity) {
+                _values = new long[capacity];
+            }
+        }
+
+        @Override
+        protected void appendNull() {
+            _values[_size] = 0L;
+            super.appendNull();
+        }
+
+        @Override
+        protected boolean append(char[] buf, int offset, int len) {
+            final long l = _parseLong(buf, offset, len);
+            if (l == INVALID) {
+                if (!_isMinLong(buf, offset, len)) {
+                    return false;
+                }
+            }
+            _values[_size++] = l;
+            return true;
+        }
+
+        /**
+         * @return Value parsed, or {@link #INVALID} if value is not a valid
+         *    (or is too big) integral number
+         */
+        static long _parseLong(char[] buf, int offset, int len)
+        {
+            int i = offset;
+            final int end = offset + len;
+            boolean neg = false;
+            if (i < end) {
+                if (buf[i] == '-') {
+                    neg = true;
+                    ++i;
+                } else if (buf[i] == '+') {
+                    ++i;
+                }
+            }
+            final int digits = end - i;
+            if ((digits == 0) || (digits > 19)) {
+                return INVALID;
+            }
+            for (int j = i; j < end; ++j) {
+                char c = buf[j];
+                if ((c < '0') || (c > '9')) {
+                    return INVALID;
+                }
+            }
+            if (digits <= 9) {
+                int v = NumberInput.parseInt(buf, i, digits);
+                return neg ? -v : v;
+            }
+            if (digits <= 18) {
+                long v = NumberInput.parseLong(buf, i, digits);
+                return neg ? -v : v;
+            }
+            if (!NumberInput.inLongRange(buf, i, digits, neg)) {
+                return INVALID;
+            }
+            // 19 digits: may only be parsed via negative accumulation
+            long v = 0L;
+            for (int j = i; j < end; ++j) {
+                v = (v * 10L) - (buf[j] - '0');
+            }
+            return neg ? v : -v;
+        }
+
+        private static boolean _isMinLong(char[] buf, int offset, int len) {
+            return new String(buf, offset, len).equals(String.valueOf(Long.MIN_VALUE));
+        }
+    }
+
+    public static class DoubleVector extends CsvColumnVector
+    {
+        protected double[] _values = new double[INITIAL_CAPACITY];
+
+        public DoubleVector(String name) { super(name); }
+
+        @Override
+        public Type getType() { return Type.DOUBLE; }
+
+        public double[] getValues() { return _values; }
+
+        public double get(int row) { return _values[row]; }
+
+        @Override
+        protected void _ensureCapacity(int capacity) {
+            if (_values.length < capacity) {
+                _values = new double[capacity];
+            }
+        }
+
+        @Override
+        protected void appendNull() {
+            _values[_size] = 0.0;
+            super.appendNull();
+        }
+
+        @Override
+        protected boolean append(char[] buf, int offset, int len) {
+            try {
+                _values[_size] = NumberInput.parseDouble(buf, offset, len);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            ++_size;
+            return true;
+        }
+    }
+
+    public static class BooleanVector extends CsvColumnVector
+    {
+        protected boolean[] _values = new boolean[INITIAL_CAPACITY];
+
+        public BooleanVector(String name) { super(name); }
+
+        @Override
+        public Type getType() { return Type.BOOLEAN; }
+
+        public boolean[] getValues() { return _values; }
+
+        public boolean get(int row) { return _values[row]; }
+
+        @Override
+        protected void _ensureCapacity(int capacity) {
+            if (_values.length < capacity) {
+                _values = new boolean[capacity];
+            }
+        }
+
+        @Override
+        protected void appendNull() {
+            _values[_size] = false;
+            super.appendNull();
+        }
+
+        @Override
+        protected boolean append(char[] buf, int offset, int len) {
+            if ((len == 4) && CsvRowFilter._equals("true", buf, offset, len)) {
+                _values[_size++] = true;
+                return true;
+            }
+            if ((len == 5) && CsvRowFilter._equals("false", buf, offset, len)) {
+                _values[_size++] = false;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Vector for String values, which are stored as codes for a dictionary:
+     * dictionary is retained between batches (so same values have the same
+     * codes) until it grows past maximum size, after which a new one is
+     * started for the next batch. Strings are only constructed for values not
+     * yet in the dictionary.
+     */
+    public static class StringVector extends CsvColumnVector
+    {
+        protected int[] _codes = new int[INITIAL_CAPACITY];
+
+        protected final List<String> _dictionary = new ArrayList<String>();
+
+        /**
+         * Open-addressing hash table of dictionary codes (plus one; 0 marks
+         * empty slot)
+         */
+        protected int[] _table = new int[16];
+
+        /**
+         * Number of dictionary entries after which a new dictionary is
+         * started for the next batch
+         */
+        protected final int _maxDictionarySize;
+
+        /**
+         * Number of times a new dictionary has been started
+         */
+        protected int _dictionaryGeneration;
+
+        public StringVector(String name) {
+            this(name, Integer.MAX_VALUE);
+        }
+
+        /**
+         * @param maxDictionarySize Number of dictionary entries after which
+         *    a new dictionary is started for the next batch; 0 to use a new
+         *    dictionary for every batch
+         */
+        public StringVector(String name, int maxDictionarySize) {
+            super(name);
+            _maxDictionarySize = maxDictionarySize;
+        }
+
+        @Override
+        public Type getType() { return Type.STRING; }
+
+        /**
+         * @return Dictionary codes of values; <code>-1</code> for nulls
+         */
+        public int[] getCodes() { return _codes; }
+
+        public int getCode(int row) { return _codes[row]; }
+
+        /**
+         * Accessor for dictionary of values, indexed by code. Dictionary contains
+         * all values of the current batch, as well as values of earlier
+         * batches since dictionary was last started: if it has more entries than
+         * maximum dictionary size when a batch is to be read, it is cleared
+         * first (and {@link #getDictionaryGeneration()} incremented). So codes of
+         * different batches are only comparable if generation is the same; and
+         * dictionary may have up to maximum size plus batch size entries.
+         *
+         * @return Dictionary of values, indexed by code
+         */
+        public List<String> getDictionary() { return _dictionary; }
+
+        /**
+         * @return Number of times dictionary has been cleared, to start a new one
+         */
+        public int getDictionaryGeneration() { return _dictionaryGeneration; }
+
+        public String get(int row) {
+            final int code = _codes[row];
+            return (code < 0) ? null : _dictionary.get(code);
+        }
+
+        @Override
+        protected void reset(int capacity) {
+            if (_dictionary.size() > _maxDictionarySize) {
+                _dictionary.clear();
+                _table = new int[16];
+                ++_dictionaryGeneration;
+            }
+            super.reset(capacity);
+        }
+
+        @Override
+        protected void _ensureCapacity(int capacity) {
+            if (_codes.length < capacity) {
+                _codes = new int[capacity];
+            }
+        }
+
+        @Override
+        protected boolean appendValue(char[] buf, int offset, int len) {
+            // Strings are neither trimmed nor coerced
+            return append(buf, offset, len);
+        }
+
+        @Override
+        protected void appendNull() {
+            _codes[_size] = -1;
+            super.appendNull();
+        }
+
+        @Override
+        protected boolean append(char[] buf, int offset, int len)
+        {
+            // same hash code as String.hashCode() would calculate
+            int hash = 0;
+            for (int i = 0; i < len; ++i) {
+                hash = (31 * hash) + buf[offset + i];
+            }
+            int[] table = _table;
+            int mask = table.length - 1;
+            int ix = _mix(hash) & mask;
+            for (int entry; (entry = table[ix]) != 0; ix = (ix + 1) & mask) {
+                String value = _dictionary.get(entry - 1);
+                if ((value.length() == len) && (value.hashCode() == hash)
+                        && CsvRowFilter._equals(value, buf, offset, len)) {
+                    _codes[_size++] = entry - 1;
+                    return true;
+                }
+            }
+            final int code = _dictionary.size();
+            _dictionary.add(new String(buf, offset, len));
+            table[ix] = code + 1;
+            // keep load factor at most 50%
+            if ((code + 1) * 2 > table.length) {
+                _rehash();
+            }
+            _codes[_size++] = code;
+            return true;
+        }
+
+        private void _rehash()
+        {
+            final int[] table = new int[_table.length * 2];
+            final int mask = table.length - 1;
+            for (int code = 0, end = _dictionary.size(); code < end; ++code) {
+                int ix = _mix(_dictionary.get(code).hashCode()) & mask;
+                while (table[ix] != 0) {
+                    ix = (ix + 1) & mask;
+                }
+                table[ix] = code + 1;
+            }
+            _table = table;
+        }
+
+        private static int _mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
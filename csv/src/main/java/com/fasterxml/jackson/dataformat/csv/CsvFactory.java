@@ -1,6 +1,9 @@
 package com.fasterxml.jackson.dataformat.csv;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.TextualTSFactory;
@@ -8,7 +11,7 @@ import com.fasterxml.jackson.core.io.IOContext;
 
 import com.fasterxml.jackson.dataformat.csv.impl.CsvIOContext;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvParserBootstrapper;
-import com.fasterxml.jackson.dataformat.csv.impl.UTF8Writer;
+import com.fasterxml.jackson.dataformat.csv.impl.MappedFileInputStream;
 
 public class CsvFactory
     extends TextualTSFactory
@@ -159,10 +162,10 @@ public class CsvFactory
     @Override
     public boolean canUseCharArrays() { return false; }
 
+    // Yes, with UTF-8 encoded content; see {@link NonBlockingCsvParser}
     @Override
     public boolean canParseAsync() {
-        // 30-Sep-2017, tatu: No async parsing yet
-        return false;
+        return true;
     }
 
     /*
@@ -217,6 +220,42 @@ public class CsvFactory
     /******************************************************
      */
 
+    /**
+     * Method for constructing parser for reading contents of given file,
+     * which is memory-mapped (in windows of up to 1 gigabyte) instead of read
+     * using {@link FileInputStream}: this avoids a system call per read buffer
+     * as well as an extra copy of content.
+     *
+     * @since 3.0
+     */
+    @SuppressWarnings("resource")
+    public CsvParser createParser(ObjectReadContext readCtxt, Path file) throws IOException
+    {
+        IOContext ioCtxt = _createContext(file, true);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return _createParser(readCtxt, ioCtxt, new MappedFileInputStream(channel, true));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Method for constructing parser for reading contents of given file channel,
+     * from its current position to the end: contents are memory-mapped, similar
+     * to {@link #createParser(ObjectReadContext, Path)}.
+     * Channel is closed when parser is closed only if
+     * {@link JsonParser.Feature#AUTO_CLOSE_SOURCE} is enabled.
+     *
+     * @since 3.0
+     */
+    public CsvParser createParser(ObjectReadContext readCtxt, FileChannel channel) throws IOException
+    {
+        IOContext ioCtxt = _createContext(channel, false);
+        return _createParser(readCtxt, ioCtxt, new MappedFileInputStream(channel, true));
+    }
+
     /**
      * Overridable factory method that actually instantiates desired parser.
      */
@@ -271,6 +310,25 @@ public class CsvFactory
         return _unsupported();
     }
 
+    /**
+     * Non-blocking parsers are supported for UTF-8 encoded content:
+     * content is fed using {@link com.fasterxml.jackson.core.async.ByteArrayFeeder}
+     * (or {@link NonBlockingCsvParser#feedInput(java.nio.ByteBuffer)}).
+     *
+     * @since 3.0
+     */
+    @Override
+    public NonBlockingCsvParser createNonBlockingByteArrayParser(ObjectReadContext readCtxt)
+        throws IOException
+    {
+        IOContext ioCtxt = _createContext(null, false);
+        ioCtxt.setEncoding(JsonEncoding.UTF8);
+        return new NonBlockingCsvParser(readCtxt, (CsvIOContext) ioCtxt,
+                readCtxt.getParserFeatures(_parserFeatures),
+                readCtxt.getFormatReadFeatures(_formatParserFeatures),
+                _getSchema(readCtxt));
+    }
+
     private final CsvSchema _getSchema(ObjectReadContext readCtxt) {
         FormatSchema sch = readCtxt.getSchema();
         if (sch == null) {
@@ -303,7 +361,7 @@ public class CsvFactory
         return new CsvGenerator(writeCtxt, ioCtxt,
                 writeCtxt.getGeneratorFeatures(_generatorFeatures),
                 writeCtxt.getFormatWriteFeatures(_formatGeneratorFeatures),
-                new UTF8Writer(ioCtxt, out), _getSchema(writeCtxt));
+                out, _getSchema(writeCtxt));
     }
 
     private final CsvSchema _getSchema(ObjectWriteContext writeCtxt) {
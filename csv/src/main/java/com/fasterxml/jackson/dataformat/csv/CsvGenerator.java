@@ -10,6 +10,7 @@ import com.fasterxml.jackson.core.base.GeneratorBase;
 import com.fasterxml.jackson.core.json.JsonWriteContext;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvEncoder;
+import com.fasterxml.jackson.dataformat.csv.impl.UTF8CsvEncoder;
 
 public class CsvGenerator extends GeneratorBase
 {
@@ -71,7 +72,28 @@ public class CsvGenerator extends GeneratorBase
          *<p>
          * Default value is false so that quotes are doubled as necessary, not escaped.
          */
-        ESCAPE_QUOTE_CHAR_WITH_ESCAPE_CHAR(false)
+        ESCAPE_QUOTE_CHAR_WITH_ESCAPE_CHAR(false),
+
+        /**
+         * Feature that determines whether {@link #copyCurrentEvent} (and so
+         * also {@link #copyCurrentStructure}), when copying String values
+         * from a {@link CsvParser} that uses the same column separator, quote
+         * and escape characters, writes the value exactly as it appears in
+         * input (still quoted and escaped, if it was), without decoding and
+         * re-encoding it. This speeds up jobs that read CSV, modify some of
+         * the columns and write CSV again.
+         *<p>
+         * Note that raw values are copied as is: settings like
+         * {@link #ALWAYS_QUOTE_STRINGS}, or trimming of values by parser,
+         * do not affect them.
+         * If raw contents are not available (for example, when value spans
+         * input buffer boundary), value is copied normally.
+         *<p>
+         * Default value is false, so values are always re-encoded.
+         *
+         * @since 3.0
+         */
+        COPY_RAW_VALUES(false)
         ;
 
         protected final boolean _defaultState;
@@ -208,6 +230,23 @@ public class CsvGenerator extends GeneratorBase
         _writer = new CsvEncoder(ioCtxt, csvFeatures, out, schema);
     }
 
+    /**
+     * Constructor used for byte-based output: content is UTF-8 encoded
+     * directly, without an intermediate {@link Writer}.
+     *
+     * @since 3.0
+     */
+    public CsvGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt,
+            int generatorFeatures, int csvFeatures,
+            OutputStream out, CsvSchema schema)
+    {
+        super(writeCtxt, generatorFeatures);
+        _ioContext = ioCtxt;
+        _formatFeatures = csvFeatures;
+        _schema = schema;
+        _writer = new UTF8CsvEncoder(ioCtxt, csvFeatures, out, schema);
+    }
+
     public CsvGenerator(ObjectWriteContext writeCtxt, IOContext ioCtxt,
             int generatorFeatures, int csvFeatures,
             CsvEncoder csvWriter)
@@ -648,8 +687,39 @@ public class CsvGenerator extends GeneratorBase
         _verifyValueWrite("write Raw value");
         if (!_skipValue) {
             // NOTE: ignore array stuff
-            _writer.writeNonEscaped(_columnIndex(), new String(text, offset, len));
+            _writer.writeNonEscaped(_columnIndex(), text, offset, len);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Output method implementations, copying
+    /**********************************************************
+     */
+
+    @Override
+    public void copyCurrentEvent(JsonParser p) throws IOException
+    {
+        if (Feature.COPY_RAW_VALUES.enabledIn(_formatFeatures)
+                && (p.currentToken() == JsonToken.VALUE_STRING)
+                && (p instanceof CsvParser) && _arraySeparator.isEmpty()
+                && _sameDialect(((CsvParser) p).getSchema())) {
+            _verifyValueWrite("write String value");
+            if (!_skipValue) {
+                final int column = _columnIndex();
+                if (!((CsvParser) p)._writeRawValue(_writer, column)) {
+                    _writer.write(column, p.getText());
+                }
+            }
+            return;
         }
+        super.copyCurrentEvent(p);
+    }
+
+    private boolean _sameDialect(CsvSchema input) {
+        return (input.getColumnSeparator() == _schema.getColumnSeparator())
+                && (input.getQuoteChar() == _schema.getQuoteChar())
+                && (input.getEscapeChar() == _schema.getEscapeChar());
     }
 
     /*
@@ -1,6 +1,11 @@
 package com.fasterxml.jackson.dataformat.csv;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -267,6 +272,56 @@ public class CsvMapper extends ObjectMapper
         return readerFor(type).with(typedSchemaFor(type));
     }
 
+    /**
+     * Convenience method which is functionally equivalent to:
+     *<pre>
+     *  reader(pojoType).withSchema(schemaWithHeader().withProjection(projectionFor(pojoType)));
+     *</pre>
+     * that is, constructs a {@link ObjectReader} for reading documents that
+     * have a header line, and that only decodes values of columns that
+     * specified type binds: values of all other columns are skipped.
+     *
+     * @since 3.0
+     */
+    public ObjectReader readerWithProjectionFor(Class<?> pojoType)
+    {
+        JavaType type = constructType(pojoType);
+        // sanity check: not useful for structured types, since
+        // schema type will need to differ from data-bind type
+        if (type.isArrayType() || type.isCollectionLikeType()) {
+            throw new IllegalArgumentException("Type can NOT be a Collection or array type");
+        }
+        return readerFor(type).with(schemaWithHeader().withProjection(projectionFor(type)));
+    }
+
+    /**
+     * Convenience method that is equivalent to:
+     *<pre>
+     *  rowReaderFor(pojoType, schemaFor(pojoType));
+     *</pre>
+     *
+     * @since 3.0
+     */
+    public <T> CsvRowReader<T> rowReaderFor(Class<T> pojoType) {
+        return rowReaderFor(pojoType, schemaFor(pojoType));
+    }
+
+    /**
+     * Method for constructing a {@link CsvRowReader} that binds rows to values
+     * of given POJO type positionally, using mutators resolved once for
+     * columns of given schema (or header line), instead of general-purpose
+     * deserializers. Only POJOs with properties of scalar types are supported;
+     * see {@link CsvRowReader} for details.
+     *
+     * @throws IllegalArgumentException if given type can not be read by
+     *    {@link CsvRowReader}
+     *
+     * @since 3.0
+     */
+    public <T> CsvRowReader<T> rowReaderFor(Class<T> pojoType, CsvSchema schema) {
+        return CsvRowReader.construct(this, pojoType, schema);
+    }
+
     /*
     /**********************************************************************
     /* Additional ObjectWriter factory methods
@@ -317,6 +372,33 @@ public class CsvMapper extends ObjectMapper
         return writerFor(type).with(typedSchemaFor(type));
     }
 
+    /**
+     * Convenience method that is equivalent to:
+     *<pre>
+     *  rowWriterFor(pojoType, schemaFor(pojoType));
+     *</pre>
+     *
+     * @since 3.0
+     */
+    public <T> CsvRowWriter<T> rowWriterFor(Class<T> pojoType) {
+        return rowWriterFor(pojoType, schemaFor(pojoType));
+    }
+
+    /**
+     * Method for constructing a {@link CsvRowWriter} that writes values of
+     * given POJO type as rows, using accessors resolved once for given schema,
+     * instead of general-purpose serializers. Only POJOs with properties
+     * of scalar types are supported; see {@link CsvRowWriter} for details.
+     *
+     * @throws IllegalArgumentException if given type has properties that
+     *    can not be written by {@link CsvRowWriter}
+     *
+     * @since 3.0
+     */
+    public <T> CsvRowWriter<T> rowWriterFor(Class<T> pojoType, CsvSchema schema) {
+        return CsvRowWriter.construct(this, pojoType, schema);
+    }
+
     /*
     /**********************************************************************
     /* CsvSchema construction; overrides, new methods
@@ -385,6 +467,76 @@ public class CsvMapper extends ObjectMapper
         return _schemaFor(constructType(pojoTypeRef.getType()), _typedSchemas, true);
     }
 
+    /**
+     * Method that can be used to determine set of column names that given
+     * POJO type binds, to be used as projection with
+     * {@link CsvSchema#withProjection(Set)}: parser will then skip values
+     * of all other columns without decoding them. Names are those of
+     * columns of {@link #schemaFor(JavaType)}.
+     *
+     * @since 3.0
+     */
+    public Set<String> projectionFor(JavaType pojoType) {
+        CsvSchema schema = schemaFor(pojoType);
+        Set<String> names = new LinkedHashSet<String>();
+        for (int i = 0, end = schema.size(); i < end; ++i) {
+            names.add(schema.columnName(i));
+        }
+        return names;
+    }
+
+    /**
+     * @since 3.0
+     */
+    public final Set<String> projectionFor(Class<?> pojoType) {
+        return projectionFor(constructType(pojoType));
+    }
+
+    /*
+    /**********************************************************************
+    /* Parallel reading
+    /**********************************************************************
+     */
+
+    /**
+     * Convenience method that is equivalent to:
+     *<pre>
+     *  readValuesParallel(reader, schema, file, parallelism, true);
+     *</pre>
+     *
+     * @since 3.0
+     */
+    public <T> Stream<T> readValuesParallel(ObjectReader reader, CsvSchema schema,
+            Path file, int parallelism)
+        throws IOException
+    {
+        return readValuesParallel(reader, schema, file, parallelism, true);
+    }
+
+    /**
+     * Method for reading all rows of given CSV file as values of type given
+     * reader is configured to bind to, using specified number of threads:
+     * file is split in chunks at record boundaries (taking into account
+     * linefeeds within quoted values), and chunks are bound concurrently.
+     * Header line, if schema uses one, is read before splitting.
+     *<p>
+     * Content must be UTF-8 encoded. Returned {@link Stream} is sequential
+     * (concurrency is handled internally) and should be closed if not fully
+     * consumed, to release file handle and worker threads.
+     * See {@link CsvParallelReader} for details.
+     *
+     * @param ordered Whether values are to be returned in the order they
+     *    appear in the file; if not, order in which chunks are completed
+     *
+     * @since 3.0
+     */
+    public <T> Stream<T> readValuesParallel(ObjectReader reader, CsvSchema schema,
+            Path file, int parallelism, boolean ordered)
+        throws IOException
+    {
+        return CsvParallelReader.read(reader, schema, file, parallelism, ordered);
+    }
+
     /*
     /**********************************************************************
     /* Internal methods
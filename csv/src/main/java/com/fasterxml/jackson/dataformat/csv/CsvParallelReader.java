@@ -0,0 +1,514 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.impl.CsvRecordScanner;
+import com.fasterxml.jackson.dataformat.csv.impl.FileChannelInputStream;
+
+/**
+ * Helper class that implements reading of CSV files by splitting them in
+ * chunks of bytes, and binding chunks concurrently using a
+ * {@link ForkJoinPool}. Usually accessed using
+ * {@link CsvMapper#readValuesParallel(ObjectReader, CsvSchema, Path, int, boolean)}.
+ *<p>
+ * The tricky part is finding record boundaries, since linefeeds within quoted
+ * values do not end records: this is done in two passes. First, each chunk is
+ * scanned (concurrently) from all possible scanner states, to find end state
+ * and location of the first record start for each; since scans from different
+ * start states typically converge almost immediately, this is only slightly
+ * more expensive than a single scan. Then actual start states of chunks are
+ * resolved sequentially (which is cheap), which gives exact record boundaries.
+ *<p>
+ * Limitations: content must be UTF-8 (or 7-bit ASCII) encoded; and if any of
+ * special characters (separator, quote, escape) is non-ASCII, file is read
+ * as a single chunk.
+ *
+ * @since 3.0
+ */
+public final class CsvParallelReader<T>
+    implements Iterator<T>, AutoCloseable
+{
+    private final static int MIN_CHUNK_SIZE = 1024 * 1024;
+
+    private final static int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Number of chunks to create per thread, for better load balancing
+     */
+    private final static int CHUNKS_PER_THREAD = 4;
+
+    private final static int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectReader _reader;
+
+    private final FileChannel _channel;
+
+    private final ForkJoinPool _pool;
+
+    private final boolean _ordered;
+
+    /**
+     * Maximum number of chunks being bound (or waiting to be consumed) at any
+     * given point: limits amount of memory needed.
+     */
+    private final int _maxInFlight;
+
+    /**
+     * Byte offsets of record boundaries that chunks consist of, such that
+     * chunk <code>i</code> spans from <code>_boundaries[i]</code> (inclusive)
+     * to <code>_boundaries[i+1]</code> (exclusive).
+     */
+    private long[] _boundaries;
+
+    private int _nextChunk;
+
+    private final ArrayDeque<Future<List<T>>> _pending = new ArrayDeque<>();
+
+    private final CompletionService<List<T>> _completed;
+
+    private Iterator<T> _current = Collections.emptyIterator();
+
+    private boolean _closed;
+
+    private CsvParallelReader(ObjectReader reader, FileChannel channel,
+            int parallelism, boolean ordered)
+    {
+        _reader = reader;
+        _channel = channel;
+        _pool = new ForkJoinPool(parallelism);
+        _ordered = ordered;
+        _maxInFlight = parallelism * 2;
+        _completed = ordered ? null : new ExecutorCompletionService<List<T>>(_pool);
+    }
+
+    /**
+     * Method for reading all rows of given file, in chunks bound concurrently by
+     * specified number of threads.
+     *
+     * @param reader Reader to use for binding rows; must have value type set
+     * @param schema Schema to use; header line (if schema indicates there is one)
+     *    is read first, and resulting schema is used for all chunks
+     * @param file CSV file to read
+     * @param parallelism Number of threads to use
+     * @param ordered Whether values should be returned in the order they appear in
+     *    the file (true); or in order in which chunks are bound (false), which
+     *    may improve throughput
+     *
+     * @return Stream of values; must be closed if not fully consumed, to
+     *    release file and threads
+     */
+    public static <T> Stream<T> read(ObjectReader reader, CsvSchema schema,
+            Path file, int parallelism, boolean ordered)
+        throws IOException
+    {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, was "+parallelism);
+        }
+        reader = reader.with(schema).without(CsvParser.Feature.WRAP_AS_ARRAY);
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        CsvParallelReader<T> result = null;
+        try {
+            final long size = channel.size();
+            // First things first: need to read header (if any) to get actual schema,
+            // and parser to find out about features affecting record boundaries
+            CsvSchema resolved;
+            CsvRecordScanner scanner;
+            try (MappingIterator<T> it = reader.readValues(new FileChannelInputStream(channel, 0L, size))) {
+                CsvParser p = (CsvParser) it.getParser();
+                resolved = p.getSchema();
+                scanner = new CsvRecordScanner(resolved.getColumnSeparator(),
+                        resolved.getQuoteChar(), resolved.getEscapeChar(),
+                        p.isEnabled(JsonParser.Feature.ALLOW_YAML_COMMENTS) || resolved.allowsComments(),
+                        p.isEnabled(CsvParser.Feature.TRIM_SPACES));
+            }
+            final CsvSchema chunkSchema = resolved.withoutHeader().withSkipFirstDataRow(false);
+            result = new CsvParallelReader<T>(reader.with(chunkSchema), channel, parallelism, ordered);
+            int skipped = 0;
+            if (schema.usesHeader()) {
+                ++skipped;
+            }
+            if (schema.skipsFirstDataRow()) {
+                ++skipped;
+            }
+            // with non-ASCII special characters, content must be decoded to find
+            // record boundaries, and can not be split at arbitrary positions
+            final boolean splittable = (resolved.getColumnSeparator() < 0x80)
+                    && (resolved.getQuoteChar() < 0x80) && (resolved.getEscapeChar() < 0x80);
+            final long dataStart = result._findDataStart(scanner, size, skipped, !splittable);
+            result._boundaries = result._findBoundaries(scanner, dataStart, size,
+                    splittable ? parallelism : 1);
+        } catch (IOException | RuntimeException e) {
+            if (result == null) {
+                channel.close();
+            } else {
+                result.close();
+            }
+            throw e;
+        }
+        final CsvParallelReader<T> it = result;
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(it,
+                ordered ? Spliterator.ORDERED : 0);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(it::close);
+    }
+
+    /*
+    /**********************************************************************
+    /* Iterator implementation
+    /**********************************************************************
+     */
+
+    @Override
+    public boolean hasNext()
+    {
+        while (!_current.hasNext()) {
+            if (_closed) {
+                return false;
+            }
+            List<T> values = _nextChunkValues();
+            if (values == null) {
+                close();
+                return false;
+            }
+            _current = values.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next()
+    {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return _current.next();
+    }
+
+    @Override
+    public void close()
+    {
+        if (_closed) {
+            return;
+        }
+        _closed = true;
+        for (Future<?> f : _pending) {
+            f.cancel(true);
+        }
+        _pending.clear();
+        _current = Collections.emptyIterator();
+        _pool.shutdownNow();
+        try {
+            _channel.close();
+        } catch (IOException e) { }
+    }
+
+    private List<T> _nextChunkValues()
+    {
+        final int chunks = _boundaries.length - 1;
+        while ((_nextChunk < chunks) && (_pending.size() < _maxInFlight)) {
+            final long start = _boundaries[_nextChunk];
+            final long end = _boundaries[++_nextChunk];
+            Callable<List<T>> task = () -> _bindChunk(start, end);
+            _pending.add(_ordered ? _pool.submit(task) : _completed.submit(task));
+        }
+        if (_pending.isEmpty()) {
+            return null;
+        }
+        try {
+            Future<List<T>> f;
+            if (_ordered) {
+                f = _pending.removeFirst();
+            } else {
+                f = _completed.take();
+                _pending.remove(f);
+            }
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted while waiting for chunk"));
+        } catch (ExecutionException e) {
+            close();
+            Throwable t = e.getCause();
+            if (t instanceof IOException) {
+                throw new UncheckedIOException((IOException) t);
+            }
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new RuntimeException(t);
+        }
+    }
+
+    private List<T> _bindChunk(long start, long end) throws IOException
+    {
+        List<T> values = new ArrayList<>();
+        try (MappingIterator<T> it = _reader.readValues(new FileChannelInputStream(_channel, start, end))) {
+            it.readAll(values);
+        }
+        return values;
+    }
+
+    /*
+    /**********************************************************************
+    /* Record boundary detection
+    /**********************************************************************
+     */
+
+    /**
+     * Helper method for skipping possible BOM, as well as given number of records
+     * (header line, skipped first data row) in the beginning of the file.
+     *
+     * @param decode Whether UTF-8 content is to be decoded before scanning
+     *    (needed if any of special characters is non-ASCII)
+     */
+    private long _findDataStart(CsvRecordScanner scanner, long size, int records,
+            boolean decode)
+        throws IOException
+    {
+        final byte[] buf = new byte[SCAN_BUFFER_SIZE];
+        int count = _read(buf, 0L, size);
+        long pos = 0L;
+        if ((count >= 3) && (buf[0] == (byte) 0xEF) && (buf[1] == (byte) 0xBB)
+                && (buf[2] == (byte) 0xBF)) {
+            pos = 3L;
+        }
+        if (records == 0) {
+            return pos;
+        }
+        int state = CsvRecordScanner.STATE_LINE_START;
+        long bufStart = 0L;
+        int ptr = (int) pos;
+        while (count > 0) {
+            while (ptr < count) {
+                final int start = ptr;
+                int c = buf[ptr++];
+                if (c < 0) {
+                    if (decode) {
+                        final int needed = CsvRecordScanner.utf8Length(c);
+                        if (needed == 1) { // invalid, will be reported by decoder
+                            c &= 0xFF;
+                        } else if ((start + needed) > count) {
+                            // split by end of buffer; read again starting with it
+                            // (unless truncated by end of file)
+                            if ((bufStart + count) < size) {
+                                ptr = start;
+                                break;
+                            }
+                            c &= 0xFF;
+                        } else {
+                            c &= (0xFF >> (needed + 1));
+                            while (ptr < (start + needed)) {
+                                c = (c << 6) | (buf[ptr++] & 0x3F);
+                            }
+                        }
+                    } else {
+                        c &= 0xFF;
+                    }
+                }
+                final int result = scanner.next(state, c);
+                state = result & CsvRecordScanner.STATE_MASK;
+                if (result != state) {
+                    if (--records == 0) {
+                        return _recordStart(result, bufStart + start);
+                    }
+                }
+            }
+            bufStart += ptr;
+            ptr = 0;
+            count = _read(buf, bufStart, size);
+        }
+        return size;
+    }
+
+    /**
+     * Method that splits content between given offsets into chunks, and
+     * determines record boundaries closest to nominal chunk boundaries.
+     */
+    private long[] _findBoundaries(final CsvRecordScanner scanner, long start, long end,
+            int parallelism)
+        throws IOException
+    {
+        final long dataSize = end - start;
+        if (dataSize <= 0L) {
+            return new long[] { start };
+        }
+        if ((parallelism == 1) || (dataSize <= MIN_CHUNK_SIZE)) {
+            return new long[] { start, end };
+        }
+        final long chunkSize = Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE,
+                dataSize / (parallelism * CHUNKS_PER_THREAD)));
+        final int chunks = (int) ((dataSize + chunkSize - 1) / chunkSize);
+        List<Callable<ChunkTransitions>> tasks = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; ++i) {
+            final long chunkStart = start + i * chunkSize;
+            final long chunkEnd = Math.min(end, chunkStart + chunkSize);
+            tasks.add(() -> _scanChunk(scanner, chunkStart, chunkEnd));
+        }
+        List<ChunkTransitions> transitions = new ArrayList<>(chunks);
+        try {
+            for (Future<ChunkTransitions> f : _pool.invokeAll(tasks)) {
+                transitions.add(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while scanning for record boundaries");
+        } catch (ExecutionException e) {
+            Throwable t = e.getCause();
+            if (t instanceof IOException) {
+                throw (IOException) t;
+            }
+            throw new RuntimeException(t);
+        }
+
+        // And then we can resolve actual state at start of each chunk
+        long[] boundaries = new long[chunks + 1];
+        int count = 0;
+        boundaries[count++] = start;
+        int state = CsvRecordScanner.STATE_LINE_START;
+        for (int i = 1; i < chunks; ++i) {
+            state = transitions.get(i-1).endStates[state];
+            long recordStart = transitions.get(i).firstRecords[state];
+            // may not have any records starting within chunk
+            if ((recordStart > boundaries[count-1]) && (recordStart < end)) {
+                boundaries[count++] = recordStart;
+            }
+        }
+        boundaries[count++] = end;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * Method that scans given chunk starting from all possible scanner states
+     * simultaneously; however, scans that end up in same state are merged,
+     * so usually only a couple of scans need to be tracked.
+     */
+    private ChunkTransitions _scanChunk(CsvRecordScanner scanner, long start, long end)
+        throws IOException
+    {
+        final int stateCount = CsvRecordScanner.STATE_COUNT;
+        // current state of each distinct scan
+        final int[] scanStates = new int[stateCount];
+        // which scan each start state is tracked by
+        final int[] scanOf = new int[stateCount];
+        final long[] firstRecords = new long[stateCount];
+        for (int i = 0; i < stateCount; ++i) {
+            scanStates[i] = i;
+            scanOf[i] = i;
+            firstRecords[i] = -1L;
+        }
+        int scans = stateCount;
+        final byte[] buf = new byte[SCAN_BUFFER_SIZE];
+        long bufStart = start;
+        int count;
+
+        while ((count = _read(buf, bufStart, end)) > 0) {
+            for (int i = 0; i < count; ++i) {
+                final int c = buf[i] & 0xFF;
+                for (int scan = 0; scan < scans; ++scan) {
+                    final int result = scanner.next(scanStates[scan], c);
+                    final int state = result & CsvRecordScanner.STATE_MASK;
+                    scanStates[scan] = state;
+                    if (result != state) {
+                        final long recordStart = _recordStart(result, bufStart + i);
+                        for (int s = 0; s < stateCount; ++s) {
+                            if ((scanOf[s] == scan) && (firstRecords[s] < 0L)) {
+                                firstRecords[s] = recordStart;
+                            }
+                        }
+                    }
+                }
+                if (scans > 1) {
+                    scans = _mergeScans(scanStates, scanOf, scans);
+                }
+            }
+            bufStart += count;
+        }
+        final int[] endStates = new int[stateCount];
+        for (int s = 0; s < stateCount; ++s) {
+            endStates[s] = scanStates[scanOf[s]];
+        }
+        return new ChunkTransitions(endStates, firstRecords);
+    }
+
+    private static int _mergeScans(int[] scanStates, int[] scanOf, int scans)
+    {
+        for (int a = 0; a < scans; ++a) {
+            for (int b = scans-1; b > a; --b) {
+                if (scanStates[a] == scanStates[b]) {
+                    // merge 'b' into 'a', move last scan in place of 'b'
+                    final int last = --scans;
+                    for (int s = 0; s < scanOf.length; ++s) {
+                        if (scanOf[s] == b) {
+                            scanOf[s] = a;
+                        } else if (scanOf[s] == last) {
+                            scanOf[s] = b;
+                        }
+                    }
+                    scanStates[b] = scanStates[last];
+                }
+            }
+        }
+        return scans;
+    }
+
+    private static long _recordStart(int scanResult, long offset)
+    {
+        // If ended by linefeed, record starts after it; if by preceding CR,
+        // at current character
+        return ((scanResult & CsvRecordScanner.FLAG_RECORD_END) != 0) ? (offset + 1) : offset;
+    }
+
+    private int _read(byte[] buf, long offset, long end) throws IOException
+    {
+        final int len = (int) Math.min(buf.length, end - offset);
+        if (len <= 0) {
+            return 0;
+        }
+        ByteBuffer bb = ByteBuffer.wrap(buf, 0, len);
+        while (bb.hasRemaining()) {
+            if (_channel.read(bb, offset + bb.position()) < 0) {
+                break;
+            }
+        }
+        return bb.position();
+    }
+
+    /**
+     * Result of scanning a chunk from all possible start states
+     */
+    private final static class ChunkTransitions
+    {
+        /**
+         * Scanner state at the end of chunk, indexed by start state
+         */
+        public final int[] endStates;
+
+        /**
+         * Offset of the first record start within chunk (or -1 if none),
+         * indexed by start state
+         */
+        public final long[] firstRecords;
+
+        public ChunkTransitions(int[] endStates, long[] firstRecords) {
+            this.endStates = endStates;
+            this.firstRecords = firstRecords;
+        }
+    }
+}
@@ -3,15 +3,22 @@ package com.fasterxml.jackson.dataformat.csv;
 import java.io.*;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.ParserMinimalBase;
 import com.fasterxml.jackson.core.json.DupDetector;
 import com.fasterxml.jackson.core.json.JsonReadContext;
 import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.dataformat.csv.impl.CharArrayView;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvDecoder;
+import com.fasterxml.jackson.dataformat.csv.impl.CsvEncoder;
 import com.fasterxml.jackson.dataformat.csv.impl.CsvIOContext;
 import com.fasterxml.jackson.dataformat.csv.impl.TextBuffer;
+import com.fasterxml.jackson.dataformat.csv.impl.UTF8CsvDecoder;
+import com.fasterxml.jackson.dataformat.csv.impl.ValueCanonicalizer;
 
 /**
  * {@link JsonParser} implementation used to expose CSV documents
@@ -111,6 +118,35 @@ public class CsvParser
          * Feature is disabled by default.
          */
         INSERT_NULLS_FOR_MISSING_COLUMNS(false),
+
+        /**
+         * Feature that determines whether decoder locates separators, quotes,
+         * escapes and linefeeds by scanning multiple characters at a time,
+         * copying "plain" runs between them in bulk, instead of checking one
+         * character at a time. Bulk scanning is typically faster for documents with
+         * longer values (and/or longer unquoted runs within quoted values), but
+         * may not help (or even be slightly slower) with very short values.
+         *<p>
+         * Feature is disabled by default.
+         *
+         * @since 3.0
+         */
+        USE_BULK_SCANNING(false),
+
+        /**
+         * Feature that determines whether String values of columns are
+         * canonicalized, so that repeating values of a column (like country,
+         * status or currency codes) share a single {@link String} instance
+         * instead of constructing a new one for every row. Each column keeps
+         * a small, size-capped table of values; columns that turn out to have
+         * many distinct values are not canonicalized further.
+         * Only short values are canonicalized.
+         *<p>
+         * Feature is disabled by default.
+         *
+         * @since 3.0
+         */
+        CANONICALIZE_VALUES(false),
         ;
 
         final boolean _defaultState;
@@ -244,6 +280,32 @@ public class CsvParser
      */
     protected int _columnCount = 0;
 
+    /**
+     * Flags for columns (by index) whose values are to be skipped, as per
+     * projection of the schema; <code>null</code> if all columns are exposed.
+     *
+     * @since 3.0
+     */
+    protected boolean[] _excludedColumns;
+
+    /**
+     * Row filters of the schema, by index of the column they apply to (up to
+     * the last filtered column); <code>null</code> if there are no filters,
+     * or if they could not be resolved to columns.
+     *
+     * @since 3.0
+     */
+    protected CsvRowFilter[][] _rowFiltersByColumn;
+
+    /**
+     * Name of the column of a row filter that schema does not define, if any
+     * (if so, {@link #_rowFiltersByColumn} is <code>null</code>): reported
+     * as an error when reading the first row.
+     *
+     * @since 3.0
+     */
+    protected String _unknownFilterColumn;
+
     /*
     /**********************************************************************
     /* State
@@ -265,14 +327,80 @@ public class CsvParser
 
     /**
      * String value for the current column, if accessed.
+     * If {@link #_currentValueBuffered} is set, may be null until
+     * value is first accessed as String.
      */
     protected String _currentValue;
 
+    /**
+     * Flag set when value of the current column is held in the text buffer,
+     * and String value is only to be constructed if and when needed.
+     *
+     * @since 3.0
+     */
+    protected boolean _currentValueBuffered;
+
+    /**
+     * Index of the column of value held in the text buffer, if
+     * {@link #_currentValueBuffered} is set.
+     *
+     * @since 3.0
+     */
+    protected int _currentValueColumn;
+
+    /**
+     * Canonicalizer for column values, if {@link Feature#CANONICALIZE_VALUES}
+     * is enabled; constructed when first needed.
+     *
+     * @since 3.0
+     */
+    protected ValueCanonicalizer _valueCanonicalizer;
+
+    /**
+     * Reusable view of the current text value, returned by {@link #getTextView()}.
+     *
+     * @since 3.0
+     */
+    protected CharArrayView _textView;
+
     /**
      * Index of the column we are exposing
      */
     protected int _columnIndex;
 
+    /**
+     * Contents of leading columns of the current row, read when evaluating
+     * row filters, exposed before reading rest of the row. Values are held
+     * as character ranges of this row-scoped buffer (see
+     * {@link #_filteredOffsets} and {@link #_filteredLengths}), and are only
+     * converted to Strings or numbers if and when accessed.
+     *
+     * @since 3.0
+     */
+    protected char[] _filteredChars;
+
+    /**
+     * Offset of value of each leading column within {@link #_filteredChars}
+     *
+     * @since 3.0
+     */
+    protected int[] _filteredOffsets;
+
+    /**
+     * Length of value of each leading column within {@link #_filteredChars};
+     * -1 for columns excluded by projection.
+     *
+     * @since 3.0
+     */
+    protected int[] _filteredLengths;
+
+    /**
+     * Number of leading column values read for the current row
+     *
+     * @since 3.0
+     */
+    protected int _filteredValueCount;
+
     /**
      * Current logical state of the parser; one of <code>STATE_</code>
      * constants.
@@ -329,6 +457,39 @@ public class CsvParser
     public CsvParser(ObjectReadContext readCtxt, CsvIOContext ioCtxt,
             int stdFeatures, int csvFeatures, CsvSchema schema,
             Reader reader)
+    {
+        this(readCtxt, ioCtxt, stdFeatures, csvFeatures, schema,
+                p -> new CsvDecoder(ioCtxt, p, reader, schema, p._textBuffer,
+                        stdFeatures, csvFeatures));
+    }
+
+    /**
+     * Constructor used for UTF-8 encoded byte-backed input: content is tokenized
+     * directly from bytes, without decoding it through a {@link Reader} first.
+     *
+     * @since 3.0
+     */
+    public CsvParser(ObjectReadContext readCtxt, CsvIOContext ioCtxt,
+            int stdFeatures, int csvFeatures, CsvSchema schema,
+            InputStream in, byte[] inputBuffer, int inputStart, int inputEnd,
+            boolean bufferRecyclable)
+    {
+        this(readCtxt, ioCtxt, stdFeatures, csvFeatures, schema,
+                p -> new UTF8CsvDecoder(ioCtxt, p, in,
+                        inputBuffer, inputStart, inputEnd, bufferRecyclable,
+                        schema, p._textBuffer, stdFeatures, csvFeatures));
+    }
+
+    /**
+     * Constructor for sub-classes that need to use a custom {@link CsvDecoder}:
+     * given function is called with the parser instance (needed as decoder
+     * owner), after its {@link TextBuffer} has been constructed.
+     *
+     * @since 3.0
+     */
+    protected CsvParser(ObjectReadContext readCtxt, CsvIOContext ioCtxt,
+            int stdFeatures, int csvFeatures, CsvSchema schema,
+            Function<CsvParser, CsvDecoder> decoderCreator)
     {
         super(readCtxt, stdFeatures);
         _textBuffer =  ioCtxt.csvTextBuffer();
@@ -336,8 +497,7 @@ public class CsvParser
                 ? DupDetector.rootDetector(this) : null;
         _formatFeatures = csvFeatures;
         _parsingContext = JsonReadContext.createRootContext(dups);
-        _reader = new CsvDecoder(ioCtxt, this, reader, schema, _textBuffer,
-                stdFeatures, csvFeatures);
+        _reader = decoderCreator.apply(this);
         setSchema(schema);
     }
 
@@ -376,14 +536,71 @@ public class CsvParser
             super.setSchema(schema);
         }
         _columnCount = _schema.size();            
+        _excludedColumns = _findExcludedColumns(_schema);
+        _resolveRowFilters(_schema);
         _reader.setSchema(_schema);
     }
 
+    private void _resolveRowFilters(CsvSchema schema)
+    {
+        _rowFiltersByColumn = null;
+        _unknownFilterColumn = null;
+        List<CsvRowFilter> filters = schema.getRowFilters();
+        if (filters == null) {
+            return;
+        }
+        int count = 0;
+        for (CsvRowFilter filter : filters) {
+            CsvSchema.Column column = schema.column(filter.getColumnName());
+            if (column == null) {
+                _unknownFilterColumn = filter.getColumnName();
+                return;
+            }
+            count = Math.max(count, column.getIndex() + 1);
+        }
+        CsvRowFilter[][] byColumn = new CsvRowFilter[count][];
+        for (CsvRowFilter filter : filters) {
+            int ix = schema.column(filter.getColumnName()).getIndex();
+            CsvRowFilter[] old = byColumn[ix];
+            if (old == null) {
+                byColumn[ix] = new CsvRowFilter[] { filter };
+            } else {
+                CsvRowFilter[] curr = Arrays.copyOf(old, old.length + 1);
+                curr[old.length] = filter;
+                byColumn[ix] = curr;
+            }
+        }
+        _rowFiltersByColumn = byColumn;
+        _filteredOffsets = new int[count];
+        _filteredLengths = new int[count];
+        if (_filteredChars == null) {
+            _filteredChars = new char[200];
+        }
+    }
+
+    private static boolean[] _findExcludedColumns(CsvSchema schema)
+    {
+        if (schema.getProjection() == null) {
+            return null;
+        }
+        final int count = schema.size();
+        boolean[] excluded = new boolean[count];
+        for (int i = 0; i < count; ++i) {
+            excluded[i] = schema.isExcluded(schema.columnName(i));
+        }
+        return excluded;
+    }
+
     @Override
     public int releaseBuffered(Writer out) throws IOException {
         return _reader.releaseBuffered(out);
     }
 
+    @Override
+    public int releaseBuffered(OutputStream out) throws IOException {
+        return _reader.releaseBuffered(out);
+    }
+
     @Override
     public boolean isClosed() { return _reader.isClosed(); }
 
@@ -562,14 +779,7 @@ public class CsvParser
         case STATE_MISSING_VALUE:
             return (_currToken = _handleMissingValue());
         case STATE_DOC_END:
-            _reader.close();
-            if (_parsingContext.inRoot()) {
-                return null;
-            }
-            // should always be in array, actually... but:
-            boolean inArray = _parsingContext.inArray();
-            _parsingContext = _parsingContext.getParent();
-            return inArray ? JsonToken.END_ARRAY : JsonToken.END_OBJECT;
+            return _handleDocEnd();
         default:
             throw new IllegalStateException();
         }
@@ -622,12 +832,12 @@ public class CsvParser
         if (_state == STATE_NAMED_VALUE) {
             _currToken = t = _handleNamedValue();
             if (t == JsonToken.VALUE_STRING) {
-                return _currentValue;
+                return _currentValue();
             }
         } else if (_state == STATE_UNNAMED_VALUE) {
             _currToken = t = _handleUnnamedValue();
             if (t == JsonToken.VALUE_STRING) {
-                return _currentValue;
+                return _currentValue();
             }
         } else {
             t = nextToken();
@@ -680,7 +890,7 @@ public class CsvParser
             }
             else {
                 //noinspection StatementWithEmptyBody
-                while (_reader.nextString() != null) { /* does nothing */ }
+                while (_reader.skipValue()) { /* does nothing */ }
             }
             return;
         }
@@ -760,6 +970,20 @@ public class CsvParser
     protected JsonToken _handleRecordStart() throws IOException
     {
         _columnIndex = 0;
+        _filteredValueCount = 0;
+        if (_schema.getRowFilters() != null) {
+            // Rows that do not match are skipped before exposing any tokens
+            while (!_matchesRowFilters()) {
+                if (!_reader.startNewLine()) {
+                    _state = STATE_DOC_END;
+                    return _handleDocEnd();
+                }
+                if (!_isRecordAvailable()) {
+                    _state = STATE_RECORD_START;
+                    return JsonToken.NOT_AVAILABLE;
+                }
+            }
+        }
         if (_columnCount == 0) { // no schema; exposed as an array
             _state = STATE_UNNAMED_VALUE;
             _parsingContext = _reader.childArrayContext(_parsingContext);
@@ -774,32 +998,148 @@ public class CsvParser
     protected JsonToken _handleNextEntry() throws IOException
     {
         // NOTE: only called when we do have real Schema
-        String next;
+
+        // Leading values may have been read already, to evaluate row filters
+        while (_columnIndex < _filteredValueCount) {
+            final int len = _filteredLengths[_columnIndex];
+            if (len >= 0) {
+                _reader.resetValue(_filteredChars, _filteredOffsets[_columnIndex], len);
+                _currentValue = null;
+                _currentValueBuffered = true;
+                _currentValueColumn = _columnIndex;
+                _state = STATE_NAMED_VALUE;
+                _currentName = _schema.columnName(_columnIndex);
+                return JsonToken.FIELD_NAME;
+            }
+            ++_columnIndex; // excluded by projection
+        }
+        boolean hasValue;
 
         try {
-            next = _reader.nextString();
+            // Values of columns excluded by projection are skipped without decoding
+            if ((_excludedColumns != null) && !_skipExcludedColumns()) {
+                hasValue = false;
+            } else {
+                hasValue = _reader.nextValue();
+            }
         } catch (IOException e) {
             // 12-Oct-2015, tatu: Need to resync here as well...
             _state = STATE_SKIP_EXTRA_COLUMNS;
             throw e;
         }
 
-        if (next == null) { // end of record or input...
+        if (!hasValue) { // end of record or input...
             // 16-Mar-2017, tatu: [dataformat-csv#137] Missing column(s)?
             if (_columnIndex < _columnCount) {
                 return _handleMissingColumns();
             }
             return _handleObjectRowEnd();
         }
-        _currentValue = next;
+        _currentValue = null;
+        _currentValueBuffered = true;
+        _currentValueColumn = _columnIndex;
         if (_columnIndex >= _columnCount) {
-            return _handleExtraColumn(next);
+            return _handleExtraColumn();
         }
         _state = STATE_NAMED_VALUE;
         _currentName = _schema.columnName(_columnIndex);
         return JsonToken.FIELD_NAME;
     }
 
+    /**
+     * Helper method called at start of a row, when schema has row filters,
+     * to read values of columns up to the last filtered one, and to check
+     * whether row matches filters. If not, rest of the row is skipped.
+     *
+     * @return True if row matches all filters; false if it was skipped
+     *
+     * @since 3.0
+     */
+    protected boolean _matchesRowFilters() throws IOException
+    {
+        final CsvRowFilter[][] filters = _rowFiltersByColumn;
+        if (filters == null) {
+            _reportCsvMappingError("Row filter refers to unknown column \"%s\"", _unknownFilterColumn);
+        }
+        final int[] offsets = _filteredOffsets;
+        final int[] lengths = _filteredLengths;
+        int charCount = 0;
+        // NOTE: if row ends before filtered columns, it can not match
+        for (int i = 0, end = filters.length; i < end; ++i) {
+            final CsvRowFilter[] columnFilters = filters[i];
+            final boolean excluded = (_excludedColumns != null) && _excludedColumns[i];
+            if ((columnFilters == null) && excluded) {
+                if (!_reader.skipValue()) {
+                    return false;
+                }
+                lengths[i] = -1;
+                continue;
+            }
+            if (!_reader.nextValue()) {
+                return false;
+            }
+            final char[] buf = _textBuffer.getTextBuffer();
+            final int offset = _textBuffer.getTextOffset();
+            final int len = _textBuffer.size();
+            if (columnFilters != null) {
+                for (CsvRowFilter filter : columnFilters) {
+                    if (!filter.matches(buf, offset, len)) {
+                        while (_reader.skipValue()) { }
+                        return false;
+                    }
+                }
+            }
+            if (excluded) {
+                lengths[i] = -1;
+            } else {
+                // Only copy characters for now; Strings (or numbers) constructed if accessed
+                charCount = _appendFilteredValue(charCount, buf, offset, len);
+                offsets[i] = charCount - len;
+                lengths[i] = len;
+            }
+        }
+        _filteredValueCount = filters.length;
+        return true;
+    }
+
+    private int _appendFilteredValue(int charCount, char[] buf, int offset, int len)
+    {
+        final int newCount = charCount + len;
+        if (newCount > _filteredChars.length) {
+            _filteredChars = Arrays.copyOf(_filteredChars,
+                    Math.max(newCount, _filteredChars.length + (_filteredChars.length >> 1)));
+        }
+        System.arraycopy(buf, offset, _filteredChars, charCount, len);
+        return newCount;
+    }
+
+    /**
+     * Method called to check whether the next row is available to be read
+     * after skipping a row; always the case for blocking parsers.
+     *
+     * @since 3.0
+     */
+    protected boolean _isRecordAvailable() {
+        return true;
+    }
+
+    /**
+     * Helper method for skipping values of columns excluded by projection,
+     * starting from the current column.
+     *
+     * @return False if end of record was reached; true otherwise
+     */
+    private boolean _skipExcludedColumns() throws IOException
+    {
+        while ((_columnIndex < _columnCount) && _excludedColumns[_columnIndex]) {
+            if (!_reader.skipValue()) {
+                return false;
+            }
+            ++_columnIndex;
+        }
+        return true;
+    }
+
     protected JsonToken _handleNamedValue() throws IOException
     {
         // 06-Oct-2015, tatu: During recovery, may get past all regular columns,
@@ -814,7 +1154,7 @@ public class CsvParser
         }
         _state = STATE_NEXT_ENTRY;
         if (_nullValue != null) {
-            if (_nullValue.equals(_currentValue)) {
+            if (_currentValueEquals(_nullValue)) {
                 return JsonToken.VALUE_NULL;
             }
         }
@@ -823,8 +1163,7 @@ public class CsvParser
 
     protected JsonToken _handleUnnamedValue() throws IOException
     {
-        String next = _reader.nextString();
-        if (next == null) { // end of record or input...
+        if (!_reader.nextValue()) { // end of record or input...
             _parsingContext = _parsingContext.getParent();
             if (!_reader.startNewLine()) { // end of whole thing...
                 _state = STATE_DOC_END;
@@ -835,10 +1174,11 @@ public class CsvParser
             return JsonToken.END_ARRAY;
         }
         // state remains the same
-        _currentValue = next;
-        ++_columnIndex;
+        _currentValue = null;
+        _currentValueBuffered = true;
+        _currentValueColumn = _columnIndex++;
         if (_nullValue != null) {
-            if (_nullValue.equals(next)) {
+            if (_currentValueEquals(_nullValue)) {
                 return JsonToken.VALUE_NULL;
             }
         }
@@ -855,6 +1195,7 @@ public class CsvParser
              return JsonToken.END_ARRAY;
         }
         int end = _arrayValue.indexOf(_arraySeparator, offset);
+        _currentValueBuffered = false;
 
         if (end < 0) { // last value
             _arrayValueStart = end; // end marker, regardless
@@ -899,7 +1240,7 @@ public class CsvParser
      * main choices: ignore value (and rest of line); expose extra value
      * as "any property" using configured name, or throw an exception.
      */
-    protected JsonToken _handleExtraColumn(String value) throws IOException
+    protected JsonToken _handleExtraColumn() throws IOException
     {
         // If "any properties" enabled, expose as such
         String anyProp = _schema.getAnyPropertyName();
@@ -918,13 +1259,13 @@ public class CsvParser
         // 14-Mar-2012, tatu: As per [dataformat-csv#1], let's allow one specific case
         // of extra: if we get just one all-whitespace entry, that can be just skipped
         _state = STATE_SKIP_EXTRA_COLUMNS;
+        String value = _currentValue();
         if (_columnIndex == _columnCount && Feature.ALLOW_TRAILING_COMMA.enabledIn(_formatFeatures)) {
             value = value.trim();
             if (value.isEmpty()) {
                 // if so, need to verify we then get the end-of-record;
                 // easiest to do by just calling ourselves again...
-                String next = _reader.nextString();
-                if (next == null) { // should end of record or input
+                if (!_reader.nextValue()) { // should end of record or input
                     return _handleObjectRowEnd();
                 }
             }
@@ -954,9 +1295,16 @@ public class CsvParser
                     _columnCount, _columnIndex);
         }
         if (Feature.INSERT_NULLS_FOR_MISSING_COLUMNS.enabledIn(_formatFeatures)) {
+            if (_excludedColumns != null) {
+                _columnIndex = _nextIncludedColumn(_columnIndex);
+                if (_columnIndex >= _columnCount) {
+                    return _handleObjectRowEnd();
+                }
+            }
             _state = STATE_MISSING_VALUE;
             _currentName = _schema.columnName(_columnIndex);
             _currentValue = null;
+            _currentValueBuffered = false;
             return JsonToken.FIELD_NAME;
         }
         return _handleObjectRowEnd();
@@ -964,7 +1312,11 @@ public class CsvParser
 
     protected JsonToken _handleMissingName() throws IOException
     {
-        if (++_columnIndex < _columnCount) {
+        ++_columnIndex;
+        if (_excludedColumns != null) {
+            _columnIndex = _nextIncludedColumn(_columnIndex);
+        }
+        if (_columnIndex < _columnCount) {
             _state = STATE_MISSING_VALUE;
             _currentName = _schema.columnName(_columnIndex);
             // _currentValue already set to null earlier
@@ -979,12 +1331,36 @@ public class CsvParser
         return JsonToken.VALUE_NULL;
     }
 
+    private int _nextIncludedColumn(int index)
+    {
+        while ((index < _columnCount) && _excludedColumns[index]) {
+            ++index;
+        }
+        return index;
+    }
+
     /*
     /**********************************************************
     /* Parsing, helper methods: row end handling, recover
     /**********************************************************
      */
 
+    /**
+     * Helper method called to return the last token(s) once end of
+     * content has been reached.
+     */
+    protected JsonToken _handleDocEnd() throws IOException
+    {
+        _reader.close();
+        if (_parsingContext.inRoot()) {
+            return null;
+        }
+        // should always be in array, actually... but:
+        boolean inArray = _parsingContext.inArray();
+        _parsingContext = _parsingContext.getParent();
+        return inArray ? JsonToken.END_ARRAY : JsonToken.END_OBJECT;
+    }
+
     /**
      * Helper method called to handle details of state update when end of logical
      * record occurs.
@@ -1002,7 +1378,7 @@ public class CsvParser
 
     protected final JsonToken _skipUntilEndOfLine() throws IOException
     {
-        while (_reader.nextString() != null) { }
+        while (_reader.skipValue()) { }
 
         // But once we hit the end of the logical line, get out
         // NOTE: seems like we should always be within Object, but let's be conservative
@@ -1020,13 +1396,12 @@ public class CsvParser
      */
     
     
-    // For now we do not store char[] representation...
     @Override
     public boolean hasTextCharacters() {
         if (_currToken == JsonToken.FIELD_NAME) {
             return false;
         }
-        return _textBuffer.hasTextAsCharacters();
+        return _currentValueBuffered && _textBuffer.hasTextAsCharacters();
     }
 
     @Override
@@ -1034,15 +1409,28 @@ public class CsvParser
         if (_currToken == JsonToken.FIELD_NAME) {
             return _currentName;
         }
-        return _currentValue;
+        // 3.0: value may be held in (shared) input buffer, no longer valid
+        //   after record end, so do not expose for structural tokens
+        if ((_currToken != null) && (_currToken.isStructStart() || _currToken.isStructEnd())) {
+            return _currToken.asString();
+        }
+        return _currentValue();
     }
 
+    /**
+     * Note: for values that do not need unescaping, returned array is
+     * usually the input buffer itself (and not a copy); contents are only
+     * valid until parser advances to the next token.
+     */
     @Override
     public char[] getTextCharacters() throws IOException {
         if (_currToken == JsonToken.FIELD_NAME) {
             return _currentName.toCharArray();
         }
-        return _textBuffer.contentsAsArray();
+        if (_currentValueBuffered) {
+            return _textBuffer.getTextBuffer();
+        }
+        return (_currentValue == null) ? null : _currentValue.toCharArray();
     }
 
     @Override
@@ -1050,16 +1438,59 @@ public class CsvParser
         if (_currToken == JsonToken.FIELD_NAME) {
             return _currentName.length();
         }
-        return _textBuffer.size();
+        if (_currentValueBuffered) {
+            return _textBuffer.size();
+        }
+        return (_currentValue == null) ? 0 : _currentValue.length();
     }
 
     @Override
     public int getTextOffset() throws IOException {
+        if ((_currToken != JsonToken.FIELD_NAME) && _currentValueBuffered) {
+            return _textBuffer.getTextOffset();
+        }
         return 0;
     }
 
+    /**
+     * Method for accessing textual contents of the current token as a
+     * {@link CharSequence} that (unlike {@link #getText()}) usually does not
+     * require constructing a String: for values that need no unescaping it
+     * is a view over the input buffer. Returned instance is reused, and its
+     * contents are only valid until parser advances to the next token.
+     * Contents may be compared using {@link String#contentEquals(CharSequence)};
+     * direct access to the underlying buffer is available using
+     * {@link #getTextCharacters()}, {@link #getTextOffset()} and
+     * {@link #getTextLength()}.
+     *
+     * @return View of the current text, if any; null for tokens that have
+     *    no textual representation (like {@link JsonToken#VALUE_NULL} for
+     *    missing values)
+     *
+     * @since 3.0
+     */
+    public CharSequence getTextView() throws IOException
+    {
+        if (_currToken == JsonToken.FIELD_NAME) {
+            return _currentName;
+        }
+        if (!_currentValueBuffered) {
+            return _currentValue;
+        }
+        if (_textView == null) {
+            _textView = new CharArrayView();
+        }
+        return _textView.reset(_textBuffer.getTextBuffer(), _textBuffer.getTextOffset(),
+                _textBuffer.size());
+    }
+
     @Override
     public int getText(Writer w) throws IOException {
+        if ((_currToken != JsonToken.FIELD_NAME) && _currentValueBuffered) {
+            int len = _textBuffer.size();
+            w.write(_textBuffer.getTextBuffer(), _textBuffer.getTextOffset(), len);
+            return len;
+        }
         String value = (_currToken == JsonToken.FIELD_NAME) ?
                 _currentName : _currentValue;
         if (value == null) {
@@ -1068,7 +1499,72 @@ public class CsvParser
         w.write(value);
         return value.length();
     }
-    
+
+    /**
+     * Accessor for the String value of the current column, constructed
+     * from contents of text buffer if not yet done.
+     *
+     * @since 3.0
+     */
+    protected final String _currentValue() {
+        if (_currentValue == null && _currentValueBuffered) {
+            _currentValue = _textBufferAsString(_currentValueColumn);
+        }
+        return _currentValue;
+    }
+
+    /**
+     * Helper method for constructing String out of contents of text buffer,
+     * holding value of specified column; canonicalized if
+     * {@link Feature#CANONICALIZE_VALUES} is enabled.
+     *
+     * @since 3.0
+     */
+    protected final String _textBufferAsString(int column) {
+        if (Feature.CANONICALIZE_VALUES.enabledIn(_formatFeatures)) {
+            final int len = _textBuffer.size();
+            if (len <= ValueCanonicalizer.MAX_VALUE_LENGTH) {
+                ValueCanonicalizer c = _valueCanonicalizer;
+                if (c == null) {
+                    _valueCanonicalizer = c = new ValueCanonicalizer();
+                }
+                return c.canonicalize(column, _textBuffer.getTextBuffer(),
+                        _textBuffer.getTextOffset(), len);
+            }
+        }
+        return _textBuffer.contentsAsString();
+    }
+
+    /**
+     * Method called by {@link CsvGenerator} to write raw contents of the
+     * current String value, as they appear in input, as value of specified
+     * column, if still available.
+     *
+     * @return True if raw contents were written; false if not available
+     *
+     * @since 3.0
+     */
+    protected boolean _writeRawValue(CsvEncoder encoder, int columnIndex) throws IOException {
+        // only values read by decoder as is (not array elements, say) have raw contents
+        if ((_currToken != JsonToken.VALUE_STRING) || !_currentValueBuffered) {
+            return false;
+        }
+        return _reader.writeRawValue(encoder, columnIndex);
+    }
+
+    /**
+     * Helper method for comparing the current column value with given String,
+     * without constructing a String out of the value.
+     *
+     * @since 3.0
+     */
+    protected final boolean _currentValueEquals(String str) {
+        if (_currentValueBuffered) {
+            return _textBuffer.contentsEquals(str);
+        }
+        return str.equals(_currentValue);
+    }
+
     /*
     /**********************************************************************
     /* Binary (base64)
@@ -1090,7 +1586,7 @@ public class CsvParser
                 _reportCsvMappingError("Current token (%s) not VALUE_STRING, can not access as binary", _currToken);
             }
             ByteArrayBuilder builder = _getByteArrayBuilder();
-            _decodeBase64(_currentValue, builder, variant);
+            _decodeBase64(_currentValue(), builder, variant);
             _binaryValue = builder.toByteArray();
         }
         return _binaryValue;
@@ -1203,7 +1699,7 @@ public class CsvParser
                 _reader.getCurrentColumn());
         _state = STATE_IN_ARRAY;
         _arrayValueStart = 0;
-        _arrayValue = _currentValue;
+        _arrayValue = _currentValue();
         String sep = column.getArrayElementSeparator();
         if (sep.isEmpty()) {
             sep = _schema.getArrayElementSeparator();
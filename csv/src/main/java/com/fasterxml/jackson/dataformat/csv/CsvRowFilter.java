@@ -0,0 +1,270 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.fasterxml.jackson.dataformat.csv.impl.NumberInput;
+
+/**
+ * Predicate for value of a single column, used for filtering rows when
+ * reading: if a row filter of {@link CsvSchema} (see
+ * {@link CsvSchema#withRowFilters}) does not match value of a row,
+ * the whole row is skipped by {@link CsvParser} before any tokens are
+ * exposed for it, and values of columns after filtered ones are neither
+ * decoded nor copied.
+ *<p>
+ * Values are passed to filters as ranges of a character buffer, to avoid
+ * construction of Strings for rows that are skipped; note that the buffer
+ * is only valid during the call. Standard filters may be constructed
+ * using factory methods ({@link #equalTo}, {@link #startsWith},
+ * {@link #between}, {@link #in}); custom ones by sub-classing.
+ *
+ * @since 3.0
+ */
+public abstract class CsvRowFilter
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Name of the column this filter applies to
+     */
+    protected final String _columnName;
+
+    protected CsvRowFilter(String columnName) {
+        if (columnName == null) {
+            throw new IllegalArgumentException("Column name can not be null");
+        }
+        _columnName = columnName;
+    }
+
+    /*
+    /**********************************************************************
+    /* Factory methods
+    /**********************************************************************
+     */
+
+    /**
+     * Factory method for filter that only accepts rows in which value of
+     * specified column is equal to given String.
+     */
+    public static CsvRowFilter equalTo(String columnName, String value) {
+        return new EqualTo(columnName, value);
+    }
+
+    /**
+     * Factory method for filter that only accepts rows in which value of
+     * specified column starts with given String.
+     */
+    public static CsvRowFilter startsWith(String columnName, String prefix) {
+        return new StartsWith(columnName, prefix);
+    }
+
+    /**
+     * Factory method for filter that only accepts rows in which value of
+     * specified column is a number within given range (inclusive).
+     * Values that are not valid numbers are not accepted.
+     */
+    public static CsvRowFilter between(String columnName, double min, double max) {
+        return new Between(columnName, min, max);
+    }
+
+    /**
+     * Factory method for filter that only accepts rows in which value of
+     * specified column is one of given Strings.
+     */
+    public static CsvRowFilter in(String columnName, Collection<String> values) {
+        return new In(columnName, values);
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public String getColumnName() { return _columnName; }
+
+    /**
+     * Method called to check whether value of the column is acceptable.
+     *
+     * @param buffer Buffer that contains value
+     * @param offset Offset of the first character of value in buffer
+     * @param length Length of value
+     *
+     * @return True if value (and thereby the row) is accepted; false if the
+     *    row is to be skipped
+     */
+    public abstract boolean matches(char[] buffer, int offset, int length);
+
+    /**
+     * Convenience method for checking whether given value would be accepted.
+     */
+    public boolean matches(String value) {
+        return matches(value.toCharArray(), 0, value.length());
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    protected static boolean _equals(String str, char[] buffer, int offset, int length)
+    {
+        for (int i = 0; i < length; ++i) {
+            if (str.charAt(i) != buffer[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+    /**********************************************************************
+    /* Standard implementations
+    /**********************************************************************
+     */
+
+    private final static class EqualTo extends CsvRowFilter
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final String _value;
+
+        public EqualTo(String columnName, String value) {
+            super(columnName);
+            _value = value;
+        }
+
+        @Override
+        public boolean matches(char[] buffer, int offset, int length) {
+            return (length == _value.length()) && _equals(_value, buffer, offset, length);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%s == '%s']", _columnName, _value);
+        }
+    }
+
+    private final static class StartsWith extends CsvRowFilter
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final String _prefix;
+
+        public StartsWith(String columnName, String prefix) {
+            super(columnName);
+            _prefix = prefix;
+        }
+
+        @Override
+        public boolean matches(char[] buffer, int offset, int length) {
+            final int len = _prefix.length();
+            return (length >= len) && _equals(_prefix, buffer, offset, len);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%s startsWith '%s']", _columnName, _prefix);
+        }
+    }
+
+    private final static class Between extends CsvRowFilter
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final double _min, _max;
+
+        public Between(String columnName, double min, double max) {
+            super(columnName);
+            _min = min;
+            _max = max;
+        }
+
+        @Override
+        public boolean matches(char[] buffer, int offset, int length) {
+            final double value = _parseNumber(buffer, offset, length);
+            // NOTE: NaN (for invalid numbers) never matches
+            return (value >= _min) && (value <= _max);
+        }
+
+        private static double _parseNumber(char[] buffer, int offset, int length)
+        {
+            try {
+                return NumberInput.parseDouble(buffer, offset, length);
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%s in [%s, %s]]", _columnName, _min, _max);
+        }
+    }
+
+    private final static class In extends CsvRowFilter
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Set<String> _values;
+
+        /**
+         * Open-addressing hash table of values, to allow lookups without
+         * constructing a String
+         */
+        private final String[] _table;
+
+        public In(String columnName, Collection<String> values) {
+            super(columnName);
+            _values = new LinkedHashSet<String>(values);
+            int size = 4;
+            while (size < (_values.size() * 2)) {
+                size += size;
+            }
+            _table = new String[size];
+            final int mask = size - 1;
+            for (String value : _values) {
+                int ix = _mix(value.hashCode()) & mask;
+                while (_table[ix] != null) {
+                    ix = (ix + 1) & mask;
+                }
+                _table[ix] = value;
+            }
+        }
+
+        @Override
+        public boolean matches(char[] buffer, int offset, int length)
+        {
+            // same hash code as String.hashCode() would calculate
+            int hash = 0;
+            for (int i = 0; i < length; ++i) {
+                hash = (31 * hash) + buffer[offset + i];
+            }
+            final String[] table = _table;
+            final int mask = table.length - 1;
+            for (int ix = _mix(hash) & mask; ; ix = (ix + 1) & mask) {
+                String value = table[ix];
+                if (value == null) {
+                    return false;
+                }
+                if ((value.length() == length) && (value.hashCode() == hash)
+                        && _equals(value, buffer, offset, length)) {
+                    return true;
+                }
+            }
+        }
+
+        private static int _mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[%s in %s]", _columnName, _values);
+        }
+    }
+}
@@ -0,0 +1,820 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.dataformat.csv.impl.CsvDecoder;
+import com.fasterxml.jackson.dataformat.csv.impl.NumberInput;
+import com.fasterxml.jackson.dataformat.csv.impl.TextBuffer;
+
+/**
+ * Reader that binds CSV rows to POJOs of a single type positionally: the
+ * mapping from column index to property mutator (setter or field, accessed
+ * using a {@link MethodHandle}) is resolved once for the schema (or header
+ * line), and values are converted directly from the input buffer. This
+ * avoids field name tokens, per-cell property lookups by name, and
+ * construction of intermediate {@link String}s for non-textual values,
+ * all of which are needed when reading using {@link ObjectReader}.
+ *<p>
+ * Instances are constructed using {@link CsvMapper#rowReaderFor(Class, CsvSchema)};
+ * construction is relatively expensive, but instances are immutable and
+ * thread-safe so they should be reused.
+ *<p>
+ * Only POJOs with a no-arguments constructor and properties of scalar types
+ * (primitives and their wrappers, {@link String}, {@link BigInteger} and
+ * {@link BigDecimal}) are supported, and properties may not use custom
+ * deserializers or formats: construction fails with
+ * {@link IllegalArgumentException} for other types.
+ * Empty values, and values equal to null value of the schema, are bound as
+ * <code>null</code>s (or default values, for primitives), except that
+ * empty values of String properties are bound as is.
+ * Projection and row filters of the schema are applied.
+ *<pre>
+ *   CsvRowReader&lt;Point&gt; r = mapper.rowReaderFor(Point.class, CsvSchema.emptySchema().withHeader());
+ *   try (CsvRowReader.RowInput&lt;Point&gt; in = r.readValues(file)) {
+ *       Point p;
+ *       while ((p = in.nextValue()) != null) {
+ *           // ...
+ *       }
+ *   }
+ *</pre>
+ *
+ * @since 3.0
+ */
+public class CsvRowReader<T>
+{
+    protected final CsvMapper _mapper;
+
+    protected final Class<T> _valueType;
+
+    protected final CsvSchema _schema;
+
+    protected final MethodHandle _constructor;
+
+    /**
+     * Readers for all settable properties, by property name
+     */
+    protected final Map<String, ColumnReader> _columnsByName;
+
+    protected final boolean _failOnUnknown;
+
+    protected CsvRowReader(CsvMapper mapper, Class<T> valueType, CsvSchema schema,
+            MethodHandle constructor, Map<String, ColumnReader> columnsByName)
+    {
+        _mapper = mapper;
+        _valueType = valueType;
+        _schema = schema;
+        _constructor = constructor;
+        _columnsByName = columnsByName;
+        _failOnUnknown = mapper.isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Factory method called by {@link CsvMapper} to resolve mutators for
+     * all properties of given type.
+     */
+    protected static <T> CsvRowReader<T> construct(CsvMapper mapper, Class<T> valueType,
+            CsvSchema schema)
+    {
+        if (schema.getAnyPropertyName() != null) {
+            throw new IllegalArgumentException("Schemas with \"any property\" not supported by "
+                    +CsvRowReader.class.getSimpleName());
+        }
+        final DeserializationConfig config = mapper.deserializationConfig();
+        final boolean forceAccess = config.canOverrideAccessModifiers();
+        BeanDescription beanDesc = config.introspect(mapper.constructType(valueType));
+        Map<String, ColumnReader> columns = new HashMap<>();
+        for (BeanPropertyDefinition prop : beanDesc.findProperties()) {
+            AnnotatedMember m = prop.hasSetter() ? prop.getSetter() : prop.getField();
+            if ((m == null) || !prop.couldDeserialize()) {
+                continue;
+            }
+            final String name = prop.getName();
+            if (m.hasAnnotation(JsonDeserialize.class) || m.hasAnnotation(JsonFormat.class)) {
+                throw new IllegalArgumentException(String.format(
+                        "Property \"%s\" of %s uses custom deserialization, not supported by %s",
+                        name, valueType.getName(), CsvRowReader.class.getSimpleName()));
+            }
+            final Class<?> type = (m.getMember() instanceof Method)
+                    ? ((Method) m.getMember()).getParameterTypes()[0]
+                    : m.getRawType();
+            ColumnReader column = ColumnReader.construct(name, type,
+                    _setter(valueType, name, m.getMember(), forceAccess));
+            if (column == null) {
+                throw new IllegalArgumentException(String.format(
+                        "Property \"%s\" of %s has type %s, not supported by %s",
+                        name, valueType.getName(), type.getName(),
+                        CsvRowReader.class.getSimpleName()));
+            }
+            columns.put(name, column);
+        }
+        MethodHandle ctor;
+        try {
+            Constructor<T> c = valueType.getDeclaredConstructor();
+            if (forceAccess) {
+                c.setAccessible(true);
+            }
+            ctor = MethodHandles.publicLookup().unreflectConstructor(c)
+                    .asType(MethodType.methodType(Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException(String.format(
+                    "Can not use %s for %s: no accessible no-arguments constructor",
+                    CsvRowReader.class.getSimpleName(), valueType.getName()), e);
+        }
+        return new CsvRowReader<T>(mapper, valueType, schema, ctor, columns);
+    }
+
+    private static MethodHandle _setter(Class<?> valueType, String name, Member member,
+            boolean forceAccess)
+    {
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            if (forceAccess && (!Modifier.isPublic(member.getModifiers())
+                    || !Modifier.isPublic(member.getDeclaringClass().getModifiers()))) {
+                ((AccessibleObject) member).setAccessible(true);
+            }
+            if (member instanceof Method) {
+                return lookup.unreflect((Method) member);
+            }
+            return lookup.unreflectSetter((Field) member);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException(String.format(
+                    "Can not access property \"%s\" of %s: %s",
+                    name, valueType.getName(), e.getMessage()), e);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public Class<T> getValueType() {
+        return _valueType;
+    }
+
+    public CsvSchema getSchema() {
+        return _schema;
+    }
+
+    public RowInput<T> readValues(InputStream in) throws IOException {
+        return _input(_mapper.createParser(in));
+    }
+
+    public RowInput<T> readValues(Reader r) throws IOException {
+        return _input(_mapper.createParser(r));
+    }
+
+    public RowInput<T> readValues(File f) throws IOException {
+        return _input(_mapper.createParser(f));
+    }
+
+    public RowInput<T> readValues(String content) throws IOException {
+        return _input(_mapper.createParser(content));
+    }
+
+    public RowInput<T> readValues(byte[] content) throws IOException {
+        return _input(_mapper.createParser(content));
+    }
+
+    protected RowInput<T> _input(JsonParser p0)
+    {
+        CsvParser p = (CsvParser) p0;
+        p.setSchema(_schema);
+        return new RowInput<T>(this, p);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    /**
+     * Input from which rows are read; similar to {@link MappingIterator}.
+     * Not thread-safe.
+     */
+    public static class RowInput<T>
+        implements Iterator<T>, Closeable
+    {
+        protected final CsvRowReader<T> _rowReader;
+
+        protected final CsvParser _parser;
+
+        protected final CsvDecoder _reader;
+
+        protected final TextBuffer _textBuffer;
+
+        /**
+         * Readers by column index; <code>null</code> for columns to skip.
+         * Resolved once header line (if any) has been read.
+         */
+        protected ColumnReader[] _columns;
+
+        protected boolean _endOfInput;
+
+        protected T _next;
+
+        /**
+         * Number of rows read so far (including ones skipped by row filters),
+         * used for error messages
+         */
+        protected int _rowCount;
+
+        protected RowInput(CsvRowReader<T> rowReader, CsvParser p)
+        {
+            _rowReader = rowReader;
+            _parser = p;
+            _reader = p._reader;
+            _textBuffer = p._textBuffer;
+        }
+
+        /**
+         * Method for reading the next row.
+         *
+         * @return Value bound from the next row; <code>null</code> if end of input
+         *   was reached
+         */
+        public T nextValue() throws IOException
+        {
+            if (_next != null) {
+                T value = _next;
+                _next = null;
+                return value;
+            }
+            if (_columns == null) {
+                _startDocument();
+            }
+            while (!_endOfInput) {
+                T value = _readRow();
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        public List<T> readAll() throws IOException
+        {
+            List<T> result = new ArrayList<T>();
+            T value;
+            while ((value = nextValue()) != null) {
+                result.add(value);
+            }
+            return result;
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            if (_next == null) {
+                try {
+                    _next = nextValue();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return (_next != null);
+        }
+
+        @Override
+        public T next()
+        {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T value = _next;
+            _next = null;
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            _parser.close();
+        }
+
+        /**
+         * Method called before reading the first row, to handle header line
+         * and other settings similar to what {@link CsvParser} does for its first
+         * token; and to resolve column readers.
+         */
+        protected void _startDocument() throws IOException
+        {
+            final CsvParser p = _parser;
+            final CsvSchema origSchema = p.getSchema();
+            _reader.skipLeadingComments();
+            if (origSchema.usesHeader()) {
+                p._readHeaderLine();
+                _reader.skipLeadingComments();
+            }
+            if (origSchema.skipsFirstDataRow()) {
+                _reader.skipLine();
+                _reader.skipLeadingComments();
+            }
+            final CsvSchema schema = p.getSchema();
+            final int count = schema.size();
+            if (count == 0) {
+                p._reportCsvMappingError("Can not bind rows without column definitions");
+            }
+            final ColumnReader[] columns = new ColumnReader[count];
+            for (int i = 0; i < count; ++i) {
+                if ((p._excludedColumns != null) && p._excludedColumns[i]) {
+                    continue;
+                }
+                final String name = schema.columnName(i);
+                columns[i] = _rowReader._columnsByName.get(name);
+                if ((columns[i] == null) && _rowReader._failOnUnknown) {
+                    p._reportCsvMappingError("Unrecognized column \"%s\": no matching property in %s",
+                            name, _rowReader._valueType.getName());
+                }
+            }
+            _columns = columns;
+            _endOfInput = !_reader.hasMoreInput();
+        }
+
+        /**
+         * Method called to read a single row, if one matches row filters
+         * (if any).
+         *
+         * @return Value bound from the row; or null if row was skipped
+         */
+        @SuppressWarnings("unchecked")
+        protected T _readRow() throws IOException
+        {
+            final CsvParser p = _parser;
+            final ColumnReader[] columns = _columns;
+            final int count = columns.length;
+            ++_rowCount;
+            int i = 0;
+
+            p._filteredValueCount = 0;
+            if (p.getSchema().getRowFilters() != null) {
+                if (!p._matchesRowFilters()) {
+                    _endOfInput = !_reader.startNewLine();
+                    return null;
+                }
+            }
+            final Object bean;
+            try {
+                bean = _rowReader._constructor.invokeExact();
+            } catch (Throwable t) {
+                return _reportFailure(t, "Failed to construct instance of %s",
+                        _rowReader._valueType.getName());
+            }
+            for (final int end = p._filteredValueCount; i < end; ++i) {
+                if (columns[i] != null) {
+                    _set(columns[i], bean, p._filteredChars, p._filteredOffsets[i],
+                            p._filteredLengths[i], null);
+                }
+            }
+            boolean rowEnded = false;
+            for (; i < count; ++i) {
+                final ColumnReader column = columns[i];
+                if (column == null) { // excluded by projection or unknown
+                    if (!_reader.skipValue()) {
+                        rowEnded = true;
+                        break;
+                    }
+                    continue;
+                }
+                if (!_reader.nextValue()) {
+                    rowEnded = true;
+                    break;
+                }
+                _set(column, bean, _textBuffer.getTextBuffer(), _textBuffer.getTextOffset(),
+                        _textBuffer.size(), null);
+            }
+            if (rowEnded) {
+                if (p.isEnabled(CsvParser.Feature.FAIL_ON_MISSING_COLUMNS)) {
+                    _endOfInput = !_reader.startNewLine();
+                    p._reportCsvMappingError("Not enough column values: expected %d, found %d",
+                            count, i);
+                }
+            } else {
+                _skipExtraColumns(count);
+            }
+            _endOfInput = !_reader.startNewLine();
+            return (T) bean;
+        }
+
+        private void _skipExtraColumns(final int count) throws IOException
+        {
+            if (!_reader.nextValue()) {
+                return;
+            }
+            final CsvParser p = _parser;
+            if (!p.isEnabled(CsvParser.Feature.IGNORE_TRAILING_UNMAPPABLE)) {
+                // one trailing all-whitespace value is allowed, same as with CsvParser
+                final String value = _textBuffer.contentsAsString();
+                if (!p.isEnabled(CsvParser.Feature.ALLOW_TRAILING_COMMA)
+                        || !value.trim().isEmpty() || _reader.skipValue()) {
+                    while (_reader.skipValue()) { }
+                    _endOfInput = !_reader.startNewLine();
+                    p._reportCsvMappingError("Too many entries: expected at most %d (value #%d (%d chars) \"%s\")",
+                            count, count, value.length(), value);
+                }
+            }
+            while (_reader.skipValue()) { }
+        }
+
+        private void _set(ColumnReader column, Object bean, char[] buf, int offset, int len,
+                String value) throws IOException
+        {
+            final String nullValue = _parser._nullValue;
+            try {
+                if ((nullValue != null) && (len == nullValue.length())
+                        && CsvRowFilter._equals(nullValue, buf, offset, len)) {
+                    column.setNull(bean);
+                } else if (!column.set(bean, buf, offset, len)) {
+                    if (value == null) {
+                        value = new String(buf, offset, len);
+                    }
+                    _parser._reportCsvMappingError("Invalid value for column \"%s\" (%s) of row #%d: \"%s\"",
+                            column._name, column._typeDesc, _rowCount, value);
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                _reportFailure(t, "Failed to set property \"%s\" of %s",
+                        column._name, _rowReader._valueType.getName());
+            }
+        }
+
+        private <X> X _reportFailure(Throwable t, String msg, Object... args) throws IOException
+        {
+            if (t instanceof IOException) {
+                throw (IOException) t;
+            }
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            CsvMappingException e = CsvMappingException.from(_parser,
+                    String.format(msg, args)+": "+t.getMessage(), _parser.getSchema());
+            e.initCause(t);
+            throw e;
+        }
+    }
+
+    /**
+     * Reader for a single column, bound to mutator of matching property.
+     */
+    protected abstract static class ColumnReader
+    {
+        protected final String _name;
+
+        protected final String _typeDesc;
+
+        protected final MethodHandle _setter;
+
+        ColumnReader(String name, Class<?> type, MethodHandle setter) {
+            _name = name;
+            _typeDesc = type.getSimpleName();
+            _setter = setter;
+        }
+
+        /**
+         * Method called to set value read from a column. For non-String
+         * types value is trimmed, and empty values are considered nulls.
+         *
+         * @return False if value is not valid for the property
+         */
+        boolean set(Object bean, char[] buf, int offset, int len) throws Throwable
+        {
+            int start = offset;
+            int end = offset + len;
+            while ((start < end) && (buf[start] <= ' ')) {
+                ++start;
+            }
+            while ((end > start) && (buf[end-1] <= ' ')) {
+                --end;
+            }
+            if (start == end) {
+                setNull(bean);
+                return true;
+            }
+            return setTrimmed(bean, buf, start, end - start);
+        }
+
+        abstract boolean setTrimmed(Object bean, char[] buf, int offset, int len) throws Throwable;
+
+        abstract void setNull(Object bean) throws Throwable;
+
+        /**
+         * @return Reader for property of given type; or null if type is
+         *    not supported
+         */
+        static ColumnReader construct(String name, Class<?> type, MethodHandle setter)
+        {
+            if (type == Integer.TYPE || type == Integer.class) {
+                return new IntReader(name, type, setter, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            }
+            if (type == Short.TYPE || type == Short.class) {
+                return new IntReader(name, type, setter, Short.MIN_VALUE, Short.MAX_VALUE);
+            }
+            if (type == Byte.TYPE || type == Byte.class) {
+                return new IntReader(name, type, setter, Byte.MIN_VALUE, Byte.MAX_VALUE);
+            }
+            if (type == Long.TYPE || type == Long.class) {
+                return new LongReader(name, type, setter);
+            }
+            if (type == Double.TYPE || type == Double.class) {
+                return new DoubleReader(name, type, setter);
+            }
+            if (type == Float.TYPE || type == Float.class) {
+                return new FloatReader(name, type, setter);
+            }
+            if (type == Boolean.TYPE || type == Boolean.class) {
+                return new BooleanReader(name, type, setter);
+            }
+            if (type.isPrimitive()) {
+                return null;
+            }
+            if (type == String.class || type == Character.class
+                    || type == BigInteger.class || type == BigDecimal.class) {
+                return new TextReader(name, type, setter);
+            }
+            return null;
+        }
+
+        static MethodHandle _adapt(MethodHandle setter, Class<?> valueType) {
+            return setter.asType(MethodType.methodType(Void.TYPE, Object.class, valueType));
+        }
+    }
+
+    /**
+     * Reader for primitive and wrapper values that are set using
+     * <code>int</code>: for wrappers, setter is adapted to box values.
+     */
+    private final static class IntReader extends ColumnReader
+    {
+        private final MethodHandle _intSetter, _nullSetter;
+
+        private final long _min, _max;
+
+        IntReader(String name, Class<?> type, MethodHandle setter, long min, long max) {
+            super(name, type, setter);
+            // NOTE: narrowing conversions are done after range check, for primitives
+            MethodHandle h = setter;
+            if (type == Short.class || type == Short.TYPE) {
+                h = MethodHandles.filterArguments(setter.asType(
+                        MethodType.methodType(Void.TYPE, Object.class, Short.TYPE)), 1, _NARROW_SHORT);
+            } else if (type == Byte.class || type == Byte.TYPE) {
+                h = MethodHandles.filterArguments(setter.asType(
+                        MethodType.methodType(Void.TYPE, Object.class, Byte.TYPE)), 1, _NARROW_BYTE);
+            }
+            _intSetter = _adapt(h, Integer.TYPE);
+            _nullSetter = _nullSetter(setter, type);
+            _min = min;
+            _max = max;
+        }
+
+        @Override
+        boolean setTrimmed(Object bean, char[] buf, int offset, int len) throws Throwable {
+            final long l = CsvColumnVector.LongVector._parseLong(buf, offset, len);
+            if ((l < _min) || (l > _max)) {
+                return false;
+            }
+            _intSetter.invokeExact(bean, (int) l);
+            return true;
+        }
+
+        @Override
+        void setNull(Object bean) throws Throwable {
+            _nullSetter.invokeExact(bean);
+        }
+    }
+
+    private final static class LongReader extends ColumnReader
+    {
+        private final MethodHandle _longSetter, _nullSetter;
+
+        LongReader(String name, Class<?> type, MethodHandle setter) {
+            super(name, type, setter);
+            _longSetter = _adapt(setter, Long.TYPE);
+            _nullSetter = _nullSetter(setter, type);
+        }
+
+        @Override
+        boolean setTrimmed(Object bean, char[] buf, int offset, int len) throws Throwable {
+            final long l = CsvColumnVector.LongVector._parseLong(buf, offset, len);
+            // marker value for invalid values may also be valid
+            if ((l == Long.MIN_VALUE)
+                    && !new String(buf, offset, len).equals(String.valueOf(Long.MIN_VALUE))) {
+                return false;
+            }
+            _longSetter.invokeExact(bean, l);
+            return true;
+        }
+
+        @Override
+        void setNull(Object bean) throws Throwable {
+            _nullSetter.invokeExact(bean);
+        }
+    }
+
+    private final static class DoubleReader extends ColumnReader
+    {
+        private final MethodHandle _doubleSetter, _nullSetter;
+
+        DoubleReader(String name, Class<?> type, MethodHandle setter) {
+            super(name, type, setter);
+            _doubleSetter = _adapt(setter, Double.TYPE);
+            _nullSetter = _nullSetter(setter, type);
+        }
+
+        @Override
+        boolean setTrimmed(Object bean, char[] buf, int offset, int len) throws Throwable {
+            final double d;
+            try {
+                d = NumberInput.parseDouble(buf, offset, len);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            _doubleSetter.invokeExact(bean, d);
+            return true;
+        }
+
+        @Override
+        void setNull(Object bean) throws Throwable {
+            _nullSetter.invokeExact(bean);
+        }
+    }
+
+    private final static class FloatReader extends ColumnReader
+    {
+        private final MethodHandle _floatSetter, _nullSetter;
+
+        FloatReader(String name, Class<?> type, MethodHandle setter) {
+            super(name, type, setter);
+            _floatSetter = _adapt(setter, Float.TYPE);
+            _nullSetter = _nullSetter(setter, type);
+        }
+
+        @Override
+        boolean setTrimmed(Object bean, char[] buf, int offset, int len) throws Throwable {
+            final float f;
+            // note: parsing as double and narrowing could round differently
+            try {
+                f = Float.parseFloat(new String(buf, offset, len));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            _floatSetter.invokeExact(bean, f);
+            return true;
+        }
+
+        @Override
+        void setNull(Object bean) throws Throwable {
+            _nullSetter.invokeExact(bean);
+        }
+    }
+
+    private final static class BooleanReader extends ColumnReader
+    {
+        private final MethodHandle _booleanSetter, _nullSetter;
+
+        BooleanReader(String name, Class<?> type, MethodHandle setter) {
+            super(name, type, setter);
+            _booleanSetter = _adapt(setter, Boolean.TYPE);
+            _nullSetter = _nullSetter(setter, type);
+        }
+
+        @Override
+        boolean setTrimmed(Object bean, char[] buf, int offset, int len) throws Throwable {
+            final boolean b;
+            if ((len == 4) && _equalsIgnoreCase("true", buf, offset)) {
+                b = true;
+            } else if ((len == 5) && _equalsIgnoreCase("false", buf, offset)) {
+                b = false;
+            } else {
+                return false;
+            }
+            _booleanSetter.invokeExact(bean, b);
+            return true;
+        }
+
+        @Override
+        void setNull(Object bean) throws Throwable {
+            _nullSetter.invokeExact(bean);
+        }
+
+        private static boolean _equalsIgnoreCase(String str, char[] buf, int offset) {
+            for (int i = 0, len = str.length(); i < len; ++i) {
+                if (Character.toLowerCase(buf[offset+i]) != str.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Reader for values of reference types constructed from text:
+     * {@link String}, {@link Character}, {@link BigInteger} and {@link BigDecimal}
+     */
+    private final static class TextReader extends ColumnReader
+    {
+        private final Class<?> _type;
+
+        private final MethodHandle _objectSetter;
+
+        TextReader(String name, Class<?> type, MethodHandle setter) {
+            super(name, type, setter);
+            _type = type;
+            _objectSetter = _adapt(setter, Object.class);
+        }
+
+        @Override
+        boolean set(Object bean, char[] buf, int offset, int len) throws Throwable {
+            // Strings are neither trimmed nor coerced
+            if (_type == String.class) {
+                _objectSetter.invokeExact(bean, (Object) new String(buf, offset, len));
+                return true;
+            }
+            return super.set(bean, buf, offset, len);
+        }
+
+        @Override
+        boolean setTrimmed(Object bean, char[] buf, int offset, int len) throws Throwable {
+            final Object value;
+            try {
+                if (_type == BigDecimal.class) {
+                    value = NumberInput.parseBigDecimal(buf, offset, len);
+                } else if (_type == BigInteger.class) {
+                    value = new BigInteger(new String(buf, offset, len));
+                } else if (len == 1) { // Character
+                    value = Character.valueOf(buf[offset]);
+                } else {
+                    return false;
+                }
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            _objectSetter.invokeExact(bean, value);
+            return true;
+        }
+
+        @Override
+        void setNull(Object bean) throws Throwable {
+            _objectSetter.invokeExact(bean, (Object) null);
+        }
+    }
+
+    private final static MethodHandle _NARROW_SHORT, _NARROW_BYTE;
+    static {
+        _NARROW_SHORT = MethodHandles.explicitCastArguments(MethodHandles.identity(Integer.TYPE),
+                MethodType.methodType(Short.TYPE, Integer.TYPE));
+        _NARROW_BYTE = MethodHandles.explicitCastArguments(MethodHandles.identity(Integer.TYPE),
+                MethodType.methodType(Byte.TYPE, Integer.TYPE));
+    }
+
+    /**
+     * Helper method for constructing handle that sets null value: default
+     * value for primitives, <code>null</code> for wrappers
+     */
+    static MethodHandle _nullSetter(MethodHandle setter, Class<?> type)
+    {
+        final Object nullValue = type.isPrimitive() ? _defaultValue(type) : null;
+        MethodHandle h = setter.asType(MethodType.methodType(Void.TYPE, Object.class, Object.class));
+        return MethodHandles.insertArguments(h, 1, nullValue);
+    }
+
+    private static Object _defaultValue(Class<?> type)
+    {
+        if (type == Boolean.TYPE) {
+            return Boolean.FALSE;
+        }
+        if (type == Long.TYPE) {
+            return Long.valueOf(0L);
+        }
+        if (type == Double.TYPE) {
+            return Double.valueOf(0.0);
+        }
+        if (type == Float.TYPE) {
+            return Float.valueOf(0.0f);
+        }
+        if (type == Short.TYPE) {
+            return Short.valueOf((short) 0);
+        }
+        if (type == Byte.TYPE) {
+            return Byte.valueOf((byte) 0);
+        }
+        return Integer.valueOf(0);
+    }
+}
@@ -0,0 +1,452 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.*;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.dataformat.csv.impl.CsvEncoder;
+
+/**
+ * Writer that writes POJOs of a single type as CSV rows, using accessors
+ * that are resolved once for given combination of POJO type and
+ * {@link CsvSchema}: for each column of the schema, property value is read
+ * using a {@link MethodHandle} bound to its getter (or field), and written
+ * directly to the encoder, in column order. This avoids per-property name
+ * lookups, buffering of out-of-order values and general-purpose serializer
+ * dispatch done when writing using {@link ObjectWriter}.
+ *<p>
+ * Instances are constructed using {@link CsvMapper#rowWriterFor(Class, CsvSchema)};
+ * construction is relatively expensive, but instances are immutable and
+ * thread-safe so they should be reused.
+ *<p>
+ * Only properties of scalar types (primitives and their wrappers,
+ * {@link String}, {@link BigInteger} and {@link BigDecimal}) are supported,
+ * and properties may not use custom serializers or formats: construction
+ * fails with {@link IllegalArgumentException} for types with other kinds
+ * of properties. Properties not included in schema are ignored; columns
+ * without matching property are written as missing (empty) values, and
+ * <code>null</code> values as null value of the schema.
+ *<pre>
+ *   CsvRowWriter&lt;Point&gt; w = mapper.rowWriterFor(Point.class, mapper.schemaFor(Point.class));
+ *   try (CsvRowWriter.RowOutput&lt;Point&gt; out = w.writeValues(file)) {
+ *       for (Point p : points) {
+ *           out.write(p);
+ *       }
+ *   }
+ *</pre>
+ *
+ * @since 3.0
+ */
+public class CsvRowWriter<T>
+{
+    protected final CsvMapper _mapper;
+
+    protected final Class<T> _valueType;
+
+    protected final CsvSchema _schema;
+
+    /**
+     * Writers for all columns of {@link #_schema}, in column order.
+     */
+    protected final ColumnWriter[] _columns;
+
+    protected CsvRowWriter(CsvMapper mapper, Class<T> valueType, CsvSchema schema,
+            ColumnWriter[] columns)
+    {
+        _mapper = mapper;
+        _valueType = valueType;
+        _schema = schema;
+        _columns = columns;
+    }
+
+    /**
+     * Factory method called by {@link CsvMapper} to resolve accessors for
+     * all columns of given schema.
+     */
+    protected static <T> CsvRowWriter<T> construct(CsvMapper mapper, Class<T> valueType,
+            CsvSchema schema)
+    {
+        final SerializationConfig config = mapper.serializationConfig();
+        final AnnotationIntrospector intr = config.getAnnotationIntrospector();
+        BeanDescription beanDesc = config.introspect(mapper.constructType(valueType));
+        Map<String, AnnotatedMember> accessors = new HashMap<>();
+        for (BeanPropertyDefinition prop : beanDesc.findProperties()) {
+            // ignore setter-only properties:
+            if (!prop.couldSerialize()) {
+                continue;
+            }
+            AnnotatedMember m = prop.getAccessor();
+            if ((m == null) || (schema.column(prop.getName()) == null)) {
+                continue;
+            }
+            if (intr.findUnwrappingNameTransformer(m) != null
+                    || m.hasAnnotation(JsonSerialize.class)
+                    || m.hasAnnotation(JsonFormat.class)) {
+                throw new IllegalArgumentException(String.format(
+                        "Property \"%s\" of %s uses custom serialization, not supported by %s",
+                        prop.getName(), valueType.getName(), CsvRowWriter.class.getSimpleName()));
+            }
+            accessors.put(prop.getName(), m);
+        }
+        final boolean forceAccess = config.canOverrideAccessModifiers();
+        final ColumnWriter[] columns = new ColumnWriter[schema.size()];
+        for (int i = 0; i < columns.length; ++i) {
+            final String name = schema.columnName(i);
+            AnnotatedMember m = accessors.get(name);
+            if (m == null) {
+                columns[i] = ColumnWriter.MISSING;
+                continue;
+            }
+            columns[i] = ColumnWriter.construct(name, _getter(valueType, name, m, forceAccess),
+                    m.getRawType());
+            if (columns[i] == null) {
+                throw new IllegalArgumentException(String.format(
+                        "Property \"%s\" of %s has type %s, not supported by %s",
+                        name, valueType.getName(), m.getRawType().getName(),
+                        CsvRowWriter.class.getSimpleName()));
+            }
+        }
+        return new CsvRowWriter<T>(mapper, valueType, schema, columns);
+    }
+
+    private static MethodHandle _getter(Class<?> valueType, String name, AnnotatedMember m,
+            boolean forceAccess)
+    {
+        final Member member = m.getMember();
+        final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            if (forceAccess && (!Modifier.isPublic(member.getModifiers())
+                    || !Modifier.isPublic(member.getDeclaringClass().getModifiers()))) {
+                ((AccessibleObject) member).setAccessible(true);
+            }
+            if (member instanceof Method) {
+                return lookup.unreflect((Method) member);
+            }
+            return lookup.unreflectGetter((Field) member);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException(String.format(
+                    "Can not access property \"%s\" of %s: %s",
+                    name, valueType.getName(), e.getMessage()), e);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    public Class<T> getValueType() {
+        return _valueType;
+    }
+
+    public CsvSchema getSchema() {
+        return _schema;
+    }
+
+    /**
+     * Method for constructing {@link RowOutput} for writing rows as UTF-8
+     * encoded content into given stream.
+     */
+    public RowOutput<T> writeValues(OutputStream out) throws IOException {
+        return _output(_mapper.createGenerator(out));
+    }
+
+    public RowOutput<T> writeValues(Writer w) throws IOException {
+        return _output(_mapper.createGenerator(w));
+    }
+
+    public RowOutput<T> writeValues(File f) throws IOException {
+        return _output(_mapper.createGenerator(f, JsonEncoding.UTF8));
+    }
+
+    /**
+     * Convenience method for writing given values as rows, and returning
+     * contents as a {@link String}.
+     */
+    public String writeValuesAsString(Iterable<? extends T> values) throws IOException
+    {
+        StringWriter sw = new StringWriter();
+        try (RowOutput<T> out = writeValues(sw)) {
+            out.writeAll(values);
+        }
+        return sw.toString();
+    }
+
+    protected RowOutput<T> _output(JsonGenerator g)
+    {
+        CsvGenerator gen = (CsvGenerator) g;
+        gen.setSchema(_schema);
+        return new RowOutput<T>(this, gen);
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper classes
+    /**********************************************************************
+     */
+
+    /**
+     * Output to which rows are written; similar to {@link SequenceWriter}.
+     * Not thread-safe.
+     */
+    public static class RowOutput<T>
+        implements Closeable, Flushable
+    {
+        protected final CsvRowWriter<T> _rowWriter;
+
+        protected final CsvGenerator _generator;
+
+        protected final boolean _bigDecimalAsPlain;
+
+        protected boolean _closed;
+
+        protected RowOutput(CsvRowWriter<T> rowWriter, CsvGenerator gen)
+        {
+            _rowWriter = rowWriter;
+            _generator = gen;
+            _bigDecimalAsPlain = gen.isEnabled(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN);
+        }
+
+        /**
+         * Method for writing given value as a single row.
+         */
+        public RowOutput<T> write(T value) throws IOException
+        {
+            final CsvGenerator gen = _generator;
+            if (gen._handleFirstLine) {
+                gen._handleFirstLine();
+            }
+            final CsvEncoder enc = gen._writer;
+            final ColumnWriter[] columns = _rowWriter._columns;
+            int i = 0;
+            try {
+                for (; i < columns.length; ++i) {
+                    columns[i].write(enc, i, value, _bigDecimalAsPlain);
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                CsvMappingException e = CsvMappingException.from(gen, String.format(
+                        "Failed to access property \"%s\" of %s: %s",
+                        _rowWriter._schema.columnName(i), _rowWriter._valueType.getName(),
+                        t.getMessage()), _rowWriter._schema);
+                e.initCause(t);
+                throw e;
+            }
+            enc.endRow();
+            return this;
+        }
+
+        public RowOutput<T> writeAll(Iterable<? extends T> values) throws IOException
+        {
+            for (T value : values) {
+                write(value);
+            }
+            return this;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (!_closed) {
+                _generator.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            if (!_closed) {
+                _closed = true;
+                _generator.close();
+            }
+        }
+    }
+
+    /**
+     * Writer for a single column, bound to accessor of matching property.
+     */
+    protected abstract static class ColumnWriter
+    {
+        /**
+         * Writer for columns that have no matching property
+         */
+        final static ColumnWriter MISSING = new ColumnWriter(null) {
+            @Override
+            void write(CsvEncoder enc, int index, Object bean, boolean plain) throws IOException {
+                enc.writeNonEscaped(index, "");
+            }
+        };
+
+        protected final MethodHandle _getter;
+
+        ColumnWriter(MethodHandle getter) {
+            _getter = getter;
+        }
+
+        abstract void write(CsvEncoder enc, int index, Object bean, boolean plain)
+            throws Throwable;
+
+        /**
+         * @return Writer for property of given type; or null if type is
+         *    not supported
+         */
+        static ColumnWriter construct(String name, MethodHandle getter, Class<?> type)
+        {
+            if (type.isPrimitive()) {
+                getter = getter.asType(MethodType.methodType(type, Object.class));
+                if (type == Integer.TYPE || type == Short.TYPE || type == Byte.TYPE) {
+                    return new IntWriter(getter.asType(MethodType.methodType(Integer.TYPE, Object.class)));
+                }
+                if (type == Long.TYPE) {
+                    return new LongWriter(getter);
+                }
+                if (type == Double.TYPE) {
+                    return new DoubleWriter(getter);
+                }
+                if (type == Float.TYPE) {
+                    return new FloatWriter(getter);
+                }
+                if (type == Boolean.TYPE) {
+                    return new BooleanWriter(getter);
+                }
+                if (type == Character.TYPE) {
+                    return new CharWriter(getter);
+                }
+                return null;
+            }
+            getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+            if (type == String.class || type == Character.class || type == BigInteger.class) {
+                return new TextWriter(getter);
+            }
+            if (type == Integer.class || type == Short.class || type == Byte.class
+                    || type == Long.class || type == Double.class || type == Float.class
+                    || type == Boolean.class || type == BigDecimal.class) {
+                return new WrapperWriter(getter);
+            }
+            return null;
+        }
+    }
+
+    private final static class IntWriter extends ColumnWriter
+    {
+        IntWriter(MethodHandle getter) { super(getter); }
+
+        @Override
+        void write(CsvEncoder enc, int index, Object bean, boolean plain) throws Throwable {
+            enc.write(index, (int) _getter.invokeExact(bean));
+        }
+    }
+
+    private final static class LongWriter extends ColumnWriter
+    {
+        LongWriter(MethodHandle getter) { super(getter); }
+
+        @Override
+        void write(CsvEncoder enc, int index, Object bean, boolean plain) throws Throwable {
+            enc.write(index, (long) _getter.invokeExact(bean));
+        }
+    }
+
+    private final static class DoubleWriter extends ColumnWriter
+    {
+        DoubleWriter(MethodHandle getter) { super(getter); }
+
+        @Override
+        void write(CsvEncoder enc, int index, Object bean, boolean plain) throws Throwable {
+            enc.write(index, (double) _getter.invokeExact(bean));
+        }
+    }
+
+    private final static class FloatWriter extends ColumnWriter
+    {
+        FloatWriter(MethodHandle getter) { super(getter); }
+
+        @Override
+        void write(CsvEncoder enc, int index, Object bean, boolean plain) throws Throwable {
+            enc.write(index, (float) _getter.invokeExact(bean));
+        }
+    }
+
+    private final static class BooleanWriter extends ColumnWriter
+    {
+        BooleanWriter(MethodHandle getter) { super(getter); }
+
+        @Override
+        void write(CsvEncoder enc, int index, Object bean, boolean plain) throws Throwable {
+            enc.write(index, (boolean) _getter.invokeExact(bean));
+        }
+    }
+
+    private final static class CharWriter extends ColumnWriter
+    {
+        CharWriter(MethodHandle getter) { super(getter); }
+
+        @Override
+        void write(CsvEncoder enc, int index, Object bean, boolean plain) throws Throwable {
+            enc.write(index, String.valueOf((char) _getter.invokeExact(bean)));
+        }
+    }
+
+    /**
+     * Writer for values written as Strings: {@link String}, {@link Character}
+     * and {@link BigInteger}
+     */
+    private final static class TextWriter extends ColumnWriter
+    {
+        TextWriter(MethodHandle getter) { super(getter); }
+
+        @Override
+        void write(CsvEncoder enc, int index, Object bean, boolean plain) throws Throwable {
+            Object value = _getter.invokeExact(bean);
+            if (value == null) {
+                enc.writeNull(index);
+            } else {
+                enc.write(index, value.toString());
+            }
+        }
+    }
+
+    /**
+     * Writer for wrapper types of primitive numbers and booleans, as well
+     * as {@link BigDecimal}
+     */
+    private final static class WrapperWriter extends ColumnWriter
+    {
+        WrapperWriter(MethodHandle getter) { super(getter); }
+
+        @Override
+        void write(CsvEncoder enc, int index, Object bean, boolean plain) throws Throwable {
+            Object value = _getter.invokeExact(bean);
+            if (value == null) {
+                enc.writeNull(index);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                enc.write(index, ((Number) value).intValue());
+            } else if (value instanceof Long) {
+                enc.write(index, ((Long) value).longValue());
+            } else if (value instanceof Double) {
+                enc.write(index, ((Double) value).doubleValue());
+            } else if (value instanceof Float) {
+                enc.write(index, ((Float) value).floatValue());
+            } else if (value instanceof Boolean) {
+                enc.write(index, ((Boolean) value).booleanValue());
+            } else {
+                BigDecimal dec = (BigDecimal) value;
+                enc.write(index, plain ? dec.toPlainString() : dec.toString());
+            }
+        }
+    }
+}
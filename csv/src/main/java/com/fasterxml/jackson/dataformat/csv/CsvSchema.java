@@ -4,6 +4,7 @@ package com.fasterxml.jackson.dataformat.csv;
 import java.util.*;
 
 import com.fasterxml.jackson.core.FormatSchema;
+import com.fasterxml.jackson.dataformat.csv.impl.ColumnIndex;
 
 /**
  * Simple {@link FormatSchema} sub-type that defines properties of
@@ -423,6 +424,22 @@ public class CsvSchema
          */
         protected char[] _nullValue = DEFAULT_NULL_VALUE;
 
+        /**
+         * Names of columns to expose, if projection is used; <code>null</code>
+         * to expose all columns.
+         *
+         * @since 3.0
+         */
+        protected Set<String> _projection;
+
+        /**
+         * Filters rows must match to be exposed when reading, if any;
+         * <code>null</code> if none.
+         *
+         * @since 3.0
+         */
+        protected List<CsvRowFilter> _rowFilters;
+
         public Builder() { }
 
         /**
@@ -442,6 +459,8 @@ public class CsvSchema
             _lineSeparator = src._lineSeparator;
             _nullValue = src._nullValue;
             _anyPropertyName = src._anyPropertyName;
+            _projection = src._projection;
+            _rowFilters = src._rowFilters;
         }
 
         /**
@@ -593,6 +612,28 @@ public class CsvSchema
             return this;
         }
 
+        /**
+         * Method for specifying names of columns to expose when reading;
+         * see {@link CsvSchema#withProjection(Set)} for details.
+         *
+         * @since 3.0
+         */
+        public Builder setProjection(Set<String> columnNames) {
+            _projection = columnNames;
+            return this;
+        }
+
+        /**
+         * Method for specifying filters for rows to expose when reading;
+         * see {@link CsvSchema#withRowFilters(CsvRowFilter...)} for details.
+         *
+         * @since 3.0
+         */
+        public Builder setRowFilters(List<CsvRowFilter> filters) {
+            _rowFilters = filters;
+            return this;
+        }
+
         public Builder clearColumns() {
             _columns.clear();
             return this;
@@ -802,7 +843,7 @@ public class CsvSchema
             return new CsvSchema(cols, _encodingFeatures,
                     _columnSeparator, _quoteChar, _escapeChar,
                     _lineSeparator, _arrayElementSeparator,
-                    _nullValue, _anyPropertyName);
+                    _nullValue, _anyPropertyName, _projection, _rowFilters);
         }
 
         protected void _checkIndex(int index) {
@@ -824,7 +865,13 @@ public class CsvSchema
      */
     protected final Column[] _columns;
     
-    protected final Map<String,Column> _columnsByName;
+    /**
+     * Index for finding columns by name; built once for each set of columns
+     * and shared by all variants that retain the same columns.
+     *<p>
+     * NOTE: type changed from <code>Map</code> in 3.0
+     */
+    protected final ColumnIndex _columnsByName;
 
     /**
      * Bitflag for general-purpose on/off features.
@@ -863,6 +910,23 @@ public class CsvSchema
      */
     protected final String _anyPropertyName;
 
+    /**
+     * Names of columns to expose when reading, if projection is used:
+     * values of other columns are skipped without being decoded.
+     * <code>null</code> if all columns are to be exposed.
+     *
+     * @since 3.0
+     */
+    protected final Set<String> _projection;
+
+    /**
+     * Filters that rows must match to be exposed when reading, if any:
+     * other rows are skipped. <code>null</code> if there are no filters.
+     *
+     * @since 3.0
+     */
+    protected final List<CsvRowFilter> _rowFilters;
+
     /**
      * @deprecated use {@link #CsvSchema(Column[], int, char, int, int, char[], String, char[], String)} instead
      */
@@ -883,6 +947,19 @@ public class CsvSchema
             char columnSeparator, int quoteChar, int escapeChar,
             char[] lineSeparator, String arrayElementSeparator,
             char[] nullValue, String anyPropertyName)
+    {
+        this(columns, features, columnSeparator, quoteChar, escapeChar, lineSeparator,
+                arrayElementSeparator, nullValue, anyPropertyName, null, null);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public CsvSchema(Column[] columns, int features,
+            char columnSeparator, int quoteChar, int escapeChar,
+            char[] lineSeparator, String arrayElementSeparator,
+            char[] nullValue, String anyPropertyName, Set<String> projection,
+            List<CsvRowFilter> rowFilters)
     {
         if (columns == null) {
             columns = NO_COLUMNS;
@@ -898,16 +975,11 @@ public class CsvSchema
         _lineSeparator = lineSeparator;
         _nullValue = nullValue;
         _anyPropertyName = anyPropertyName;
+        _projection = _validProjection(projection);
+        _rowFilters = _validRowFilters(rowFilters);
 
-        // and then we may need to create a mapping
-        if (_columns.length == 0) {
-            _columnsByName = Collections.emptyMap();
-        } else {
-            _columnsByName = new HashMap<String,Column>(4 + _columns.length);
-            for (Column c : _columns) {
-                _columnsByName.put(c.getName(), c);
-            }
-        }
+        // and then we need to create a mapping
+        _columnsByName = ColumnIndex.construct(_columns);
     }
 
     /**
@@ -918,7 +990,8 @@ public class CsvSchema
             char columnSeparator, int quoteChar, int escapeChar,
             char[] lineSeparator, String arrayElementSeparator,
             char[] nullValue,
-            Map<String,Column> columnsByName, String anyPropertyName)
+            ColumnIndex columnsByName, String anyPropertyName,
+            Set<String> projection, List<CsvRowFilter> rowFilters)
     {
         _columns = columns;
         _features = features;
@@ -930,6 +1003,8 @@ public class CsvSchema
         _nullValue = nullValue;
         _columnsByName = columnsByName;
         _anyPropertyName = anyPropertyName;
+        _projection = projection;
+        _rowFilters = rowFilters;
     }    
 
     /**
@@ -947,16 +1022,11 @@ public class CsvSchema
         _arrayElementSeparator = base._arrayElementSeparator;
         _nullValue = base._nullValue;
         _anyPropertyName = base._anyPropertyName;
+        _projection = base._projection;
+        _rowFilters = base._rowFilters;
 
-        // and then we may need to create a mapping
-        if (_columns.length == 0) {
-            _columnsByName = Collections.emptyMap();
-        } else {
-            _columnsByName = new HashMap<String,Column>(4 + _columns.length);
-            for (Column c : _columns) {
-                _columnsByName.put(c.getName(), c);
-            }
-        }
+        // and then we need to create a mapping
+        _columnsByName = ColumnIndex.construct(_columns);
     }
     
     /**
@@ -974,6 +1044,8 @@ public class CsvSchema
         _arrayElementSeparator = base._arrayElementSeparator;
         _nullValue = base._nullValue;
         _anyPropertyName = base._anyPropertyName;
+        _projection = base._projection;
+        _rowFilters = base._rowFilters;
         _columnsByName = base._columnsByName;
     }
 
@@ -1123,35 +1195,35 @@ public class CsvSchema
         return (_columnSeparator == sep) ? this :
             new CsvSchema(_columns, _features,
                     sep, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                    _nullValue, _columnsByName, _anyPropertyName);
+                    _nullValue, _columnsByName, _anyPropertyName, _projection, _rowFilters);
     }
 
     public CsvSchema withQuoteChar(char c) {
         return (_quoteChar == c) ? this :
             new CsvSchema(_columns, _features,
                     _columnSeparator, c, _escapeChar, _lineSeparator,_arrayElementSeparator,
-                    _nullValue, _columnsByName, _anyPropertyName);
+                    _nullValue, _columnsByName, _anyPropertyName, _projection, _rowFilters);
     }
 
     public CsvSchema withoutQuoteChar() {
         return (_quoteChar == -1) ? this :
             new CsvSchema(_columns, _features,
                     _columnSeparator, -1, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                    _nullValue, _columnsByName, _anyPropertyName);
+                    _nullValue, _columnsByName, _anyPropertyName, _projection, _rowFilters);
     }
 
     public CsvSchema withEscapeChar(char c) {
         return (_escapeChar == c) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, c, _lineSeparator, _arrayElementSeparator,
-                        _nullValue, _columnsByName, _anyPropertyName);
+                        _nullValue, _columnsByName, _anyPropertyName, _projection, _rowFilters);
     }
 
     public CsvSchema withoutEscapeChar() {
         return (_escapeChar == -1) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, -1, _lineSeparator, _arrayElementSeparator,
-                        _nullValue, _columnsByName, _anyPropertyName);
+                        _nullValue, _columnsByName, _anyPropertyName, _projection, _rowFilters);
     }
 
     /**
@@ -1170,7 +1242,7 @@ public class CsvSchema
         String sep = separator == null ? "" : separator;
         return (_arrayElementSeparator.equals(sep)) ? this : new CsvSchema(_columns, _features,
             _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, separator,
-            _nullValue, _columnsByName, _anyPropertyName);
+            _nullValue, _columnsByName, _anyPropertyName, _projection, _rowFilters);
     }
 
 
@@ -1181,13 +1253,13 @@ public class CsvSchema
         return (_arrayElementSeparator.isEmpty()) ? this
                 : new CsvSchema(_columns, _features,
                         _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, "",
-                        _nullValue, _columnsByName, _anyPropertyName);
+                        _nullValue, _columnsByName, _anyPropertyName, _projection, _rowFilters);
     }
     
     public CsvSchema withLineSeparator(String sep) {
         return new CsvSchema(_columns, _features,
                 _columnSeparator, _quoteChar, _escapeChar, sep.toCharArray(),
-                _arrayElementSeparator, _nullValue, _columnsByName, _anyPropertyName);
+                _arrayElementSeparator, _nullValue, _columnsByName, _anyPropertyName, _projection, _rowFilters);
     }
 
     /**
@@ -1198,13 +1270,13 @@ public class CsvSchema
                 _columnSeparator, _quoteChar, _escapeChar, _lineSeparator,
                 _arrayElementSeparator,
                 (nvl == null) ? null : nvl.toCharArray(),
-                _columnsByName, _anyPropertyName);
+                _columnsByName, _anyPropertyName, _projection, _rowFilters);
     }
 
     public CsvSchema withoutColumns() {
         return new CsvSchema(NO_COLUMNS, _features,
                 _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                _nullValue, _columnsByName, _anyPropertyName);
+                _nullValue, _columnsByName, _anyPropertyName, _projection, _rowFilters);
     }
 
     /**
@@ -1240,7 +1312,79 @@ public class CsvSchema
     public CsvSchema withAnyPropertyName(String name) {
         return new CsvSchema(_columns, _features,
                 _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
-                _nullValue, _columnsByName, name);
+                _nullValue, _columnsByName, name, _projection, _rowFilters);
+    }
+
+    /**
+     * Mutant factory method that will construct a new instance that only
+     * exposes values of columns with given names when reading: values of
+     * other columns are skipped by parser, which only scans them for
+     * separators and quotes (and does not decode or copy contents).
+     * This is useful when only some of columns of a (wide) document are
+     * needed; set of names to use for a POJO type may be obtained using
+     * {@link CsvMapper#projectionFor(Class)}.
+     *<p>
+     * Note that projection is based on column names so it is applied to
+     * columns read from the header line, if one is used.
+     * Projection has no effect on writing.
+     *
+     * @param columnNames Names of columns to expose; <code>null</code> to
+     *    expose all columns
+     *
+     * @since 3.0
+     */
+    public CsvSchema withProjection(Set<String> columnNames) {
+        columnNames = _validProjection(columnNames);
+        if (Objects.equals(columnNames, _projection)) {
+            return this;
+        }
+        return new CsvSchema(_columns, _features,
+                _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
+                _nullValue, _columnsByName, _anyPropertyName, columnNames, _rowFilters);
+    }
+
+    /**
+     * Mutant factory method that will construct a new instance that exposes
+     * all columns when reading.
+     *
+     * @since 3.0
+     */
+    public CsvSchema withoutProjection() {
+        return withProjection(null);
+    }
+
+    /**
+     * Mutant factory method that will construct a new instance that only
+     * exposes rows that match all of given filters when reading: other rows
+     * are skipped by parser before exposing any tokens, and without decoding
+     * values of columns that follow the last filtered column.
+     * Filters replace any filters this instance has.
+     *<p>
+     * Note that filters refer to columns by name, so schema (or header line)
+     * must define columns. Filters have no effect on writing.
+     *
+     * @since 3.0
+     */
+    public CsvSchema withRowFilters(CsvRowFilter... filters) {
+        List<CsvRowFilter> rowFilters = _validRowFilters((filters == null) ? null : Arrays.asList(filters));
+        return new CsvSchema(_columns, _features,
+                _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
+                _nullValue, _columnsByName, _anyPropertyName, _projection, rowFilters);
+    }
+
+    /**
+     * Mutant factory method that will construct a new instance that exposes
+     * all rows when reading.
+     *
+     * @since 3.0
+     */
+    public CsvSchema withoutRowFilters() {
+        if (_rowFilters == null) {
+            return this;
+        }
+        return new CsvSchema(_columns, _features,
+                _columnSeparator, _quoteChar, _escapeChar, _lineSeparator, _arrayElementSeparator,
+                _nullValue, _columnsByName, _anyPropertyName, _projection, null);
     }
     
     /**
@@ -1378,6 +1522,32 @@ public class CsvSchema
      */
     public String getAnyPropertyName() { return _anyPropertyName; }
 
+    /**
+     * @return Names of columns to expose when reading, if projection is used;
+     *    <code>null</code> if all columns are exposed
+     *
+     * @since 3.0
+     */
+    public Set<String> getProjection() { return _projection; }
+
+    /**
+     * Accessor for checking whether value of column with given name is
+     * to be skipped when reading, due to projection.
+     *
+     * @since 3.0
+     */
+    public boolean isExcluded(String columnName) {
+        return (_projection != null) && !_projection.contains(columnName);
+    }
+
+    /**
+     * @return Filters rows must match to be exposed when reading, if any;
+     *    <code>null</code> if there are no filters
+     *
+     * @since 3.0
+     */
+    public List<CsvRowFilter> getRowFilters() { return _rowFilters; }
+
     /*
     /**********************************************************************
     /* Public API, extended; column access
@@ -1489,7 +1659,12 @@ public class CsvSchema
         } else {
             sb.append("as '").append(anyProp).append("'");
         }
-        
+        if (_projection != null) {
+            sb.append(", projection=").append(_projection);
+        }
+        if (_rowFilters != null) {
+            sb.append(", row-filters=").append(_rowFilters);
+        }
         sb.append(']');
         return sb.toString();
     }
@@ -1506,4 +1681,18 @@ public class CsvSchema
         }
         return sep;
     }
+
+    protected static Set<String> _validProjection(Set<String> columnNames) {
+        if (columnNames == null) {
+            return null;
+        }
+        return Collections.unmodifiableSet(new LinkedHashSet<String>(columnNames));
+    }
+
+    protected static List<CsvRowFilter> _validRowFilters(List<CsvRowFilter> filters) {
+        if ((filters == null) || filters.isEmpty()) {
+            return null;
+        }
+        return Collections.unmodifiableList(new ArrayList<CsvRowFilter>(filters));
+    }
 }
@@ -0,0 +1,138 @@
+package com.fasterxml.jackson.dataformat.csv;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.async.NonBlockingInputFeeder;
+import com.fasterxml.jackson.dataformat.csv.impl.CsvIOContext;
+import com.fasterxml.jackson.dataformat.csv.impl.NonBlockingCsvDecoder;
+
+/**
+ * Non-blocking {@link CsvParser} implementation, used with UTF-8 encoded
+ * content fed by caller in chunks (using {@link ByteArrayFeeder} methods,
+ * or {@link #feedInput(ByteBuffer)}). If the next token can not yet be
+ * decoded, {@link JsonToken#NOT_AVAILABLE} is returned; caller is then to
+ * feed more input (or call {@link #endOfInput()}) before trying again.
+ *<p>
+ * Parsing uses the same state machine as the blocking parser; content is
+ * decoded one record at a time, once all of it has been fed, so only
+ * the current (incomplete) record needs to be buffered.
+ *
+ * @since 3.0
+ */
+public class NonBlockingCsvParser
+    extends CsvParser
+    implements ByteArrayFeeder
+{
+    protected final NonBlockingCsvDecoder _feeder;
+
+    public NonBlockingCsvParser(ObjectReadContext readCtxt, CsvIOContext ioCtxt,
+            int stdFeatures, int csvFeatures, CsvSchema schema)
+    {
+        super(readCtxt, ioCtxt, stdFeatures, csvFeatures, schema,
+                p -> new NonBlockingCsvDecoder(ioCtxt, p, schema, p._textBuffer,
+                        stdFeatures, csvFeatures));
+        _feeder = (NonBlockingCsvDecoder) _reader;
+    }
+
+    /*
+    /**********************************************************************
+    /* AsyncInputFeeder impl
+    /**********************************************************************
+     */
+
+    @Override
+    public NonBlockingInputFeeder getNonBlockingInputFeeder() {
+        return this;
+    }
+
+    @Override
+    public final boolean needMoreInput() {
+        switch (_state) {
+        case STATE_DOC_START:
+            return !_feeder.hasRecords(_linesToStart());
+        case STATE_RECORD_START:
+            return _feeder.isNewLineDeferred() && !_feeder.hasRecords(1);
+        }
+        return false;
+    }
+
+    @Override
+    public void endOfInput() {
+        _feeder.endOfInput();
+    }
+
+    @Override
+    public void feedInput(byte[] buf, int start, int end) throws IOException
+    {
+        _verifyFeedable(start, end);
+        _feeder.feedInput(buf, start, end);
+    }
+
+    /**
+     * Alternative to {@link #feedInput(byte[], int, int)} for feeding content
+     * contained in a {@link ByteBuffer}: all remaining content of the buffer
+     * is consumed.
+     */
+    public void feedInput(ByteBuffer buf) throws IOException
+    {
+        _verifyFeedable(0, buf.remaining());
+        _feeder.feedInput(buf);
+    }
+
+    private void _verifyFeedable(int start, int end) throws IOException
+    {
+        if (end < start) {
+            _reportError(String.format("Input end (%d) may not be before start (%d)", end, start));
+        }
+        if (_feeder.isInputComplete()) {
+            _reportError("Already closed, can not feed more input");
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Parsing
+    /**********************************************************************
+     */
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        if (_state == STATE_DOC_START) {
+            if (!_feeder.hasRecords(_linesToStart())) {
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+        } else if ((_state == STATE_RECORD_START) && _feeder.isNewLineDeferred()) {
+            if (!_feeder.hasRecords(1)) {
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            if (!_feeder.resumeNewLine()) {
+                _state = STATE_DOC_END;
+            }
+        }
+        return super.nextToken();
+    }
+
+    @Override
+    protected boolean _isRecordAvailable() {
+        return !_feeder.isNewLineDeferred();
+    }
+
+    /**
+     * Number of lines (header, skipped row, first record) needed before
+     * the first token may be returned.
+     */
+    private int _linesToStart() {
+        int lines = 1;
+        if (_schema.usesHeader()) {
+            ++lines;
+        }
+        if (_schema.skipsFirstDataRow()) {
+            ++lines;
+        }
+        return lines;
+    }
+}
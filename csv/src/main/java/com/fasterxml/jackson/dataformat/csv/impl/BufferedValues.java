@@ -0,0 +1,162 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Helper class used for holding values of a row for a while until output
+ * can proceed in expected order. Values are held in slots indexed by column,
+ * with primitive values stored in a <code>long[]</code> and textual ones
+ * in a <code>String[]</code>, so that once slots have been sized for the row,
+ * buffering values does not allocate anything.
+ *
+ * @since 3.0
+ */
+public final class BufferedValues
+{
+    private final static byte TYPE_NONE = 0;
+    private final static byte TYPE_TEXT = 1;
+    private final static byte TYPE_RAW = 2;
+    private final static byte TYPE_INT = 3;
+    private final static byte TYPE_LONG = 4;
+    private final static byte TYPE_FLOAT = 5;
+    private final static byte TYPE_DOUBLE = 6;
+    private final static byte TYPE_BOOLEAN = 7;
+    private final static byte TYPE_NULL = 8;
+
+    private final static byte[] NO_TYPES = new byte[0];
+    private final static long[] NO_NUMBERS = new long[0];
+    private final static String[] NO_TEXTS = new String[0];
+
+    /**
+     * Type of value in each slot; {@link #TYPE_NONE} for empty slots
+     */
+    private byte[] _types = NO_TYPES;
+
+    /**
+     * Values of slots with numeric and boolean values; floating-point
+     * numbers as their raw bits
+     */
+    private long[] _numbers = NO_NUMBERS;
+
+    /**
+     * Values of slots with textual values
+     */
+    private String[] _texts = NO_TEXTS;
+
+    public BufferedValues() { }
+
+    /*
+    /**********************************************************
+    /* Buffering
+    /**********************************************************
+     */
+
+    public void buffer(int index, String v, int minSize) {
+        _ensureSize(index, minSize);
+        _types[index] = TYPE_TEXT;
+        _texts[index] = v;
+    }
+
+    public void bufferRaw(int index, String v, int minSize) {
+        _ensureSize(index, minSize);
+        _types[index] = TYPE_RAW;
+        _texts[index] = v;
+    }
+
+    public void buffer(int index, int v, int minSize) {
+        _ensureSize(index, minSize);
+        _types[index] = TYPE_INT;
+        _numbers[index] = v;
+    }
+
+    public void buffer(int index, long v, int minSize) {
+        _ensureSize(index, minSize);
+        _types[index] = TYPE_LONG;
+        _numbers[index] = v;
+    }
+
+    public void buffer(int index, float v, int minSize) {
+        _ensureSize(index, minSize);
+        _types[index] = TYPE_FLOAT;
+        _numbers[index] = Float.floatToRawIntBits(v);
+    }
+
+    public void buffer(int index, double v, int minSize) {
+        _ensureSize(index, minSize);
+        _types[index] = TYPE_DOUBLE;
+        _numbers[index] = Double.doubleToRawLongBits(v);
+    }
+
+    public void buffer(int index, boolean v, int minSize) {
+        _ensureSize(index, minSize);
+        _types[index] = TYPE_BOOLEAN;
+        _numbers[index] = v ? 1L : 0L;
+    }
+
+    public void bufferNull(int index, int minSize) {
+        _ensureSize(index, minSize);
+        _types[index] = TYPE_NULL;
+    }
+
+    private void _ensureSize(int index, int minSize)
+    {
+        if (index >= _types.length) {
+            final int size = Math.max(index+1, minSize);
+            _types = Arrays.copyOf(_types, size);
+            _numbers = Arrays.copyOf(_numbers, size);
+            _texts = Arrays.copyOf(_texts, size);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Output
+    /**********************************************************
+     */
+
+    /**
+     * Method called to write value of given slot, if any, and to clear
+     * the slot.
+     *
+     * @return True if slot had a value (that was written); false if not
+     */
+    public boolean write(int index, CsvEncoder w) throws IOException
+    {
+        if (index >= _types.length) {
+            return false;
+        }
+        final byte type = _types[index];
+        _types[index] = TYPE_NONE;
+        switch (type) {
+        case TYPE_NONE:
+            return false;
+        case TYPE_TEXT:
+            w.appendValue(_texts[index]);
+            _texts[index] = null;
+            break;
+        case TYPE_RAW:
+            w.appendRawValue(_texts[index]);
+            _texts[index] = null;
+            break;
+        case TYPE_INT:
+            w.appendValue((int) _numbers[index]);
+            break;
+        case TYPE_LONG:
+            w.appendValue(_numbers[index]);
+            break;
+        case TYPE_FLOAT:
+            w.appendValue(Float.intBitsToFloat((int) _numbers[index]));
+            break;
+        case TYPE_DOUBLE:
+            w.appendValue(Double.longBitsToDouble(_numbers[index]));
+            break;
+        case TYPE_BOOLEAN:
+            w.appendValue(_numbers[index] != 0L);
+            break;
+        default: // TYPE_NULL
+            w.appendNull();
+        }
+        return true;
+    }
+}
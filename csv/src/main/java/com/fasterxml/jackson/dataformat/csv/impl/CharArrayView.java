@@ -0,0 +1,58 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+/**
+ * Reusable {@link CharSequence} implementation that simply exposes a range
+ * of a <code>char[]</code>, without copying. Used by
+ * {@link com.fasterxml.jackson.dataformat.csv.CsvParser#getTextView()};
+ * note that contents are only valid until underlying buffer is modified
+ * (which is usually when parser advances to the next token).
+ *
+ * @since 3.0
+ */
+public final class CharArrayView implements CharSequence
+{
+    private char[] _buffer;
+
+    private int _offset;
+
+    private int _length;
+
+    public CharArrayView reset(char[] buffer, int offset, int length)
+    {
+        _buffer = buffer;
+        _offset = offset;
+        _length = length;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return _length;
+    }
+
+    @Override
+    public char charAt(int index)
+    {
+        if (index < 0 || index >= _length) {
+            throw new IndexOutOfBoundsException("Index "+index+" out of bounds for length "+_length);
+        }
+        return _buffer[_offset + index];
+    }
+
+    /**
+     * Note: unlike this view, returned sub-sequence is an immutable copy.
+     */
+    @Override
+    public CharSequence subSequence(int start, int end)
+    {
+        if (start < 0 || end > _length || start > end) {
+            throw new IndexOutOfBoundsException("Invalid range ["+start+", "+end+") for length "+_length);
+        }
+        return new String(_buffer, _offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        return new String(_buffer, _offset, _length);
+    }
+}
@@ -0,0 +1,222 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.dataformat.csv.CsvSchema.Column;
+
+/**
+ * Immutable lookup table from column names to {@link Column}s of a schema.
+ * Table is built once per column set as a minimal-effort perfect hash
+ * ("hash and displace"): names are first split into small buckets, and
+ * for each bucket a seed is searched for that maps all names of the bucket
+ * to distinct free slots. This way every lookup takes a single probe,
+ * using the cached {@link String#hashCode()} of the name.
+ * In the rare case of names with identical hash codes, lookups fall back
+ * to linear probing.
+ *<p>
+ * Names are first compared by identity, so lookups with interned names
+ * (such as property names of serializers) avoid {@link String#equals}.
+ *
+ * @since 3.0
+ */
+public final class ColumnIndex
+    implements java.io.Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    public final static ColumnIndex EMPTY = new ColumnIndex(new Column[2], 31, null, 31, 0);
+
+    /**
+     * Maximum seed value to try for a bucket before giving up
+     * on building a perfect hash
+     */
+    private final static int MAX_SEED = 0x10000;
+
+    private final Column[] _table;
+
+    private final int _shift;
+
+    /**
+     * Seed to use for each bucket, if perfect hash could be built;
+     * null if lookups need to use linear probing.
+     */
+    private final int[] _seeds;
+
+    private final int _bucketShift;
+
+    /**
+     * Maximum number of additional probes needed for any name in the
+     * table, when not using perfect hash.
+     */
+    private final int _maxProbe;
+
+    private ColumnIndex(Column[] table, int shift, int[] seeds, int bucketShift,
+            int maxProbe) {
+        _table = table;
+        _shift = shift;
+        _seeds = seeds;
+        _bucketShift = bucketShift;
+        _maxProbe = maxProbe;
+    }
+
+    /**
+     * Factory method for constructing index for given columns. If multiple
+     * columns have the same name, the last one is indexed.
+     */
+    public static ColumnIndex construct(Column[] columns)
+    {
+        if (columns.length == 0) {
+            return EMPTY;
+        }
+        // First things first: remove duplicates, retaining the last one
+        Map<String,Column> byName = new LinkedHashMap<String,Column>(columns.length + (columns.length >> 1));
+        for (Column col : columns) {
+            byName.put(col.getName(), col);
+        }
+        final Column[] cols = byName.values().toArray(new Column[byName.size()]);
+        final int count = cols.length;
+        final int[] hashes = new int[count];
+        for (int i = 0; i < count; ++i) {
+            hashes[i] = cols[i].getName().hashCode();
+        }
+        // Table is at most half full; buckets hold about 2 names each
+        int size = 2;
+        while (size < (count + count)) {
+            size += size;
+        }
+        final int shift = 32 - Integer.numberOfTrailingZeros(size);
+        final int bucketCount = Math.max(2, size >> 2);
+        final int bucketShift = 32 - Integer.numberOfTrailingZeros(bucketCount);
+
+        ColumnIndex index = _constructPerfect(cols, hashes, size, shift,
+                bucketCount, bucketShift);
+        if (index != null) {
+            return index;
+        }
+        // No luck (names with identical hash codes); use linear probing
+        final int mask = size - 1;
+        Column[] table = new Column[size];
+        int maxProbe = 0;
+        for (int i = 0; i < count; ++i) {
+            int ix = _slot(hashes[i], 0, shift);
+            int probe = 0;
+            while (table[ix] != null) {
+                ix = (ix + 1) & mask;
+                ++probe;
+            }
+            table[ix] = cols[i];
+            maxProbe = Math.max(maxProbe, probe);
+        }
+        return new ColumnIndex(table, shift, null, 0, maxProbe);
+    }
+
+    private static ColumnIndex _constructPerfect(Column[] cols, int[] hashes,
+            int size, int shift, int bucketCount, int bucketShift)
+    {
+        final int count = cols.length;
+        // Group entries by bucket, as linked lists (via indexes)
+        final int[] bucketHeads = new int[bucketCount];
+        final int[] bucketSizes = new int[bucketCount];
+        final int[] nextInBucket = new int[count];
+        Arrays.fill(bucketHeads, -1);
+        for (int i = 0; i < count; ++i) {
+            int b = _bucket(hashes[i], bucketShift);
+            nextInBucket[i] = bucketHeads[b];
+            bucketHeads[b] = i;
+            ++bucketSizes[b];
+        }
+        // Place biggest buckets first, while there is most room
+        Integer[] order = new Integer[bucketCount];
+        for (int b = 0; b < bucketCount; ++b) {
+            order[b] = b;
+        }
+        Arrays.sort(order, (b1, b2) -> bucketSizes[b2] - bucketSizes[b1]);
+
+        final Column[] table = new Column[size];
+        final int[] seeds = new int[bucketCount];
+        final int[] slots = new int[count];
+        for (Integer bucket : order) {
+            final int b = bucket;
+            final int bucketSize = bucketSizes[b];
+            if (bucketSize == 0) {
+                break;
+            }
+            int seed = 0;
+            seed_loop:
+            for (; seed < MAX_SEED; ++seed) {
+                int n = 0;
+                for (int i = bucketHeads[b]; i >= 0; i = nextInBucket[i]) {
+                    int ix = _slot(hashes[i], seed, shift);
+                    if (table[ix] != null) {
+                        continue seed_loop;
+                    }
+                    for (int j = 0; j < n; ++j) {
+                        if (slots[j] == ix) {
+                            continue seed_loop;
+                        }
+                    }
+                    slots[n++] = ix;
+                }
+                break;
+            }
+            if (seed == MAX_SEED) {
+                return null;
+            }
+            seeds[b] = seed;
+            for (int i = bucketHeads[b]; i >= 0; i = nextInBucket[i]) {
+                table[_slot(hashes[i], seed, shift)] = cols[i];
+            }
+        }
+        return new ColumnIndex(table, shift, seeds, bucketShift, 0);
+    }
+
+    private static int _bucket(int hash, int bucketShift) {
+        return (hash * 0x9E3779B9) >>> bucketShift;
+    }
+
+    private static int _slot(int hash, int seed, int shift) {
+        int x = (hash ^ seed) * 0x85EBCA6B;
+        x ^= (x >>> 15);
+        return (x * 0xC2B2AE35) >>> shift;
+    }
+
+    /**
+     * Method for finding column with given name, if any.
+     *
+     * @return Column with given name, if one exists; null otherwise
+     */
+    public Column get(String name)
+    {
+        final int hash = name.hashCode();
+        final int[] seeds = _seeds;
+        if (seeds != null) {
+            Column col = _table[_slot(hash, seeds[_bucket(hash, _bucketShift)], _shift)];
+            if (col != null && col.hasName(name)) {
+                return col;
+            }
+            return null;
+        }
+        final Column[] table = _table;
+        int ix = _slot(hash, 0, _shift);
+        for (int probe = _maxProbe; ; --probe) {
+            Column col = table[ix];
+            if (col == null || col.hasName(name)) {
+                return col;
+            }
+            if (probe == 0) {
+                return null;
+            }
+            ix = (ix + 1) & (table.length - 1);
+        }
+    }
+
+    /**
+     * Accessor for checking whether every name maps to a distinct slot,
+     * that is, whether all lookups take a single probe.
+     */
+    public boolean isPerfect() {
+        return (_seeds != null);
+    }
+}
@@ -17,11 +17,11 @@ import com.fasterxml.jackson.dataformat.csv.CsvSchema;
  */
 public class CsvDecoder
 {
-    private final static int INT_SPACE = 0x0020;
+    protected final static int INT_SPACE = 0x0020;
 
-    private final static int INT_CR = '\r';
-    private final static int INT_LF = '\n';
-    private final static int INT_HASH = '#';
+    protected final static int INT_CR = '\r';
+    protected final static int INT_LF = '\n';
+    protected final static int INT_HASH = '#';
 
     /*
     /**********************************************************************
@@ -77,6 +77,18 @@ public class CsvDecoder
 
     protected int _escapeChar;
 
+    /**
+     * Flag that indicates whether {@link CsvParser.Feature#USE_BULK_SCANNING}
+     * is enabled or not.
+     */
+    protected boolean _bulkScan;
+
+    /**
+     * Helper object used for bulk scanning, if enabled; constructed based on
+     * special characters of the active schema.
+     */
+    protected SpecialCharScanner _scanner;
+
     /*
     /**********************************************************************
     /* Input handling, state
@@ -165,6 +177,23 @@ public class CsvDecoder
      */
     protected int _tokenInputCol = 0;
 
+    /**
+     * Offset within input buffer at which raw contents of the value last
+     * read by {@link #nextValue()} start; -1 if not available.
+     *
+     * @since 3.0
+     */
+    protected int _rawValueStart = -1;
+
+    /**
+     * Value of {@link #_currInputProcessed} when reading of the last value
+     * started: if changed since, raw contents of the value are not (fully)
+     * available in input buffer.
+     *
+     * @since 3.0
+     */
+    protected long _rawValueInputProcessed;
+
     /*
     /**********************************************************************
     /* Constants and fields of former 'JsonNumericParserBase'
@@ -257,6 +286,20 @@ public class CsvDecoder
     public CsvDecoder(IOContext ctxt, CsvParser owner, Reader r,
             CsvSchema schema, TextBuffer textBuffer,
             int stdFeatures, int csvFeatures)
+    {
+        this(ctxt, owner, r, ctxt.allocTokenBuffer(), schema, textBuffer,
+                stdFeatures, csvFeatures);
+    }
+
+    /**
+     * Constructor for sub-classes that need to use different kind of input
+     * buffer (or none).
+     *
+     * @since 3.0
+     */
+    protected CsvDecoder(IOContext ctxt, CsvParser owner, Reader r,
+            char[] inputBuffer, CsvSchema schema, TextBuffer textBuffer,
+            int stdFeatures, int csvFeatures)
     {
         _owner = owner;
         _ioContext = ctxt;
@@ -265,7 +308,8 @@ public class CsvDecoder
         _autoCloseInput =  JsonParser.Feature.AUTO_CLOSE_SOURCE.enabledIn(stdFeatures);
         _allowComments = JsonParser.Feature.ALLOW_YAML_COMMENTS.enabledIn(stdFeatures);
         _trimSpaces = CsvParser.Feature.TRIM_SPACES.enabledIn(csvFeatures);
-        _inputBuffer = ctxt.allocTokenBuffer();
+        _bulkScan = CsvParser.Feature.USE_BULK_SCANNING.enabledIn(csvFeatures);
+        _inputBuffer = inputBuffer;
         _bufferRecyclable = true; // since we allocated it
         _inputSource = r;
         _tokenInputRow = -1;
@@ -284,6 +328,9 @@ public class CsvDecoder
         max = Math.max(max, '\r');
         max = Math.max(max, '\n');
         _maxSpecialChar = max;
+        _scanner = _bulkScan
+                ? SpecialCharScanner.construct(_separatorChar, _quoteChar, _escapeChar)
+                : null;
     }
 
     /*
@@ -324,6 +371,18 @@ public class CsvDecoder
         return count;
     }
 
+    /**
+     * Method for releasing buffered undecoded bytes; only supported by
+     * byte-based decoders.
+     *
+     * @return -1 to indicate that content is not byte-based
+     *
+     * @since 3.0
+     */
+    public int releaseBuffered(OutputStream out) throws IOException {
+        return -1;
+    }
+
     public JsonReadContext childArrayContext(JsonReadContext context)
     {
         int col = _inputPtr - _currInputRowStart + 1; // 1-based
@@ -413,7 +472,7 @@ public class CsvDecoder
         }
     }
     
-    protected final boolean loadMore() throws IOException
+    protected boolean loadMore() throws IOException
     {
         _currInputProcessed += _inputEnd;
         _currInputRowStart -= _inputEnd;
@@ -560,14 +619,37 @@ public class CsvDecoder
      *  of input
      */
     public String nextString() throws IOException
+    {
+        if (nextValue()) {
+            return _textBuffer.contentsAsString();
+        }
+        return null;
+    }
+
+    /**
+     * Alternative to {@link #nextString()} that does not construct a String
+     * for the value found: instead, value is only held in the text buffer,
+     * and String is only constructed if and when requested.
+     * Further, unquoted values (and quoted values without doubled-up quotes)
+     * that do not contain escapes and are fully contained within the input buffer
+     * are exposed directly from the input buffer, without copying.
+     *
+     * @return True if a column value was found; false to indicate end of line
+     *  of input
+     *
+     * @since 3.0
+     */
+    public boolean nextValue() throws IOException
     {
         _numTypesValid = NR_UNKNOWN;
-        
+        _rawValueStart = _inputPtr;
+        _rawValueInputProcessed = _currInputProcessed;
+
         if (_pendingLF > 0) { // either pendingLF, or closed
             if (_inputSource != null) { // if closed, we just need to return null
                 _handleLF();
             }
-            return null; // end of line without new value
+            return false; // end of line without new value
         }
         int i;
 
@@ -582,79 +664,170 @@ public class CsvDecoder
         _tokenInputCol = _inputPtr - _currInputRowStart - 1;
 
         if (i < 0) { // EOF at this point signifies empty value
-            return "";
+            _textBuffer.resetWithString("");
+            return true;
         }
 
         if (i == INT_CR || i == INT_LF) { // end-of-line means end of record; but also need to handle LF later on
             _pendingLF = i;
-            return "";
+            _textBuffer.resetWithString("");
+            return true;
         }
         // two modes: quoted, unquoted
         if (i == _quoteChar) { // offline quoted case (longer)
-            return _nextQuotedString();
+            if (!_nextSharedQuotedString()) {
+                _nextQuotedString();
+            }
+            return true;
         }
         if (i == _separatorChar) {
             _textBuffer.resetWithString("");
-            return "";
+            return true;
         }
-        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
-        outBuf[0] = (char) i;
-        int outPtr = 1;
-
         if (i == _escapeChar) {
+            char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
             // Reset the escaped character
             outBuf[0] = _unescape();
-            return _nextUnquotedString(outBuf, outPtr);
-        }
-
-        int ptr = _inputPtr;
-        if (ptr >= _inputEnd) {
-            if (!loadMore()) { // ok to have end-of-input but...
-                return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
-            }
-            ptr = _inputPtr;
-        }
-        final int end;
-        
-        {
-            int max = Math.min(_inputEnd - ptr, outBuf.length - outPtr);
-            end = ptr + max;
+            _nextUnquotedString(outBuf, 1);
+            return true;
         }
 
         // handle unquoted case locally if it can be handled without
-        // crossing buffer boundary...
-        char[] inputBuffer = _inputBuffer;
+        // crossing buffer boundary (and without escapes)...
+        final char[] inputBuffer = _inputBuffer;
+        final int start = _inputPtr - 1;
+        final int end = _inputEnd;
+        int ptr = _inputPtr;
 
-        while (ptr < end) {
-            char c = inputBuffer[ptr++];
+        if (_scanner != null) {
+            ptr = _scanner.scanUnquoted(inputBuffer, ptr, end);
+        }
+        for (; ptr < end; ++ptr) {
+            char c = inputBuffer[ptr];
             if (c <= _maxSpecialChar) {
-                if (c == _separatorChar) { // end of value, yay!
-                    _inputPtr = ptr;
-                    return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
-                }
-                if (c == '\r' || c == '\n') {
-                    _pendingLF = c;
-                    _inputPtr = ptr;
-                    return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
+                if (c == _separatorChar || c == '\r' || c == '\n') { // end of value, yay!
+                    if (c != _separatorChar) {
+                        _pendingLF = c;
+                    }
+                    _inputPtr = ptr+1;
+                    int last = ptr;
+                    if (_trimSpaces) {
+                        while ((last > start) && (inputBuffer[last-1] <= INT_SPACE)) {
+                            --last;
+                        }
+                    }
+                    _textBuffer.resetWithShared(inputBuffer, start, last - start);
+                    return true;
                 }
                 if (c == _escapeChar) {
-                    --ptr;
                     break;
                 }
             }
-            outBuf[outPtr++] = c;
         }
-        // ok, either input or output across buffer boundary, offline
+        // ok, either input buffer boundary or escape: need to copy, offline
+        _textBuffer.resetWithShared(inputBuffer, start, ptr - start);
+        char[] outBuf = _textBuffer.getCurrentSegment();
         _inputPtr = ptr;
-        return _nextUnquotedString(outBuf, outPtr);
+        _nextUnquotedString(outBuf, _textBuffer.getCurrentSegmentSize());
+        return true;
+    }
+
+    /**
+     * Method for exposing a value read earlier, and held in given buffer,
+     * as the current value, as if just read by {@link #nextValue()}:
+     * contents are not copied, and Strings and numbers are only constructed
+     * if and when accessed.
+     *
+     * @since 3.0
+     */
+    public void resetValue(char[] buf, int offset, int len)
+    {
+        _numTypesValid = NR_UNKNOWN;
+        _rawValueStart = -1;
+        _textBuffer.resetWithShared(buf, offset, len);
+    }
+
+    /**
+     * Method for writing raw contents of the value last read by
+     * {@link #nextValue()} as value of specified column, exactly as they
+     * appear in input (that is, still quoted and escaped, if they were; and
+     * not trimmed), without decoding them. This is only possible if the value
+     * was fully contained within the current input buffer, and was followed
+     * by a column separator or linefeed.
+     *
+     * @return True if raw contents were written; false if not available
+     *
+     * @since 3.0
+     */
+    public boolean writeRawValue(CsvEncoder encoder, int columnIndex) throws IOException
+    {
+        if ((_rawValueStart < 0) || (_rawValueInputProcessed != _currInputProcessed)) {
+            return false;
+        }
+        final int end = _inputPtr - 1;
+        if (end < _rawValueStart) {
+            return false;
+        }
+        final char c = _inputBuffer[end];
+        if ((c != _separatorChar) && (c != '\r') && (c != '\n')) {
+            return false;
+        }
+        encoder.writeNonEscaped(columnIndex, _inputBuffer, _rawValueStart, end - _rawValueStart);
+        return true;
+    }
+
+    /**
+     * Method similar to {@link #nextValue()}, but one that only skips the
+     * next column value: input is only scanned for separators, quotes and
+     * linefeeds, and contents are neither decoded nor copied into
+     * the text buffer (which is left as is).
+     *
+     * @return True if a column value was skipped; false to indicate end of line
+     *  of input
+     *
+     * @since 3.0
+     */
+    public boolean skipValue() throws IOException
+    {
+        _numTypesValid = NR_UNKNOWN;
+        _rawValueStart = -1;
+
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (_inputSource != null) {
+                _handleLF();
+            }
+            return false;
+        }
+        int i;
+
+        if (_trimSpaces) {
+            i = _skipLeadingSpace();
+        } else {
+            i = _nextChar();
+        }
+        if ((i < 0) || (i == _separatorChar)) { // empty value
+            return true;
+        }
+        if (i == INT_CR || i == INT_LF) {
+            _pendingLF = i;
+            return true;
+        }
+        if (i == _quoteChar) {
+            _skipQuotedValue();
+            return true;
+        }
+        if (i == _escapeChar) {
+            _unescape();
+        }
+        _skipUnquotedValue();
+        return true;
     }
 
     public JsonToken nextStringOrLiteral() throws IOException
     {
         _numTypesValid = NR_UNKNOWN;
         // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
+        if (!nextValue()) {
             return null;
         }
         return JsonToken.VALUE_STRING;
@@ -664,8 +837,7 @@ public class CsvDecoder
     {
         _numTypesValid = NR_UNKNOWN;
         // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
+        if (!nextValue()) {
             return null;
         }
         return JsonToken.VALUE_STRING;
@@ -674,8 +846,7 @@ public class CsvDecoder
     {
         _numTypesValid = NR_UNKNOWN;
         // !!! TODO: implement properly
-        String value = nextString();
-        if (value == null) {
+        if (!nextValue()) {
             return null;
         }
         return JsonToken.VALUE_STRING;
@@ -687,7 +858,7 @@ public class CsvDecoder
     /**********************************************************************
      */
     
-    protected String _nextUnquotedString(char[] outBuf, int outPtr) throws IOException
+    protected void _nextUnquotedString(char[] outBuf, int outPtr) throws IOException
     {
         int c;
         final char[] inputBuffer = _inputBuffer;
@@ -707,6 +878,15 @@ public class CsvDecoder
                 outPtr = 0;
             }
             final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+            if (_scanner != null) {
+                int stop = _scanner.scanUnquoted(inputBuffer, ptr, max);
+                int count = stop - ptr;
+                if (count > 0) {
+                    System.arraycopy(inputBuffer, ptr, outBuf, outPtr, count);
+                    outPtr += count;
+                    ptr = stop;
+                }
+            }
             while (ptr < max) {
                 c = inputBuffer[ptr++];
                 if (c <= _maxSpecialChar) {
@@ -730,10 +910,58 @@ public class CsvDecoder
             }
             _inputPtr = ptr;
         }
-        return _textBuffer.finishAndReturn(outPtr, _trimSpaces);
+        _textBuffer.finish(outPtr, _trimSpaces);
     }
-    
-    protected String _nextQuotedString() throws IOException
+
+    /**
+     * Fast path for quoted values that are fully contained within the input buffer,
+     * and contain neither escapes, linefeeds nor doubled-up quotes: if so, value is
+     * exposed directly from the input buffer (without copying), and quoted
+     * value is skipped, along with following separator or linefeed.
+     *
+     * @return True if value was handled; false if not (in which case nothing
+     *   has been consumed)
+     */
+    protected boolean _nextSharedQuotedString() throws IOException
+    {
+        final char[] inputBuffer = _inputBuffer;
+        final int start = _inputPtr;
+        // need to see one more character after closing quote
+        final int end = _inputEnd - 1;
+        int ptr = start;
+
+        if (_scanner != null) {
+            ptr = _scanner.scanQuoted(inputBuffer, ptr, end);
+        }
+        for (; ptr < end; ++ptr) {
+            char c = inputBuffer[ptr];
+            if (c <= _maxSpecialChar) {
+                if (c == _quoteChar) {
+                    c = inputBuffer[ptr+1];
+                    if (c == _separatorChar) {
+                        break;
+                    }
+                    if (c == '\r' || c == '\n') {
+                        _pendingLF = c;
+                        break;
+                    }
+                    // doubled-up quote, or something else (like space) after
+                    return false;
+                }
+                if (c == _escapeChar || c == '\r' || c == '\n') {
+                    return false;
+                }
+            }
+        }
+        if (ptr >= end) {
+            return false;
+        }
+        _inputPtr = ptr+2;
+        _textBuffer.resetWithShared(inputBuffer, start, ptr - start);
+        return true;
+    }
+
+    protected void _nextQuotedString() throws IOException
     {
         char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
         int outPtr = 0;
@@ -762,6 +990,20 @@ public class CsvDecoder
             }
             final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
 
+            if (_scanner != null) {
+                int stop = _scanner.scanQuoted(inputBuffer, ptr, max);
+                int count = stop - ptr;
+                if (count > 0) {
+                    System.arraycopy(inputBuffer, ptr, outBuf, outPtr, count);
+                    outPtr += count;
+                    ptr = stop;
+                    if (ptr >= max) {
+                        _inputPtr = ptr;
+                        continue main_loop;
+                    }
+                }
+            }
+
             inner_loop:
             while (true) {
                 char c = inputBuffer[ptr++];
@@ -812,10 +1054,17 @@ public class CsvDecoder
             break;
         }
         // note: do NOT trim from within quoted Strings
-        String result = _textBuffer.finishAndReturn(outPtr, false);
+        _textBuffer.finish(outPtr, false);
+        _skipAfterQuoted();
+    }
 
-        // good, but we also need to locate and skip trailing space, separator
-        // (note: space outside quotes never included, but must be skipped)
+    /**
+     * Helper method called after closing quote of a quoted value, to
+     * locate and skip trailing space and separator (note: space outside
+     * quotes is never included, but must be skipped)
+     */
+    protected void _skipAfterQuoted() throws IOException
+    {
         while (_inputPtr < _inputEnd || loadMore()) { // end-of-input is fine
             int ch = _inputBuffer[_inputPtr++];
             if (ch == _separatorChar) { // common case, separator between columns
@@ -831,10 +1080,112 @@ public class CsvDecoder
             _owner._reportUnexpectedCsvChar(ch, String.format(
                     "Expected separator (%s) or end-of-line", _getCharDesc(_quoteChar)));
         }
-        return result;
+    }
+
+    /**
+     * Method called to skip the rest of an unquoted value, used instead of
+     * {@link #_nextUnquotedString} when value itself is not needed.
+     */
+    protected void _skipUnquotedValue() throws IOException
+    {
+        main_loop:
+        while (_inputPtr < _inputEnd || loadMore()) { // end-of-input is fine
+            final char[] inputBuffer = _inputBuffer;
+            final int end = _inputEnd;
+            int ptr = _inputPtr;
+            if (_scanner != null) {
+                ptr = _scanner.scanUnquoted(inputBuffer, ptr, end);
+            }
+            while (ptr < end) {
+                char c = inputBuffer[ptr++];
+                if (c <= _maxSpecialChar) {
+                    if (c == _separatorChar) {
+                        _inputPtr = ptr;
+                        return;
+                    }
+                    if (c == '\r' || c == '\n') {
+                        _inputPtr = ptr;
+                        _pendingLF = c;
+                        return;
+                    }
+                    if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        _unescape();
+                        // May have passed input boundary, need to re-set
+                        continue main_loop;
+                    }
+                }
+            }
+            _inputPtr = ptr;
+        }
+    }
+
+    /**
+     * Method called to skip the rest of a quoted value, used instead of
+     * {@link #_nextQuotedString} when value itself is not needed.
+     */
+    protected void _skipQuotedValue() throws IOException
+    {
+        boolean checkLF = false; // marker for split CR+LF
+
+        main_loop:
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) { // not ok, missing end quote
+                    _owner._reportParsingError("Missing closing quote for value");
+                }
+                if (checkLF && _inputBuffer[_inputPtr] == '\n') {
+                    // undo earlier advancement, to keep line number correct
+                    --_currInputRow;
+                }
+            }
+            checkLF = false;
+            final char[] inputBuffer = _inputBuffer;
+            final int end = _inputEnd;
+            int ptr = _inputPtr;
+            if (_scanner != null) {
+                ptr = _scanner.scanQuoted(inputBuffer, ptr, end);
+            }
+            while (ptr < end) {
+                char c = inputBuffer[ptr++];
+                if (c <= _maxSpecialChar) {
+                    if (c == _quoteChar) {
+                        _inputPtr = ptr;
+                        // need to check whether it's doubled-up, or end of value
+                        if (_inputPtr < _inputEnd || loadMore()) {
+                            if (_inputBuffer[_inputPtr] == _quoteChar) {
+                                ++_inputPtr;
+                                continue main_loop;
+                            }
+                        }
+                        break main_loop;
+                    }
+                    // Embedded linefeeds are fine
+                    if (c == '\r') {
+                        if (ptr >= end) {
+                            checkLF = true; // will need to be checked in beginning of next loop
+                            ++_currInputRow;
+                            _currInputRowStart = ptr;
+                        } else if (inputBuffer[ptr] != '\n') {
+                            ++_currInputRow;
+                            _currInputRowStart = ptr;
+                        }
+                    } else if (c == '\n') {
+                        ++_currInputRow;
+                        _currInputRowStart = ptr;
+                    } else if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        _unescape();
+                        continue main_loop;
+                    }
+                }
+            }
+            _inputPtr = ptr;
+        }
+        _skipAfterQuoted();
     }
     
-    protected final void _handleLF() throws IOException
+    protected void _handleLF() throws IOException
     {
         // already skipped past first part; but may get \r\n so skip the other char too?
         if (_pendingLF == INT_CR) {
@@ -872,7 +1223,7 @@ public class CsvDecoder
         return c;
     }
     
-    protected final int _nextChar() throws IOException
+    protected int _nextChar() throws IOException
     {
         if (_inputPtr >= _inputEnd) {
             if (!loadMore()) {
@@ -882,7 +1233,7 @@ public class CsvDecoder
         return _inputBuffer[_inputPtr++];
     }
 
-    protected final int _skipLeadingSpace() throws IOException
+    protected int _skipLeadingSpace() throws IOException
     {
         final int sep = _separatorChar;
         while (true) {
@@ -1054,6 +1405,7 @@ public class CsvDecoder
         if (_textBuffer.looksLikeInt()) {
             char[] buf = _textBuffer.getTextBuffer();
             int offset = _textBuffer.getTextOffset();
+            final int end = offset + _textBuffer.size();
             char c = buf[offset];
             boolean neg;
             
@@ -1066,7 +1418,7 @@ public class CsvDecoder
                     ++offset;
                 }
             }
-            int len = buf.length - offset;
+            int len = end - offset;
             if (len <= 9) { // definitely fits in int
                 int i = NumberInput.parseInt(buf, offset, len);
                 _numberInt = neg ? -i : i;
@@ -1266,10 +1618,10 @@ public class CsvDecoder
     protected void convertNumberToBigDecimal() throws IOException
     {
         if ((_numTypesValid & NR_DOUBLE) != 0) {
-            /* Let's actually parse from String representation, to avoid
+            /* Let's actually parse from textual representation, to avoid
              * rounding errors that non-decimal floating operations could incur
              */
-            _numberBigDecimal = new BigDecimal(getText());
+            _numberBigDecimal = _textBuffer.contentsAsDecimal();
         } else if ((_numTypesValid & NR_BIGINT) != 0) {
             _numberBigDecimal = new BigDecimal(_numberBigInt);
         } else if ((_numTypesValid & NR_LONG) != 0) {
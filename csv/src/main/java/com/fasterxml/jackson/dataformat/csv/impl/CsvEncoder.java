@@ -2,7 +2,7 @@ package com.fasterxml.jackson.dataformat.csv.impl;
 
 import java.io.IOException;
 import java.io.Writer;
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
 
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.csv.CsvGenerator;
@@ -25,8 +25,6 @@ public class CsvEncoder
      */
     final protected static int MAX_QUOTE_CHECK = 24;
     
-    final protected BufferedValue[] NO_BUFFERED = new BufferedValue[0];
-
     private final static char[] TRUE_CHARS = "true".toCharArray();
     private final static char[] FALSE_CHARS = "false".toCharArray();
     
@@ -115,7 +113,7 @@ public class CsvEncoder
      * And if output comes in shuffled order we will need to do 
      * bit of ordering.
      */
-    protected BufferedValue[] _buffered = NO_BUFFERED;
+    protected final BufferedValues _buffered = new BufferedValues();
 
     /**
      * Index of the last buffered value
@@ -166,6 +164,19 @@ public class CsvEncoder
      */
 
     public CsvEncoder(IOContext ctxt, int csvFeatures, Writer out, CsvSchema schema)
+    {
+        this(ctxt, csvFeatures, out, ctxt.allocConcatBuffer(), schema);
+    }
+
+    /**
+     * Constructor for sub-classes that use an output target and buffer of
+     * their own (like {@link UTF8CsvEncoder}), in which case both
+     * <code>out</code> and <code>outputBuffer</code> are <code>null</code>.
+     *
+     * @since 3.0
+     */
+    protected CsvEncoder(IOContext ctxt, int csvFeatures, Writer out, char[] outputBuffer,
+            CsvSchema schema)
     {
         _ioContext = ctxt;
         _csvFeatures = csvFeatures;
@@ -175,9 +186,9 @@ public class CsvEncoder
         _cfgAlwaysQuoteEmptyStrings = CsvGenerator.Feature.ALWAYS_QUOTE_EMPTY_STRINGS.enabledIn(csvFeatures);
         _cfgEscapeQuoteCharWithEscapeChar = CsvGenerator.Feature.ESCAPE_QUOTE_CHAR_WITH_ESCAPE_CHAR.enabledIn(csvFeatures);
 
-        _outputBuffer = ctxt.allocConcatBuffer();
-        _bufferRecyclable = true;
-        _outputEnd = _outputBuffer.length;
+        _outputBuffer = outputBuffer;
+        _bufferRecyclable = (outputBuffer != null);
+        _outputEnd = (outputBuffer == null) ? 0 : outputBuffer.length;
         _out = out;
 
         _cfgColumnSeparator = schema.getColumnSeparator();
@@ -312,27 +323,12 @@ public class CsvEncoder
     {
         // easy case: all in order
         if (columnIndex == _nextColumnToWrite) {
-            // inlined 'appendValue(String)`
-            if (_outputTail >= _outputEnd) {
-                _flushBuffer();
-            }
-            if (_nextColumnToWrite > 0) {
-                appendColumnSeparator();
-            }
-            final int len = value.length();
-            if (_cfgAlwaysQuoteStrings || _mayNeedQuotes(value, len)) {
-                if (_cfgEscapeCharacter > 0) {
-                    _writeQuotedAndEscaped(value, (char) _cfgEscapeCharacter);
-                } else {
-                    _writeQuoted(value);
-                }
-            } else {
-                writeRaw(value);
-            }
+            appendValue(value);
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffered.buffer(columnIndex, value, _columnCount);
+        _markBuffered(columnIndex);
     }
 
     public final void write(int columnIndex, char[] ch, int offset, int len) throws IOException
@@ -345,38 +341,24 @@ public class CsvEncoder
     {
         // easy case: all in order
         if (columnIndex == _nextColumnToWrite) {
-            // inlined 'appendValue(int)'
-            // up to 10 digits and possible minus sign, leading comma
-            if ((_outputTail + 12) > _outputTail) {
-                _flushBuffer();
-            }
-            if (_nextColumnToWrite > 0) {
-                _outputBuffer[_outputTail++] = _cfgColumnSeparator;
-            }
-            _outputTail = NumberOutput.outputInt(value, _outputBuffer, _outputTail);
+            appendValue(value);
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffered.buffer(columnIndex, value, _columnCount);
+        _markBuffered(columnIndex);
     }
 
     public final void write(int columnIndex, long value) throws IOException
     {
         // easy case: all in order
         if (columnIndex == _nextColumnToWrite) {
-            // inlined 'appendValue(int)'
-            // up to 20 digits, minus sign, leading comma
-            if ((_outputTail + 22) > _outputTail) {
-                _flushBuffer();
-            }
-            if (_nextColumnToWrite > 0) {
-                _outputBuffer[_outputTail++] = _cfgColumnSeparator;
-            }
-            _outputTail = NumberOutput.outputLong(value, _outputBuffer, _outputTail);
+            appendValue(value);
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffered.buffer(columnIndex, value, _columnCount);
+        _markBuffered(columnIndex);
     }
 
     public final void write(int columnIndex, float value) throws IOException
@@ -387,7 +369,8 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffered.buffer(columnIndex, value, _columnCount);
+        _markBuffered(columnIndex);
     }
 
     public final void write(int columnIndex, double value) throws IOException
@@ -398,7 +381,8 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffered.buffer(columnIndex, value, _columnCount);
+        _markBuffered(columnIndex);
     }
 
     public final void write(int columnIndex, boolean value) throws IOException
@@ -409,7 +393,8 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.buffered(value));
+        _buffered.buffer(columnIndex, value, _columnCount);
+        _markBuffered(columnIndex);
     }
 
     /**
@@ -422,7 +407,47 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.bufferedRaw(rawValue));
+        _buffered.bufferRaw(columnIndex, rawValue, _columnCount);
+        _markBuffered(columnIndex);
+    }
+
+    /**
+     * Variant of {@link #writeNonEscaped(int, String)} for raw contents
+     * held in a character array, used for copying column values from input
+     * without decoding them.
+     *
+     * @since 3.0
+     */
+    public final void writeNonEscaped(int columnIndex, char[] rawValue, int offset, int len)
+        throws IOException
+    {
+        if (columnIndex == _nextColumnToWrite) {
+            appendRawValue(rawValue, offset, len);
+            ++_nextColumnToWrite;
+            return;
+        }
+        _buffered.bufferRaw(columnIndex, new String(rawValue, offset, len), _columnCount);
+        _markBuffered(columnIndex);
+    }
+
+    /**
+     * Variant of {@link #writeNonEscaped(int, String)} for raw contents
+     * as UTF-8 encoded bytes, used for copying column values from input
+     * without decoding them.
+     *
+     * @since 3.0
+     */
+    public final void writeNonEscapedUTF8(int columnIndex, byte[] rawValue, int offset, int len)
+        throws IOException
+    {
+        if (columnIndex == _nextColumnToWrite) {
+            appendRawUTF8Value(rawValue, offset, len);
+            ++_nextColumnToWrite;
+            return;
+        }
+        _buffered.bufferRaw(columnIndex, new String(rawValue, offset, len, StandardCharsets.UTF_8),
+                _columnCount);
+        _markBuffered(columnIndex);
     }
         
     public final void writeNull(int columnIndex) throws IOException
@@ -432,7 +457,8 @@ public class CsvEncoder
             ++_nextColumnToWrite;
             return;
         }
-        _buffer(columnIndex, BufferedValue.bufferedNull());
+        _buffered.bufferNull(columnIndex, _columnCount);
+        _markBuffered(columnIndex);
     }
 
     public final void writeColumnName(String name) throws IOException
@@ -448,11 +474,8 @@ public class CsvEncoder
             final int last = _lastBuffered;
             _lastBuffered = -1;
             for (; _nextColumnToWrite <= last; ++_nextColumnToWrite) {
-                BufferedValue value = _buffered[_nextColumnToWrite];
-                if (value != null) {
-                    _buffered[_nextColumnToWrite] = null;
-                    value.write(this);
-                } else if (_nextColumnToWrite > 0) { // ) {
+                if (!_buffered.write(_nextColumnToWrite, this)
+                        && (_nextColumnToWrite > 0)) {
                     // note: write method triggers prepending of separator; but for missing
                     // values we need to do it explicitly.
                     appendColumnSeparator();
@@ -469,13 +492,8 @@ public class CsvEncoder
                 } while (++_nextColumnToWrite < _columnCount);
             }
         }
-        // write line separator
         _nextColumnToWrite = 0;
-        if ((_outputTail + _cfgLineSeparatorLength) > _outputEnd) {
-            _flushBuffer();
-        }
-        System.arraycopy(_cfgLineSeparator, 0, _outputBuffer, _outputTail, _cfgLineSeparatorLength);
-        _outputTail += _cfgLineSeparatorLength;
+        appendLineSeparator();
     }
     
     /*
@@ -518,6 +536,29 @@ public class CsvEncoder
         writeRaw(value);
     }
 
+    /**
+     * @since 3.0
+     */
+    protected void appendRawValue(char[] value, int offset, int len) throws IOException
+    {
+        if (_outputTail >= _outputEnd) {
+            _flushBuffer();
+        }
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        }
+        writeRaw(value, offset, len);
+    }
+
+    /**
+     * @since 3.0
+     */
+    protected void appendRawUTF8Value(byte[] value, int offset, int len) throws IOException
+    {
+        // Need to decode for character-based output
+        appendRawValue(new String(value, offset, len, StandardCharsets.UTF_8));
+    }
+
     protected void appendValue(int value) throws IOException
     {
         // up to 10 digits and possible minus sign, leading comma
@@ -544,28 +585,26 @@ public class CsvEncoder
 
     protected void appendValue(float value) throws IOException
     {
-        String str = NumberOutput.toString(value);
-        final int len = str.length();
-        if ((_outputTail + len) >= _outputEnd) { // >= to include possible comma too
+        // shortest representation written directly, no String constructed
+        if ((_outputTail + DoubleToDecimal.MAX_FLOAT_LENGTH) >= _outputEnd) { // >= to include possible comma too
             _flushBuffer();
         }
         if (_nextColumnToWrite > 0) {
             _outputBuffer[_outputTail++] = _cfgColumnSeparator;
         }
-        writeRaw(str);
+        _outputTail = NumberOutput.outputFloat(value, _outputBuffer, _outputTail);
     }
 
     protected void appendValue(double value) throws IOException
     {
-        String str = NumberOutput.toString(value);
-        final int len = str.length();
-        if ((_outputTail + len) >= _outputEnd) { // >= to include possible comma too
+        // shortest representation written directly, no String constructed
+        if ((_outputTail + DoubleToDecimal.MAX_DOUBLE_LENGTH) >= _outputEnd) { // >= to include possible comma too
             _flushBuffer();
         }
         if (_nextColumnToWrite > 0) {
             _outputBuffer[_outputTail++] = _cfgColumnSeparator;
         }
-        writeRaw(str);
+        _outputTail = NumberOutput.outputDouble(value, _outputBuffer, _outputTail);
     }
 
     protected void appendValue(boolean value) throws IOException {
@@ -597,6 +636,17 @@ public class CsvEncoder
         _outputBuffer[_outputTail++] = _cfgColumnSeparator;
     }
 
+    /**
+     * @since 3.0
+     */
+    protected void appendLineSeparator() throws IOException {
+        if ((_outputTail + _cfgLineSeparatorLength) > _outputEnd) {
+            _flushBuffer();
+        }
+        System.arraycopy(_cfgLineSeparator, 0, _outputBuffer, _outputTail, _cfgLineSeparatorLength);
+        _outputTail += _cfgLineSeparatorLength;
+    }
+
     /*
     /**********************************************************
     /* Output methods, unprocessed ("raw")
@@ -990,13 +1040,11 @@ public class CsvEncoder
         return false;
     }
     
-    protected void _buffer(int index, BufferedValue v)
+    protected final void _markBuffered(int index)
     {
-        _lastBuffered = Math.max(_lastBuffered, index);
-        if (index >= _buffered.length) {
-            _buffered = Arrays.copyOf(_buffered, Math.max(index+1, _columnCount));
+        if (index > _lastBuffered) {
+            _lastBuffered = index;
         }
-        _buffered[index] = v;
     }
 
     protected void _flushBuffer() throws IOException
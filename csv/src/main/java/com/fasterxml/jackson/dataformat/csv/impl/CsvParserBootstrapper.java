@@ -153,6 +153,13 @@ public final class CsvParserBootstrapper
             throw new RuntimeException("Internal error"); // should never get here
         }
         _context.setEncoding(enc);
+        if (enc == JsonEncoding.UTF8) {
+            // UTF-8 content is tokenized directly from bytes; buffer is ours
+            // to recycle only if we allocated it (for InputStream)
+            return new CsvParser(readCtxt, (CsvIOContext) _context,
+                    parserFeatures, csvFeatures, schema,
+                    _in, _inputBuffer, _inputPtr, _inputEnd, (_in != null));
+        }
         return new CsvParser(readCtxt, (CsvIOContext) _context,
                 parserFeatures, csvFeatures, schema,
                 _createReader(enc));
@@ -0,0 +1,170 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+/**
+ * Helper class that implements a simple state machine for locating record
+ * boundaries in CSV content, without actually decoding values: this requires
+ * keeping track of whether we are within quoted value (where linefeeds are
+ * part of value), as well as of escapes and comment lines.
+ *<p>
+ * Scanner itself is stateless (state is passed to, and returned from
+ * {@link #next}), so that it may be used both for incremental scanning
+ * (by non-blocking decoder) and for speculative scanning of
+ * content from all possible start states (by parallel reader).
+ *
+ * @since 3.0
+ */
+public final class CsvRecordScanner
+{
+    public final static int STATE_LINE_START = 0;
+    public final static int STATE_VALUE_START = 1;
+    public final static int STATE_UNQUOTED = 2;
+    public final static int STATE_UNQUOTED_ESCAPE = 3;
+    public final static int STATE_QUOTED = 4;
+    public final static int STATE_QUOTED_ESCAPE = 5;
+    public final static int STATE_AFTER_QUOTE = 6;
+    public final static int STATE_CR = 7;
+    public final static int STATE_COMMENT = 8;
+    public final static int STATE_COMMENT_CR = 9;
+
+    /**
+     * Number of distinct states scanner may be in.
+     */
+    public final static int STATE_COUNT = 10;
+
+    /**
+     * Mask for extracting state from value returned by {@link #next}
+     */
+    public final static int STATE_MASK = 0x0F;
+
+    /**
+     * Flag returned by {@link #next} to indicate that the character given
+     * (linefeed) ended a record.
+     */
+    public final static int FLAG_RECORD_END = 0x10;
+
+    /**
+     * Flag returned by {@link #next} to indicate that a record ended just
+     * before the character given (that is, with preceding carriage return
+     * not followed by linefeed).
+     */
+    public final static int FLAG_RECORD_ENDED = 0x20;
+
+    private final int _separatorChar;
+    private final int _quoteChar;
+    private final int _escapeChar;
+    private final boolean _allowComments;
+    private final boolean _trimSpaces;
+
+    /**
+     * @param quoteChar Quote character; negative if quoting is disabled
+     * @param escapeChar Escape character; negative if escaping is disabled
+     */
+    public CsvRecordScanner(int separatorChar, int quoteChar, int escapeChar,
+            boolean allowComments, boolean trimSpaces)
+    {
+        _separatorChar = separatorChar;
+        _quoteChar = quoteChar;
+        _escapeChar = escapeChar;
+        _allowComments = allowComments;
+        _trimSpaces = trimSpaces;
+    }
+
+    /**
+     * Helper method for determining length of UTF-8 encoded character, given
+     * its first byte, for callers that need to decode content to compare
+     * with non-ASCII special characters.
+     *
+     * @return Length of encoded character in bytes; 1 for invalid first bytes
+     */
+    public static int utf8Length(int b)
+    {
+        if ((b & 0xE0) == 0xC0) {
+            return 2;
+        }
+        if ((b & 0xF0) == 0xE0) {
+            return 3;
+        }
+        if ((b & 0xF8) == 0xF0) {
+            return 4;
+        }
+        // invalid; decoder will report it, no need to do anything here
+        return 1;
+    }
+
+    /**
+     * Method for determining state after given character (Unicode code point)
+     * when in given state.
+     *
+     * @return New state, possibly combined with either {@link #FLAG_RECORD_END}
+     *   or {@link #FLAG_RECORD_ENDED}
+     */
+    public int next(int state, int c)
+    {
+        switch (state) {
+        case STATE_COMMENT:
+            if (c == '\r') {
+                return STATE_COMMENT_CR;
+            }
+            if (c == '\n') {
+                return STATE_LINE_START;
+            }
+            return STATE_COMMENT;
+        case STATE_COMMENT_CR:
+            if (c == '\n') {
+                return STATE_LINE_START;
+            }
+            // first character of the next line
+            return next(STATE_LINE_START, c);
+        case STATE_CR: // only now we know record is complete (wrt possible LF)
+            if (c == '\n') {
+                return STATE_LINE_START | FLAG_RECORD_END;
+            }
+            return next(STATE_LINE_START, c) | FLAG_RECORD_ENDED;
+        case STATE_QUOTED:
+            if (c == _quoteChar) {
+                return STATE_AFTER_QUOTE;
+            }
+            if (c == _escapeChar) {
+                return STATE_QUOTED_ESCAPE;
+            }
+            return STATE_QUOTED;
+        case STATE_QUOTED_ESCAPE:
+            return STATE_QUOTED;
+        case STATE_UNQUOTED_ESCAPE:
+            return STATE_UNQUOTED;
+        case STATE_AFTER_QUOTE:
+            if (c == _quoteChar) { // doubled-up quote
+                return STATE_QUOTED;
+            }
+            break;
+        case STATE_LINE_START:
+            if (c == '#' && _allowComments) {
+                return STATE_COMMENT;
+            }
+            // fall through
+        case STATE_VALUE_START:
+            if (c == _quoteChar) {
+                return STATE_QUOTED;
+            }
+            if (_trimSpaces && (c <= ' ')
+                    && (c != _separatorChar) && (c != '\r') && (c != '\n')) {
+                return STATE_VALUE_START;
+            }
+            break;
+        }
+        // Otherwise, either within unquoted value, or after closing quote
+        if (c == _separatorChar) {
+            return STATE_VALUE_START;
+        }
+        if (c == '\n') {
+            return STATE_LINE_START | FLAG_RECORD_END;
+        }
+        if (c == '\r') {
+            return STATE_CR;
+        }
+        if (c == _escapeChar) {
+            return STATE_UNQUOTED_ESCAPE;
+        }
+        return STATE_UNQUOTED;
+    }
+}
@@ -0,0 +1,559 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.math.BigInteger;
+
+/**
+ * Helper class for writing shortest decimal representations of
+ * <code>double</code> and <code>float</code> values directly into a
+ * character buffer, without allocating any objects. Output is the
+ * same as that of {@link Double#toString(double)} and
+ * {@link Float#toString(float)} of JDK 19 and later (earlier versions
+ * sometimes produce more digits than needed for round-tripping).
+ *<p>
+ * Implementation of Schubfach algorithm: see
+ * "The Schubfach way to render doubles" (Giulietti, 2021); structure
+ * follows that of reference implementation.
+ *
+ * @since 3.0
+ */
+public final class DoubleToDecimal
+{
+    /**
+     * Maximum length of textual representation of a double (like
+     * <code>-2.2250738585072014E-308</code>)
+     */
+    public final static int MAX_DOUBLE_LENGTH = 24;
+
+    /**
+     * Maximum length of textual representation of a float (like
+     * <code>-1.17549435E-38</code>)
+     */
+    public final static int MAX_FLOAT_LENGTH = 15;
+
+    // Constants for doubles
+    private final static int D_P = 53;
+    private final static int D_W = 11;
+    private final static int D_Q_MIN = -1074;
+    private final static long D_C_TINY = 3;
+    private final static int D_H = 17;
+    private final static long D_C_MIN = 1L << (D_P - 1);
+    private final static int D_BQ_MASK = (1 << D_W) - 1;
+    private final static long D_T_MASK = (1L << (D_P - 1)) - 1;
+
+    // Constants for floats
+    private final static int F_P = 24;
+    private final static int F_W = 8;
+    private final static int F_Q_MIN = -149;
+    private final static int F_C_TINY = 8;
+    private final static int F_H = 9;
+    private final static int F_C_MIN = 1 << (F_P - 1);
+    private final static int F_BQ_MASK = (1 << F_W) - 1;
+    private final static int F_T_MASK = (1 << (F_P - 1)) - 1;
+
+    private final static long MASK_63 = (1L << 63) - 1;
+    private final static long MASK_32 = (1L << 32) - 1;
+    private final static int MASK_28 = (1 << 28) - 1;
+
+    private final static char[] NAN = "NaN".toCharArray();
+    private final static char[] INFINITY = "Infinity".toCharArray();
+
+    private final static long[] POW10 = new long[D_H + 1];
+    static {
+        long p = 1L;
+        for (int i = 0; i < POW10.length; ++i) {
+            POW10[i] = p;
+            p *= 10L;
+        }
+    }
+
+    private DoubleToDecimal() { }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for writing textual representation of given double value
+     * into buffer, which must have room for at least {@link #MAX_DOUBLE_LENGTH}
+     * characters.
+     *
+     * @return Offset within buffer after outputting value
+     */
+    public static int outputDouble(double v, char[] buffer, int offset)
+    {
+        final long bits = Double.doubleToRawLongBits(v);
+        final long t = bits & D_T_MASK;
+        final int bq = (int) (bits >>> (D_P - 1)) & D_BQ_MASK;
+        if (bq < D_BQ_MASK) {
+            if (bits < 0L) {
+                buffer[offset++] = '-';
+            }
+            if (bq != 0) { // normal value; here mq = -q
+                final int mq = -D_Q_MIN + 1 - bq;
+                final long c = D_C_MIN | t;
+                // fast path for integral values
+                if ((0 < mq) && (mq < D_P)) {
+                    final long f = c >> mq;
+                    if ((f << mq) == c) {
+                        return _toChars(f, 0, buffer, offset);
+                    }
+                }
+                return _toDecimal(-mq, c, 0, buffer, offset);
+            }
+            if (t != 0L) { // subnormal value
+                return (t < D_C_TINY)
+                        ? _toDecimal(D_Q_MIN, 10 * t, -1, buffer, offset)
+                        : _toDecimal(D_Q_MIN, t, 0, buffer, offset);
+            }
+            buffer[offset] = '0';
+            buffer[offset+1] = '.';
+            buffer[offset+2] = '0';
+            return offset+3;
+        }
+        if (t != 0L) {
+            return _append(NAN, buffer, offset);
+        }
+        if (bits < 0L) {
+            buffer[offset++] = '-';
+        }
+        return _append(INFINITY, buffer, offset);
+    }
+
+    /**
+     * Method for writing textual representation of given float value
+     * into buffer, which must have room for at least {@link #MAX_FLOAT_LENGTH}
+     * characters.
+     *
+     * @return Offset within buffer after outputting value
+     */
+    public static int outputFloat(float v, char[] buffer, int offset)
+    {
+        final int bits = Float.floatToRawIntBits(v);
+        final int t = bits & F_T_MASK;
+        final int bq = (bits >>> (F_P - 1)) & F_BQ_MASK;
+        if (bq < F_BQ_MASK) {
+            if (bits < 0) {
+                buffer[offset++] = '-';
+            }
+            if (bq != 0) { // normal value; here mq = -q
+                final int mq = -F_Q_MIN + 1 - bq;
+                final int c = F_C_MIN | t;
+                // fast path for integral values
+                if ((0 < mq) && (mq < F_P)) {
+                    final int f = c >> mq;
+                    if ((f << mq) == c) {
+                        return _toChars(f, 0, buffer, offset);
+                    }
+                }
+                return _toDecimal(-mq, c, 0, buffer, offset);
+            }
+            if (t != 0) { // subnormal value
+                return (t < F_C_TINY)
+                        ? _toDecimal(F_Q_MIN, 10 * t, -1, buffer, offset)
+                        : _toDecimal(F_Q_MIN, t, 0, buffer, offset);
+            }
+            buffer[offset] = '0';
+            buffer[offset+1] = '.';
+            buffer[offset+2] = '0';
+            return offset+3;
+        }
+        if (t != 0) {
+            return _append(NAN, buffer, offset);
+        }
+        if (bits < 0) {
+            buffer[offset++] = '-';
+        }
+        return _append(INFINITY, buffer, offset);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, doubles
+    /**********************************************************************
+     */
+
+    private static int _toDecimal(int q, long c, int dk, char[] buffer, int offset)
+    {
+        final int out = (int) c & 0x1;
+        final long cb = c << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        // Regular spacing, unless at the boundary of a binade
+        if ((c != D_C_MIN) | (q == D_Q_MIN)) {
+            cbl = cb - 2;
+            k = _flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = _flog10threeQuartersPow2(q);
+        }
+        final int h = q + _flog2pow10(-k) + 2;
+
+        final long g1 = Powers.g1(k);
+        final long g0 = Powers.g0(k);
+
+        final long vb = _rop(g1, g0, cb << h);
+        final long vbl = _rop(g1, g0, cbl << h);
+        final long vbr = _rop(g1, g0, cbr << h);
+
+        final long s = vb >> 2;
+        if (s >= 100) {
+            // floor(s / 10) = floor(s 115_292_150_460_684_698 / 2^64) for s < 10^19
+            final long sp10 = 10 * _multiplyHigh(s, 115_292_150_460_684_698L << 4);
+            final long tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= (sp10 << 2);
+            final boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return _toChars(upin ? sp10 : tp10, k, buffer, offset);
+            }
+        }
+        final long t = s + 1;
+        final boolean uin = vbl + out <= (s << 2);
+        final boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return _toChars(uin ? s : t, k + dk, buffer, offset);
+        }
+        // Both or neither in the rounding interval: pick the closest, even on ties
+        final long cmp = vb - ((s + t) << 1);
+        return _toChars(((cmp < 0) || ((cmp == 0) && ((s & 0x1) == 0))) ? s : t,
+                k + dk, buffer, offset);
+    }
+
+    private static long _rop(long g1, long g0, long cp)
+    {
+        final long x1 = _multiplyHigh(g0, cp);
+        final long y0 = g1 * cp;
+        final long y1 = _multiplyHigh(g1, cp);
+        final long z = (y0 >>> 1) + x1;
+        final long vbp = y1 + (z >>> 63);
+        return vbp | (((z & MASK_63) + MASK_63) >>> 63);
+    }
+
+    /**
+     * Method for writing decimal <code>f 10^e</code>, where
+     * <code>f</code> has at most 17 digits.
+     */
+    private static int _toChars(long f, int e, char[] buffer, int offset)
+    {
+        // Determine len such that 10^(len-1) <= f < 10^len
+        int len = _flog10pow2(Long.SIZE - Long.numberOfLeadingZeros(f));
+        if (f >= POW10[len]) {
+            len += 1;
+        }
+        // Normalize to 10^(H-1) <= f < 10^H, so that f 10^(e-H) = 0.f 10^e
+        f *= POW10[D_H - len];
+        e += len;
+
+        // Split the 17 digits into the most significant one (h), next 8 (m) and last 8 (l):
+        // floor(f / 10^8) = floor(floor(193_428_131_138_340_668 f / 2^64) / 2^20)
+        final long hm = _multiplyHigh(f, 193_428_131_138_340_668L) >>> 20;
+        final int l = (int) (f - 100_000_000L * hm);
+        // floor(hm / 10^8) = floor(1_441_151_881 hm / 2^57)
+        final int h = (int) ((hm * 1_441_151_881L) >>> 57);
+        final int m = (int) (hm - 100_000_000 * h);
+
+        if ((0 < e) && (e <= 7)) { // plain format without leading zeroes
+            buffer[offset++] = (char) ('0' + h);
+            int y = _y(m);
+            int i = 1;
+            for (; i < e; ++i) {
+                final int t = 10 * y;
+                buffer[offset++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            buffer[offset++] = '.';
+            for (; i <= 8; ++i) {
+                final int t = 10 * y;
+                buffer[offset++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            return _lowDigits(l, buffer, offset);
+        }
+        if ((-3 < e) && (e <= 0)) { // plain format with leading zeroes
+            buffer[offset++] = '0';
+            buffer[offset++] = '.';
+            for (; e < 0; ++e) {
+                buffer[offset++] = '0';
+            }
+            buffer[offset++] = (char) ('0' + h);
+            offset = _append8Digits(m, buffer, offset);
+            return _lowDigits(l, buffer, offset);
+        }
+        // computerized scientific notation
+        buffer[offset++] = (char) ('0' + h);
+        buffer[offset++] = '.';
+        offset = _append8Digits(m, buffer, offset);
+        offset = _lowDigits(l, buffer, offset);
+        return _exponent(e - 1, buffer, offset);
+    }
+
+    private static int _lowDigits(int l, char[] buffer, int offset)
+    {
+        if (l != 0) {
+            offset = _append8Digits(l, buffer, offset);
+        }
+        return _removeTrailingZeroes(buffer, offset);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, floats
+    /**********************************************************************
+     */
+
+    private static int _toDecimal(int q, int c, int dk, char[] buffer, int offset)
+    {
+        final int out = c & 0x1;
+        final long cb = ((long) c) << 2;
+        final long cbr = cb + 2;
+        final long cbl;
+        final int k;
+        // Regular spacing, unless at the boundary of a binade
+        if ((c != F_C_MIN) | (q == F_Q_MIN)) {
+            cbl = cb - 2;
+            k = _flog10pow2(q);
+        } else {
+            cbl = cb - 1;
+            k = _flog10threeQuartersPow2(q);
+        }
+        final int h = q + _flog2pow10(-k) + 33;
+
+        final long g = Powers.g1(k) + 1;
+
+        final int vb = _rop(g, cb << h);
+        final int vbl = _rop(g, cbl << h);
+        final int vbr = _rop(g, cbr << h);
+
+        final int s = vb >> 2;
+        if (s >= 100) {
+            // floor(s / 10) = floor(s 1_717_986_919 / 2^34) for s < 10^10
+            final int sp10 = 10 * (int) ((s * 1_717_986_919L) >>> 34);
+            final int tp10 = sp10 + 10;
+            final boolean upin = vbl + out <= (sp10 << 2);
+            final boolean wpin = (tp10 << 2) + out <= vbr;
+            if (upin != wpin) {
+                return _toChars(upin ? sp10 : tp10, k, buffer, offset);
+            }
+        }
+        final int t = s + 1;
+        final boolean uin = vbl + out <= (s << 2);
+        final boolean win = (t << 2) + out <= vbr;
+        if (uin != win) {
+            return _toChars(uin ? s : t, k + dk, buffer, offset);
+        }
+        // Both or neither in the rounding interval: pick the closest, even on ties
+        final int cmp = vb - ((s + t) << 1);
+        return _toChars(((cmp < 0) || ((cmp == 0) && ((s & 0x1) == 0))) ? s : t,
+                k + dk, buffer, offset);
+    }
+
+    private static int _rop(long g, long cp)
+    {
+        final long x1 = _multiplyHigh(g, cp);
+        final long vbp = x1 >>> 31;
+        return (int) (vbp | (((x1 & MASK_32) + MASK_32) >>> 32));
+    }
+
+    /**
+     * Method for writing decimal <code>f 10^e</code>, where
+     * <code>f</code> has at most 9 digits.
+     */
+    private static int _toChars(int f, int e, char[] buffer, int offset)
+    {
+        // Determine len such that 10^(len-1) <= f < 10^len
+        int len = _flog10pow2(Integer.SIZE - Integer.numberOfLeadingZeros(f));
+        if (f >= POW10[len]) {
+            len += 1;
+        }
+        // Normalize to 10^(H-1) <= f < 10^H, so that f 10^(e-H) = 0.f 10^e
+        f *= (int) POW10[F_H - len];
+        e += len;
+
+        // Split the 9 digits into the most significant one (h) and last 8 (l):
+        // floor(f / 10^8) = floor(1_441_151_881 f / 2^57)
+        final int h = (int) ((f * 1_441_151_881L) >>> 57);
+        final int l = f - 100_000_000 * h;
+
+        if ((0 < e) && (e <= 7)) { // plain format without leading zeroes
+            buffer[offset++] = (char) ('0' + h);
+            int y = _y(l);
+            int i = 1;
+            for (; i < e; ++i) {
+                final int t = 10 * y;
+                buffer[offset++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            buffer[offset++] = '.';
+            for (; i <= 8; ++i) {
+                final int t = 10 * y;
+                buffer[offset++] = (char) ('0' + (t >>> 28));
+                y = t & MASK_28;
+            }
+            return _removeTrailingZeroes(buffer, offset);
+        }
+        if ((-3 < e) && (e <= 0)) { // plain format with leading zeroes
+            buffer[offset++] = '0';
+            buffer[offset++] = '.';
+            for (; e < 0; ++e) {
+                buffer[offset++] = '0';
+            }
+            buffer[offset++] = (char) ('0' + h);
+            offset = _append8Digits(l, buffer, offset);
+            return _removeTrailingZeroes(buffer, offset);
+        }
+        // computerized scientific notation
+        buffer[offset++] = (char) ('0' + h);
+        buffer[offset++] = '.';
+        offset = _append8Digits(l, buffer, offset);
+        offset = _removeTrailingZeroes(buffer, offset);
+        return _exponent(e - 1, buffer, offset);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, shared
+    /**********************************************************************
+     */
+
+    /**
+     * Left-to-right extraction of 8 digits of given value, less than 10^8
+     */
+    private static int _append8Digits(int m, char[] buffer, int offset)
+    {
+        int y = _y(m);
+        for (int i = 0; i < 8; ++i) {
+            final int t = 10 * y;
+            buffer[offset++] = (char) ('0' + (t >>> 28));
+            y = t & MASK_28;
+        }
+        return offset;
+    }
+
+    /**
+     * @return <code>floor((a + 1) 2^28 / 10^8) - 1</code>
+     */
+    private static int _y(int a) {
+        return (int) (_multiplyHigh(((long) (a + 1)) << 28, 193_428_131_138_340_668L) >>> 20) - 1;
+    }
+
+    private static int _removeTrailingZeroes(char[] buffer, int offset)
+    {
+        while (buffer[offset - 1] == '0') {
+            --offset;
+        }
+        // ... but retain the one directly after decimal point
+        if (buffer[offset - 1] == '.') {
+            ++offset;
+        }
+        return offset;
+    }
+
+    private static int _exponent(int e, char[] buffer, int offset)
+    {
+        buffer[offset++] = 'E';
+        if (e < 0) {
+            buffer[offset++] = '-';
+            e = -e;
+        }
+        if (e < 10) {
+            buffer[offset++] = (char) ('0' + e);
+            return offset;
+        }
+        int d;
+        if (e >= 100) {
+            // floor(e / 100) = floor(1_311 e / 2^17)
+            d = (e * 1_311) >>> 17;
+            buffer[offset++] = (char) ('0' + d);
+            e -= 100 * d;
+        }
+        // floor(e / 10) = floor(103 e / 2^10)
+        d = (e * 103) >>> 10;
+        buffer[offset++] = (char) ('0' + d);
+        buffer[offset++] = (char) ('0' + (e - 10 * d));
+        return offset;
+    }
+
+    private static int _append(char[] str, char[] buffer, int offset)
+    {
+        System.arraycopy(str, 0, buffer, offset, str.length);
+        return offset + str.length;
+    }
+
+    /**
+     * @return <code>floor(log10(2^e))</code>, for |e| &lt;= 5_456_721
+     */
+    private static int _flog10pow2(int e) {
+        return (int) ((e * 661_971_961_083L) >> 41);
+    }
+
+    /**
+     * @return <code>floor(log10(3/4 2^e))</code>, for |e| &lt;= 5_456_721
+     */
+    private static int _flog10threeQuartersPow2(int e) {
+        return (int) (((e * 661_971_961_083L) + -274_743_187_321L) >> 41);
+    }
+
+    /**
+     * @return <code>floor(log2(10^e))</code>, for |e| &lt;= 1_838_394
+     */
+    private static int _flog2pow10(int e) {
+        return (int) ((e * 913_124_641_741L) >> 38);
+    }
+
+    /**
+     * @return High 64 bits of 128-bit product of non-negative arguments
+     */
+    private static long _multiplyHigh(long x, long y)
+    {
+        final long x0 = x & MASK_32, x1 = x >>> 32;
+        final long y0 = y & MASK_32, y1 = y >>> 32;
+        final long w0 = x0 * y0;
+        final long t = (x1 * y0) + (w0 >>> 32);
+        final long w1 = (t & MASK_32) + (x0 * y1);
+        return (x1 * y1) + (t >>> 32) + (w1 >>> 32);
+    }
+
+    /**
+     * Table of 126-bit approximations of powers of ten; contained in
+     * a separate class so that it is only computed when needed.
+     */
+    private final static class Powers
+    {
+        private final static int K_MIN = -324;
+        private final static int K_MAX = 292;
+
+        /**
+         * For each <code>k</code>, let <code>10^-k = b 2^r</code> for the
+         * unique integer <code>r</code> and real <code>2^125 &lt;= b &lt; 2^126</code>;
+         * table contains <code>g = floor(b) + 1</code> split into its higher 63
+         * bits (at even indexes) and lower 63 bits (at odd indexes).
+         */
+        private final static long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+        static {
+            for (int k = K_MIN; k <= K_MAX; ++k) {
+                final BigInteger pow = BigInteger.TEN.pow(Math.abs(k));
+                final BigInteger b;
+                if (k > 0) { // 10^-k < 1
+                    b = BigInteger.ONE.shiftLeft(125 + pow.bitLength()).divide(pow);
+                } else {
+                    final int shift = 125 - (pow.bitLength() - 1);
+                    b = (shift >= 0) ? pow.shiftLeft(shift) : pow.shiftRight(-shift);
+                }
+                final BigInteger g = b.add(BigInteger.ONE);
+                final int ix = 2 * (k - K_MIN);
+                G[ix] = g.shiftRight(63).longValue();
+                G[ix + 1] = g.longValue() & MASK_63;
+            }
+        }
+
+        public static long g1(int k) {
+            return G[2 * (k - K_MIN)];
+        }
+
+        public static long g0(int k) {
+            return G[2 * (k - K_MIN) + 1];
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Simple {@link InputStream} implementation for reading a range of bytes
+ * from a {@link FileChannel} using positional (absolute) reads: this means
+ * that multiple streams may read from the same channel concurrently.
+ * Closing the stream does NOT close the underlying channel.
+ *
+ * @since 3.0
+ */
+public class FileChannelInputStream extends InputStream
+{
+    protected final FileChannel _channel;
+
+    protected final long _end;
+
+    protected long _position;
+
+    public FileChannelInputStream(FileChannel channel, long start, long end)
+    {
+        _channel = channel;
+        _position = start;
+        _end = end;
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        byte[] b = new byte[1];
+        return (read(b, 0, 1) < 0) ? -1 : (b[0] & 0xFF);
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int len) throws IOException
+    {
+        final long left = _end - _position;
+        if (left <= 0L) {
+            return -1;
+        }
+        if (len > left) {
+            len = (int) left;
+        }
+        int count = _channel.read(ByteBuffer.wrap(b, offset, len), _position);
+        if (count < 0) { // file truncated?
+            return -1;
+        }
+        _position += count;
+        return count;
+    }
+
+    @Override
+    public long skip(long n)
+    {
+        n = Math.max(0L, Math.min(n, _end - _position));
+        _position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0L, _end - _position));
+    }
+}
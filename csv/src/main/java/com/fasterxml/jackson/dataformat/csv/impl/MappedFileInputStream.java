@@ -0,0 +1,124 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link InputStream} implementation that reads contents of a file by
+ * memory-mapping it, in windows of up to 1 gigabyte (so that files bigger
+ * than 2 gigabytes may be read): this avoids a system call per buffer,
+ * and content is copied just once, directly into parser's input buffer.
+ *<p>
+ * Note that mappings can not be explicitly released: they remain valid
+ * until garbage collected, even after stream has been closed.
+ *
+ * @since 3.0
+ */
+public class MappedFileInputStream extends InputStream
+{
+    /**
+     * Maximum size of a single mapped window
+     */
+    protected final static long MAX_WINDOW_SIZE = 1L << 30;
+
+    protected final FileChannel _channel;
+
+    /**
+     * Whether underlying channel is to be closed when this stream is closed
+     */
+    protected final boolean _closeChannel;
+
+    protected final long _end;
+
+    /**
+     * Offset of the first byte not yet mapped
+     */
+    protected long _mappedEnd;
+
+    protected ByteBuffer _window;
+
+    protected final long _windowSize;
+
+    public MappedFileInputStream(FileChannel channel, boolean closeChannel) throws IOException {
+        this(channel, channel.position(), channel.size(), closeChannel, MAX_WINDOW_SIZE);
+    }
+
+    protected MappedFileInputStream(FileChannel channel, long start, long end,
+            boolean closeChannel, long windowSize)
+    {
+        _channel = channel;
+        _closeChannel = closeChannel;
+        _mappedEnd = start;
+        _end = end;
+        _windowSize = windowSize;
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        if (!_hasContent()) {
+            return -1;
+        }
+        return _window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int offset, int len) throws IOException
+    {
+        if (len == 0) {
+            return 0;
+        }
+        if (!_hasContent()) {
+            return -1;
+        }
+        len = Math.min(len, _window.remaining());
+        _window.get(b, offset, len);
+        return len;
+    }
+
+    @Override
+    public long skip(long n) throws IOException
+    {
+        long skipped = 0L;
+        while ((n > 0L) && _hasContent()) {
+            int count = (int) Math.min(n, _window.remaining());
+            _window.position(_window.position() + count);
+            skipped += count;
+            n -= count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (_window == null) ? 0 : _window.remaining();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        _window = null;
+        _mappedEnd = _end;
+        if (_closeChannel) {
+            _channel.close();
+        }
+    }
+
+    private boolean _hasContent() throws IOException
+    {
+        if ((_window != null) && _window.hasRemaining()) {
+            return true;
+        }
+        if (_mappedEnd >= _end) {
+            return false;
+        }
+        final long size = Math.min(_windowSize, _end - _mappedEnd);
+        MappedByteBuffer window = _channel.map(FileChannel.MapMode.READ_ONLY, _mappedEnd, size);
+        _mappedEnd += size;
+        _window = window;
+        return true;
+    }
+}
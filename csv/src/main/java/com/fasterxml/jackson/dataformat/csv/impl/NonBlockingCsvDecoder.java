@@ -0,0 +1,295 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * {@link UTF8CsvDecoder} used by
+ * {@link com.fasterxml.jackson.dataformat.csv.NonBlockingCsvParser}: instead
+ * of reading from an input source, content is fed by caller in chunks.
+ *<p>
+ * Decoding itself is done exactly as with blocking input, one record at a time:
+ * fed content is scanned (taking into account quoting, escaping and comment lines)
+ * to find record boundaries, and decoding of a record only starts once the whole
+ * record is available (or end-of-input has been indicated). Bytes of an incomplete
+ * record are retained in the input buffer (which is compacted as needed);
+ * this means that memory usage is bounded by the longest record plus
+ * the largest chunk fed.
+ *
+ * @since 3.0
+ */
+public class NonBlockingCsvDecoder extends UTF8CsvDecoder
+{
+    /**
+     * Scanner used for finding record boundaries; constructed when schema
+     * is set.
+     */
+    protected CsvRecordScanner _recordScanner;
+
+    /*
+    /**********************************************************************
+    /* State
+    /**********************************************************************
+     */
+
+    /**
+     * Flag set when caller has indicated that no more input will be fed.
+     */
+    protected boolean _inputComplete;
+
+    /**
+     * Flag set once possible UTF-8 BOM at the beginning of content has been
+     * checked for (and skipped).
+     */
+    protected boolean _bomChecked;
+
+    /**
+     * Flag that indicates that handling of a linefeed between records has
+     * been deferred, due to the following record not yet being fully available.
+     */
+    protected boolean _newLineDeferred;
+
+    /**
+     * Index of the first byte in input buffer not yet scanned for record boundaries.
+     */
+    protected int _scanPtr;
+
+    /**
+     * Scanner state at {@link #_scanPtr}; one of <code>STATE_xxx</code> constants
+     * of {@link CsvRecordScanner}.
+     */
+    protected int _scanState = CsvRecordScanner.STATE_LINE_START;
+
+    /**
+     * Number of complete records (not counting comment lines) found so far.
+     */
+    protected int _recordCount;
+
+    /**
+     * Index of the linefeed (or carriage return) that terminates the last
+     * complete record found, if any; -1 if none.
+     */
+    protected int _recordEnd = -1;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public NonBlockingCsvDecoder(IOContext ctxt, CsvParser owner,
+            CsvSchema schema, TextBuffer textBuffer,
+            int stdFeatures, int csvFeatures)
+    {
+        super(ctxt, owner, null, ctxt.allocReadIOBuffer(), 0, 0, true,
+                schema, textBuffer, stdFeatures, csvFeatures);
+    }
+
+    @Override
+    public void setSchema(CsvSchema schema)
+    {
+        super.setSchema(schema);
+        _recordScanner = new CsvRecordScanner(_separatorChar, _quoteChar, _escapeChar,
+                _allowComments, _trimSpaces);
+    }
+
+    /*
+    /**********************************************************************
+    /* Input feeding
+    /**********************************************************************
+     */
+
+    public boolean isInputComplete() {
+        return _inputComplete;
+    }
+
+    public void endOfInput() {
+        _inputComplete = true;
+    }
+
+    public void feedInput(byte[] data, int offset, int end)
+    {
+        final int len = end - offset;
+        _ensureRoom(len);
+        System.arraycopy(data, offset, _inputBytes, _inputEnd, len);
+        _inputEnd += len;
+    }
+
+    public void feedInput(ByteBuffer data)
+    {
+        final int len = data.remaining();
+        _ensureRoom(len);
+        data.get(_inputBytes, _inputEnd, len);
+        _inputEnd += len;
+    }
+
+    /**
+     * Helper method that will make room for given number of bytes at the end of
+     * input buffer: first by dropping content already decoded, and if that is
+     * not enough, by allocating a bigger buffer.
+     */
+    protected void _ensureRoom(int needed)
+    {
+        if ((_inputEnd + needed) <= _inputBytes.length) {
+            return;
+        }
+        final int shift = _inputPtr;
+        if (shift > 0) {
+            final int remaining = _inputEnd - shift;
+            System.arraycopy(_inputBytes, shift, _inputBytes, 0, remaining);
+            _inputPtr = 0;
+            _inputEnd = remaining;
+            _scanPtr -= shift;
+            _recordEnd -= shift;
+            _currInputProcessed += shift;
+            _currInputRowStart -= shift;
+        }
+        final int required = _inputEnd + needed;
+        if (required > _inputBytes.length) {
+            byte[] old = _inputBytes;
+            _inputBytes = Arrays.copyOf(old, Math.max(required, old.length + (old.length >> 1)));
+            _inputView = ByteBuffer.wrap(_inputBytes);
+            if (_bufferRecyclable) {
+                _bufferRecyclable = false;
+                _ioContext.releaseReadIOBuffer(old);
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Record availability
+    /**********************************************************************
+     */
+
+    /**
+     * Method for checking whether given number of complete records (excluding
+     * comment lines) are available for decoding starting at the current input
+     * position; or if end-of-input has been indicated, in which case all
+     * remaining content may be decoded.
+     */
+    public boolean hasRecords(int count)
+    {
+        if (!_bomChecked && !_checkBOM()) {
+            return false;
+        }
+        if (_inputComplete) {
+            return true;
+        }
+        if (_scanPtr < _inputEnd) {
+            _scan();
+        }
+        return (_recordCount >= count) && (_recordEnd >= _inputPtr);
+    }
+
+    /**
+     * @return True if handling of linefeed between records was deferred,
+     *    and {@link #resumeNewLine()} needs to be called before decoding
+     *    the next record
+     */
+    public boolean isNewLineDeferred() {
+        return _newLineDeferred;
+    }
+
+    /**
+     * Method to call to complete deferred start of a new record, once
+     * {@link #hasRecords} indicates that it is available.
+     *
+     * @return Same as {@link #startNewLine()}
+     */
+    public boolean resumeNewLine() throws IOException
+    {
+        _newLineDeferred = false;
+        return super.startNewLine();
+    }
+
+    @Override
+    public boolean startNewLine() throws IOException
+    {
+        // Can not yet tell whether there is another record (nor even fully handle
+        // the linefeed), so pretend there is, and complete when more input fed
+        if (!hasRecords(1)) {
+            _newLineDeferred = true;
+            return true;
+        }
+        return super.startNewLine();
+    }
+
+    @Override
+    protected boolean loadMore() throws IOException
+    {
+        // No more content available before more is fed; but only
+        // considered end-of-input when so indicated
+        if (_inputComplete && !_endOfInput) {
+            _closeInput();
+        }
+        return false;
+    }
+
+    private boolean _checkBOM()
+    {
+        final int avail = _inputEnd - _inputPtr;
+        final byte[] buf = _inputBytes;
+        final int ptr = _inputPtr;
+        if (avail < 3) {
+            if (!_inputComplete && (avail == 0
+                    || (buf[ptr] == (byte) 0xEF && (avail == 1 || buf[ptr+1] == (byte) 0xBB)))) {
+                return false;
+            }
+        } else if (buf[ptr] == (byte) 0xEF && buf[ptr+1] == (byte) 0xBB && buf[ptr+2] == (byte) 0xBF) {
+            _inputPtr += 3;
+            _scanPtr = _inputPtr;
+            _currInputRowStart = _inputPtr;
+        }
+        _bomChecked = true;
+        return true;
+    }
+
+    /**
+     * Method that scans input not yet scanned to find record boundaries,
+     * using {@link CsvRecordScanner}.
+     */
+    private void _scan()
+    {
+        final byte[] buf = _inputBytes;
+        final int end = _inputEnd;
+        final boolean decode = (_maxSpecialChar >= 0x80);
+        final CsvRecordScanner scanner = _recordScanner;
+        int ptr = _scanPtr;
+        int state = _scanState;
+
+        while (ptr < end) {
+            final int start = ptr;
+            int c = buf[ptr++];
+            if (c < 0) {
+                if (decode) { // need to decode to compare with non-ASCII specials
+                    int needed = CsvRecordScanner.utf8Length(c);
+                    if (start + needed > end) { // incomplete; wait for more
+                        ptr = start;
+                        break;
+                    }
+                    c &= (0xFF >> (needed + 1));
+                    while (ptr < start + needed) {
+                        c = (c << 6) | (buf[ptr++] & 0x3F);
+                    }
+                } else {
+                    c &= 0xFF;
+                }
+            }
+            final int result = scanner.next(state, c);
+            state = result & CsvRecordScanner.STATE_MASK;
+            if (result != state) {
+                ++_recordCount;
+                _recordEnd = ((result & CsvRecordScanner.FLAG_RECORD_END) != 0)
+                        ? start : (start - 1);
+            }
+        }
+        _scanPtr = ptr;
+        _scanState = state;
+    }
+}
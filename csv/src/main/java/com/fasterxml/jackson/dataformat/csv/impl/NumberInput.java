@@ -1,5 +1,8 @@
 package com.fasterxml.jackson.dataformat.csv.impl;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
 /* NOTE: copied from Jackson core, to reduce coupling
  */
 public final class NumberInput
@@ -17,6 +20,36 @@ public final class NumberInput
 
     final static String MIN_LONG_STR_NO_SIGN = String.valueOf(Long.MIN_VALUE).substring(1);
     final static String MAX_LONG_STR = String.valueOf(Long.MAX_VALUE);
+
+    /**
+     * Maximum number of significant digits for which double values are
+     * parsed using plain floating-point arithmetic: all such integers are
+     * exactly representable as doubles
+     */
+    private final static int MAX_FAST_DIGITS = 15;
+
+    /**
+     * Maximum number of significant digits that always fit in an unsigned
+     * 64-bit mantissa
+     */
+    private final static int MAX_MANTISSA_DIGITS = 19;
+
+    /**
+     * Maximum number of significant digits that always fit in a signed
+     * 64-bit unscaled value
+     */
+    private final static int MAX_UNSCALED_DIGITS = 18;
+
+    private final static int MAX_EXACT_POW10 = 22;
+
+    private final static double[] POWERS_OF_TEN = new double[MAX_EXACT_POW10 + 1];
+    static {
+        double d = 1.0;
+        for (int i = 0; i <= MAX_EXACT_POW10; ++i) {
+            POWERS_OF_TEN[i] = d;
+            d *= 10.0;
+        }
+    }
     
     /**
      * Fast method for parsing integers that are known to fit into
@@ -99,4 +132,312 @@ public final class NumberInput
         }
         return Double.parseDouble(numStr);
     }
+
+    /**
+     * Method for parsing a double from given range of characters, without
+     * constructing a String for common cases. Values with at most 15
+     * significant digits and a small exponent are exactly representable
+     * (as are powers of ten up to 10^22), so a single multiplication or
+     * division gives correctly rounded result; other values with at most
+     * 19 significant digits are parsed using Eisel-Lemire algorithm.
+     * Rare cases it can not decide (as well as longer values and anything
+     * unusual) are parsed using JDK.
+     *
+     * @since 3.0
+     */
+    public final static double parseDouble(char[] buf, int offset, int len)
+        throws NumberFormatException
+    {
+        final int end = offset + len;
+        int i = offset;
+        boolean neg = false;
+        if (i < end) {
+            if (buf[i] == '-') {
+                neg = true;
+                ++i;
+            } else if (buf[i] == '+') {
+                ++i;
+            }
+        }
+        // NOTE: with 19 digits may overflow into sign bit; must be considered unsigned
+        long mantissa = 0L;
+        int digits = 0; // significant ones
+        int exp10 = 0;
+        boolean anyDigits = false;
+
+        for (; i < end; ++i) {
+            int d = buf[i] - '0';
+            if ((d < 0) || (d > 9)) {
+                break;
+            }
+            anyDigits = true;
+            if ((mantissa != 0L) || (d != 0)) {
+                if (++digits > MAX_MANTISSA_DIGITS) {
+                    return parseDouble(new String(buf, offset, len));
+                }
+                mantissa = (mantissa * 10L) + d;
+            }
+        }
+        if ((i < end) && (buf[i] == '.')) {
+            for (++i; i < end; ++i) {
+                int d = buf[i] - '0';
+                if ((d < 0) || (d > 9)) {
+                    break;
+                }
+                anyDigits = true;
+                if ((mantissa != 0L) || (d != 0)) {
+                    if (++digits > MAX_MANTISSA_DIGITS) {
+                        return parseDouble(new String(buf, offset, len));
+                    }
+                    mantissa = (mantissa * 10L) + d;
+                }
+                --exp10;
+            }
+        }
+        if (anyDigits && (i < end) && ((buf[i] | 0x20) == 'e')) {
+            boolean negExp = false;
+            if (++i < end) {
+                if (buf[i] == '-') {
+                    negExp = true;
+                    ++i;
+                } else if (buf[i] == '+') {
+                    ++i;
+                }
+            }
+            int exp = 0;
+            final int expStart = i;
+            for (; (i < end) && (exp < 1000); ++i) {
+                int d = buf[i] - '0';
+                if ((d < 0) || (d > 9)) {
+                    break;
+                }
+                exp = (exp * 10) + d;
+            }
+            if (i == expStart) { // no digits; let JDK report the problem
+                i = -1;
+            }
+            exp10 += negExp ? -exp : exp;
+        }
+        // Anything unusual (including white space, or "NaN") is left for JDK
+        if (!anyDigits || (i != end)) {
+            return parseDouble(new String(buf, offset, len));
+        }
+        if (mantissa == 0L) {
+            return neg ? -0.0 : 0.0;
+        }
+        if (digits <= MAX_FAST_DIGITS) {
+            double value;
+            if (exp10 == 0) {
+                value = (double) mantissa;
+            } else if ((exp10 < 0) && (exp10 >= -MAX_EXACT_POW10)) {
+                value = mantissa / POWERS_OF_TEN[-exp10];
+            } else if ((exp10 > 0) && (exp10 <= MAX_EXACT_POW10)) {
+                value = mantissa * POWERS_OF_TEN[exp10];
+            } else {
+                value = Double.NaN;
+            }
+            if (!Double.isNaN(value)) {
+                return neg ? -value : value;
+            }
+        }
+        final long bits = EiselLemire.toDoubleBits(mantissa, exp10);
+        if (bits < 0L) { // can not decide; JDK needs to
+            return parseDouble(new String(buf, offset, len));
+        }
+        final double value = Double.longBitsToDouble(bits);
+        return neg ? -value : value;
+    }
+
+    /**
+     * Method for parsing a {@link BigDecimal} from given range of characters:
+     * values with at most 18 significant digits are constructed from
+     * unscaled <code>long</code> value and scale, others (and anything
+     * unusual) by {@link BigDecimal#BigDecimal(char[], int, int)}.
+     *
+     * @since 3.0
+     */
+    public final static BigDecimal parseBigDecimal(char[] buf, int offset, int len)
+        throws NumberFormatException
+    {
+        final int end = offset + len;
+        int i = offset;
+        boolean neg = false;
+        if (i < end) {
+            if (buf[i] == '-') {
+                neg = true;
+                ++i;
+            } else if (buf[i] == '+') {
+                ++i;
+            }
+        }
+        long unscaled = 0L;
+        int digits = 0; // significant ones
+        int scale = 0;
+        boolean anyDigits = false;
+
+        for (; i < end; ++i) {
+            int d = buf[i] - '0';
+            if ((d < 0) || (d > 9)) {
+                break;
+            }
+            anyDigits = true;
+            if (((unscaled != 0L) || (d != 0)) && (++digits > MAX_UNSCALED_DIGITS)) {
+                return new BigDecimal(buf, offset, len);
+            }
+            unscaled = (unscaled * 10L) + d;
+        }
+        if ((i < end) && (buf[i] == '.')) {
+            for (++i; i < end; ++i) {
+                int d = buf[i] - '0';
+                if ((d < 0) || (d > 9)) {
+                    break;
+                }
+                anyDigits = true;
+                if (((unscaled != 0L) || (d != 0)) && (++digits > MAX_UNSCALED_DIGITS)) {
+                    return new BigDecimal(buf, offset, len);
+                }
+                unscaled = (unscaled * 10L) + d;
+                ++scale;
+            }
+        }
+        if (anyDigits && (i < end) && ((buf[i] | 0x20) == 'e')) {
+            boolean negExp = false;
+            if (++i < end) {
+                if (buf[i] == '-') {
+                    negExp = true;
+                    ++i;
+                } else if (buf[i] == '+') {
+                    ++i;
+                }
+            }
+            int exp = 0;
+            final int expStart = i;
+            for (; (i < end) && (exp < 100000); ++i) {
+                int d = buf[i] - '0';
+                if ((d < 0) || (d > 9)) {
+                    break;
+                }
+                exp = (exp * 10) + d;
+            }
+            if (i == expStart) {
+                i = -1;
+            }
+            scale -= negExp ? -exp : exp;
+        }
+        if (!anyDigits || (i != end)) {
+            return new BigDecimal(buf, offset, len);
+        }
+        return BigDecimal.valueOf(neg ? -unscaled : unscaled, scale);
+    }
+
+    /**
+     * Implementation of Eisel-Lemire algorithm for converting decimal
+     * numbers with 64-bit mantissa into doubles: see
+     * "Number Parsing at a Gigabyte per Second" (Lemire, 2021).
+     * Contained in a separate class so that table of powers of ten
+     * is only computed when needed.
+     */
+    private final static class EiselLemire
+    {
+        private final static int MIN_EXP10 = -342;
+
+        private final static int MAX_EXP10 = 308;
+
+        private final static long MASK_32 = 0xFFFFFFFFL;
+
+        /**
+         * 128-bit approximations (rounded down) of mantissas of powers of
+         * ten from {@link #MIN_EXP10} to {@link #MAX_EXP10}, normalized so
+         * that the most significant bit is set: high 64 bits at even,
+         * low at odd indexes.
+         */
+        private final static long[] POWERS = new long[2 * (MAX_EXP10 - MIN_EXP10 + 1)];
+        static {
+            final BigInteger five = BigInteger.valueOf(5);
+            for (int q = MIN_EXP10; q <= MAX_EXP10; ++q) {
+                // mantissa of 10^q is same as that of 5^q
+                BigInteger pow = five.pow(Math.abs(q));
+                final int bitLength = pow.bitLength();
+                BigInteger m;
+                if (q < 0) {
+                    m = BigInteger.ONE.shiftLeft(bitLength + 127).divide(pow);
+                } else if (bitLength > 128) {
+                    m = pow.shiftRight(bitLength - 128);
+                } else {
+                    m = pow.shiftLeft(128 - bitLength);
+                }
+                final int ix = 2 * (q - MIN_EXP10);
+                POWERS[ix] = m.shiftRight(64).longValue();
+                POWERS[ix + 1] = m.longValue();
+            }
+        }
+
+        /**
+         * @param mantissa Non-zero mantissa, considered unsigned
+         * @param exp10 Decimal exponent
+         *
+         * @return Bits of (positive) double value, or -1 if value could not be
+         *    determined (including subnormal and infinite results)
+         */
+        public static long toDoubleBits(long mantissa, int exp10)
+        {
+            if ((exp10 < MIN_EXP10) || (exp10 > MAX_EXP10)) {
+                return -1L;
+            }
+            final int clz = Long.numberOfLeadingZeros(mantissa);
+            mantissa <<= clz;
+            long exp2 = ((217706L * exp10) >> 16) + 64 + 1023 - clz;
+
+            final int ix = 2 * (exp10 - MIN_EXP10);
+            long hi = _multiplyHigh(mantissa, POWERS[ix]);
+            long lo = mantissa * POWERS[ix];
+            // If truncation of the power may matter, need the lower half too
+            if (((hi & 0x1FF) == 0x1FF) && (Long.compareUnsigned(lo + mantissa, mantissa) < 0)) {
+                final long hi2 = _multiplyHigh(mantissa, POWERS[ix + 1]);
+                final long lo2 = mantissa * POWERS[ix + 1];
+                long mergedHi = hi;
+                final long mergedLo = lo + hi2;
+                if (Long.compareUnsigned(mergedLo, lo) < 0) {
+                    ++mergedHi;
+                }
+                if (((mergedHi & 0x1FF) == 0x1FF) && (mergedLo == -1L)
+                        && (Long.compareUnsigned(lo2 + mantissa, mantissa) < 0)) {
+                    return -1L;
+                }
+                hi = mergedHi;
+                lo = mergedLo;
+            }
+            final int msb = (int) (hi >>> 63);
+            long result = hi >>> (msb + 9);
+            exp2 -= 1 ^ msb;
+
+            // Exactly halfway between two doubles: can not know how to round
+            if ((lo == 0L) && ((hi & 0x1FF) == 0) && ((result & 3) == 1)) {
+                return -1L;
+            }
+            result += (result & 1);
+            result >>>= 1;
+            if ((result >>> 53) != 0L) {
+                result >>>= 1;
+                ++exp2;
+            }
+            if ((exp2 <= 0L) || (exp2 >= 0x7FFL)) {
+                return -1L;
+            }
+            return (exp2 << 52) | (result & 0x000FFFFFFFFFFFFFL);
+        }
+
+        /**
+         * @return High 64 bits of unsigned 128-bit product of arguments
+         */
+        private static long _multiplyHigh(long x, long y)
+        {
+            final long x0 = x & MASK_32, x1 = x >>> 32;
+            final long y0 = y & MASK_32, y1 = y >>> 32;
+            final long w0 = x0 * y0;
+            final long t = (x1 * y0) + (w0 >>> 32);
+            final long w1 = (t & MASK_32) + (x0 * y1);
+            return (x1 * y1) + (t >>> 32) + (w1 >>> 32);
+        }
+    }
 }
@@ -0,0 +1,237 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Helper class used by {@link CsvDecoder} (when
+ * {@link com.fasterxml.jackson.dataformat.csv.CsvParser.Feature#USE_BULK_SCANNING}
+ * is enabled) for locating the next character that needs special handling,
+ * so that "plain" runs of characters in between can be copied in bulk.
+ *<p>
+ * Scanning is done using "SWAR" (SIMD-Within-A-Register) technique,
+ * checking 4 characters (as 16-bit lanes of a <code>long</code>) at
+ * a time for equality with separator, quote, escape and linefeed characters.
+ * Matches are exact, so no false positives need to be dealt with by caller.
+ *<p>
+ * For byte-based (UTF-8) input, 8 bytes are checked at a time; in addition
+ * to special characters, scanning also stops at any non-ASCII byte, so that
+ * caller can decode multi-byte characters.
+ */
+public final class SpecialCharScanner
+{
+    private final static long LANE_ONES = 0x0001000100010001L;
+    private final static long LANE_HIGHS = 0x8000800080008000L;
+
+    private final static long PATTERN_CR = LANE_ONES * '\r';
+    private final static long PATTERN_LF = LANE_ONES * '\n';
+
+    private final static long BYTE_LANE_ONES = 0x0101010101010101L;
+    private final static long BYTE_LANE_HIGHS = 0x8080808080808080L;
+
+    private final static long BYTE_PATTERN_CR = BYTE_LANE_ONES * '\r';
+    private final static long BYTE_PATTERN_LF = BYTE_LANE_ONES * '\n';
+
+    private final char _separatorChar;
+    private final char _quoteChar;
+    private final char _escapeChar;
+
+    private final long _separatorPattern;
+    private final long _quotePattern;
+    private final long _escapePattern;
+
+    private final long _separatorBytePattern;
+    private final long _quoteBytePattern;
+    private final long _escapeBytePattern;
+
+    private SpecialCharScanner(char sep, char quote, char esc)
+    {
+        _separatorChar = sep;
+        _quoteChar = quote;
+        _escapeChar = esc;
+        _separatorPattern = LANE_ONES * sep;
+        _quotePattern = LANE_ONES * quote;
+        _escapePattern = LANE_ONES * esc;
+        // non-ASCII characters can not be matched byte-by-byte; but since scanning
+        // stops at all non-ASCII bytes, linefeed works as placeholder for those
+        _separatorBytePattern = BYTE_LANE_ONES * ((sep < 0x80) ? sep : '\n');
+        _quoteBytePattern = BYTE_LANE_ONES * ((quote < 0x80) ? quote : '\n');
+        _escapeBytePattern = BYTE_LANE_ONES * ((esc < 0x80) ? esc : '\n');
+    }
+
+    /**
+     * Factory method for constructing scanner for given set of special characters;
+     * negative values are used to indicate that quoting or escaping is disabled.
+     */
+    public static SpecialCharScanner construct(int separatorChar, int quoteChar, int escapeChar)
+    {
+        // Linefeed is always checked for, so it works fine as "no-op" placeholder
+        return new SpecialCharScanner((char) separatorChar,
+                (quoteChar < 0) ? '\n' : (char) quoteChar,
+                (escapeChar < 0) ? '\n' : (char) escapeChar);
+    }
+
+    /**
+     * Method for finding the first character in given range that ends (or
+     * otherwise interrupts) an unquoted value: column separator, linefeed,
+     * or escape character.
+     *
+     * @return Index of the first special character within range, if any;
+     *    <code>end</code> if none
+     */
+    public int scanUnquoted(char[] buf, int ptr, final int end)
+    {
+        final long sep = _separatorPattern;
+        final long esc = _escapePattern;
+        final int last = end - 4;
+
+        while (ptr <= last) {
+            final long w = _word(buf, ptr);
+            if (_hasZeroLane(w ^ sep, w ^ esc, w ^ PATTERN_CR, w ^ PATTERN_LF)) {
+                break;
+            }
+            ptr += 4;
+        }
+        // and then locate exact position (or deal with tail)
+        final char sepChar = _separatorChar;
+        final char escChar = _escapeChar;
+        for (; ptr < end; ++ptr) {
+            char c = buf[ptr];
+            if (c == sepChar || c == escChar || c == '\r' || c == '\n') {
+                break;
+            }
+        }
+        return ptr;
+    }
+
+    /**
+     * Method for finding the first character in given range that needs
+     * special handling within quoted value: quote, linefeed (for row
+     * number tracking) or escape character.
+     *
+     * @return Index of the first special character within range, if any;
+     *    <code>end</code> if none
+     */
+    public int scanQuoted(char[] buf, int ptr, final int end)
+    {
+        final long quote = _quotePattern;
+        final long esc = _escapePattern;
+        final int last = end - 4;
+
+        while (ptr <= last) {
+            final long w = _word(buf, ptr);
+            if (_hasZeroLane(w ^ quote, w ^ esc, w ^ PATTERN_CR, w ^ PATTERN_LF)) {
+                break;
+            }
+            ptr += 4;
+        }
+        final char quoteChar = _quoteChar;
+        final char escChar = _escapeChar;
+        for (; ptr < end; ++ptr) {
+            char c = buf[ptr];
+            if (c == quoteChar || c == escChar || c == '\r' || c == '\n') {
+                break;
+            }
+        }
+        return ptr;
+    }
+
+    /**
+     * Method for finding the first byte in given range that ends (or
+     * otherwise interrupts) an unquoted value, or is not 7-bit ASCII.
+     *
+     * @param view {@link ByteBuffer} that wraps <code>buf</code>, used for
+     *    reading 8 bytes at a time
+     *
+     * @return Index of the first special or non-ASCII byte within range, if any;
+     *    <code>end</code> if none
+     */
+    public int scanUnquoted(ByteBuffer view, byte[] buf, int ptr, final int end)
+    {
+        final long sep = _separatorBytePattern;
+        final long esc = _escapeBytePattern;
+        final int last = end - 8;
+
+        while (ptr <= last) {
+            final long w = view.getLong(ptr);
+            if (_hasZeroOrHighByte(w, w ^ sep, w ^ esc, w ^ BYTE_PATTERN_CR, w ^ BYTE_PATTERN_LF)) {
+                break;
+            }
+            ptr += 8;
+        }
+        final char sepChar = _separatorChar;
+        final char escChar = _escapeChar;
+        for (; ptr < end; ++ptr) {
+            int c = buf[ptr];
+            if (c < 0 || c == sepChar || c == escChar || c == '\r' || c == '\n') {
+                break;
+            }
+        }
+        return ptr;
+    }
+
+    /**
+     * Method for finding the first byte in given range that needs special
+     * handling within quoted value (quote, linefeed, escape character), or
+     * is not 7-bit ASCII.
+     *
+     * @param view {@link ByteBuffer} that wraps <code>buf</code>, used for
+     *    reading 8 bytes at a time
+     *
+     * @return Index of the first special or non-ASCII byte within range, if any;
+     *    <code>end</code> if none
+     */
+    public int scanQuoted(ByteBuffer view, byte[] buf, int ptr, final int end)
+    {
+        final long quote = _quoteBytePattern;
+        final long esc = _escapeBytePattern;
+        final int last = end - 8;
+
+        while (ptr <= last) {
+            final long w = view.getLong(ptr);
+            if (_hasZeroOrHighByte(w, w ^ quote, w ^ esc, w ^ BYTE_PATTERN_CR, w ^ BYTE_PATTERN_LF)) {
+                break;
+            }
+            ptr += 8;
+        }
+        final char quoteChar = _quoteChar;
+        final char escChar = _escapeChar;
+        for (; ptr < end; ++ptr) {
+            int c = buf[ptr];
+            if (c < 0 || c == quoteChar || c == escChar || c == '\r' || c == '\n') {
+                break;
+            }
+        }
+        return ptr;
+    }
+
+    private static long _word(char[] buf, int ptr) {
+        return buf[ptr]
+                | ((long) buf[ptr+1] << 16)
+                | ((long) buf[ptr+2] << 32)
+                | ((long) buf[ptr+3] << 48);
+    }
+
+    /**
+     * Helper method that checks whether any of 16-bit lanes of any of given
+     * values is zero; this is exact (no false positives), although it may not
+     * be used for locating matching lane.
+     */
+    private static boolean _hasZeroLane(long x1, long x2, long x3, long x4) {
+        return ((((x1 - LANE_ONES) & ~x1)
+                | ((x2 - LANE_ONES) & ~x2)
+                | ((x3 - LANE_ONES) & ~x3)
+                | ((x4 - LANE_ONES) & ~x4)) & LANE_HIGHS) != 0L;
+    }
+
+    /**
+     * Helper method that checks whether given word has any byte with high bit
+     * set, or whether any of 8-bit lanes of other given values is zero.
+     */
+    private static boolean _hasZeroOrHighByte(long w, long x1, long x2, long x3, long x4) {
+        return ((w
+                | ((x1 - BYTE_LANE_ONES) & ~x1)
+                | ((x2 - BYTE_LANE_ONES) & ~x2)
+                | ((x3 - BYTE_LANE_ONES) & ~x3)
+                | ((x4 - BYTE_LANE_ONES) & ~x4)) & BYTE_LANE_HIGHS) != 0L;
+    }
+}
@@ -135,6 +135,32 @@ public final class TextBuffer
         }
     }
 
+    /**
+     * Method called to initialize the buffer with a shared copy of data;
+     * this means that buffer will just have pointers to actual data. It
+     * also means that if anything is to be appended to the buffer, it
+     * will first have to unshare it (make a local copy).
+     *
+     * @since 3.0
+     */
+    public void resetWithShared(char[] buf, int start, int len)
+    {
+        // First, let's clear intermediate values, if any:
+        _resultString = null;
+        _resultArray = null;
+
+        // Then let's mark things we need about input buffer
+        _inputBuffer = buf;
+        _inputStart = start;
+        _inputLen = len;
+
+        // And then reset internal input buffers, if necessary:
+        if (_hasSegments) {
+            clearSegments();
+        }
+        _currentSize = 0;
+    }
+
     public void resetWithString(String value)
     {
         _inputBuffer = null;
@@ -293,49 +319,37 @@ public final class TextBuffer
     public BigDecimal contentsAsDecimal()
         throws NumberFormatException
     {
-        // Already got a pre-cut array?
-        if (_resultArray != null) {
-            return new BigDecimal(_resultArray);
-        }
-        // Or a shared buffer?
-        if (_inputStart >= 0) {
-            return new BigDecimal(_inputBuffer, _inputStart, _inputLen);
-        }
-        // Or if not, just a single buffer (the usual case)
-        if (_segmentSize == 0) {
-            return new BigDecimal(_currentSegment, 0, _currentSize);
-        }
-        // If not, let's just get it aggregated...
-        return new BigDecimal(contentsAsArray());
+        return NumberInput.parseBigDecimal(getTextBuffer(), getTextOffset(), size());
     }
 
     /**
      * Convenience method for converting contents of the buffer
-     * into a Double value.
+     * into a Double value; parsed directly from the buffer, without
+     * constructing a String.
      */
     public double contentsAsDouble()
         throws NumberFormatException
     {
-        return NumberInput.parseDouble(contentsAsString());
+        return NumberInput.parseDouble(getTextBuffer(), getTextOffset(), size());
     }
 
     public boolean looksLikeInt() {
-        final char[] ch = contentsAsArray();
-        final int len = ch.length;
-
+        final int len = size();
         if (len == 0) {
             return false;
         }
-        
-        int i = 0;
-        char c = ch[0];
+        // no need to aggregate contents if in shared buffer, or just one segment
+        final char[] ch = getTextBuffer();
+        int i = getTextOffset();
+        final int end = i + len;
+        char c = ch[i];
         if (c == '-' || c == '+') {
             if (len == 1) {
                 return false;
             }
             ++i;
         }
-        for (; i < len; ++i) {
+        for (; i < end; ++i) {
             c = ch[i];
             if (c > '9' || c < '0') {
                 return false;
@@ -344,6 +358,34 @@ public final class TextBuffer
         return true;
     }
 
+    /**
+     * Method for checking whether contents of this buffer are equal to
+     * given String, without constructing a String out of contents.
+     *
+     * @since 3.0
+     */
+    public boolean contentsEquals(String str)
+    {
+        if (_resultString != null) {
+            return _resultString.equals(str);
+        }
+        final int len = size();
+        if (len != str.length()) {
+            return false;
+        }
+        if (len == 0) {
+            return true;
+        }
+        final char[] ch = getTextBuffer();
+        final int offset = getTextOffset();
+        for (int i = 0; i < len; ++i) {
+            if (ch[offset+i] != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /*
     /**********************************************************
     /* Public mutators:
@@ -417,26 +459,38 @@ public final class TextBuffer
      * @param trimTrailingSpaces Whether trailing spaces should be trimmed or not
      */
     public String finishAndReturn(int lastSegmentEnd, boolean trimTrailingSpaces)
+    {
+        finish(lastSegmentEnd, trimTrailingSpaces);
+        return contentsAsString();
+    }
+
+    /**
+     * Alternative to {@link #finishAndReturn} that does not construct
+     * a String out of contents.
+     *
+     * @since 3.0
+     */
+    public void finish(int lastSegmentEnd, boolean trimTrailingSpaces)
     {
         if (trimTrailingSpaces) {
             // First, see if it's enough to trim end of current segment:
             int ptr = lastSegmentEnd - 1;
             if (ptr < 0 || _currentSegment[ptr] <= 0x0020) {
-                return _doTrim(ptr);
+                _doTrim(ptr);
+                return;
             }
         }
         _currentSize = lastSegmentEnd;
-        return contentsAsString();
     }
 
-    private String _doTrim(int ptr)
+    private void _doTrim(int ptr)
     {
         while (true) {
             final char[] curr = _currentSegment;
             while (--ptr >= 0) {
                 if (curr[ptr] > 0x0020) { // found the ending non-space char, all done:
                     _currentSize = ptr+1;
-                    return contentsAsString();
+                    return;
                 }
             }
             // nope: need to handle previous segment; if there is one:
@@ -445,23 +499,14 @@ public final class TextBuffer
             }
             _currentSegment = _segments.removeLast();
             ptr = _currentSegment.length;
+            _segmentSize -= ptr;
         }
         // we get here if everything was trimmed, so:
         _currentSize = 0;
+        _segmentSize = 0;
         _hasSegments = false;
-        return contentsAsString();
-    }
-    
-    /*
-    public void finish(int lastSegmentEnd, boolean trimTrailingSpaces)
-    {
-        _currentSize = lastSegmentEnd;
-        if (trimTrailingSpaces) {
-            // !!! TODO
-        }
     }
-    */
-    
+
     public char[] finishCurrentSegment()
     {
         if (_segments == null) {
@@ -0,0 +1,920 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * {@link CsvDecoder} implementation that reads UTF-8 encoded content directly
+ * from bytes, instead of using a {@link Reader} to first decode content into
+ * characters. Separators, quotes and linefeeds are located by scanning bytes,
+ * and value contents are decoded into {@link TextBuffer} during the same pass;
+ * for 7-bit ASCII content this is just a widening copy.
+ *<p>
+ * Special characters outside 7-bit ASCII range (like a non-ASCII column
+ * separator) are supported, but require decoding of multi-byte characters
+ * before comparison.
+ *
+ * @since 3.0
+ */
+public class UTF8CsvDecoder extends CsvDecoder
+{
+    /*
+    /**********************************************************************
+    /* Input handling
+    /**********************************************************************
+     */
+
+    /**
+     * Input stream that can be used for reading more content, if one
+     * in use. May be null, if input comes just as a full buffer,
+     * or if the stream has been closed.
+     */
+    protected InputStream _inputStream;
+
+    /**
+     * Current buffer from which data is read; generally data is read into
+     * buffer from input source, but in some cases pre-loaded buffer
+     * is handed to the parser.
+     */
+    protected byte[] _inputBytes;
+
+    /**
+     * {@link ByteBuffer} wrapper for {@link #_inputBytes}, needed for
+     * bulk scanning (reading 8 bytes at a time).
+     */
+    protected ByteBuffer _inputView;
+
+    /**
+     * Flag set when end-of-input has been reached (and input source, if any,
+     * closed).
+     */
+    protected boolean _endOfInput;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public UTF8CsvDecoder(IOContext ctxt, CsvParser owner, InputStream in,
+            byte[] inputBuffer, int inputStart, int inputEnd, boolean bufferRecyclable,
+            CsvSchema schema, TextBuffer textBuffer,
+            int stdFeatures, int csvFeatures)
+    {
+        super(ctxt, owner, null, null, schema, textBuffer, stdFeatures, csvFeatures);
+        _inputStream = in;
+        _inputBytes = inputBuffer;
+        _inputView = ByteBuffer.wrap(inputBuffer);
+        _inputPtr = inputStart;
+        _inputEnd = inputEnd;
+        _bufferRecyclable = bufferRecyclable;
+        // Need to offset these for correct location info
+        _currInputProcessed = -inputStart;
+        _currInputRowStart = inputStart;
+    }
+
+    /*
+    /**********************************************************************
+    /* JsonParser implementations passed-through by CsvParser
+    /**********************************************************************
+     */
+
+    @Override
+    public Object getInputSource() {
+        return _inputStream;
+    }
+
+    @Override
+    public int releaseBuffered(Writer out) throws IOException {
+        // content is byte-based, can not be released as characters
+        return -1;
+    }
+
+    @Override
+    public int releaseBuffered(OutputStream out) throws IOException
+    {
+        int count = _inputEnd - _inputPtr;
+        if (count < 1) {
+            return 0;
+        }
+        out.write(_inputBytes, _inputPtr, count);
+        return count;
+    }
+
+    @Override
+    public JsonLocation getTokenLocation()
+    {
+        return new JsonLocation(_ioContext.getSourceReference(),
+                getTokenCharacterOffset(), -1L,
+                getTokenLineNr(), getTokenColumnNr());
+    }
+
+    @Override
+    public JsonLocation getCurrentLocation()
+    {
+        int ptr = _inputPtr;
+        if (_pendingLF > 1) { // 1 is used as marker for end-of-input
+            --ptr;
+        }
+        int col = ptr - _currInputRowStart + 1; // 1-based
+        return new JsonLocation(_ioContext.getSourceReference(),
+                _currInputProcessed + ptr - 1, -1L,
+                _currInputRow, col);
+    }
+
+    /*
+    /**********************************************************************
+    /* Input handling
+    /**********************************************************************
+     */
+
+    @Override
+    protected void releaseBuffers() throws IOException
+    {
+        super.releaseBuffers();
+        if (_bufferRecyclable) {
+            byte[] buf = _inputBytes;
+            if (buf != null) {
+                _inputBytes = null;
+                _inputView = null;
+                _ioContext.releaseReadIOBuffer(buf);
+            }
+        }
+    }
+
+    @Override
+    protected void _closeInput() throws IOException
+    {
+        _pendingLF = 1; // just to ensure we'll also check _closed flag later on
+        _endOfInput = true;
+        if (_inputStream != null) {
+            if (_autoCloseInput || _ioContext.isResourceManaged()) {
+                _inputStream.close();
+            }
+            _inputStream = null;
+        }
+    }
+
+    @Override
+    protected boolean loadMore() throws IOException
+    {
+        if (_inputStream != null) {
+            int count = _inputStream.read(_inputBytes, 0, _inputBytes.length);
+            if (count > 0) {
+                _currInputProcessed += _inputEnd;
+                _currInputRowStart -= _inputEnd;
+                _inputPtr = 0;
+                _inputEnd = count;
+                return true;
+            }
+            // End of input; close here but do NOT yet release buffers
+            _closeInput();
+            // Should never return 0, so let's fail
+            if (count == 0) {
+                throw new IOException("InputStream.read() returned 0 bytes when trying to read "+_inputBytes.length+" bytes");
+            }
+        } else if (!_endOfInput) {
+            _closeInput();
+        }
+        return false;
+    }
+
+    /*
+    /**********************************************************************
+    /* Actual parsing, access methods
+    /**********************************************************************
+     */
+
+    @Override
+    public boolean startNewLine() throws IOException
+    {
+        // first: if pending LF, skip it
+        if (_pendingLF != 0) {
+            if (_endOfInput) {
+                return false;
+            }
+            _handleLF();
+        }
+        if ((_inputPtr >= _inputEnd) && !loadMore()) {
+            return false;
+        }
+        if (_allowComments && _inputBytes[_inputPtr] == '#') {
+            // end-of-input?
+            if (_skipCommentLines() < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void skipLeadingComments() throws IOException
+    {
+        if (_allowComments) {
+            if ((_inputPtr < _inputEnd) || loadMore()) {
+                if (_inputBytes[_inputPtr] == '#') {
+                    _skipCommentLines();
+                }
+            }
+        }
+    }
+
+    /**
+     * Unlike with base implementation, first byte of the following
+     * non-comment line is NOT consumed (since it may be a part of a multi-byte
+     * character), only peeked.
+     */
+    @Override
+    protected int _skipCommentLines() throws IOException
+    {
+        while ((_inputPtr < _inputEnd) || loadMore()) {
+            int ch = _inputBytes[_inputPtr++];
+            if (ch != INT_CR && ch != INT_LF) {
+                continue;
+            }
+            _pendingLF = ch;
+            _handleLF();
+
+            // Ok, skipped the end of the line. Check next one...
+            if ((_inputPtr >= _inputEnd) && !loadMore()) {
+                break;
+            }
+            int i = _inputBytes[_inputPtr];
+            if (i != INT_HASH) {
+                return i & 0xFF;
+            }
+        }
+        return -1; // end of input
+    }
+
+    @Override
+    public boolean skipLine() throws IOException
+    {
+        if (_pendingLF != 0) {
+            if (_endOfInput) {
+                return false;
+            }
+            _handleLF();
+        }
+        while (_inputPtr < _inputEnd || loadMore()) {
+            int c = _inputBytes[_inputPtr++];
+            if (c == INT_CR || c == INT_LF) {
+                // important: handle trailing linefeed now, so caller need not bother
+                _pendingLF = c;
+                _handleLF();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean nextValue() throws IOException
+    {
+        _numTypesValid = NR_UNKNOWN;
+        _rawValueStart = _inputPtr;
+        _rawValueInputProcessed = _currInputProcessed;
+
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (!_endOfInput) { // if closed, we just need to return null
+                _handleLF();
+            }
+            return false; // end of line without new value
+        }
+        int i;
+
+        if (_trimSpaces) {
+            i = _skipLeadingSpace();
+        } else {
+            i = _nextChar();
+        }
+        // First, need to ensure we know the starting location of token
+        _tokenInputTotal = _currInputProcessed + _inputPtr - 1;
+        _tokenInputRow = _currInputRow;
+        _tokenInputCol = _inputPtr - _currInputRowStart - 1;
+
+        if (i < 0) { // EOF at this point signifies empty value
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        if (i == INT_CR || i == INT_LF) { // end-of-line means end of record; but also need to handle LF later on
+            _pendingLF = i;
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        // two modes: quoted, unquoted
+        if (i == _quoteChar) { // offline quoted case (longer)
+            _nextQuotedString();
+            return true;
+        }
+        if (i == _separatorChar) {
+            _textBuffer.resetWithString("");
+            return true;
+        }
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        int outPtr = 0;
+        if (i == _escapeChar) {
+            i = _decodeEscaped();
+        }
+        if (i > 0xFFFF) { // surrogate pair; segment is never this short
+            i -= 0x10000;
+            outBuf[outPtr++] = (char) (0xD800 | (i >> 10));
+            i = 0xDC00 | (i & 0x3FF);
+        }
+        outBuf[outPtr++] = (char) i;
+        _nextUnquotedString(outBuf, outPtr);
+        return true;
+    }
+
+    @Override
+    public boolean skipValue() throws IOException
+    {
+        _numTypesValid = NR_UNKNOWN;
+        _rawValueStart = -1;
+
+        if (_pendingLF > 0) { // either pendingLF, or closed
+            if (!_endOfInput) {
+                _handleLF();
+            }
+            return false;
+        }
+        int i;
+
+        if (_trimSpaces) {
+            i = _skipLeadingSpace();
+        } else {
+            i = _nextChar();
+        }
+        if ((i < 0) || (i == _separatorChar)) { // empty value
+            return true;
+        }
+        if (i == INT_CR || i == INT_LF) {
+            _pendingLF = i;
+            return true;
+        }
+        if (i == _quoteChar) {
+            _skipQuotedValue();
+            return true;
+        }
+        if (i == _escapeChar) {
+            _decodeEscaped();
+        }
+        _skipUnquotedValue();
+        return true;
+    }
+
+    @Override
+    public boolean writeRawValue(CsvEncoder encoder, int columnIndex) throws IOException
+    {
+        // Note: end-of-input does not change offsets, need to check separately
+        if ((_rawValueStart < 0) || (_rawValueInputProcessed != _currInputProcessed)
+                || _endOfInput) {
+            return false;
+        }
+        final int end = _inputPtr - 1;
+        if (end < _rawValueStart) {
+            return false;
+        }
+        // multi-byte separators never match, so raw contents are just not available
+        final int c = _inputBytes[end];
+        if ((c != _separatorChar) && (c != '\r') && (c != '\n')) {
+            return false;
+        }
+        encoder.writeNonEscapedUTF8(columnIndex, _inputBytes, _rawValueStart, end - _rawValueStart);
+        return true;
+    }
+
+    /*
+    /**********************************************************************
+    /* Actual parsing, private helper methods
+    /**********************************************************************
+     */
+
+    @Override
+    protected void _nextUnquotedString(char[] outBuf, int outPtr) throws IOException
+    {
+        final byte[] inputBuffer = _inputBytes;
+
+        main_loop:
+        while (true) {
+            int ptr = _inputPtr;
+            if (ptr >= _inputEnd) {
+                if (!loadMore()) { // ok to have end-of-input, are done
+                    break main_loop;
+                }
+                ptr = _inputPtr;
+            }
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.finishCurrentSegment();
+                outPtr = 0;
+            }
+            final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+            if (_scanner != null) {
+                final int stop = _scanner.scanUnquoted(_inputView, inputBuffer, ptr, max);
+                while (ptr < stop) {
+                    outBuf[outPtr++] = (char) inputBuffer[ptr++];
+                }
+            }
+            while (ptr < max) {
+                int c = inputBuffer[ptr++];
+                if (c < 0) { // multi-byte character; may cross buffer boundary
+                    _inputPtr = ptr;
+                    c = _decodeUtf8(c);
+                    if (c <= _maxSpecialChar) {
+                        if (c == _separatorChar) {
+                            break main_loop;
+                        }
+                        if (c == _escapeChar) {
+                            c = _decodeEscaped();
+                        }
+                    }
+                    if (c > 0xFFFF) {
+                        c -= 0x10000;
+                        outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                        c = 0xDC00 | (c & 0x3FF);
+                        if (outPtr >= outBuf.length) {
+                            outBuf = _textBuffer.finishCurrentSegment();
+                            outPtr = 0;
+                        }
+                    }
+                    outBuf[outPtr++] = (char) c;
+                    continue main_loop;
+                }
+                if (c <= _maxSpecialChar) {
+                    if (c == _separatorChar) { // end of value, yay!
+                        _inputPtr = ptr;
+                        break main_loop;
+                    }
+                    if (c == INT_CR || c == INT_LF) { // end of line is end of value as well
+                        _inputPtr = ptr;
+                        _pendingLF = c;
+                        break main_loop;
+                    }
+                    if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        c = _decodeEscaped();
+                        if (c > 0xFFFF) {
+                            c -= 0x10000;
+                            outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                            c = 0xDC00 | (c & 0x3FF);
+                            if (outPtr >= outBuf.length) {
+                                outBuf = _textBuffer.finishCurrentSegment();
+                                outPtr = 0;
+                            }
+                        }
+                        outBuf[outPtr++] = (char) c;
+                        // May have passed input boundary, need to re-set
+                        continue main_loop;
+                    }
+                }
+                outBuf[outPtr++] = (char) c;
+            }
+            _inputPtr = ptr;
+        }
+        _textBuffer.finish(outPtr, _trimSpaces);
+    }
+
+    @Override
+    protected void _nextQuotedString() throws IOException
+    {
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        int outPtr = 0;
+
+        final byte[] inputBuffer = _inputBytes;
+        boolean checkLF = false; // marker for split CR+LF
+        int next; // character following the closing quote, if any
+
+        main_loop:
+        while (true) {
+            int ptr = _inputPtr;
+            if (ptr >= _inputEnd) {
+                if (!loadMore()) { // not ok, missing end quote
+                    _owner._reportParsingError("Missing closing quote for value"); // should indicate start position?
+                }
+                ptr = _inputPtr;
+                if (checkLF) {
+                    checkLF = false;
+                    if (inputBuffer[ptr] == '\n') {
+                        // undo earlier advancement, to keep line number correct
+                        --_currInputRow;
+                    }
+                }
+            }
+            if (outPtr >= outBuf.length) {
+                outBuf = _textBuffer.finishCurrentSegment();
+                outPtr = 0;
+            }
+            final int max = Math.min(_inputEnd, (ptr + (outBuf.length - outPtr)));
+            if (_scanner != null) {
+                final int stop = _scanner.scanQuoted(_inputView, inputBuffer, ptr, max);
+                while (ptr < stop) {
+                    outBuf[outPtr++] = (char) inputBuffer[ptr++];
+                }
+            }
+            while (ptr < max) {
+                int c = inputBuffer[ptr++];
+                if (c < 0) { // multi-byte character; may cross buffer boundary
+                    _inputPtr = ptr;
+                    c = _decodeUtf8(c);
+                    if (c <= _maxSpecialChar) {
+                        if (c == _quoteChar) {
+                            next = _nextChar();
+                            if (next == _quoteChar) { // doubled up, append
+                                outBuf[outPtr++] = (char) c;
+                                continue main_loop;
+                            }
+                            break main_loop;
+                        }
+                        if (c == _escapeChar) {
+                            c = _decodeEscaped();
+                        }
+                    }
+                    if (c > 0xFFFF) {
+                        c -= 0x10000;
+                        outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                        c = 0xDC00 | (c & 0x3FF);
+                        if (outPtr >= outBuf.length) {
+                            outBuf = _textBuffer.finishCurrentSegment();
+                            outPtr = 0;
+                        }
+                    }
+                    outBuf[outPtr++] = (char) c;
+                    continue main_loop;
+                }
+                if (c <= _maxSpecialChar) {
+                    if (c == _quoteChar) {
+                        _inputPtr = ptr;
+                        // need to check whether it's doubled-up, or end of value
+                        next = _nextChar();
+                        if (next == _quoteChar) { // doubled up, append
+                            // note: should have enough room, is safe
+                            outBuf[outPtr++] = (char) c;
+                            continue main_loop;
+                        }
+                        break main_loop;
+                    }
+                    // Embedded linefeeds are fine
+                    if (c == INT_CR) {
+                        if (ptr >= _inputEnd) {
+                            checkLF = true; // will need to be checked in beginning of next loop
+                            ++_currInputRow;
+                            _currInputRowStart = ptr;
+                        } else if (inputBuffer[ptr] != '\n') {
+                            ++_currInputRow;
+                            _currInputRowStart = ptr;
+                        }
+                    } else if (c == INT_LF) {
+                        ++_currInputRow;
+                        _currInputRowStart = ptr;
+                    } else if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        c = _decodeEscaped();
+                        if (c > 0xFFFF) {
+                            c -= 0x10000;
+                            outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                            c = 0xDC00 | (c & 0x3FF);
+                            if (outPtr >= outBuf.length) {
+                                outBuf = _textBuffer.finishCurrentSegment();
+                                outPtr = 0;
+                            }
+                        }
+                        outBuf[outPtr++] = (char) c;
+                        // May have passed input boundary, need to re-set
+                        continue main_loop;
+                    }
+                }
+                outBuf[outPtr++] = (char) c;
+            }
+            _inputPtr = ptr;
+        }
+        // note: do NOT trim from within quoted Strings
+        _textBuffer.finish(outPtr, false);
+        _skipAfterQuoted(next);
+    }
+
+    @Override
+    protected void _skipAfterQuoted() throws IOException {
+        _skipAfterQuoted(_nextChar());
+    }
+
+    /**
+     * @param next Character following the closing quote, if any
+     */
+    private void _skipAfterQuoted(int next) throws IOException
+    {
+        // good, but we also need to locate and skip trailing space, separator
+        // (note: space outside quotes never included, but must be skipped)
+        for (; next >= 0; next = _nextChar()) { // end-of-input is fine
+            if (next == _separatorChar) { // common case, separator between columns
+                break;
+            }
+            if (next <= INT_SPACE) { // extra space, fine as well
+                if (next == INT_CR || next == INT_LF) { // but end-of-line can't be yet skipped
+                    _pendingLF = next;
+                    break;
+                }
+                continue;
+            }
+            _owner._reportUnexpectedCsvChar(next, String.format(
+                    "Expected separator (%s) or end-of-line", _getCharDesc(_quoteChar)));
+        }
+    }
+
+    @Override
+    protected void _skipUnquotedValue() throws IOException
+    {
+        // if no special characters are multi-byte, no need to decode any
+        final boolean decodeAll = (_maxSpecialChar >= 0x80);
+
+        main_loop:
+        while (_inputPtr < _inputEnd || loadMore()) { // end-of-input is fine
+            final byte[] inputBuffer = _inputBytes;
+            final int end = _inputEnd;
+            int ptr = _inputPtr;
+            if (_scanner != null) {
+                ptr = _scanner.scanUnquoted(_inputView, inputBuffer, ptr, end);
+            }
+            while (ptr < end) {
+                int c = inputBuffer[ptr++];
+                if (c < 0) {
+                    if (!decodeAll) {
+                        continue;
+                    }
+                    _inputPtr = ptr;
+                    c = _decodeUtf8(c);
+                    if (c == _separatorChar) {
+                        return;
+                    }
+                    if (c == _escapeChar) {
+                        _decodeEscaped();
+                    }
+                    // May have passed input boundary, need to re-set
+                    continue main_loop;
+                }
+                if (c <= _maxSpecialChar) {
+                    if (c == _separatorChar) {
+                        _inputPtr = ptr;
+                        return;
+                    }
+                    if (c == INT_CR || c == INT_LF) {
+                        _inputPtr = ptr;
+                        _pendingLF = c;
+                        return;
+                    }
+                    if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        _decodeEscaped();
+                        continue main_loop;
+                    }
+                }
+            }
+            _inputPtr = ptr;
+        }
+    }
+
+    @Override
+    protected void _skipQuotedValue() throws IOException
+    {
+        final boolean decodeAll = (_maxSpecialChar >= 0x80);
+        boolean checkLF = false; // marker for split CR+LF
+        int next; // character following the closing quote, if any
+
+        main_loop:
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) { // not ok, missing end quote
+                    _owner._reportParsingError("Missing closing quote for value");
+                }
+                if (checkLF && _inputBytes[_inputPtr] == '\n') {
+                    // undo earlier advancement, to keep line number correct
+                    --_currInputRow;
+                }
+            }
+            checkLF = false;
+            final byte[] inputBuffer = _inputBytes;
+            final int end = _inputEnd;
+            int ptr = _inputPtr;
+            if (_scanner != null) {
+                ptr = _scanner.scanQuoted(_inputView, inputBuffer, ptr, end);
+            }
+            while (ptr < end) {
+                int c = inputBuffer[ptr++];
+                if (c < 0) {
+                    if (!decodeAll) {
+                        continue;
+                    }
+                    _inputPtr = ptr;
+                    c = _decodeUtf8(c);
+                    if (c == _quoteChar) {
+                        next = _nextChar();
+                        if (next == _quoteChar) { // doubled up
+                            continue main_loop;
+                        }
+                        break main_loop;
+                    }
+                    if (c == _escapeChar) {
+                        _decodeEscaped();
+                    }
+                    continue main_loop;
+                }
+                if (c <= _maxSpecialChar) {
+                    if (c == _quoteChar) {
+                        _inputPtr = ptr;
+                        // need to check whether it's doubled-up, or end of value
+                        next = _nextChar();
+                        if (next == _quoteChar) {
+                            continue main_loop;
+                        }
+                        break main_loop;
+                    }
+                    // Embedded linefeeds are fine
+                    if (c == INT_CR) {
+                        if (ptr >= end) {
+                            checkLF = true; // will need to be checked in beginning of next loop
+                            ++_currInputRow;
+                            _currInputRowStart = ptr;
+                        } else if (inputBuffer[ptr] != '\n') {
+                            ++_currInputRow;
+                            _currInputRowStart = ptr;
+                        }
+                    } else if (c == INT_LF) {
+                        ++_currInputRow;
+                        _currInputRowStart = ptr;
+                    } else if (c == _escapeChar) {
+                        _inputPtr = ptr;
+                        _decodeEscaped();
+                        continue main_loop;
+                    }
+                }
+            }
+            _inputPtr = ptr;
+        }
+        _skipAfterQuoted(next);
+    }
+
+    @Override
+    protected void _handleLF() throws IOException
+    {
+        // already skipped past first part; but may get \r\n so skip the other char too?
+        if (_pendingLF == INT_CR) {
+            if (_inputPtr < _inputEnd || loadMore()) {
+                if (_inputBytes[_inputPtr] == '\n') {
+                    ++_inputPtr;
+                }
+            }
+        }
+        _pendingLF = 0;
+        ++_currInputRow;
+        _currInputRowStart = _inputPtr;
+    }
+
+    @Override
+    protected char _unescape() throws IOException {
+        // only called for BMP characters by base class; not used by this class
+        return (char) _decodeEscaped();
+    }
+
+    /**
+     * Method called to decode character following an escape character.
+     *
+     * @return Unicode code point of the escaped character
+     */
+    protected int _decodeEscaped() throws IOException
+    {
+        if (_inputPtr >= _inputEnd) {
+            if (!loadMore()) {
+                _reportError("Unexpected EOF in escaped character");
+            }
+        }
+        // Some characters are more special than others, so:
+        int c = _inputBytes[_inputPtr++];
+        switch (c) {
+        case '0':
+            return '\0';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 't':
+            return '\t';
+        }
+        if (c < 0) {
+            return _decodeUtf8(c);
+        }
+        // others, return as is...
+        return c;
+    }
+
+    /**
+     * @return Next character as Unicode code point (which may be outside of
+     *    BMP, in which case caller must split it into surrogate pair),
+     *    or -1 for end-of-input
+     */
+    @Override
+    protected int _nextChar() throws IOException
+    {
+        if (_inputPtr >= _inputEnd) {
+            if (!loadMore()) {
+                return -1;
+            }
+        }
+        int c = _inputBytes[_inputPtr++];
+        if (c < 0) {
+            return _decodeUtf8(c);
+        }
+        return c;
+    }
+
+    @Override
+    protected int _skipLeadingSpace() throws IOException
+    {
+        final int sep = _separatorChar;
+        while (true) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) {
+                    return -1;
+                }
+            }
+            int ch = _inputBytes[_inputPtr++];
+            if (ch < 0) { // non-ASCII, never white space
+                return _decodeUtf8(ch);
+            }
+            if ((ch > ' ') || (ch == sep)) {
+                return ch;
+            }
+            switch (ch) {
+            case '\r':
+            case '\n':
+                return ch;
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* UTF-8 decoding
+    /**********************************************************************
+     */
+
+    /**
+     * Method called to decode a multi-byte UTF-8 character, after its first
+     * byte has been read (and {@link #_inputPtr} points to the byte following it).
+     * Remaining bytes may span buffer boundary.
+     *
+     * @return Unicode code point of decoded character
+     */
+    protected int _decodeUtf8(int c) throws IOException
+    {
+        int needed;
+        if ((c & 0xE0) == 0xC0) { // 2 bytes (0x0080 - 0x07FF)
+            c &= 0x1F;
+            needed = 1;
+        } else if ((c & 0xF0) == 0xE0) { // 3 bytes (0x0800 - 0xFFFF)
+            c &= 0x0F;
+            needed = 2;
+        } else if ((c & 0xF8) == 0xF0) { // 4 bytes; double-char with surrogates
+            c &= 0x07;
+            needed = 3;
+        } else {
+            throw _invalidInitial(c & 0xFF);
+        }
+        for (int i = 1; i <= needed; ++i) {
+            if (_inputPtr >= _inputEnd) {
+                if (!loadMore()) {
+                    throw new CharConversionException(String.format(
+"Unexpected EOF in the middle of a multi-byte UTF-8 character: got %d, needed %d, at byte #%d",
+                            i, needed+1, _currInputProcessed + _inputPtr));
+                }
+            }
+            int d = _inputBytes[_inputPtr];
+            if ((d & 0xC0) != 0x080) {
+                throw _invalidOther(d & 0xFF);
+            }
+            ++_inputPtr;
+            c = (c << 6) | (d & 0x3F);
+        }
+        if (c > 0x10FFFF) {
+            throw new CharConversionException(String.format(
+"Invalid UTF-8 character 0x%s (at byte #%d): above 0x10FFFF, the highest Unicode code point",
+                    Integer.toHexString(c), _currInputProcessed + _inputPtr - 1));
+        }
+        return c;
+    }
+
+    protected CharConversionException _invalidInitial(int mask) {
+        return new CharConversionException(String.format(
+"Invalid UTF-8 start byte 0x%s (at byte #%d): check content encoding, does not look like UTF-8",
+                Integer.toHexString(mask), _currInputProcessed + _inputPtr - 1));
+    }
+
+    protected CharConversionException _invalidOther(int mask) {
+        return new CharConversionException(String.format(
+"Invalid UTF-8 middle byte 0x%s (at byte #%d): check content encoding, does not look like UTF-8",
+                Integer.toHexString(mask), _currInputProcessed + _inputPtr));
+    }
+}
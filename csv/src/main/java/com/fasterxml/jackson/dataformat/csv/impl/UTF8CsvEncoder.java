@@ -0,0 +1,508 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * {@link CsvEncoder} implementation that writes UTF-8 encoded content
+ * directly into a byte buffer and {@link OutputStream}, instead of first
+ * buffering characters and then transcoding them using a {@link java.io.Writer}.
+ * Separators, quotes and numbers are written as single bytes (numbers using
+ * the same triplet tables as character output), and for 7-bit ASCII text
+ * encoding is just a narrowing copy.
+ *
+ * @since 3.0
+ */
+public class UTF8CsvEncoder extends CsvEncoder
+{
+    private final static int SURR1_FIRST = 0xD800;
+    private final static int SURR1_LAST = 0xDBFF;
+    private final static int SURR2_FIRST = 0xDC00;
+    private final static int SURR2_LAST = 0xDFFF;
+
+    /**
+     * Maximum number of bytes a single character needs; 3 for BMP characters,
+     * and 4 for surrogate pairs (which however consume 2 characters)
+     */
+    private final static int MAX_BYTES_PER_CHAR = 4;
+
+    /*
+    /**********************************************************
+    /* Output buffering
+    /**********************************************************
+     */
+
+    /**
+     * Underlying {@link OutputStream} used for output.
+     */
+    protected final OutputStream _outputStream;
+
+    /**
+     * Intermediate buffer in which contents are buffered before
+     * being written using {@link #_outputStream}.
+     */
+    protected byte[] _outputBytes;
+
+    /**
+     * Pointer to the next available byte position in {@link #_outputBytes}
+     */
+    protected int _outputByteTail;
+
+    /**
+     * Offset to index after the last valid index in {@link #_outputBytes}.
+     */
+    protected final int _outputByteEnd;
+
+    /**
+     * Buffer used for formatting floating-point numbers, which are then
+     * copied into {@link #_outputBytes}
+     */
+    protected final char[] _numberBuffer;
+
+    /*
+    /**********************************************************
+    /* Construction
+    /**********************************************************
+     */
+
+    public UTF8CsvEncoder(IOContext ctxt, int csvFeatures, OutputStream out, CsvSchema schema)
+    {
+        super(ctxt, csvFeatures, null, null, schema);
+        _outputStream = out;
+        _outputBytes = ctxt.allocWriteEncodingBuffer();
+        _outputByteEnd = _outputBytes.length;
+        _numberBuffer = new char[DoubleToDecimal.MAX_DOUBLE_LENGTH];
+    }
+
+    protected UTF8CsvEncoder(UTF8CsvEncoder base, CsvSchema newSchema)
+    {
+        super(base, newSchema);
+        _outputStream = base._outputStream;
+        _outputBytes = base._outputBytes;
+        _outputByteTail = base._outputByteTail;
+        _outputByteEnd = base._outputByteEnd;
+        _numberBuffer = base._numberBuffer;
+    }
+
+    @Override
+    public CsvEncoder withSchema(CsvSchema schema) {
+        return new UTF8CsvEncoder(this, schema);
+    }
+
+    /*
+    /**********************************************************
+    /* Read-access to output state
+    /**********************************************************
+     */
+
+    @Override
+    public Object getOutputTarget() {
+        return _outputStream;
+    }
+
+    @Override
+    public int getOutputBuffered() {
+        return _outputByteTail;
+    }
+
+    /*
+    /**********************************************************
+    /* Writer API, writes via buffered values
+    /**********************************************************
+     */
+
+    @Override
+    protected void appendValue(String value) throws IOException
+    {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        }
+        final int len = value.length();
+        if (_cfgAlwaysQuoteStrings || _mayNeedQuotes(value, len)) {
+            if (_cfgEscapeCharacter > 0) {
+                _writeQuotedAndEscaped(value, (char) _cfgEscapeCharacter);
+            } else {
+                _writeQuoted(value);
+            }
+        } else {
+            _writeUTF8(value, 0, len, -1, -1);
+        }
+    }
+
+    @Override
+    protected void appendRawValue(String value) throws IOException
+    {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        }
+        _writeUTF8(value, 0, value.length(), -1, -1);
+    }
+
+    @Override
+    protected void appendRawValue(char[] value, int offset, int len) throws IOException
+    {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        }
+        _writeUTF8(value, offset, offset+len);
+    }
+
+    @Override
+    protected void appendRawUTF8Value(byte[] value, int offset, int len) throws IOException
+    {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        }
+        if ((_outputByteTail + len) > _outputByteEnd) {
+            _flushBuffer();
+            if (len > _outputByteEnd) { // too long to buffer, write as is
+                _charsWritten += len;
+                _outputStream.write(value, offset, len);
+                return;
+            }
+        }
+        System.arraycopy(value, offset, _outputBytes, _outputByteTail, len);
+        _outputByteTail += len;
+    }
+
+    @Override
+    protected void appendValue(int value) throws IOException
+    {
+        // up to 10 digits and possible minus sign, plus separator
+        if ((_outputByteTail + 11 + MAX_BYTES_PER_CHAR) > _outputByteEnd) {
+            _flushBuffer();
+        }
+        if (_nextColumnToWrite > 0) {
+            _appendSeparatorUnchecked();
+        }
+        _outputByteTail = NumberOutput.outputInt(value, _outputBytes, _outputByteTail);
+    }
+
+    @Override
+    protected void appendValue(long value) throws IOException
+    {
+        // up to 20 digits and possible minus sign, plus separator
+        if ((_outputByteTail + 21 + MAX_BYTES_PER_CHAR) > _outputByteEnd) {
+            _flushBuffer();
+        }
+        if (_nextColumnToWrite > 0) {
+            _appendSeparatorUnchecked();
+        }
+        _outputByteTail = NumberOutput.outputLong(value, _outputBytes, _outputByteTail);
+    }
+
+    @Override
+    protected void appendValue(float value) throws IOException
+    {
+        _appendNumber(NumberOutput.outputFloat(value, _numberBuffer, 0));
+    }
+
+    @Override
+    protected void appendValue(double value) throws IOException
+    {
+        _appendNumber(NumberOutput.outputDouble(value, _numberBuffer, 0));
+    }
+
+    private void _appendNumber(final int len) throws IOException
+    {
+        if ((_outputByteTail + len + MAX_BYTES_PER_CHAR) > _outputByteEnd) {
+            _flushBuffer();
+        }
+        if (_nextColumnToWrite > 0) {
+            _appendSeparatorUnchecked();
+        }
+        final char[] src = _numberBuffer;
+        final byte[] buf = _outputBytes;
+        int ptr = _outputByteTail;
+        for (int i = 0; i < len; ++i) { // always ASCII
+            buf[ptr++] = (byte) src[i];
+        }
+        _outputByteTail = ptr;
+    }
+
+    @Override
+    protected void _append(char[] ch) throws IOException
+    {
+        if (_nextColumnToWrite > 0) {
+            appendColumnSeparator();
+        }
+        _writeUTF8(ch, 0, ch.length);
+    }
+
+    @Override
+    protected void appendColumnSeparator() throws IOException
+    {
+        if ((_outputByteTail + MAX_BYTES_PER_CHAR) > _outputByteEnd) {
+            _flushBuffer();
+        }
+        _appendSeparatorUnchecked();
+    }
+
+    private void _appendSeparatorUnchecked()
+    {
+        final char sep = _cfgColumnSeparator;
+        if (sep < 0x80) {
+            _outputBytes[_outputByteTail++] = (byte) sep;
+        } else {
+            _outputByteTail = _encodeBMPChar(sep, _outputBytes, _outputByteTail);
+        }
+    }
+
+    @Override
+    protected void appendLineSeparator() throws IOException {
+        _writeUTF8(_cfgLineSeparator, 0, _cfgLineSeparatorLength);
+    }
+
+    /*
+    /**********************************************************
+    /* Output methods, unprocessed ("raw")
+    /**********************************************************
+     */
+
+    @Override
+    public void writeRaw(String text) throws IOException {
+        _writeUTF8(text, 0, text.length(), -1, -1);
+    }
+
+    @Override
+    public void writeRaw(String text, int start, int len) throws IOException {
+        _writeUTF8(text, start, start+len, -1, -1);
+    }
+
+    @Override
+    public void writeRaw(char[] text, int offset, int len) throws IOException {
+        _writeUTF8(text, offset, offset+len);
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException
+    {
+        if ((_outputByteTail + MAX_BYTES_PER_CHAR) > _outputByteEnd) {
+            _flushBuffer();
+        }
+        if (c < 0x80) {
+            _outputBytes[_outputByteTail++] = (byte) c;
+        } else if ((c >= SURR1_FIRST) && (c <= SURR2_LAST)) {
+            _reportInvalidSurrogate(c);
+        } else {
+            _outputByteTail = _encodeBMPChar(c, _outputBytes, _outputByteTail);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Output methods, with quoting and escaping
+    /**********************************************************
+     */
+
+    @Override
+    public void _writeQuoted(String text) throws IOException
+    {
+        // NOTE: caller should guarantee quote char is valid (not -1) at this point:
+        final char q = (char) _cfgQuoteCharacter;
+        writeRaw(q);
+        _writeUTF8(text, 0, text.length(), q, -1);
+        writeRaw(q);
+    }
+
+    @Override
+    public void _writeQuotedAndEscaped(String text, char esc) throws IOException
+    {
+        final char q = (char) _cfgQuoteCharacter;
+        writeRaw(q);
+        _writeUTF8(text, 0, text.length(), q, esc);
+        writeRaw(q);
+    }
+
+    /**
+     * Method for encoding given characters as UTF-8: if quote (or escape)
+     * character is given, all instances of it within text are escaped as well.
+     *
+     * @param q Quote character to escape, if any; -1 if none
+     * @param esc Escape character to escape, if any; -1 if none
+     */
+    protected void _writeUTF8(String text, int i, final int end, final int q, final int esc)
+        throws IOException
+    {
+        final byte[] buf = _outputBytes;
+        // leave room for one character and its escape
+        final int safeEnd = _outputByteEnd - (2 * MAX_BYTES_PER_CHAR);
+        int ptr = _outputByteTail;
+
+        while (i < end) {
+            if (ptr > safeEnd) {
+                _outputByteTail = ptr;
+                _flushBuffer();
+                ptr = _outputByteTail;
+            }
+            // Fast path for ASCII characters that need no escaping
+            final int max = Math.min(end, i + (safeEnd - ptr) + 1);
+            char c = text.charAt(i);
+            while ((c < 0x80) && (c != q) && (c != esc)) {
+                buf[ptr++] = (byte) c;
+                if (++i >= max) {
+                    break;
+                }
+                c = text.charAt(i);
+            }
+            if (i >= max) {
+                continue;
+            }
+            ++i;
+            if ((c == q) || (c == esc)) {
+                final char escaped = (c == q) ? _cfgQuoteCharEscapeChar : c;
+                ptr = _encodeBMPChar(escaped, buf, ptr);
+                ptr = _encodeBMPChar(c, buf, ptr);
+                continue;
+            }
+            if ((c < SURR1_FIRST) || (c > SURR2_LAST)) {
+                ptr = _encodeBMPChar(c, buf, ptr);
+                continue;
+            }
+            // Surrogate pair, must be complete within the value
+            if ((c > SURR1_LAST) || (i >= end)) {
+                _outputByteTail = ptr;
+                _reportInvalidSurrogate(c);
+            }
+            final char c2 = text.charAt(i++);
+            if ((c2 < SURR2_FIRST) || (c2 > SURR2_LAST)) {
+                _outputByteTail = ptr;
+                _reportBrokenSurrogate(c, c2);
+            }
+            ptr = _encodeSurrogatePair(c, c2, buf, ptr);
+        }
+        _outputByteTail = ptr;
+    }
+
+    protected void _writeUTF8(char[] text, int i, final int end) throws IOException
+    {
+        final byte[] buf = _outputBytes;
+        final int safeEnd = _outputByteEnd - MAX_BYTES_PER_CHAR;
+        int ptr = _outputByteTail;
+
+        while (i < end) {
+            if (ptr > safeEnd) {
+                _outputByteTail = ptr;
+                _flushBuffer();
+                ptr = _outputByteTail;
+            }
+            final char c = text[i++];
+            if (c < 0x80) {
+                buf[ptr++] = (byte) c;
+                continue;
+            }
+            if ((c < SURR1_FIRST) || (c > SURR2_LAST)) {
+                ptr = _encodeBMPChar(c, buf, ptr);
+                continue;
+            }
+            if ((c > SURR1_LAST) || (i >= end)) {
+                _outputByteTail = ptr;
+                _reportInvalidSurrogate(c);
+            }
+            final char c2 = text[i++];
+            if ((c2 < SURR2_FIRST) || (c2 > SURR2_LAST)) {
+                _outputByteTail = ptr;
+                _reportBrokenSurrogate(c, c2);
+            }
+            ptr = _encodeSurrogatePair(c, c2, buf, ptr);
+        }
+        _outputByteTail = ptr;
+    }
+
+    private static int _encodeBMPChar(int c, byte[] buf, int ptr)
+    {
+        if (c < 0x80) {
+            buf[ptr++] = (byte) c;
+        } else if (c < 0x800) {
+            buf[ptr++] = (byte) (0xc0 | (c >> 6));
+            buf[ptr++] = (byte) (0x80 | (c & 0x3f));
+        } else {
+            buf[ptr++] = (byte) (0xe0 | (c >> 12));
+            buf[ptr++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+            buf[ptr++] = (byte) (0x80 | (c & 0x3f));
+        }
+        return ptr;
+    }
+
+    private static int _encodeSurrogatePair(char first, char second, byte[] buf, int ptr)
+    {
+        final int c = 0x10000 + ((first - SURR1_FIRST) << 10) + (second - SURR2_FIRST);
+        buf[ptr++] = (byte) (0xf0 | (c >> 18));
+        buf[ptr++] = (byte) (0x80 | ((c >> 12) & 0x3f));
+        buf[ptr++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        buf[ptr++] = (byte) (0x80 | (c & 0x3f));
+        return ptr;
+    }
+
+    private void _reportInvalidSurrogate(int c) throws IOException
+    {
+        if (c <= SURR1_LAST) {
+            throw new IOException("Unmatched first part of surrogate pair (0x"+Integer.toHexString(c)+")");
+        }
+        throw new IOException("Unmatched second part of surrogate pair (0x"+Integer.toHexString(c)+")");
+    }
+
+    private void _reportBrokenSurrogate(int first, int second) throws IOException
+    {
+        throw new IOException("Broken surrogate pair: first char 0x"+Integer.toHexString(first)
+                +", second 0x"+Integer.toHexString(second)+"; illegal combination");
+    }
+
+    /*
+    /**********************************************************
+    /* Writer API, state changes
+    /**********************************************************
+     */
+
+    @Override
+    public void flush(boolean flushStream) throws IOException
+    {
+        _flushBuffer();
+        if (flushStream) {
+            _outputStream.flush();
+        }
+    }
+
+    @Override
+    public void close(boolean autoClose) throws IOException
+    {
+        _flushBuffer();
+        if (autoClose) {
+            _outputStream.close();
+        } else {
+            // If we can't close it, we should at least flush
+            _outputStream.flush();
+        }
+        // Internal buffer(s) generator has can now be released as well
+        _releaseBuffers();
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    @Override
+    protected void _flushBuffer() throws IOException
+    {
+        if (_outputByteTail > 0) {
+            _charsWritten += _outputByteTail;
+            _outputStream.write(_outputBytes, 0, _outputByteTail);
+            _outputByteTail = 0;
+        }
+    }
+
+    @Override
+    public void _releaseBuffers()
+    {
+        byte[] buf = _outputBytes;
+        if (buf != null) {
+            _outputBytes = null;
+            _ioContext.releaseWriteEncodingBuffer(buf);
+        }
+    }
+}
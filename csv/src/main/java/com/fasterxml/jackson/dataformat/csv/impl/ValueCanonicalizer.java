@@ -0,0 +1,129 @@
+package com.fasterxml.jackson.dataformat.csv.impl;
+
+/**
+ * Helper class used for sharing {@link String} instances of repeating
+ * column values (like country or currency codes), to avoid constructing
+ * a new String for every cell. Each column has a small symbol table of its
+ * own, with a fixed maximum number of values; a column that keeps
+ * producing values not in its (full) table is considered to have high
+ * cardinality, and its values are not canonicalized after that.
+ *<p>
+ * Instances are not thread-safe and are only used by a single parser.
+ *
+ * @since 3.0
+ */
+public final class ValueCanonicalizer
+{
+    /**
+     * Maximum number of distinct values kept per column
+     */
+    public final static int MAX_VALUES_PER_COLUMN = 64;
+
+    /**
+     * Maximum length of values to canonicalize: longer ones are unlikely
+     * to repeat, and more costly to compare.
+     */
+    public final static int MAX_VALUE_LENGTH = 32;
+
+    /**
+     * Values of columns at or past this index are not canonicalized
+     */
+    public final static int MAX_COLUMNS = 512;
+
+    /**
+     * Number of values not found in a full table, after which column is
+     * considered to have high cardinality.
+     */
+    private final static int MAX_MISSES = MAX_VALUES_PER_COLUMN;
+
+    private final static int TABLE_SIZE = MAX_VALUES_PER_COLUMN * 2;
+
+    /**
+     * Marker used for columns that are not to be canonicalized
+     */
+    private final static String[] NO_TABLE = new String[0];
+
+    private final static String[][] NO_TABLES = new String[0][];
+
+    /**
+     * Symbol table for each column, created when first needed
+     */
+    private String[][] _tables = NO_TABLES;
+
+    /**
+     * Number of values in table of each column, plus number of values not
+     * found after table became full
+     */
+    private int[] _counts = new int[0];
+
+    /**
+     * Method for getting String for given value of specified column: either
+     * shared instance of an earlier equal value, or a new String.
+     */
+    public String canonicalize(int column, char[] buf, int offset, int len)
+    {
+        if (len == 0) {
+            return "";
+        }
+        if ((len > MAX_VALUE_LENGTH) || (column >= MAX_COLUMNS)) {
+            return new String(buf, offset, len);
+        }
+        final String[] table = _table(column);
+        if (table == NO_TABLE) {
+            return new String(buf, offset, len);
+        }
+        // Same hash as String.hashCode(), so Strings' cached hash can be compared
+        int hash = 0;
+        for (int i = offset, end = offset + len; i < end; ++i) {
+            hash = 31 * hash + buf[i];
+        }
+        int ix = (hash ^ (hash >>> 16)) & (TABLE_SIZE - 1);
+        String str;
+        while ((str = table[ix]) != null) {
+            if ((str.hashCode() == hash) && _equals(str, buf, offset, len)) {
+                return str;
+            }
+            ix = (ix + 1) & (TABLE_SIZE - 1);
+        }
+        str = new String(buf, offset, len);
+        final int count = _counts[column]++;
+        if (count < MAX_VALUES_PER_COLUMN) {
+            table[ix] = str;
+        } else if (count >= (MAX_VALUES_PER_COLUMN + MAX_MISSES)) {
+            // too many distinct values; not worth canonicalizing
+            _tables[column] = NO_TABLE;
+        }
+        return str;
+    }
+
+    private String[] _table(int column)
+    {
+        if (column >= _tables.length) {
+            int newSize = Math.min(MAX_COLUMNS, Math.max(column + 1, _tables.length * 2));
+            String[][] tables = new String[newSize][];
+            System.arraycopy(_tables, 0, tables, 0, _tables.length);
+            _tables = tables;
+            int[] counts = new int[newSize];
+            System.arraycopy(_counts, 0, counts, 0, _counts.length);
+            _counts = counts;
+        }
+        String[] table = _tables[column];
+        if (table == null) {
+            _tables[column] = table = new String[TABLE_SIZE];
+        }
+        return table;
+    }
+
+    private static boolean _equals(String str, char[] buf, int offset, int len)
+    {
+        if (str.length() != len) {
+            return false;
+        }
+        for (int i = 0; i < len; ++i) {
+            if (str.charAt(i) != buf[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,213 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for reading columns in batches using {@link CsvBatchReader}.
+ */
+public class BatchReaderTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String DOC = "id,name,price,active,big\n"
+            +"1,Bob,0.25,true,9223372036854775807\n"
+            +"2,\"Bill, Jr.\",-1e3,false,-9223372036854775808\n"
+            +"3,Bob, ,,\n"
+            +"4\n"
+            +"5,Joe,12.5,true,7,extra\n";
+
+    public void testBatches() throws Exception
+    {
+        _testBatches(MAPPER.createParser(DOC));
+        _testBatches(MAPPER.createParser(DOC.getBytes("UTF-8")));
+    }
+
+    private void _testBatches(JsonParser p0) throws Exception
+    {
+        CsvParser p = (CsvParser) p0;
+        p.setSchema(CsvSchema.emptySchema().withHeader());
+        try (CsvBatchReader r = new CsvBatchReader(p)
+                .withVectorType("id", CsvColumnVector.Type.INT)
+                .withVectorType("price", CsvColumnVector.Type.DOUBLE)
+                .withVectorType("active", CsvColumnVector.Type.BOOLEAN)
+                .withVectorType("big", CsvColumnVector.Type.LONG)) {
+            assertEquals(3, r.next(3));
+            assertEquals(5, r.getVectors().size());
+
+            CsvColumnVector.IntVector ids = (CsvColumnVector.IntVector) r.getVector("id");
+            CsvColumnVector.StringVector names = (CsvColumnVector.StringVector) r.getVector("name");
+            CsvColumnVector.DoubleVector prices = (CsvColumnVector.DoubleVector) r.getVector("price");
+            CsvColumnVector.BooleanVector actives = (CsvColumnVector.BooleanVector) r.getVector("active");
+            CsvColumnVector.LongVector bigs = (CsvColumnVector.LongVector) r.getVector("big");
+
+            assertEquals(3, ids.size());
+            assertEquals(1, ids.get(0));
+            assertEquals(3, ids.get(2));
+            assertEquals("Bob", names.get(0));
+            assertEquals("Bill, Jr.", names.get(1));
+            assertEquals(names.getCode(0), names.getCode(2));
+            assertEquals(0.25, prices.get(0));
+            assertEquals(-1000.0, prices.get(1));
+            assertTrue(prices.isNull(2));
+            assertTrue(actives.get(0));
+            assertFalse(actives.get(1));
+            assertTrue(actives.isNull(2));
+            assertEquals(Long.MAX_VALUE, bigs.get(0));
+            assertEquals(Long.MIN_VALUE, bigs.get(1));
+            assertTrue(bigs.isNull(2));
+
+            // missing values are nulls, extra ones ignored
+            assertEquals(2, r.next(3));
+            assertEquals(4, ids.get(0));
+            assertTrue(names.isNull(0));
+            assertEquals(-1, names.getCode(0));
+            assertTrue(prices.isNull(0));
+            assertFalse(prices.isNull(1));
+            assertEquals(12.5, prices.get(1));
+            assertEquals(7L, bigs.get(1));
+            // dictionary is retained between batches
+            assertEquals(Arrays.asList("Bob", "Bill, Jr.", "Joe"), names.getDictionary());
+
+            assertEquals(0, r.next(3));
+        }
+    }
+
+    public void testProjectionAndFilters() throws Exception
+    {
+        CsvParser p = (CsvParser) MAPPER.createParser(DOC);
+        p.setSchema(CsvSchema.emptySchema().withHeader()
+                .withProjection(new HashSet<String>(Arrays.asList("id", "price")))
+                .withRowFilters(CsvRowFilter.equalTo("name", "Bob")));
+        try (CsvBatchReader r = new CsvBatchReader(p)) {
+            assertEquals(2, r.next(100));
+            assertEquals(2, r.getVectors().size());
+            assertNull(r.getVector("name"));
+            // default vector type for untyped columns is String
+            CsvColumnVector.StringVector ids = (CsvColumnVector.StringVector) r.getVector("id");
+            assertEquals("1", ids.get(0));
+            assertEquals("3", ids.get(1));
+            CsvColumnVector.StringVector prices = (CsvColumnVector.StringVector) r.getVector("price");
+            assertEquals("0.25", prices.get(0));
+            assertEquals(" ", prices.get(1));
+            assertEquals(0, r.next(100));
+        }
+    }
+
+    public void testTypesFromSchema() throws Exception
+    {
+        CsvSchema schema = CsvSchema.builder()
+                .addNumberColumn("x")
+                .addBooleanColumn("b")
+                .addColumn("s")
+                .setNullValue("N/A")
+                .build();
+        CsvParser p = (CsvParser) MAPPER.createParser("1.5,true,a\nN/A,N/A,N/A\n");
+        p.setSchema(schema);
+        try (CsvBatchReader r = new CsvBatchReader(p)) {
+            assertEquals(2, r.next(10));
+            assertEquals(CsvColumnVector.Type.DOUBLE, r.getVector("x").getType());
+            assertEquals(CsvColumnVector.Type.BOOLEAN, r.getVector("b").getType());
+            assertEquals(CsvColumnVector.Type.STRING, r.getVector("s").getType());
+            for (CsvColumnVector v : r.getVectors()) {
+                assertFalse(v.isNull(0));
+                assertTrue(v.isNull(1));
+            }
+        }
+    }
+
+    public void testManyRows() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            sb.append(i).append(",v").append(i % 10).append('\n');
+        }
+        CsvParser p = (CsvParser) MAPPER.createParser(sb.toString());
+        p.setSchema(CsvSchema.builder().addColumn("i").addColumn("v").build());
+        try (CsvBatchReader r = new CsvBatchReader(p)
+                .withVectorType("i", CsvColumnVector.Type.LONG)) {
+            int total = 0;
+            int rows;
+            while ((rows = r.next(300)) > 0) {
+                long[] values = ((CsvColumnVector.LongVector) r.getVector("i")).getValues();
+                for (int i = 0; i < rows; ++i) {
+                    assertEquals(total + i, values[i]);
+                }
+                total += rows;
+            }
+            assertEquals(1000, total);
+            assertEquals(10, ((CsvColumnVector.StringVector) r.getVector("v")).getDictionary().size());
+        }
+    }
+
+    public void testDictionarySize() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            sb.append("id").append(i).append('\n');
+        }
+        final String doc = sb.toString();
+        // default: retained, as long as there are few enough values
+        assertEquals(1000, _readIds(new CsvBatchReader(_idParser(doc)), 1000));
+        assertEquals(1000, _readIds(new CsvBatchReader(_idParser(doc))
+                .withMaxDictionarySize(Integer.MAX_VALUE), 1000));
+        // new dictionary once there are more values than the maximum (at most
+        // maximum plus batch size values)
+        assertEquals(300, _readIds(new CsvBatchReader(_idParser(doc))
+                .withMaxDictionarySize(250), 350));
+        // or for every batch
+        assertEquals(100, _readIds(new CsvBatchReader(_idParser(doc))
+                .withMaxDictionarySize(0), 100));
+    }
+
+    private CsvParser _idParser(String doc) throws Exception
+    {
+        CsvParser p = (CsvParser) MAPPER.createParser(doc);
+        p.setSchema(CsvSchema.builder().addColumn("id").build());
+        return p;
+    }
+
+    // @return Biggest dictionary size seen
+    private int _readIds(CsvBatchReader r, int maxSize) throws Exception
+    {
+        int total = 0;
+        int biggest = 0;
+        int generation = 0;
+        int rows;
+        while ((rows = r.next(100)) > 0) {
+            CsvColumnVector.StringVector ids = (CsvColumnVector.StringVector) r.getVector("id");
+            for (int i = 0; i < rows; ++i) {
+                assertEquals("id"+(total + i), ids.get(i));
+            }
+            total += rows;
+            final int size = ids.getDictionary().size();
+            assertTrue(size <= maxSize);
+            biggest = Math.max(biggest, size);
+            if (ids.getDictionaryGeneration() != generation) {
+                // a new dictionary only has values of the current batch
+                assertEquals(generation + 1, ids.getDictionaryGeneration());
+                assertEquals(rows, size);
+                generation = ids.getDictionaryGeneration();
+            }
+        }
+        assertEquals(1000, total);
+        r.close();
+        return biggest;
+    }
+
+    public void testInvalidValue() throws Exception
+    {
+        CsvParser p = (CsvParser) MAPPER.createParser("1\n2147483648\n");
+        p.setSchema(CsvSchema.builder().addColumn("i").build());
+        try (CsvBatchReader r = new CsvBatchReader(p)
+                .withVectorType("i", CsvColumnVector.Type.INT)) {
+            r.next(10);
+            fail("Should not pass");
+        } catch (CsvMappingException e) {
+            verifyException(e, "Invalid value for column \"i\"");
+        }
+    }
+}
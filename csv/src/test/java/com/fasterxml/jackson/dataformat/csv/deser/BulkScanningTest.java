@@ -0,0 +1,86 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.dataformat.csv.ModuleTestBase;
+
+/**
+ * Tests to verify that {@link CsvParser.Feature#USE_BULK_SCANNING} produces
+ * exactly same results as the default (char-by-char) scanning.
+ */
+public class BulkScanningTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    public void testSimpleValues() throws Exception
+    {
+        _verifySame(CsvSchema.emptySchema(),
+                "abc,defghijklmn,o,,pqrstuvwxyz0123456789\n"
+                +"\"quoted, with comma\",\"and \"\"doubled\"\" quotes\",x\r\n"
+                +"\"multi\nline value\",last\n");
+    }
+
+    public void testWithEscapes() throws Exception
+    {
+        _verifySame(CsvSchema.emptySchema().withEscapeChar('\\'),
+                "abc\\,def,ghi\\njkl,\"quoted \\\" escape\"\n"
+                +"long-value-without-anything-special\\\\,x\n");
+    }
+
+    public void testCustomSeparators() throws Exception
+    {
+        _verifySame(CsvSchema.emptySchema().withColumnSeparator('|').withoutQuoteChar(),
+                "a,b,c|\"d\"|eeeeeeeeeeeeeeeeeeeeeeeeeeeee|\n|x\n");
+        _verifySame(CsvSchema.emptySchema().withColumnSeparator('\u00A7'),
+                "caf\u00E9\u00A7\u00FCber\u00A7\"\u00A7\u00A7\"\n");
+    }
+
+    public void testLongValues() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < 200; ++row) {
+            for (int col = 0; col < 7; ++col) {
+                if (col > 0) {
+                    sb.append(',');
+                }
+                int len = (row * 31 + col * 17) % 700;
+                boolean quoted = (col % 3) == 0;
+                if (quoted) {
+                    sb.append('"');
+                }
+                for (int i = 0; i < len; ++i) {
+                    sb.append((char) ('a' + (i % 26)));
+                    if (quoted && (i % 97) == 0) {
+                        sb.append("\"\",\n");
+                    }
+                }
+                if (quoted) {
+                    sb.append('"');
+                }
+            }
+            sb.append((row % 2) == 0 ? "\n" : "\r\n");
+        }
+        _verifySame(CsvSchema.emptySchema(), sb.toString());
+    }
+
+    private void _verifySame(CsvSchema schema, String doc) throws Exception
+    {
+        ObjectReader r = MAPPER.readerFor(String[].class)
+                .with(schema)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY);
+        String[][] exp = r.without(CsvParser.Feature.USE_BULK_SCANNING)
+                .forType(String[][].class)
+                .readValue(doc);
+        String[][] act = r.with(CsvParser.Feature.USE_BULK_SCANNING)
+                .forType(String[][].class)
+                .readValue(doc);
+        assertEquals(exp.length, act.length);
+        for (int i = 0; i < exp.length; ++i) {
+            assertEquals("Row #"+i, Arrays.asList(exp[i]), Arrays.asList(act[i]));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for {@link CsvParser.Feature#CANONICALIZE_VALUES}.
+ */
+public class CanonicalizeValuesTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "country", "status" })
+    static class Entry {
+        public int id;
+        public String country, status;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String DOC = "id,country,status\n"
+            +"1,FI,active\n"
+            +"2,SE,\"active\"\n"
+            +"3,FI,closed\n"
+            +"4,FI,active\n";
+
+    public void testSharedValues() throws Exception
+    {
+        ObjectReader r = MAPPER.readerFor(Entry.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .with(CsvParser.Feature.CANONICALIZE_VALUES);
+        List<Entry> entries = _readAll(r, DOC);
+        assertEquals(4, entries.size());
+        assertEquals("FI", entries.get(0).country);
+        assertSame(entries.get(0).country, entries.get(2).country);
+        assertSame(entries.get(0).country, entries.get(3).country);
+        assertEquals("SE", entries.get(1).country);
+        // quoted or not, same value
+        assertSame(entries.get(0).status, entries.get(1).status);
+        assertSame(entries.get(0).status, entries.get(3).status);
+        assertEquals("closed", entries.get(2).status);
+
+        // and same for bytes, as well as with row filters
+        r = r.with(CsvSchema.emptySchema().withHeader()
+                .withRowFilters(CsvRowFilter.equalTo("country", "FI")));
+        try (MappingIterator<Entry> it = r.readValues(DOC.getBytes("UTF-8"))) {
+            entries = it.readAll();
+        }
+        assertEquals(3, entries.size());
+        assertSame(entries.get(0).country, entries.get(1).country);
+        assertSame(entries.get(0).status, entries.get(2).status);
+    }
+
+    public void testSameAsDefault() throws Exception
+    {
+        // one low-cardinality column, one with unique values, one with long values
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; ++i) {
+            sb.append("v").append(i % 7).append(",id").append(i).append(',');
+            for (int j = 0; j < 40; ++j) {
+                sb.append((char) ('a' + (i % 3)));
+            }
+            sb.append(",\n");
+        }
+        final String doc = sb.toString();
+        ObjectReader r = MAPPER.readerFor(String[].class)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY);
+        List<String[]> exp = _readAll(r, doc);
+        List<String[]> act = _readAll(r.with(CsvParser.Feature.CANONICALIZE_VALUES), doc);
+        assertEquals(exp.size(), act.size());
+        for (int i = 0; i < exp.size(); ++i) {
+            assertEquals(Arrays.asList(exp.get(i)), Arrays.asList(act.get(i)));
+        }
+        assertSame(act.get(0)[0], act.get(7)[0]);
+        assertSame("", act.get(3)[3]);
+    }
+
+    public void testTokens() throws Exception
+    {
+        JsonParser p = MAPPER.reader()
+                .with(CsvParser.Feature.CANONICALIZE_VALUES)
+                .createParser("a,b\nb,a\n");
+        List<String> values = new ArrayList<>();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            if (t == JsonToken.VALUE_STRING) {
+                values.add(p.getText());
+            }
+        }
+        p.close();
+        assertEquals(Arrays.asList("a", "b", "b", "a"), values);
+        // values are shared per column
+        assertNotSame(values.get(0), values.get(3));
+    }
+
+    private <T> List<T> _readAll(ObjectReader r, String doc) throws Exception
+    {
+        try (MappingIterator<T> it = r.readValues(doc)) {
+            return it.readAll();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.dataformat.csv.ModuleTestBase;
+import com.fasterxml.jackson.dataformat.csv.impl.MappedFileInputStream;
+
+public class MappedFileParsingTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String DOC =
+            "id,name,comment\n"
+            +"1,Bob,\"multi\r\nline, with \"\"quotes\"\"\"\r\n"
+            +"2,Caf\u00E9,\u4E2D\u6587 \uD83D\uDE00\n"
+            +"3,,\n";
+
+    public void testParserFromPath() throws Exception
+    {
+        Path file = _writeFile(DOC);
+        try {
+            final CsvSchema schema = CsvSchema.emptySchema().withHeader();
+            List<String> exp = _tokens(MAPPER.createParser(DOC), schema);
+            assertEquals(exp, _tokens(MAPPER.tokenStreamFactory()
+                    .createParser(ObjectReadContext.empty(), file), schema));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    public void testParserFromChannel() throws Exception
+    {
+        Path file = _writeFile(DOC);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // should start from the current position
+            channel.position(DOC.indexOf('\n') + 1);
+            final CsvSchema schema = CsvSchema.emptySchema();
+            List<String> exp = _tokens(MAPPER.createParser(DOC.substring(DOC.indexOf('\n') + 1)), schema);
+            assertEquals(exp, _tokens(MAPPER.tokenStreamFactory()
+                    .createParser(ObjectReadContext.empty(), channel), schema));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    public void testReadingAcrossWindows() throws Exception
+    {
+        Path file = _writeFile(DOC);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            InputStream in = new MappedFileInputStream(channel, 0L, channel.size(), false, 7L) { };
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buf = new byte[5];
+            int count;
+            while ((count = in.read(buf, 0, buf.length)) >= 0) {
+                bytes.write(buf, 0, count);
+            }
+            in.close();
+            assertEquals(DOC, bytes.toString("UTF-8"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private Path _writeFile(String content) throws Exception
+    {
+        Path file = File.createTempFile("mapped", ".csv").toPath();
+        Files.write(file, content.getBytes("UTF-8"));
+        return file;
+    }
+
+    private List<String> _tokens(JsonParser p, CsvSchema schema) throws Exception
+    {
+        p.setSchema(schema);
+        List<String> result = new ArrayList<>();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            result.add((t == JsonToken.FIELD_NAME) ? p.currentName()
+                    : (t == JsonToken.VALUE_STRING) ? p.getText() : t.toString());
+        }
+        p.close();
+        return result;
+    }
+}
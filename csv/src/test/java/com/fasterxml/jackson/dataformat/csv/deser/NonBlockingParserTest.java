@@ -0,0 +1,168 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.dataformat.csv.ModuleTestBase;
+import com.fasterxml.jackson.dataformat.csv.NonBlockingCsvParser;
+
+public class NonBlockingParserTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String DOC =
+            "id,name,comment\n"
+            +"1,Bob,\"multi\r\nline, with \"\"quotes\"\"\"\r\n"
+            +"2,Caf\u00E9,\u4E2D\u6587 \uD83D\uDE00\n"
+            +"3,,\n"
+            +"4,last,no linefeed";
+
+    public void testNotAvailableUntilRecordComplete() throws Exception
+    {
+        NonBlockingCsvParser p = _asyncParser(CsvSchema.emptySchema());
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        assertTrue(p.needMoreInput());
+        _feed(p, "abc,\"d\n");
+        // quoted linefeed does not end the record
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        _feed(p, "e\",f\r");
+        // nor does CR before we know whether LF follows
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        _feed(p, "\nx");
+        assertFalse(p.needMoreInput());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("abc", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("d\ne", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("f", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        // second record not complete yet
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        p.endOfInput();
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("x", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testSameTokensAsBlocking() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        final List<String> exp = _tokens(MAPPER.createParser(DOC.getBytes("UTF-8")), schema);
+        for (int chunk : new int[] { 1, 2, 3, 7, 100, 10000 }) {
+            assertEquals("Chunk size "+chunk, exp, _asyncTokens(schema, DOC, chunk));
+        }
+    }
+
+    public void testWithCommentsAndSkippedRow() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.emptySchema()
+                .withComments()
+                .withSkipFirstDataRow(true);
+        final String doc = "# comment\nskipped,row\n#another\na,b\n\n# last";
+        final List<String> exp = _tokens(MAPPER.createParser(doc.getBytes("UTF-8")), schema);
+        for (int chunk : new int[] { 1, 2, 5 }) {
+            assertEquals("Chunk size "+chunk, exp, _asyncTokens(schema, doc, chunk));
+        }
+    }
+
+    public void testByteBufferFeeding() throws Exception
+    {
+        NonBlockingCsvParser p = _asyncParser(CsvSchema.emptySchema());
+        p.feedInput(ByteBuffer.wrap("a,b\nc".getBytes("UTF-8")));
+        p.endOfInput();
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("b", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("c", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+
+        try {
+            p.feedInput(new byte[1], 0, 1);
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Already closed");
+        }
+        p.close();
+    }
+
+    private NonBlockingCsvParser _asyncParser(CsvSchema schema) throws Exception
+    {
+        NonBlockingCsvParser p = MAPPER.tokenStreamFactory()
+                .createNonBlockingByteArrayParser(ObjectReadContext.empty());
+        p.setSchema(schema);
+        return p;
+    }
+
+    private List<String> _asyncTokens(CsvSchema schema, String doc, int chunk) throws Exception
+    {
+        final byte[] input = doc.getBytes("UTF-8");
+        NonBlockingCsvParser p = _asyncParser(schema);
+        List<String> result = new ArrayList<>();
+        int offset = 0;
+        JsonToken t;
+        while (true) {
+            t = p.nextToken();
+            if (t == JsonToken.NOT_AVAILABLE) {
+                if (offset < input.length) {
+                    int end = Math.min(input.length, offset + chunk);
+                    p.feedInput(input, offset, end);
+                    offset = end;
+                } else {
+                    p.endOfInput();
+                }
+                continue;
+            }
+            if (t == null) {
+                break;
+            }
+            result.add(_desc(p, t));
+        }
+        p.close();
+        return result;
+    }
+
+    private List<String> _tokens(JsonParser p, CsvSchema schema) throws Exception
+    {
+        p.setSchema(schema);
+        List<String> result = new ArrayList<>();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            result.add(_desc(p, t));
+        }
+        p.close();
+        return result;
+    }
+
+    private String _desc(JsonParser p, JsonToken t) throws Exception
+    {
+        switch (t) {
+        case FIELD_NAME:
+            return t+":"+p.currentName();
+        case VALUE_STRING:
+            return t+":"+p.getText();
+        default:
+            return t.toString();
+        }
+    }
+
+    private void _feed(NonBlockingCsvParser p, String content) throws Exception {
+        byte[] b = content.getBytes("UTF-8");
+        p.feedInput(b, 0, b.length);
+    }
+}
@@ -0,0 +1,151 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+public class ParallelReadingTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name", "comment" })
+    protected static class Row {
+        public int id;
+        public String name, comment;
+
+        @Override
+        public String toString() {
+            return id+"/"+name+"/"+comment;
+        }
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    // Big enough to be split in multiple chunks
+    private final static int ROWS = 40000;
+
+    public void testOrderedWithHeader() throws Exception
+    {
+        final CsvSchema schema = MAPPER.schemaFor(Row.class).withHeader();
+        Path file = _writeFile(true);
+        try {
+            ObjectReader r = MAPPER.readerFor(Row.class);
+            List<String> exp = _readSequential(r.with(schema), file);
+            assertEquals(ROWS, exp.size());
+            try (Stream<Row> stream = MAPPER.readValuesParallel(r, schema, file, 4)) {
+                assertEquals(exp, stream.map(Row::toString).collect(Collectors.toList()));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    public void testUnordered() throws Exception
+    {
+        final CsvSchema schema = MAPPER.schemaFor(Row.class);
+        Path file = _writeFile(false);
+        try {
+            ObjectReader r = MAPPER.readerFor(Row.class);
+            List<String> exp = _readSequential(r.with(schema), file);
+            List<String> act;
+            try (Stream<Row> stream = MAPPER.readValuesParallel(r, schema, file, 3, false)) {
+                act = stream.map(Row::toString).collect(Collectors.toList());
+            }
+            Collections.sort(exp);
+            Collections.sort(act);
+            assertEquals(exp, act);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    public void testSmallFile() throws Exception
+    {
+        final CsvSchema schema = MAPPER.schemaFor(Row.class).withHeader();
+        File f = File.createTempFile("parallel", ".csv");
+        try {
+            Files.write(f.toPath(), "id,name,comment\n1,a,\"b\nc\"\n2,d,e".getBytes("UTF-8"));
+            try (Stream<Row> stream = MAPPER.readValuesParallel(MAPPER.readerFor(Row.class),
+                    schema, f.toPath(), 2)) {
+                assertEquals(Arrays.asList("1/a/b\nc", "2/d/e"),
+                        stream.map(Row::toString).collect(Collectors.toList()));
+            }
+            // and header only
+            Files.write(f.toPath(), "id,name,comment\n".getBytes("UTF-8"));
+            try (Stream<Row> stream = MAPPER.readValuesParallel(MAPPER.readerFor(Row.class),
+                    schema, f.toPath(), 2)) {
+                assertEquals(0L, stream.count());
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testNonAsciiQuoteChar() throws Exception
+    {
+        // quote char U+00C3 is also first byte of UTF-8 encoded c-cedilla, so content
+        // must be decoded to skip header and first data row correctly
+        final CsvSchema schema = MAPPER.schemaFor(Row.class).withHeader()
+                .withSkipFirstDataRow(true)
+                .withQuoteChar('\u00C3');
+        File f = File.createTempFile("parallel", ".csv");
+        try {
+            Files.write(f.toPath(), ("id,name,comment\n"
+                    +"0,\u00C3skipped\nrow\u00C3,\u00E7b\n"
+                    +"1,\u00E7a,\u00C3x\ny\u00C3\n"
+                    +"2,\u00E9,z\n").getBytes("UTF-8"));
+            ObjectReader r = MAPPER.readerFor(Row.class);
+            List<String> exp = Arrays.asList("1/\u00E7a/x\ny", "2/\u00E9/z");
+            assertEquals(exp, _readSequential(r.with(schema), f.toPath()));
+            try (Stream<Row> stream = MAPPER.readValuesParallel(r, schema, f.toPath(), 2)) {
+                assertEquals(exp, stream.map(Row::toString).collect(Collectors.toList()));
+            }
+        } finally {
+            f.delete();
+        }
+    }
+
+    private Path _writeFile(boolean header) throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        if (header) {
+            sb.append("id,name,comment\n");
+        }
+        for (int i = 0; i < ROWS; ++i) {
+            sb.append(i).append(",name").append(i).append(',');
+            switch (i % 4) {
+            case 0:
+                sb.append("\"multi-line\ncomment, with \"\"quotes\"\"\nfor row ").append(i).append('"');
+                break;
+            case 1:
+                sb.append("plain comment for row ").append(i);
+                break;
+            case 2:
+                sb.append("\"\r\n\"");
+                break;
+            default:
+            }
+            sb.append(((i % 3) == 0) ? "\r\n" : "\n");
+        }
+        Path file = File.createTempFile("parallel", ".csv").toPath();
+        Files.write(file, sb.toString().getBytes("UTF-8"));
+        return file;
+    }
+
+    private List<String> _readSequential(ObjectReader r, Path file) throws Exception
+    {
+        List<String> result = new ArrayList<>();
+        try (MappingIterator<Row> it = r.readValues(file.toFile())) {
+            while (it.hasNextValue()) {
+                result.add(it.nextValue().toString());
+            }
+        }
+        return result;
+    }
+}
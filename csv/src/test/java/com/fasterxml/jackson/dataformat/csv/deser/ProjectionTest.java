@@ -0,0 +1,118 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for reading with {@link CsvSchema#withProjection}, where values
+ * of columns not included are skipped.
+ */
+public class ProjectionTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name" })
+    static class IdAndName {
+        public int id;
+        public String name;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String WIDE_DOC = "unused,id,\"comment\",name,extra\n"
+            +"\"multi\nline, with \"\"quotes\"\"\",1,abc,Bob,\"\"\n"
+            +"  x  ,2,\"\",\"Bill\",\u00E9\u00E9\r\n"
+            +",3,\"\u4E2D\u6587\",Joe\n";
+
+    public void testProjectionForPojo() throws Exception
+    {
+        assertEquals(new LinkedHashSet<String>(Arrays.asList("id", "name")),
+                MAPPER.projectionFor(IdAndName.class));
+        List<IdAndName> result = new ArrayList<>();
+        try (MappingIterator<IdAndName> it = MAPPER.readerWithProjectionFor(IdAndName.class)
+                .readValues(WIDE_DOC)) {
+            it.readAll(result);
+        }
+        assertEquals(3, result.size());
+        assertEquals(1, result.get(0).id);
+        assertEquals("Bob", result.get(0).name);
+        assertEquals(2, result.get(1).id);
+        assertEquals("Bill", result.get(1).name);
+        assertEquals(3, result.get(2).id);
+        assertEquals("Joe", result.get(2).name);
+    }
+
+    public void testSkippedColumnTokens() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withProjection(new HashSet<String>(Arrays.asList("id", "extra")));
+        final String exp = "{id=1,extra=}{id=2,extra=\u00E9\u00E9}{id=3}";
+        assertEquals(exp, _read(MAPPER.createParser(WIDE_DOC), schema));
+        assertEquals(exp, _read(MAPPER.createParser(WIDE_DOC.getBytes("UTF-8")), schema));
+    }
+
+    public void testMissingColumns() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.builder()
+                .addColumn("a").addColumn("b").addColumn("c").addColumn("d")
+                .build()
+                .withProjection(new HashSet<String>(Arrays.asList("a", "d")));
+        final String doc = "1,\"2\",3,4\n5\n";
+        assertEquals("{a=1,d=4}{a=5}", _read(MAPPER.createParser(doc), schema));
+
+        JsonParser p = MAPPER.reader()
+                .with(CsvParser.Feature.INSERT_NULLS_FOR_MISSING_COLUMNS)
+                .createParser(doc);
+        assertEquals("{a=1,d=4}{a=5,d=null}", _read(p, schema));
+    }
+
+    public void testSchemaSettings() throws Exception
+    {
+        CsvSchema schema = MAPPER.schemaFor(IdAndName.class);
+        assertNull(schema.getProjection());
+        assertFalse(schema.isExcluded("foo"));
+
+        CsvSchema projected = schema.withProjection(Collections.singleton("id"));
+        assertEquals(Collections.singleton("id"), projected.getProjection());
+        assertFalse(projected.isExcluded("id"));
+        assertTrue(projected.isExcluded("name"));
+        assertSame(projected, projected.withProjection(Collections.singleton("id")));
+
+        // must be retained by other mutant factories, as well as builder
+        assertEquals(Collections.singleton("id"), projected.withHeader()
+                .withColumnSeparator(';').getProjection());
+        assertEquals(Collections.singleton("id"), projected.rebuild().build().getProjection());
+        assertNull(projected.withoutProjection().getProjection());
+    }
+
+    private String _read(JsonParser p, CsvSchema schema) throws Exception
+    {
+        p.setSchema(schema);
+        StringBuilder sb = new StringBuilder();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            switch (t) {
+            case START_OBJECT:
+                sb.append('{');
+                break;
+            case END_OBJECT:
+                sb.append('}');
+                break;
+            case FIELD_NAME:
+                if (sb.charAt(sb.length()-1) != '{') {
+                    sb.append(',');
+                }
+                sb.append(p.currentName()).append('=');
+                break;
+            default:
+                sb.append(p.getText());
+            }
+        }
+        p.close();
+        return sb.toString();
+    }
+}
@@ -0,0 +1,225 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for skipping rows using {@link CsvSchema#withRowFilters}.
+ */
+public class RowFilterTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name" })
+    static class IdAndName {
+        public int id;
+        public String name;
+
+        @Override
+        public String toString() {
+            return id+"/"+name;
+        }
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String DOC = "id,country,name,comment\n"
+            +"1,FI,Bob,\"multi\nline\"\n"
+            +"2,SE,Bill,x\r\n"
+            +"3,FI,\"Joe, Jr.\",\n"
+            +"4\n"
+            +"5,FR,Jim,\"\"\"quoted\"\"\"\n";
+
+    public void testStandardFilters() throws Exception
+    {
+        assertEquals(Arrays.asList("1/Bob", "3/Joe, Jr."),
+                _read(CsvRowFilter.equalTo("country", "FI")));
+        assertEquals(Arrays.asList("5/Jim"),
+                _read(CsvRowFilter.startsWith("country", "F"), CsvRowFilter.startsWith("name", "Ji")));
+        assertEquals(Arrays.asList("2/Bill", "3/Joe, Jr.", "4/null"),
+                _read(CsvRowFilter.between("id", 2, 4)));
+        assertEquals(Arrays.asList("2/Bill", "5/Jim"),
+                _read(CsvRowFilter.in("country", Arrays.asList("SE", "FR", "DE"))));
+        assertEquals(Collections.emptyList(),
+                _read(CsvRowFilter.equalTo("name", "Nobody")));
+    }
+
+    public void testFilterTokens() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withRowFilters(CsvRowFilter.in("country", Arrays.asList("SE", "FR")));
+        final String exp = "[{id=2,country=SE,name=Bill,comment=x}{id=5,country=FR,name=Jim,comment=\"quoted\"}]";
+        JsonParser p = MAPPER.reader().with(CsvParser.Feature.WRAP_AS_ARRAY).createParser(DOC);
+        assertEquals(exp, _tokens(p, schema));
+        p = MAPPER.reader().with(CsvParser.Feature.WRAP_AS_ARRAY).createParser(DOC.getBytes("UTF-8"));
+        assertEquals(exp, _tokens(p, schema));
+
+        // and with projection, filtered column need not be exposed
+        assertEquals("{id=2,name=Bill}{id=5,name=Jim}",
+                _tokens(MAPPER.createParser(DOC), schema.withProjection(
+                        new HashSet<String>(Arrays.asList("id", "name")))));
+    }
+
+    // Leading values read for filters are only decoded when accessed
+    public void testFilteredValueAccess() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withNullValue("SE")
+                .withRowFilters(CsvRowFilter.in("country", Arrays.asList("SE", "FR")));
+        for (int i = 0; i < 2; ++i) {
+            JsonParser p = (i == 0) ? MAPPER.createParser(DOC)
+                    : MAPPER.createParser(DOC.getBytes("UTF-8"));
+            p.setSchema(schema);
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("id", p.currentName());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals(2, p.getIntValue());
+            assertEquals("2", p.getText());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertEquals("country", p.currentName());
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("Bill", p.getText());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals(5L, p.getLongValue());
+            assertToken(JsonToken.FIELD_NAME, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("FR", p.getText());
+            p.close();
+        }
+    }
+
+    public void testFilterWithNonBlockingParser() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withRowFilters(CsvRowFilter.equalTo("country", "FI"));
+        NonBlockingCsvParser p = MAPPER.tokenStreamFactory()
+                .createNonBlockingByteArrayParser(ObjectReadContext.empty());
+        final byte[] input = DOC.getBytes("UTF-8");
+        int offset = 0;
+        StringBuilder sb = new StringBuilder();
+        p.setSchema(schema);
+        JsonToken t;
+        while (true) {
+            t = p.nextToken();
+            if (t == JsonToken.NOT_AVAILABLE) {
+                if (offset < input.length) {
+                    p.feedInput(input, offset, offset+1);
+                    ++offset;
+                } else {
+                    p.endOfInput();
+                }
+                continue;
+            }
+            if (t == null) {
+                break;
+            }
+            if (t == JsonToken.VALUE_STRING) {
+                sb.append(p.getText()).append(';');
+            }
+        }
+        p.close();
+        assertEquals("1;FI;Bob;multi\nline;3;FI;Joe, Jr.;;", sb.toString());
+    }
+
+    public void testUnknownColumn() throws Exception
+    {
+        final CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withRowFilters(CsvRowFilter.equalTo("price", "1"));
+        try (JsonParser p = MAPPER.createParser(DOC)) {
+            p.setSchema(schema);
+            p.nextToken();
+            fail("Should not pass");
+        } catch (CsvMappingException e) {
+            verifyException(e, "unknown column \"price\"");
+        }
+    }
+
+    public void testFilterMatching() throws Exception
+    {
+        CsvRowFilter f = CsvRowFilter.between("x", -2.5, 1000);
+        assertTrue(f.matches("-2"));
+        assertTrue(f.matches("1e3"));
+        assertTrue(f.matches("+0.5"));
+        assertFalse(f.matches("1001"));
+        assertFalse(f.matches("-"));
+        assertFalse(f.matches(""));
+        assertFalse(f.matches("abc"));
+
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            values.add("v"+i);
+        }
+        f = CsvRowFilter.in("x", values);
+        assertTrue(f.matches("v0"));
+        assertTrue(f.matches("v99"));
+        assertFalse(f.matches("v100"));
+        assertFalse(f.matches(""));
+
+        // Filters are to be retained by mutant factories
+        CsvSchema schema = MAPPER.schemaFor(IdAndName.class).withRowFilters(f);
+        assertEquals(Collections.singletonList(f), schema.withHeader().rebuild().build().getRowFilters());
+        assertNull(schema.withoutRowFilters().getRowFilters());
+    }
+
+    private List<String> _read(CsvRowFilter... filters) throws Exception
+    {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withProjection(MAPPER.projectionFor(IdAndName.class))
+                .withRowFilters(filters);
+        List<String> result = new ArrayList<>();
+        try (MappingIterator<IdAndName> it = MAPPER.readerFor(IdAndName.class).with(schema)
+                .readValues(DOC)) {
+            while (it.hasNextValue()) {
+                result.add(it.nextValue().toString());
+            }
+        }
+        return result;
+    }
+
+    private String _tokens(JsonParser p, CsvSchema schema) throws Exception
+    {
+        p.setSchema(schema);
+        StringBuilder sb = new StringBuilder();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            switch (t) {
+            case START_ARRAY:
+                sb.append('[');
+                break;
+            case END_ARRAY:
+                sb.append(']');
+                break;
+            case START_OBJECT:
+                sb.append('{');
+                break;
+            case END_OBJECT:
+                sb.append('}');
+                break;
+            case FIELD_NAME:
+                if (sb.charAt(sb.length()-1) != '{') {
+                    sb.append(',');
+                }
+                sb.append(p.currentName()).append('=');
+                break;
+            default:
+                sb.append(p.getText());
+            }
+        }
+        p.close();
+        return sb.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for binding rows using {@link CsvRowReader}; results must be
+ * identical to those of regular data-binding.
+ */
+public class RowReaderTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name", "score", "ratio", "active", "count", "small", "amount" })
+    static class Measurement {
+        private int id;
+        public String name;
+        public double score;
+        public float ratio;
+        public boolean active;
+        public Long count;
+        public short small;
+        public BigDecimal amount;
+
+        public void setId(int id) { this.id = id; }
+        public int getId() { return id; }
+
+        @Override
+        public String toString() {
+            return String.format("[id=%d, name=%s, score=%s, ratio=%s, active=%s, count=%s, small=%d, amount=%s]",
+                    id, name, score, ratio, active, count, small, amount);
+        }
+    }
+
+    static class WithList {
+        public List<String> values;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String DOC = "id,name,score,ratio,active,count,small,amount\n"
+            +"1,Bob,0.25,1.5,true,9223372036854775807,-32768,1E+3\n"
+            +"2,\"Bill, Jr.\",-1e3,0,false,,12,0.10\n"
+            +"3,,  7 ,,,-1,,\n";
+
+    public void testSameAsDataBinding() throws Exception
+    {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        _verifySame(DOC, schema);
+        // reordered
+        _verifySame("amount,small,id,name\n2.5,3,4,x\n", schema);
+        // no header, with null value
+        _verifySame("1,N/A,2.5\n", MAPPER.schemaFor(Measurement.class).withNullValue("N/A"));
+    }
+
+    public void testProjectionAndFilters() throws Exception
+    {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader()
+                .withProjection(new HashSet<String>(Arrays.asList("id", "score")))
+                .withRowFilters(CsvRowFilter.equalTo("name", "Bob"));
+        try (CsvRowReader.RowInput<Measurement> in = MAPPER.rowReaderFor(Measurement.class, schema)
+                .readValues(DOC.getBytes("UTF-8"))) {
+            Measurement m = in.nextValue();
+            assertEquals(1, m.getId());
+            assertEquals(0.25, m.score);
+            assertNull(m.name);
+            assertEquals(0, m.small);
+            assertNull(in.nextValue());
+        }
+    }
+
+    public void testIterator() throws Exception
+    {
+        CsvRowReader<Measurement> r = MAPPER.rowReaderFor(Measurement.class,
+                CsvSchema.emptySchema().withHeader());
+        int count = 0;
+        try (CsvRowReader.RowInput<Measurement> in = r.readValues(DOC)) {
+            while (in.hasNext()) {
+                assertEquals(++count, in.next().getId());
+            }
+        }
+        assertEquals(3, count);
+    }
+
+    public void testInvalidValue() throws Exception
+    {
+        CsvRowReader<Measurement> r = MAPPER.rowReaderFor(Measurement.class,
+                CsvSchema.builder().addColumn("id").addColumn("small").build());
+        try (CsvRowReader.RowInput<Measurement> in = r.readValues("1,32768\n")) {
+            in.nextValue();
+            fail("Should not pass");
+        } catch (CsvMappingException e) {
+            verifyException(e, "Invalid value for column \"small\"");
+        }
+    }
+
+    public void testUnknownColumn() throws Exception
+    {
+        CsvRowReader<Measurement> r = MAPPER.rowReaderFor(Measurement.class,
+                CsvSchema.emptySchema().withHeader());
+        try (CsvRowReader.RowInput<Measurement> in = r.readValues("id,bogus\n1,2\n")) {
+            in.nextValue();
+            fail("Should not pass");
+        } catch (CsvMappingException e) {
+            verifyException(e, "Unrecognized column \"bogus\"");
+        }
+    }
+
+    public void testUnsupportedType() throws Exception
+    {
+        try {
+            MAPPER.rowReaderFor(WithList.class);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "Property \"values\"");
+            verifyException(e, "not supported");
+        }
+    }
+
+    private void _verifySame(String doc, CsvSchema schema) throws Exception
+    {
+        ObjectReader r = MAPPER.readerFor(Measurement.class).with(schema);
+        List<String> exp = new ArrayList<>();
+        try (MappingIterator<Measurement> it = r.readValues(doc)) {
+            for (Measurement m : it.readAll()) {
+                exp.add(m.toString());
+            }
+        }
+        List<String> act = new ArrayList<>();
+        try (CsvRowReader.RowInput<Measurement> in = MAPPER.rowReaderFor(Measurement.class, schema)
+                .readValues(doc)) {
+            for (Measurement m : in.readAll()) {
+                act.add(m.toString());
+            }
+        }
+        assertEquals(exp, act);
+    }
+}
@@ -3,6 +3,7 @@ package com.fasterxml.jackson.dataformat.csv.deser;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.math.BigDecimal;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.io.SerializedString;
@@ -44,6 +45,30 @@ public class StreamingReadTest extends ModuleTestBase
         _testDoubles(1.0, 125.375, -900.5);
         _testDoubles(10093525.125, -123456789.5, 123456789.0);
         _testDoubles(-123451.75, 0.0625, -829.5);
+        // and ones that need more than 15 significant digits, or big exponents
+        _testDoubles(0.1 + 0.2, -2.2250738585072014E-308, 1.7976931348623157E308);
+        _testDoubles(4.9E-324, 1234567.8901234567, -9.87654321012345E-200);
+    }
+
+    public void testDecimalRead() throws Exception
+    {
+        for (boolean useBytes : new boolean[] { false, true }) {
+            CsvParser parser = _parser("0.10,-1.5e-3,12345678901234567890.125\n", useBytes, ABC_SCHEMA);
+            assertToken(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals("a", parser.nextFieldName());
+            assertEquals("0.10", parser.nextTextValue());
+            assertEquals(new BigDecimal("0.10"), parser.getDecimalValue());
+            assertEquals(0.1, parser.getDoubleValue());
+            assertEquals("b", parser.nextFieldName());
+            assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals(new BigDecimal("-1.5e-3"), parser.getDecimalValue());
+            assertEquals("c", parser.nextFieldName());
+            assertToken(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals(new BigDecimal("12345678901234567890.125"), parser.getDecimalValue());
+            assertEquals(12345678901234567890.125, parser.getDoubleValue());
+            assertToken(JsonToken.END_OBJECT, parser.nextToken());
+            parser.close();
+        }
     }
 
     private void _testInts(int a, int b, int c) throws Exception {
@@ -0,0 +1,87 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for accessing column values without constructing Strings
+ * (using {@link CsvParser#getTextView()} and <code>getTextCharacters()</code>).
+ */
+public class TextViewTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "x", "y", "z" })
+    static class Point {
+        public int x;
+        public long y;
+        public double z;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    private final static String DOC = "abc,\"quoted\",\"with \"\"quotes\"\"\",es\\,caped, trimmed  \n"
+            +",\"multi\nline\",last";
+
+    public void testTextViews() throws Exception
+    {
+        final List<String> exp = new ArrayList<>();
+        for (String value : new String[] { "abc", "quoted", "with \"quotes\"", "es,caped",
+                " trimmed  ", "", "multi\nline", "last" }) {
+            exp.add(value);
+        }
+        assertEquals(exp, _views((CsvParser) MAPPER.createParser(DOC)));
+        assertEquals(exp, _views((CsvParser) MAPPER.createParser(new StringReader(DOC))));
+        assertEquals(exp, _views((CsvParser) MAPPER.createParser(DOC.getBytes("UTF-8"))));
+    }
+
+    public void testTextViewsWithTrimming() throws Exception
+    {
+        ObjectReader r = MAPPER.reader()
+                .with(CsvParser.Feature.TRIM_SPACES);
+        try (CsvParser p = (CsvParser) r.createParser(" a ,  b\t,c  \n")) {
+            p.setSchema(CsvSchema.emptySchema());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            for (String exp : new String[] { "a", "b", "c" }) {
+                assertToken(JsonToken.VALUE_STRING, p.nextToken());
+                assertEquals(exp, p.getTextView().toString());
+                assertEquals(exp.length(), p.getTextLength());
+                assertEquals(exp, p.getText());
+            }
+            assertToken(JsonToken.END_ARRAY, p.nextToken());
+        }
+    }
+
+    public void testNumbersFromSharedBuffer() throws Exception
+    {
+        CsvSchema schema = MAPPER.schemaFor(Point.class);
+        Point p = MAPPER.readerFor(Point.class).with(schema)
+                .readValue("12345,-9876543210,0.25\n");
+        assertEquals(12345, p.x);
+        assertEquals(-9876543210L, p.y);
+        assertEquals(0.25, p.z);
+    }
+
+    private List<String> _views(CsvParser p) throws Exception
+    {
+        p.setSchema(CsvSchema.emptySchema().withEscapeChar('\\'));
+        List<String> result = new ArrayList<>();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            if (t == JsonToken.VALUE_STRING) {
+                CharSequence view = p.getTextView();
+                String viaArray = new String(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+                assertEquals(viaArray, view.toString());
+                assertEquals(p.getText(), viaArray);
+                result.add(viaArray);
+            }
+        }
+        p.close();
+        return result;
+    }
+}
@@ -0,0 +1,126 @@
+package com.fasterxml.jackson.dataformat.csv.deser;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.dataformat.csv.ModuleTestBase;
+
+/**
+ * Tests to verify that parsing UTF-8 encoded byte content (which is tokenized
+ * directly from bytes) produces same results as parsing from characters.
+ */
+public class UTF8ByteParsingTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    public void testAsciiValues() throws Exception
+    {
+        _verifySame(CsvSchema.emptySchema(),
+                "abc,defghijklmn,o,,pqrstuvwxyz0123456789\n"
+                +"\"quoted, with comma\",\"and \"\"doubled\"\" quotes\",x\r\n"
+                +"\"multi\r\nline value\",last\n");
+    }
+
+    public void testMultiByteValues() throws Exception
+    {
+        _verifySame(CsvSchema.emptySchema(),
+                "caf\u00E9,na\u00EFve,\u00FCber\n"
+                +"\"\u4E2D\u6587, \"\"quoted\"\"\",\u20AC100\r\n"
+                +"emoji \uD83D\uDE00!,\"\uD83D\uDE03\"\n");
+    }
+
+    public void testNonAsciiSpecialChars() throws Exception
+    {
+        _verifySame(CsvSchema.emptySchema().withColumnSeparator('\u00A7'),
+                "caf\u00E9\u00A7\u00FCber\u00A7\"\u00A7\u00A7\"\n\u00A7\u00A7x\n");
+        _verifySame(CsvSchema.emptySchema().withQuoteChar('\u00AB'),
+                "\u00ABa,b\u00AB\u00ABc\u00AB,d\n");
+        _verifySame(CsvSchema.emptySchema().withEscapeChar('\u00B6'),
+                "a\u00B6,b,\u00B6\u00E9,\"x\u00B6\"\"\n");
+    }
+
+    public void testWithCommentsAndTrimming() throws Exception
+    {
+        _verifySame(CsvSchema.emptySchema().withComments(),
+                "# comment with \u00E9\n\u00E9,b\n#another\n  c ,d\n");
+        ObjectReader r = MAPPER.readerFor(String[][].class)
+                .with(CsvSchema.emptySchema())
+                .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                .with(CsvParser.Feature.TRIM_SPACES);
+        String doc = "  \u00E9t\u00E9 ,  \"x\"  ,\u4E2D  \n";
+        String[][] exp = r.readValue(doc);
+        String[][] act = r.readValue(doc.getBytes("UTF-8"));
+        assertEquals(Arrays.asList(exp[0]), Arrays.asList(act[0]));
+        assertEquals(Arrays.asList("\u00E9t\u00E9", "x", "\u4E2D"), Arrays.asList(act[0]));
+    }
+
+    public void testLongValuesAcrossBuffers() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        final String[] parts = { "a", "\u00E9", "\u4E2D", "\uD83D\uDE00", "bcd" };
+        for (int row = 0; row < 300; ++row) {
+            for (int col = 0; col < 5; ++col) {
+                if (col > 0) {
+                    sb.append(',');
+                }
+                int len = (row * 31 + col * 17) % 500;
+                boolean quoted = (col % 2) == 0;
+                if (quoted) {
+                    sb.append('"');
+                }
+                for (int i = 0; i < len; ++i) {
+                    sb.append(parts[(i + row) % parts.length]);
+                    if (quoted && (i % 97) == 0) {
+                        sb.append("\"\",\r\n");
+                    }
+                }
+                if (quoted) {
+                    sb.append('"');
+                }
+            }
+            sb.append((row % 2) == 0 ? "\n" : "\r\n");
+        }
+        _verifySame(CsvSchema.emptySchema(), sb.toString());
+    }
+
+    public void testLocationIsInBytes() throws Exception
+    {
+        byte[] doc = "\u00E9\u00E9,abc\n".getBytes("UTF-8");
+        try (JsonParser p = MAPPER.createParser(doc)) {
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertEquals("abc", p.getText());
+            // 2 two-byte characters, separator
+            assertEquals(5L, p.getTokenLocation().getByteOffset());
+        }
+    }
+
+    private void _verifySame(CsvSchema schema, String doc) throws Exception
+    {
+        ObjectReader r = MAPPER.readerFor(String[][].class)
+                .with(schema)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY);
+        final byte[] bytes = doc.getBytes("UTF-8");
+        String[][] exp = r.readValue(doc);
+        _assertSame(exp, r.readValue(bytes));
+        _assertSame(exp, r.readValue(new ByteArrayInputStream(bytes)));
+        _assertSame(exp, r.with(CsvParser.Feature.USE_BULK_SCANNING).readValue(bytes));
+        _assertSame(exp, r.with(CsvParser.Feature.USE_BULK_SCANNING)
+                .readValue(new ByteArrayInputStream(bytes)));
+    }
+
+    private void _assertSame(String[][] exp, String[][] act)
+    {
+        assertEquals(exp.length, act.length);
+        for (int i = 0; i < exp.length; ++i) {
+            assertEquals("Row #"+i, Arrays.asList(exp[i]), Arrays.asList(act[i]));
+        }
+    }
+}
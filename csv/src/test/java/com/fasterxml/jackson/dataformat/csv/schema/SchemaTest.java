@@ -7,6 +7,7 @@ import com.fasterxml.jackson.dataformat.csv.CsvMapper;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import com.fasterxml.jackson.dataformat.csv.ModuleTestBase;
 import com.fasterxml.jackson.dataformat.csv.CsvSchema.Column;
+import com.fasterxml.jackson.dataformat.csv.impl.ColumnIndex;
 
 public class SchemaTest extends ModuleTestBase
 {
@@ -206,4 +207,63 @@ public class SchemaTest extends ModuleTestBase
         assertEquals("lastName", it.next().getName());
         assertEquals("x", it.next().getName());
     }
+
+    public void testColumnLookup() throws Exception
+    {
+        CsvSchema.Builder builder = CsvSchema.builder();
+        for (int i = 0; i < 500; ++i) {
+            builder.addColumn("column"+i);
+        }
+        CsvSchema schema = builder.build();
+        // no hash collisions, so perfect hash can be used
+        assertTrue(_index(schema).isPerfect());
+
+        for (int i = 0; i < 500; ++i) {
+            String name = "column"+i;
+            assertEquals(i, schema.column(name).getIndex());
+            // lookups with non-interned name too
+            assertEquals(i, schema.column(new String(name)).getIndex());
+        }
+        assertNull(schema.column("column500"));
+        assertNull(schema.column("C#"));
+        assertNull(schema.column(""));
+
+        // variants share the index
+        schema = schema.withColumnSeparator(';').withHeader();
+        assertEquals(42, schema.column("column42", 0).getIndex());
+
+        assertNull(CsvSchema.emptySchema().column("a"));
+    }
+
+    public void testColumnLookupWithHashCollisions() throws Exception
+    {
+        CsvSchema.Builder builder = CsvSchema.builder();
+        for (int i = 0; i < 20; ++i) {
+            builder.addColumn("column"+i);
+        }
+        // names with identical hash codes
+        builder.addColumn("Aa").addColumn("BB").addColumn("AaBB").addColumn("BBAa");
+        CsvSchema schema = builder.build();
+        // linear probing used instead of perfect hash
+        assertFalse(_index(schema).isPerfect());
+
+        for (int i = 0; i < 20; ++i) {
+            assertEquals(i, schema.column(new String("column"+i)).getIndex());
+        }
+        assertEquals(20, schema.column("Aa").getIndex());
+        assertEquals(21, schema.column("BB").getIndex());
+        assertEquals(22, schema.column(new String("AaBB")).getIndex());
+        assertEquals(23, schema.column(new String("BBAa")).getIndex());
+        assertNull(schema.column("AaAa"));
+        assertNull(schema.column("C#"));
+    }
+
+    private ColumnIndex _index(CsvSchema schema)
+    {
+        List<Column> columns = new ArrayList<Column>();
+        for (Column column : schema) {
+            columns.add(column);
+        }
+        return ColumnIndex.construct(columns.toArray(new Column[columns.size()]));
+    }
 }
@@ -0,0 +1,133 @@
+package com.fasterxml.jackson.dataformat.csv.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for {@link CsvGenerator.Feature#COPY_RAW_VALUES}.
+ */
+public class CopyRawValuesTest extends ModuleTestBase
+{
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    // Values that would be written differently if re-encoded
+    private final static String DOC = "a,\"b \"\"q\"\"\",  c ,\"d,e\",\"\",caf\u00E9\n"
+            +"\"multi\nline\",,\"plain\",x\n";
+
+    public void testCopyAsIs() throws Exception
+    {
+        assertEquals(DOC, _copyChars(MAPPER.createParser(DOC), true));
+        assertEquals(DOC, _copyChars(MAPPER.createParser(DOC.getBytes("UTF-8")), true));
+        assertEquals(DOC, _copyBytes(MAPPER.createParser(DOC), true));
+        assertEquals(DOC, _copyBytes(MAPPER.createParser(DOC.getBytes("UTF-8")), true));
+
+        // but not by default
+        assertFalse(DOC.equals(_copyChars(MAPPER.createParser(DOC), false)));
+    }
+
+    public void testCopyLongDocument() throws Exception
+    {
+        // values whose raw form is what encoder would write, to also cover
+        // values spanning input buffer boundaries (copied normally)
+        final String[] values = { "abc", "\"d,e\"", "\"b \"\"q\"\"\"", "", "\u00E9t\u00E9",
+                "\"x\ny\"", "12345678901234567890" };
+        StringBuilder sb = new StringBuilder();
+        for (int row = 0; row < 3000; ++row) {
+            for (int col = 0; col < 5; ++col) {
+                if (col > 0) {
+                    sb.append(',');
+                }
+                sb.append(values[(row * 3 + col) % values.length]);
+            }
+            sb.append('\n');
+        }
+        final String doc = sb.toString();
+        assertEquals(doc, _copyChars(MAPPER.createParser(doc), true));
+        assertEquals(doc, _copyBytes(MAPPER.createParser(doc.getBytes("UTF-8")), true));
+    }
+
+    public void testModifyColumn() throws Exception
+    {
+        final String input = "id,name,note\n1,\"Bob\",\"x, \"\"y\"\"\"\n2,Bill,\n";
+        JsonParser p = MAPPER.createParser(input);
+        p.setSchema(CsvSchema.emptySchema().withHeader());
+        StringWriter sw = new StringWriter();
+        CsvGenerator g = (CsvGenerator) MAPPER.createGenerator(sw);
+        g.enable(CsvGenerator.Feature.COPY_RAW_VALUES);
+        g.setSchema(CsvSchema.builder().addColumn("id").addColumn("name").addColumn("note")
+                .build().withHeader());
+        while (p.nextToken() != null) {
+            if ((p.currentToken() == JsonToken.VALUE_STRING) && "name".equals(p.currentName())) {
+                g.writeString(p.getText().toUpperCase());
+            } else {
+                g.copyCurrentEvent(p);
+            }
+        }
+        p.close();
+        g.close();
+        assertEquals("id,name,note\n1,BOB,\"x, \"\"y\"\"\"\n2,BILL,\n", sw.toString());
+    }
+
+    public void testDifferentDialect() throws Exception
+    {
+        // with different separator, values must be re-encoded
+        StringWriter sw = new StringWriter();
+        CsvGenerator g = (CsvGenerator) MAPPER.createGenerator(sw);
+        g.enable(CsvGenerator.Feature.COPY_RAW_VALUES);
+        g.setSchema(CsvSchema.emptySchema().withColumnSeparator(';'));
+        JsonParser p = MAPPER.createParser(DOC);
+        while (p.nextToken() != null) {
+            g.copyCurrentStructure(p);
+        }
+        p.close();
+        g.close();
+        assertEquals(_rows(DOC, CsvSchema.emptySchema()),
+                _rows(sw.toString(), CsvSchema.emptySchema().withColumnSeparator(';')));
+    }
+
+    private String _copyChars(JsonParser p, boolean raw) throws Exception
+    {
+        StringWriter sw = new StringWriter();
+        CsvGenerator g = (CsvGenerator) MAPPER.createGenerator(sw);
+        _copy(p, g, raw);
+        return sw.toString();
+    }
+
+    private String _copyBytes(JsonParser p, boolean raw) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CsvGenerator g = (CsvGenerator) MAPPER.createGenerator(bytes);
+        _copy(p, g, raw);
+        return bytes.toString("UTF-8");
+    }
+
+    private void _copy(JsonParser p, CsvGenerator g, boolean raw) throws Exception
+    {
+        if (raw) {
+            g.enable(CsvGenerator.Feature.COPY_RAW_VALUES);
+        }
+        while (p.nextToken() != null) {
+            g.copyCurrentStructure(p);
+        }
+        p.close();
+        g.close();
+    }
+
+    private List<List<String>> _rows(String doc, CsvSchema schema) throws Exception
+    {
+        List<List<String>> rows = new ArrayList<>();
+        try (MappingIterator<String[]> it = MAPPER.readerFor(String[].class).with(schema)
+                .readValues(doc)) {
+            while (it.hasNextValue()) {
+                rows.add(Arrays.asList(it.nextValue()));
+            }
+        }
+        return rows;
+    }
+}
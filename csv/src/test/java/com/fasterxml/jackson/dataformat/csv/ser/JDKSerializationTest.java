@@ -48,6 +48,10 @@ public class JDKSerializationTest extends ModuleTestBase
         byte[] ser = jdkSerialize(SCHEMA_POJO);
         CsvSchema out = (CsvSchema) jdkDeserialize(ser);
         assertNotNull(out);
+        assertEquals(SCHEMA_POJO.size(), out.size());
+        for (CsvSchema.Column col : SCHEMA_POJO) {
+            assertEquals(col.getIndex(), out.column(col.getName()).getIndex());
+        }
     }
     
     public void testObjectMapper() throws IOException
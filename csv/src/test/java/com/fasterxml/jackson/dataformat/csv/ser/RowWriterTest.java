@@ -0,0 +1,116 @@
+package com.fasterxml.jackson.dataformat.csv.ser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.*;
+
+/**
+ * Tests for writing POJOs using {@link CsvRowWriter}; output must be
+ * identical to that of regular data-binding.
+ */
+public class RowWriterTest extends ModuleTestBase
+{
+    @JsonPropertyOrder({ "id", "name", "score", "ratio", "active", "code",
+        "count", "total", "amount", "big" })
+    static class Measurement {
+        private int id;
+        public String name;
+        public double score;
+        public float ratio;
+        public boolean active;
+        public char code;
+        public Integer count;
+        public Long total;
+        public BigDecimal amount;
+        public BigInteger big;
+
+        public short extra = 3;
+
+        protected Measurement() { }
+        public Measurement(int id, String name, double score) {
+            this.id = id;
+            this.name = name;
+            this.score = score;
+        }
+
+        public int getId() { return id; }
+
+        @JsonProperty("label")
+        public String getLabel() { return "#" + id; }
+    }
+
+    static class WithList {
+        public List<String> values;
+    }
+
+    private final CsvMapper MAPPER = mapperForCsv();
+
+    public void testSameAsDataBinding() throws Exception
+    {
+        Measurement m1 = new Measurement(1, "first, \"quoted\"", 0.1);
+        m1.ratio = 0.25f;
+        m1.active = true;
+        m1.code = 'x';
+        m1.count = 42;
+        m1.total = Long.MIN_VALUE;
+        m1.amount = new BigDecimal("1E+3");
+        m1.big = BigInteger.TEN.pow(30);
+        Measurement m2 = new Measurement(-2, null, Double.NaN);
+        Measurement m3 = new Measurement(Integer.MAX_VALUE, "\u00E9t\u00E9", -1.5e-300);
+        m3.count = -7;
+        List<Measurement> values = Arrays.asList(m1, m2, m3);
+
+        CsvSchema schema = MAPPER.schemaFor(Measurement.class);
+        _verifySame(values, schema.withHeader());
+        _verifySame(values, schema.withoutHeader().withColumnSeparator(';').withNullValue("N/A"));
+        // reordered, with a column not matching any property
+        _verifySame(values, CsvSchema.builder()
+                .addColumn("label").addColumn("score").addColumn("unknown").addColumn("id")
+                .build().withHeader());
+    }
+
+    public void testBytes() throws Exception
+    {
+        CsvSchema schema = MAPPER.schemaFor(Measurement.class).withHeader();
+        List<Measurement> values = Arrays.asList(new Measurement(1, "R\u00F6ck", 2.5));
+        CsvRowWriter<Measurement> w = MAPPER.rowWriterFor(Measurement.class, schema);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (CsvRowWriter.RowOutput<Measurement> out = w.writeValues(bytes)) {
+            out.writeAll(values);
+        }
+        assertEquals(w.writeValuesAsString(values), bytes.toString("UTF-8"));
+    }
+
+    public void testUnsupportedType() throws Exception
+    {
+        try {
+            MAPPER.rowWriterFor(WithList.class);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "Property \"values\"");
+            verifyException(e, "not supported");
+        }
+    }
+
+    private void _verifySame(List<Measurement> values, CsvSchema schema) throws Exception
+    {
+        ObjectWriter w = MAPPER.writerFor(Measurement.class).with(schema)
+                .with(JsonGenerator.Feature.IGNORE_UNKNOWN);
+        StringWriter sw = new StringWriter();
+        try (SequenceWriter seq = w.writeValues(sw)) {
+            seq.writeAll(values);
+        }
+        assertEquals(sw.toString(),
+                MAPPER.rowWriterFor(Measurement.class, schema).writeValuesAsString(values));
+    }
+}
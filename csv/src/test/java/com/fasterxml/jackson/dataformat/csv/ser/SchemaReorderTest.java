@@ -12,6 +12,15 @@ public class SchemaReorderTest extends ModuleTestBase
     static class Reordered {
         public int a, b, c, d;
     }
+
+    static class ReorderedTypes {
+        public String a = "x";
+        public float b = 0.1f;
+        public double c = 0.25;
+        public long d = Long.MAX_VALUE;
+        public boolean e = true;
+        public Integer f = null;
+    }
     
     private final CsvMapper MAPPER = new CsvMapper();
 
@@ -34,4 +43,16 @@ public class SchemaReorderTest extends ModuleTestBase
 
 //        _verifyLinks(schema);
     }
+
+    // Values buffered for reordering must be written same as in-order values
+    public void testReorderedTypes() throws Exception
+    {
+        CsvSchema schema = MAPPER.schemaFor(ReorderedTypes.class)
+                .sortedBy("f", "e", "d", "c", "b", "a")
+                .withNullValue("null");
+        ReorderedTypes value = new ReorderedTypes();
+        String csv = MAPPER.writer(schema).writeValueAsString(Arrays.asList(value, value));
+        assertEquals("null,true,9223372036854775807,0.25,0.1,x\n"
+                +"null,true,9223372036854775807,0.25,0.1,x\n", csv);
+    }
 }
@@ -125,6 +125,34 @@ public class TestGenerator extends ModuleTestBase
         assertEquals("abc,1.89\n", result);
     }
 
+    public void testShortestDoubles() throws Exception
+    {
+        ObjectMapper mapper = mapperForCsv();
+        CsvSchema schema = CsvSchema.builder()
+                .addColumn("id")
+                .addColumn("amount")
+                .build();
+        ObjectWriter w = mapper.writer(schema);
+        assertEquals("a,0.1\n", w.writeValueAsString(new Entry("a", 0.1)));
+        assertEquals("a,1.0E-5\n", w.writeValueAsString(new Entry("a", 0.00001)));
+        assertEquals("a,-1.0E10\n", w.writeValueAsString(new Entry("a", -1e10)));
+        assertEquals("a,0.002\n", w.writeValueAsString(new Entry("a", 2e-3)));
+        assertEquals("a,4.9E-324\n", w.writeValueAsString(new Entry("a", Double.MIN_VALUE)));
+        assertEquals("a,NaN\n", w.writeValueAsString(new Entry("a", Double.NaN)));
+        assertEquals("a,3.4028235E38\n", w.writeValueAsString(new Entry2("a", Float.MAX_VALUE)));
+
+        // and all values must round-trip
+        java.util.Random r = new java.util.Random(123);
+        for (int i = 0; i < 1000; ++i) {
+            double d = Double.longBitsToDouble(r.nextLong());
+            if (Double.isNaN(d)) {
+                continue;
+            }
+            String str = w.writeValueAsString(new Entry("a", d));
+            assertEquals(d, Double.parseDouble(str.substring(2, str.length()-1)));
+        }
+    }
+
     public void testExplicitWithQuoted() throws Exception
     {
         ObjectMapper mapper = mapperForCsv();
@@ -1,7 +1,10 @@
 package com.fasterxml.jackson.dataformat.csv.ser;
 
 import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.*;
 
 import com.fasterxml.jackson.dataformat.csv.*;
@@ -11,6 +14,22 @@ import com.fasterxml.jackson.dataformat.csv.*;
  */
 public class UnicodeWritingTest extends ModuleTestBase
 {
+    @JsonPropertyOrder({ "text", "count", "id", "ratio" })
+    static class Entry {
+        public String text;
+        public int count;
+        public long id;
+        public double ratio;
+
+        protected Entry() { }
+        public Entry(String text, int count, long id, double ratio) {
+            this.text = text;
+            this.count = count;
+            this.id = id;
+            this.ratio = ratio;
+        }
+    }
+
     /*
     /**********************************************************************
     /* Test methods
@@ -42,4 +61,55 @@ public class UnicodeWritingTest extends ModuleTestBase
         assertEquals(STRING1, stuff[0]);
         assertEquals(STRING2, stuff[1]);
     }
+
+    // Byte-based output is encoded directly as UTF-8, and must match
+    // encoding of character-based output
+    public void testBytesSameAsChars() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 3000; ++i) {
+            sb.append("\u20AC\"x\u00E9\\");
+        }
+        List<Entry> entries = Arrays.asList(
+                new Entry("R\u00F6ck, \"roll\"", -123, Long.MIN_VALUE, 0.1),
+                new Entry("Smile (\uD83D\uDE00)", Integer.MAX_VALUE, 1234567890123L, -1.5e-300),
+                new Entry("\u0800\u07FF\u0080\uFFFD\n#", 0, -1L, Double.NaN),
+                new Entry(sb.toString(), 42, 0L, 1e22));
+        CsvSchema schema = MAPPER.schemaFor(Entry.class).withHeader();
+        _verifyBytes(entries, schema);
+        _verifyBytes(entries, schema.withColumnSeparator('\u00A7'));
+        _verifyBytes(entries, schema.withEscapeChar('\\').withQuoteChar('\''));
+        _verifyBytes(entries, schema.withoutQuoteChar().withLineSeparator("\r\n"));
+    }
+
+    public void testInvalidSurrogate() throws Exception
+    {
+        try {
+            MAPPER.writerFor(Entry.class).with(MAPPER.schemaFor(Entry.class))
+                .writeValueAsBytes(new Entry("x\uD83Dy", 1, 1L, 1.0));
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Broken surrogate pair");
+        }
+    }
+
+    private void _verifyBytes(List<Entry> entries, CsvSchema schema) throws Exception
+    {
+        ObjectWriter w = MAPPER.writer(schema);
+        byte[] bytes = w.writeValueAsBytes(entries);
+        assertEquals(w.writeValueAsString(entries), new String(bytes, "UTF-8"));
+
+        // can only read back if linefeeds and separators were quoted
+        if (!schema.usesQuoteChar()) {
+            return;
+        }
+        MappingIterator<Entry> it = MAPPER.readerFor(Entry.class).with(schema)
+                .readValues(bytes);
+        List<Entry> result = it.readAll();
+        assertEquals(entries.size(), result.size());
+        for (int i = 0; i < entries.size(); ++i) {
+            assertEquals(entries.get(i).text, result.get(i).text);
+            assertEquals(entries.get(i).id, result.get(i).id);
+        }
+    }
 }
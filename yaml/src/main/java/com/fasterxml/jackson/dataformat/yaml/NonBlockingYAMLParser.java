@@ -0,0 +1,117 @@
+package com.fasterxml.jackson.dataformat.yaml;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.async.NonBlockingInputFeeder;
+import com.fasterxml.jackson.core.io.IOContext;
+
+/**
+ * Non-blocking {@link YAMLParser} implementation, used with UTF-8 encoded
+ * content fed by caller in chunks (using {@link ByteArrayFeeder} methods,
+ * or {@link #feedInput(ByteBuffer)}). If the next token can not yet be
+ * decoded, {@link JsonToken#NOT_AVAILABLE} is returned; caller is then to
+ * feed more input (or call {@link #endOfInput()}) before trying again.
+ *<p>
+ * Content is always decoded using the native scanner (regardless of
+ * {@link YAMLParser.Feature#USE_NATIVE_SCANNER}), state of which (including
+ * indentation levels and flow collections open) is retained across chunks.
+ * If content that scanner does not support is encountered, parsing of the
+ * rest of content is done by SnakeYAML, once all of it has been fed.
+ *
+ * @since 3.0
+ */
+public class NonBlockingYAMLParser
+    extends YAMLParser
+    implements ByteArrayFeeder
+{
+    protected final YAMLScanner _feeder;
+
+    /**
+     * Last token returned other than {@link JsonToken#NOT_AVAILABLE}, needed
+     * to infer field names when decoding continues.
+     */
+    protected JsonToken _lastToken;
+
+    public NonBlockingYAMLParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int formatFeatures)
+    {
+        this(readCtxt, ioCtxt, parserFeatures, formatFeatures, ioCtxt.allocReadIOBuffer());
+    }
+
+    private NonBlockingYAMLParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int formatFeatures, byte[] inputBuffer)
+    {
+        super(readCtxt, ioCtxt, parserFeatures, formatFeatures,
+                new YAMLScanner(inputBuffer), inputBuffer);
+        _feeder = _scanner;
+    }
+
+    /*
+    /**********************************************************************
+    /* AsyncInputFeeder impl
+    /**********************************************************************
+     */
+
+    @Override
+    public NonBlockingInputFeeder getNonBlockingInputFeeder() {
+        return this;
+    }
+
+    @Override
+    public final boolean needMoreInput() {
+        return _feeder.needMoreInput();
+    }
+
+    @Override
+    public void endOfInput() {
+        _feeder.endOfInput();
+    }
+
+    @Override
+    public void feedInput(byte[] buf, int start, int end) throws IOException
+    {
+        _verifyFeedable(start, end);
+        _feeder.feedInput(buf, start, end);
+    }
+
+    /**
+     * Alternative to {@link #feedInput(byte[], int, int)} for feeding content
+     * contained in a {@link ByteBuffer}: all remaining content of the buffer
+     * is consumed.
+     */
+    public void feedInput(ByteBuffer buf) throws IOException
+    {
+        _verifyFeedable(0, buf.remaining());
+        _feeder.feedInput(buf);
+    }
+
+    private void _verifyFeedable(int start, int end) throws IOException
+    {
+        if (end < start) {
+            _reportError(String.format("Input end (%d) may not be before start (%d)", end, start));
+        }
+        if (_feeder.isInputComplete()) {
+            _reportError("Already closed, can not feed more input");
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Parsing
+    /**********************************************************************
+     */
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        if (_currToken == JsonToken.NOT_AVAILABLE) {
+            _currToken = _lastToken;
+        } else {
+            _lastToken = _currToken;
+        }
+        return super.nextToken();
+    }
+}
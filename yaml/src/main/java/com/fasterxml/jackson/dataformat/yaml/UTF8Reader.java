@@ -162,7 +162,12 @@ public final class UTF8Reader
         if (_surrogate >= 0) {
             cbuf[outPtr++] = (char) _surrogate;
             _surrogate = -1;
-            // No need to load more, already got one char
+            // No need to load more, already got one char; but can not
+            // decode more either if buffer is empty
+            if (_inputPtr >= _inputEnd) {
+                ++_charCount;
+                return 1;
+            }
         } else {
             /* To prevent unnecessary blocking (esp. with network streams),
              * we'll only require decoding of a single char
@@ -0,0 +1,1150 @@
+package com.fasterxml.jackson.dataformat.yaml;
+
+import java.io.*;
+import java.util.Arrays;
+
+import org.yaml.snakeyaml.DumperOptions;
+
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.NumberOutput;
+
+/**
+ * Streaming emitter used by {@link YAMLGenerator} when
+ * {@link YAMLGenerator.Feature#USE_NATIVE_EMITTER} is enabled. Instead of
+ * constructing SnakeYAML events and passing them to SnakeYAML emitter,
+ * generator calls methods of this emitter, which writes block-style output
+ * (keys, scalars, indicators and indentation) directly into a recycled
+ * output buffer, flushed to the underlying {@link Writer} when full.
+ *<p>
+ * Output is the same as SnakeYAML produces for non-canonical block style:
+ * same rules are used for choosing scalar style (including verification of
+ * whether plain and single-quoted styles are allowed), splitting long lines,
+ * and writing empty collections in flow style. Unlike SnakeYAML emitter,
+ * there is no buffering of events to look ahead: only start of a collection
+ * is held until the next call, to know whether it is empty; and start of
+ * the document until its root value.
+ *
+ * @since 3.0
+ */
+final class YAMLEmitter
+{
+    /**
+     * Scalar style used to indicate plain (unquoted) scalar
+     */
+    final static char STYLE_PLAIN = 0;
+
+    // Types of nodes
+
+    private final static int NODE_SCALAR = 1;
+    private final static int NODE_ALIAS = 2;
+    private final static int NODE_SEQUENCE = 3;
+    private final static int NODE_MAPPING = 4;
+    private final static int NODE_NUMBER = 5;
+
+    // States
+
+    private final static int STATE_DOC_START = 0;
+    private final static int STATE_DOC_END = 1;
+    private final static int STATE_SEQ_ITEM = 2;
+    private final static int STATE_MAP_KEY = 3;
+    private final static int STATE_MAP_SIMPLE_VALUE = 4;
+    private final static int STATE_MAP_VALUE = 5;
+    private final static int STATE_CLOSED = 6;
+
+    // Results of scalar analysis, as bit flags
+
+    private final static int AN_EMPTY = 0x01;
+    private final static int AN_MULTILINE = 0x02;
+    private final static int AN_ALLOW_BLOCK_PLAIN = 0x04;
+    private final static int AN_ALLOW_SINGLE_QUOTED = 0x08;
+    private final static int AN_ALLOW_BLOCK = 0x10;
+
+    /**
+     * Maximum length of a key (including anchor and tag) written without
+     * explicit key indicator
+     */
+    private final static int MAX_SIMPLE_KEY_LENGTH = 128;
+
+    private final static String TAG_PREFIX = "tag:yaml.org,2002:";
+
+    /**
+     * Escapes to use in double-quoted scalars, for characters that have one;
+     * indexed by character code, for the first 256 characters.
+     */
+    private final static char[] ESCAPES = new char[256];
+    static {
+        ESCAPES[0] = '0';
+        ESCAPES[0x07] = 'a';
+        ESCAPES[0x08] = 'b';
+        ESCAPES['\t'] = 't';
+        ESCAPES['\n'] = 'n';
+        ESCAPES[0x0B] = 'v';
+        ESCAPES[0x0C] = 'f';
+        ESCAPES['\r'] = 'r';
+        ESCAPES[0x1B] = 'e';
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES[0x85] = 'N';
+        ESCAPES[0xA0] = '_';
+    }
+
+    /*
+    /**********************************************************************
+    /* Configuration
+    /**********************************************************************
+     */
+
+    /**
+     * Generator that uses this emitter, needed for error reporting
+     */
+    private final JsonGenerator _generator;
+
+    private final Writer _out;
+
+    private final int _bestIndent;
+
+    private final int _indicatorIndent;
+
+    private final int _bestWidth;
+
+    private final boolean _splitLines;
+
+    private final String _lineBreak;
+
+    private final boolean _explicitStart;
+
+    private final String _version;
+
+    /*
+    /**********************************************************************
+    /* Output buffering
+    /**********************************************************************
+     */
+
+    private char[] _outputBuffer;
+
+    private int _outputTail;
+
+    /*
+    /**********************************************************************
+    /* State
+    /**********************************************************************
+     */
+
+    private int _state = STATE_DOC_START;
+
+    private int[] _states = new int[16];
+
+    private int _stateCount;
+
+    /**
+     * Current indentation level; -1 if none (before and after root value)
+     */
+    private int _indent = -1;
+
+    private int[] _indents = new int[16];
+
+    private int _indentCount;
+
+    /**
+     * Type of collection ({@link #NODE_SEQUENCE} or {@link #NODE_MAPPING})
+     * started, for which it is not yet known whether it is empty; 0 if none.
+     */
+    private int _pendingStart;
+
+    private boolean _mappingContext;
+
+    private boolean _simpleKeyContext;
+
+    /**
+     * Result of analysis of the current scalar, if analyzed; -1 if not.
+     */
+    private int _analysis;
+
+    // Characteristics of the last written character
+
+    private int _column;
+
+    private boolean _whitespace = true;
+
+    private boolean _indention = true;
+
+    /*
+    /**********************************************************************
+    /* Life-cycle
+    /**********************************************************************
+     */
+
+    public YAMLEmitter(JsonGenerator generator, Writer out, char[] outputBuffer,
+            DumperOptions opts, boolean explicitStart, DumperOptions.Version version)
+    {
+        _generator = generator;
+        _out = out;
+        _outputBuffer = outputBuffer;
+        // same limits as SnakeYAML uses
+        int indent = opts.getIndent();
+        _bestIndent = (indent > 1 && indent < 10) ? indent : 2;
+        _indicatorIndent = opts.getIndicatorIndent();
+        _bestWidth = (opts.getWidth() > _bestIndent * 2) ? opts.getWidth() : 80;
+        _splitLines = opts.getSplitLines();
+        _lineBreak = opts.getLineBreak().getString();
+        _explicitStart = explicitStart;
+        _version = (version == null) ? null : version.getRepresentation();
+    }
+
+    /**
+     * Method called to return output buffer, for recycling, once emitter
+     * is closed.
+     */
+    public char[] releaseBuffer() {
+        char[] buf = _outputBuffer;
+        _outputBuffer = null;
+        return buf;
+    }
+
+    public int getOutputBuffered() {
+        return _outputTail;
+    }
+
+    public void flush() throws IOException {
+        _flushBuffer();
+        _out.flush();
+    }
+
+    /**
+     * Method called when generator is closed: ends the document, if its root
+     * value has been completely written, and flushes all buffered output.
+     */
+    public void close() throws IOException
+    {
+        if (_state == STATE_CLOSED) {
+            return;
+        }
+        if (_state == STATE_DOC_END && _pendingStart == 0) {
+            _writeIndent();
+        }
+        _state = STATE_CLOSED;
+        _flushBuffer();
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API, structural output
+    /**********************************************************************
+     */
+
+    /**
+     * @param tag Tag of the sequence, if explicit; null if implicit
+     */
+    public void writeStartSequence(String anchor, String tag) throws IOException {
+        _beforeNode(NODE_SEQUENCE, null, anchor, tag);
+        _startCollection(NODE_SEQUENCE, anchor, tag);
+    }
+
+    public void writeEndSequence() throws IOException {
+        _endCollection(NODE_SEQUENCE);
+    }
+
+    /**
+     * @param tag Tag of the mapping, if explicit; null if implicit
+     */
+    public void writeStartMapping(String anchor, String tag) throws IOException {
+        _beforeNode(NODE_MAPPING, null, anchor, tag);
+        _startCollection(NODE_MAPPING, anchor, tag);
+    }
+
+    public void writeEndMapping() throws IOException {
+        _endCollection(NODE_MAPPING);
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API, scalars
+    /**********************************************************************
+     */
+
+    /**
+     * Method for writing a scalar value (or a key).
+     *
+     * @param tag Tag of the value, if any
+     * @param explicitTag Whether tag is to be written; if not, it is only
+     *    used for determining whether key may be written as a simple key
+     * @param style Preferred style: {@link #STYLE_PLAIN}, <code>'"'</code>,
+     *    <code>'\''</code> or <code>'|'</code>; as with SnakeYAML, other style
+     *    is used if content can not be written using preferred one
+     */
+    public void writeScalar(String value, String anchor, String tag,
+            boolean explicitTag, char style) throws IOException
+    {
+        _analysis = -1;
+        _beforeNode(NODE_SCALAR, value, anchor, tag);
+        if (anchor != null) {
+            _writeIndicator("&" + _prepareAnchor(anchor), true, false, false);
+        }
+        style = _chooseScalarStyle(value, style, !explicitTag);
+        if (explicitTag) {
+            _writeIndicator(_prepareTag(tag), true, false, false);
+        }
+        _increaseIndent(true, false);
+        final boolean split = !_simpleKeyContext && _splitLines;
+        switch (style) {
+        case STYLE_PLAIN:
+            _writePlain(value, split);
+            break;
+        case '\'':
+            _writeSingleQuoted(value, split);
+            break;
+        case '|':
+            _writeLiteral(value);
+            break;
+        default:
+            _writeDoubleQuoted(value, split);
+        }
+        _indent = _popIndent();
+        _state = _popState();
+    }
+
+    /**
+     * Method for writing a numeric value without anchor or tag: textual
+     * representation is always valid as plain scalar, so no analysis
+     * is needed.
+     */
+    public void writeNumber(String value) throws IOException
+    {
+        _beforeNode(NODE_NUMBER, value, null, null);
+        _startPlainNumber();
+        _writeRaw(value, 0, value.length());
+        _column += value.length();
+        _endPlainNumber();
+    }
+
+    public void writeNumber(int value) throws IOException
+    {
+        _beforeNode(NODE_NUMBER, null, null, null);
+        _startPlainNumber();
+        if ((_outputTail + 11) >= _outputBuffer.length) {
+            _flushBuffer();
+        }
+        int start = _outputTail;
+        _outputTail = NumberOutput.outputInt(value, _outputBuffer, start);
+        _column += (_outputTail - start);
+        _endPlainNumber();
+    }
+
+    public void writeNumber(long value) throws IOException
+    {
+        _beforeNode(NODE_NUMBER, null, null, null);
+        _startPlainNumber();
+        if ((_outputTail + 21) >= _outputBuffer.length) {
+            _flushBuffer();
+        }
+        int start = _outputTail;
+        _outputTail = NumberOutput.outputLong(value, _outputBuffer, start);
+        _column += (_outputTail - start);
+        _endPlainNumber();
+    }
+
+    public void writeAlias(String anchor) throws IOException
+    {
+        _beforeNode(NODE_ALIAS, null, anchor, null);
+        _writeIndicator("*" + _prepareAnchor(anchor), true, false, false);
+        _state = _popState();
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, state handling
+    /**********************************************************************
+     */
+
+    /**
+     * Method called before writing any node: writes whatever is needed
+     * before it in the current state (document start marker, sequence
+     * entry indicator, key indicator and so on), and sets the state to
+     * return to after the node.
+     */
+    private void _beforeNode(int type, String value, String anchor, String tag)
+        throws IOException
+    {
+        if (_pendingStart != 0) {
+            _startBlockCollection();
+        }
+        switch (_state) {
+        case STATE_DOC_START:
+            _startDocument((type == NODE_SCALAR) && (anchor == null) && (tag == null)
+                    && value.isEmpty());
+            _pushState(STATE_DOC_END);
+            _mappingContext = false;
+            _simpleKeyContext = false;
+            return;
+        case STATE_SEQ_ITEM:
+            _writeIndent();
+            _writeWhitespace(_indicatorIndent);
+            _writeIndicator('-', true, false, true);
+            _pushState(STATE_SEQ_ITEM);
+            _mappingContext = false;
+            _simpleKeyContext = false;
+            return;
+        case STATE_MAP_KEY:
+            _writeIndent();
+            _mappingContext = true;
+            if (_checkSimpleKey(type, value, anchor, tag)) {
+                _pushState(STATE_MAP_SIMPLE_VALUE);
+                _simpleKeyContext = true;
+            } else {
+                _writeIndicator('?', true, false, true);
+                _pushState(STATE_MAP_VALUE);
+                _simpleKeyContext = false;
+            }
+            return;
+        case STATE_MAP_SIMPLE_VALUE:
+            _writeIndicator(':', false, false, false);
+            _pushState(STATE_MAP_KEY);
+            _mappingContext = true;
+            _simpleKeyContext = false;
+            return;
+        case STATE_MAP_VALUE:
+            _writeIndent();
+            _writeIndicator(':', true, false, true);
+            _pushState(STATE_MAP_KEY);
+            _mappingContext = true;
+            _simpleKeyContext = false;
+            return;
+        case STATE_DOC_END:
+            _reportError("Can not write more than one root-level value in a YAML document");
+        default:
+            _reportError("Can not write a value: emitter closed");
+        }
+    }
+
+    private void _startDocument(boolean emptyScalar) throws IOException
+    {
+        if (_version != null) {
+            _writeRaw("%YAML ");
+            _writeRaw(_version);
+            _writeLineBreak();
+        }
+        if (_explicitStart || (_version != null) || emptyScalar) {
+            _writeIndent();
+            _writeIndicator("---", true, false, false);
+        }
+    }
+
+    private void _startCollection(int type, String anchor, String tag) throws IOException
+    {
+        if (anchor != null) {
+            _writeIndicator("&" + _prepareAnchor(anchor), true, false, false);
+        }
+        if (tag != null) {
+            _writeIndicator(_prepareTag(tag), true, false, false);
+        }
+        // can not yet know whether collection is empty (written in flow style)
+        _pendingStart = type;
+    }
+
+    /**
+     * Method called when the first entry of a collection is written, to
+     * start collection in block style.
+     */
+    private void _startBlockCollection()
+    {
+        if (_pendingStart == NODE_SEQUENCE) {
+            _increaseIndent(false, _mappingContext && !_indention);
+            _state = STATE_SEQ_ITEM;
+        } else {
+            _increaseIndent(false, false);
+            _state = STATE_MAP_KEY;
+        }
+        _pendingStart = 0;
+    }
+
+    private void _endCollection(int type) throws IOException
+    {
+        if (_pendingStart != 0) {
+            // empty collection: written in flow style
+            if (_pendingStart != type) {
+                _reportMismatch(type);
+            }
+            _pendingStart = 0;
+            if (type == NODE_SEQUENCE) {
+                _writeIndicator('[', true, true, false);
+                _writeIndicator(']', false, false, false);
+            } else {
+                _writeIndicator('{', true, true, false);
+                _writeIndicator('}', false, false, false);
+            }
+        } else {
+            if (_state != ((type == NODE_SEQUENCE) ? STATE_SEQ_ITEM : STATE_MAP_KEY)) {
+                _reportMismatch(type);
+            }
+            _indent = _popIndent();
+        }
+        _state = _popState();
+    }
+
+    private void _startPlainNumber() throws IOException
+    {
+        _increaseIndent(true, false);
+        if (!_whitespace) {
+            ++_column;
+            _writeChar(' ');
+        }
+        _whitespace = false;
+        _indention = false;
+    }
+
+    private void _endPlainNumber()
+    {
+        _indent = _popIndent();
+        _state = _popState();
+    }
+
+    private boolean _checkSimpleKey(int type, String value, String anchor, String tag)
+        throws IOException
+    {
+        int length = 0;
+        if (anchor != null) {
+            length += _prepareAnchor(anchor).length();
+        }
+        if (tag != null) {
+            length += _prepareTag(tag).length();
+        }
+        switch (type) {
+        case NODE_ALIAS:
+            return (length < MAX_SIMPLE_KEY_LENGTH);
+        case NODE_NUMBER:
+            return true;
+        case NODE_SCALAR:
+            length += value.length();
+            return (length < MAX_SIMPLE_KEY_LENGTH)
+                    && (_analyze(value) & (AN_EMPTY | AN_MULTILINE)) == 0;
+        }
+        return false;
+    }
+
+    private void _increaseIndent(boolean flow, boolean indentless)
+    {
+        if (_indentCount == _indents.length) {
+            _indents = Arrays.copyOf(_indents, _indentCount + _indentCount);
+        }
+        _indents[_indentCount++] = _indent;
+        if (_indent < 0) {
+            _indent = flow ? _bestIndent : 0;
+        } else if (!indentless) {
+            _indent += _bestIndent;
+        }
+    }
+
+    private int _popIndent() {
+        return _indents[--_indentCount];
+    }
+
+    private void _pushState(int state)
+    {
+        if (_stateCount == _states.length) {
+            _states = Arrays.copyOf(_states, _stateCount + _stateCount);
+        }
+        _states[_stateCount++] = state;
+    }
+
+    private int _popState() {
+        return _states[--_stateCount];
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, scalar analysis
+    /**********************************************************************
+     */
+
+    private char _chooseScalarStyle(String value, char style, boolean implicit)
+    {
+        if (style == '"') {
+            return style;
+        }
+        final int an = _analyze(value);
+        if ((style == STYLE_PLAIN) && implicit) {
+            if (!(_simpleKeyContext && (an & (AN_EMPTY | AN_MULTILINE)) != 0)
+                    && (an & AN_ALLOW_BLOCK_PLAIN) != 0) {
+                return STYLE_PLAIN;
+            }
+        }
+        if (style == '|') {
+            if (!_simpleKeyContext && (an & AN_ALLOW_BLOCK) != 0) {
+                return style;
+            }
+        }
+        if ((style == STYLE_PLAIN) || (style == '\'')) {
+            if ((an & AN_ALLOW_SINGLE_QUOTED) != 0
+                    && !(_simpleKeyContext && (an & AN_MULTILINE) != 0)) {
+                return '\'';
+            }
+        }
+        return '"';
+    }
+
+    private int _analyze(String scalar)
+    {
+        if (_analysis < 0) {
+            _analysis = _analyzeScalar(scalar);
+        }
+        return _analysis;
+    }
+
+    /**
+     * Method that checks which styles may be used for given scalar, using
+     * same rules as SnakeYAML emitter (for block context)
+     */
+    private static int _analyzeScalar(String scalar)
+    {
+        final int len = scalar.length();
+        if (len == 0) {
+            return AN_EMPTY | AN_ALLOW_BLOCK_PLAIN | AN_ALLOW_SINGLE_QUOTED;
+        }
+        boolean blockIndicators = false;
+        boolean lineBreaks = false;
+        boolean specialCharacters = false;
+
+        boolean leadingSpace = false;
+        boolean leadingBreak = false;
+        boolean trailingSpace = false;
+        boolean trailingBreak = false;
+        boolean breakSpace = false;
+        boolean spaceBreak = false;
+
+        // Document indicators
+        if (scalar.startsWith("---") || scalar.startsWith("...")) {
+            blockIndicators = true;
+        }
+        boolean precededByWhitespace = true;
+        boolean followedByWhitespace = (len == 1) || _isBlankOrBreak(scalar.codePointAt(1));
+        boolean previousSpace = false;
+        boolean previousBreak = false;
+
+        int index = 0;
+        while (index < len) {
+            int c = scalar.codePointAt(index);
+            if (index == 0) {
+                // Leading indicators are special characters
+                switch (c) {
+                case '#': case ',': case '[': case ']': case '{': case '}': case '&':
+                case '*': case '!': case '|': case '>': case '\'': case '"': case '%':
+                case '@': case '`':
+                    blockIndicators = true;
+                    break;
+                case '?': case ':': case '-':
+                    if (followedByWhitespace) {
+                        blockIndicators = true;
+                    }
+                    break;
+                }
+            } else {
+                if (c == ':') {
+                    if (followedByWhitespace) {
+                        blockIndicators = true;
+                    }
+                } else if ((c == '#') && precededByWhitespace) {
+                    blockIndicators = true;
+                }
+            }
+            final boolean isLineBreak = _isLineBreak(c);
+            if (isLineBreak) {
+                lineBreaks = true;
+            }
+            if (!(c == '\n' || (0x20 <= c && c <= 0x7E))) {
+                // non-ASCII printable characters are fine (as unicode is allowed)
+                if (!(c == 0x85 || (c >= 0xA0 && c <= 0xD7FF)
+                        || (c >= 0xE000 && c <= 0xFFFD)
+                        || (c >= 0x10000 && c <= 0x10FFFF))) {
+                    specialCharacters = true;
+                }
+            }
+            if (c == ' ') {
+                if (index == 0) {
+                    leadingSpace = true;
+                }
+                if (index == len - 1) {
+                    trailingSpace = true;
+                }
+                if (previousBreak) {
+                    breakSpace = true;
+                }
+                previousSpace = true;
+                previousBreak = false;
+            } else if (isLineBreak) {
+                if (index == 0) {
+                    leadingBreak = true;
+                }
+                if (index == len - 1) {
+                    trailingBreak = true;
+                }
+                if (previousSpace) {
+                    spaceBreak = true;
+                }
+                previousSpace = false;
+                previousBreak = true;
+            } else {
+                previousSpace = false;
+                previousBreak = false;
+            }
+
+            index += Character.charCount(c);
+            precededByWhitespace = (c == 0) || (c == ' ') || (c == '\t') || isLineBreak;
+            followedByWhitespace = true;
+            if (index + 1 < len) {
+                int nextIndex = index + Character.charCount(scalar.codePointAt(index));
+                if (nextIndex < len) {
+                    int next = scalar.codePointAt(nextIndex);
+                    followedByWhitespace = (next == 0) || (next == ' ') || (next == '\t') || isLineBreak;
+                }
+            }
+        }
+        boolean allowBlockPlain = true;
+        boolean allowSingleQuoted = true;
+        boolean allowBlock = true;
+        // Leading and trailing whitespaces are bad for plain scalars
+        if (leadingSpace || leadingBreak || trailingSpace || trailingBreak) {
+            allowBlockPlain = false;
+        }
+        // Trailing spaces are not permitted for block scalars
+        if (trailingSpace) {
+            allowBlock = false;
+        }
+        // Spaces at the beginning of a new line are only acceptable for block scalars
+        if (breakSpace) {
+            allowBlockPlain = allowSingleQuoted = false;
+        }
+        // Spaces followed by breaks, as well as special character are only
+        // allowed for double quoted scalars
+        if (spaceBreak || specialCharacters) {
+            allowBlockPlain = allowSingleQuoted = allowBlock = false;
+        }
+        if (blockIndicators) {
+            allowBlockPlain = false;
+        }
+        int result = 0;
+        if (lineBreaks) {
+            result |= AN_MULTILINE;
+        }
+        if (allowBlockPlain) {
+            result |= AN_ALLOW_BLOCK_PLAIN;
+        }
+        if (allowSingleQuoted) {
+            result |= AN_ALLOW_SINGLE_QUOTED;
+        }
+        if (allowBlock) {
+            result |= AN_ALLOW_BLOCK;
+        }
+        return result;
+    }
+
+    private static boolean _isLineBreak(int c) {
+        return (c == '\n') || (c == 0x85) || (c == 0x2028) || (c == 0x2029);
+    }
+
+    private static boolean _isBlankOrBreak(int c) {
+        return (c == 0) || (c == ' ') || (c == '\t') || (c == '\r') || _isLineBreak(c);
+    }
+
+    private static boolean _isPrintable(int c) {
+        return (c >= 0x20 && c <= 0x7E) || c == 0x9 || c == 0xA || c == 0xD
+                || c == 0x85 || (c >= 0xA0 && c <= 0xD7FF)
+                || (c >= 0xE000 && c <= 0xFFFD)
+                || (c >= 0x10000 && c <= 0x10FFFF);
+    }
+
+    private String _prepareAnchor(String anchor) throws IOException
+    {
+        if (anchor.isEmpty()) {
+            _reportError("anchor must not be empty");
+        }
+        for (int i = 0, len = anchor.length(); i < len; ++i) {
+            char c = anchor.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '_' || c == '-')) {
+                _reportError("invalid character in the anchor: "+anchor);
+            }
+        }
+        return anchor;
+    }
+
+    private String _prepareTag(String tag) throws IOException
+    {
+        if (tag.isEmpty()) {
+            _reportError("tag must not be empty");
+        }
+        if (tag.startsWith("!")) {
+            return tag;
+        }
+        if (tag.startsWith(TAG_PREFIX) && (tag.length() > TAG_PREFIX.length())) {
+            return "!!" + tag.substring(TAG_PREFIX.length());
+        }
+        return "!<" + tag + ">";
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, writing scalars
+    /**********************************************************************
+     */
+
+    private void _writePlain(String text, boolean split) throws IOException
+    {
+        final int len = text.length();
+        if (len == 0) {
+            return;
+        }
+        if (!_whitespace) {
+            ++_column;
+            _writeChar(' ');
+        }
+        _whitespace = false;
+        _indention = false;
+        boolean spaces = false;
+        boolean breaks = false;
+        int start = 0;
+        for (int end = 0; end <= len; ++end) {
+            char ch = (end < len) ? text.charAt(end) : 0;
+            if (spaces) {
+                if (ch != ' ') {
+                    if ((start + 1 == end) && (_column > _bestWidth) && split) {
+                        _writeIndent();
+                        _whitespace = false;
+                        _indention = false;
+                    } else {
+                        _column += (end - start);
+                        _writeRaw(text, start, end - start);
+                    }
+                    start = end;
+                }
+            } else if (breaks) {
+                if (!_isLineBreak(ch)) {
+                    if (text.charAt(start) == '\n') {
+                        _writeLineBreak();
+                    }
+                    _writeLineBreaks(text, start, end);
+                    _writeIndent();
+                    _whitespace = false;
+                    _indention = false;
+                    start = end;
+                }
+            } else if ((ch == 0) || (ch == ' ') || _isLineBreak(ch)) {
+                _column += (end - start);
+                _writeRaw(text, start, end - start);
+                start = end;
+            }
+            if (ch != 0) {
+                spaces = (ch == ' ');
+                breaks = _isLineBreak(ch);
+            }
+        }
+    }
+
+    private void _writeSingleQuoted(String text, boolean split) throws IOException
+    {
+        _writeIndicator('\'', true, false, false);
+        final int len = text.length();
+        boolean spaces = false;
+        boolean breaks = false;
+        int start = 0;
+        for (int end = 0; end <= len; ++end) {
+            char ch = (end < len) ? text.charAt(end) : 0;
+            if (spaces) {
+                if (ch != ' ') {
+                    if ((start + 1 == end) && (_column > _bestWidth) && split
+                            && (start != 0) && (end != len)) {
+                        _writeIndent();
+                    } else {
+                        _column += (end - start);
+                        _writeRaw(text, start, end - start);
+                    }
+                    start = end;
+                }
+            } else if (breaks) {
+                if ((ch == 0) || !_isLineBreak(ch)) {
+                    if (text.charAt(start) == '\n') {
+                        _writeLineBreak();
+                    }
+                    _writeLineBreaks(text, start, end);
+                    _writeIndent();
+                    start = end;
+                }
+            } else if ((ch == 0) || (ch == ' ') || (ch == '\'') || _isLineBreak(ch)) {
+                if (start < end) {
+                    _column += (end - start);
+                    _writeRaw(text, start, end - start);
+                    start = end;
+                }
+            }
+            if (ch == '\'') {
+                _column += 2;
+                _writeRaw("''");
+                start = end + 1;
+            }
+            if (ch != 0) {
+                spaces = (ch == ' ');
+                breaks = _isLineBreak(ch);
+            }
+        }
+        _writeIndicator('\'', false, false, false);
+    }
+
+    private void _writeDoubleQuoted(String text, boolean split) throws IOException
+    {
+        _writeIndicator('"', true, false, false);
+        final int len = text.length();
+        int start = 0;
+        for (int end = 0; end <= len; ++end) {
+            final boolean atEnd = (end == len);
+            final char ch = atEnd ? 0 : text.charAt(end);
+            if (atEnd || (ch < 0x20) || (ch > 0x7E) || (ch == '"') || (ch == '\\')) {
+                if (start < end) {
+                    _column += (end - start);
+                    _writeRaw(text, start, end - start);
+                    start = end;
+                }
+                if (!atEnd) {
+                    if ((ch < ESCAPES.length) && (ESCAPES[ch] != 0 || ch == 0)) {
+                        _column += 2;
+                        _writeChar('\\');
+                        _writeChar(ESCAPES[ch]);
+                    } else if (ch == 0x2028) {
+                        _column += 2;
+                        _writeRaw("\\L");
+                    } else if (ch == 0x2029) {
+                        _column += 2;
+                        _writeRaw("\\P");
+                    } else if (!_isPrintable(ch)) {
+                        String data;
+                        if (ch <= 0xFF) {
+                            String s = "0" + Integer.toString(ch, 16);
+                            data = "\\x" + s.substring(s.length() - 2);
+                        } else if ((ch >= 0xD800) && (ch <= 0xDBFF) && (end + 1 < len)) {
+                            char ch2 = text.charAt(++end);
+                            String s = "000" + Long.toHexString(Character.toCodePoint(ch, ch2));
+                            data = "\\U" + s.substring(s.length() - 8);
+                        } else {
+                            String s = "000" + Integer.toString(ch, 16);
+                            data = "\\u" + s.substring(s.length() - 4);
+                        }
+                        _column += data.length();
+                        _writeRaw(data);
+                    } else {
+                        ++_column;
+                        _writeChar(ch);
+                    }
+                    start = end + 1;
+                }
+            }
+            if ((0 < end) && (end < len - 1) && ((ch == ' ') || (start >= end))
+                    && (_column + (end - start) > _bestWidth) && split) {
+                if (start < end) {
+                    _column += (end - start) + 1;
+                    _writeRaw(text, start, end - start);
+                    start = end;
+                } else {
+                    ++_column;
+                }
+                _writeChar('\\');
+                _writeIndent();
+                _whitespace = false;
+                _indention = false;
+                if (text.charAt(start) == ' ') {
+                    ++_column;
+                    _writeChar('\\');
+                }
+            }
+        }
+        _writeIndicator('"', false, false, false);
+    }
+
+    private void _writeLiteral(String text) throws IOException
+    {
+        _writeIndicator(_blockHints(text), true, false, false);
+        _writeLineBreak();
+        final int len = text.length();
+        boolean breaks = true;
+        int start = 0;
+        for (int end = 0; end <= len; ++end) {
+            char ch = (end < len) ? text.charAt(end) : 0;
+            if (breaks) {
+                if ((ch == 0) || !_isLineBreak(ch)) {
+                    _writeLineBreaks(text, start, end);
+                    if (ch != 0) {
+                        _writeIndent();
+                    }
+                    start = end;
+                }
+            } else if ((ch == 0) || _isLineBreak(ch)) {
+                // note: as with SnakeYAML, column is not updated for content
+                _writeRaw(text, start, end - start);
+                if (ch == 0) {
+                    _writeLineBreak();
+                }
+                start = end;
+            }
+            if (ch != 0) {
+                breaks = _isLineBreak(ch);
+            }
+        }
+    }
+
+    /**
+     * Method for constructing indicator of a literal scalar, with indentation
+     * and chomping indicators if needed.
+     */
+    private String _blockHints(String text)
+    {
+        StringBuilder sb = new StringBuilder(3).append('|');
+        char first = text.charAt(0);
+        if ((first == ' ') || _isLineBreak(first)) {
+            sb.append(_bestIndent);
+        }
+        final int len = text.length();
+        if (!_isLineBreak(text.charAt(len - 1))) {
+            sb.append('-');
+        } else if ((len == 1) || _isLineBreak(text.charAt(len - 2))) {
+            sb.append('+');
+        }
+        return sb.toString();
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, low-level output
+    /**********************************************************************
+     */
+
+    private void _writeIndicator(String indicator, boolean needWhitespace,
+            boolean whitespace, boolean indentation) throws IOException
+    {
+        if (!_whitespace && needWhitespace) {
+            ++_column;
+            _writeChar(' ');
+        }
+        _whitespace = whitespace;
+        _indention = _indention && indentation;
+        _column += indicator.length();
+        _writeRaw(indicator);
+    }
+
+    private void _writeIndicator(char indicator, boolean needWhitespace,
+            boolean whitespace, boolean indentation) throws IOException
+    {
+        if (!_whitespace && needWhitespace) {
+            ++_column;
+            _writeChar(' ');
+        }
+        _whitespace = whitespace;
+        _indention = _indention && indentation;
+        ++_column;
+        _writeChar(indicator);
+    }
+
+    private void _writeIndent() throws IOException
+    {
+        final int indent = (_indent < 0) ? 0 : _indent;
+        if (!_indention || (_column > indent) || ((_column == indent) && !_whitespace)) {
+            _writeLineBreak();
+        }
+        _writeWhitespace(indent - _column);
+    }
+
+    private void _writeWhitespace(int length) throws IOException
+    {
+        if (length <= 0) {
+            return;
+        }
+        _whitespace = true;
+        _column += length;
+        if ((_outputTail + length) > _outputBuffer.length) {
+            _flushBuffer();
+        }
+        // can only be long with deep nesting, written in chunks
+        while (length > _outputBuffer.length) {
+            Arrays.fill(_outputBuffer, 0, _outputBuffer.length, ' ');
+            _outputTail = _outputBuffer.length;
+            length -= _outputTail;
+            _flushBuffer();
+        }
+        Arrays.fill(_outputBuffer, _outputTail, _outputTail + length, ' ');
+        _outputTail += length;
+    }
+
+    private void _writeLineBreak() throws IOException
+    {
+        _whitespace = true;
+        _indention = true;
+        _column = 0;
+        _writeRaw(_lineBreak);
+    }
+
+    /**
+     * Method for writing line breaks in given range of content:
+     * linefeeds are written as configured line break, others as is.
+     */
+    private void _writeLineBreaks(String text, int start, int end) throws IOException
+    {
+        for (int i = start; i < end; ++i) {
+            char br = text.charAt(i);
+            if (br == '\n') {
+                _writeLineBreak();
+            } else {
+                _whitespace = true;
+                _indention = true;
+                _column = 0;
+                _writeChar(br);
+            }
+        }
+    }
+
+    private void _writeChar(char c) throws IOException
+    {
+        if (_outputTail >= _outputBuffer.length) {
+            _flushBuffer();
+        }
+        _outputBuffer[_outputTail++] = c;
+    }
+
+    private void _writeRaw(String text) throws IOException {
+        _writeRaw(text, 0, text.length());
+    }
+
+    private void _writeRaw(String text, int offset, int len) throws IOException
+    {
+        if ((_outputTail + len) > _outputBuffer.length) {
+            _flushBuffer();
+            // if bigger than buffer, no point in copying
+            if (len > _outputBuffer.length) {
+                _out.write(text, offset, len);
+                return;
+            }
+        }
+        text.getChars(offset, offset + len, _outputBuffer, _outputTail);
+        _outputTail += len;
+    }
+
+    private void _flushBuffer() throws IOException
+    {
+        if (_outputTail > 0) {
+            _out.write(_outputBuffer, 0, _outputTail);
+            _outputTail = 0;
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, error reporting
+    /**********************************************************************
+     */
+
+    private void _reportMismatch(int type) throws IOException {
+        _reportError("Can not end "+((type == NODE_SEQUENCE) ? "a sequence" : "a mapping")
+                +": not within one");
+    }
+
+    private void _reportError(String msg) throws IOException {
+        throw new JsonGenerationException(msg, _generator);
+    }
+}
@@ -1,6 +1,7 @@
 package com.fasterxml.jackson.dataformat.yaml;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 import org.yaml.snakeyaml.DumperOptions;
@@ -22,6 +23,12 @@ public class YAMLFactory
      */
     public final static String FORMAT_NAME_YAML = "YAML";
 
+    /**
+     * Bitfield (set of flags) of all parser features that are enabled
+     * by default.
+     */
+    protected final static int DEFAULT_YAML_PARSER_FEATURE_FLAGS = YAMLParser.Feature.collectDefaults();
+
     /**
      * Bitfield (set of flags) of all generator features that are enabled
      * by default.
@@ -34,7 +41,7 @@ public class YAMLFactory
     /**********************************************************************
      */
 
-//    protected final int _formatParserFeatures;
+    protected final int _formatParserFeatures;
     protected final int _formatGeneratorFeatures;
 
     /*
@@ -58,6 +65,7 @@ public class YAMLFactory
     public YAMLFactory()
     {
         super();
+        _formatParserFeatures = DEFAULT_YAML_PARSER_FEATURE_FLAGS;
         _formatGeneratorFeatures = DEFAULT_YAML_GENERATOR_FEATURE_FLAGS;
         // 26-Jul-2013, tatu: Seems like we should force output as 1.1 but
         //  that adds version declaration which looks ugly...
@@ -69,6 +77,7 @@ public class YAMLFactory
     {
         super(src);
         _version = src._version;
+        _formatParserFeatures = src._formatParserFeatures;
         _formatGeneratorFeatures = src._formatGeneratorFeatures;
     }
 
@@ -80,6 +89,7 @@ public class YAMLFactory
     protected YAMLFactory(YAMLFactoryBuilder b)
     {
         super(b);
+        _formatParserFeatures = b.formatParserFeaturesMask();
         _formatGeneratorFeatures = b.formatGeneratorFeaturesMask();
     }
 
@@ -138,10 +148,10 @@ public class YAMLFactory
     @Override
     public boolean canUseCharArrays() { return false; }
 
+    // Yes, with UTF-8 encoded content; see {@link NonBlockingYAMLParser}
     @Override
     public boolean canParseAsync() {
-        // 31-May-2017, tatu: No async parsing yet
-        return false;
+        return true;
     }
 
     /*
@@ -160,11 +170,23 @@ public class YAMLFactory
         return false;
     }
 
+    @Override
+    public Class<YAMLParser.Feature> getFormatReadFeatureType() {
+        return YAMLParser.Feature.class;
+    }
+
     @Override
     public Class<YAMLGenerator.Feature> getFormatWriteFeatureType() {
         return YAMLGenerator.Feature.class;
     }
 
+    /**
+     * Checked whether specified parser feature is enabled.
+     */
+    public final boolean isEnabled(YAMLParser.Feature f) {
+        return (_formatParserFeatures & f.getMask()) != 0;
+    }
+
     /**
      * Check whether specified generator feature is enabled.
      */
@@ -172,20 +194,8 @@ public class YAMLFactory
         return (_formatGeneratorFeatures & f.getMask()) != 0;
     }
 
-    // 04-Feb-2018, tatu: None defined yet:
-    /*
     @Override
-    public Class<YAMLParser.Feature> getFormatReadFeatureType() {
-        return YAMLParser.Feature.class;
-    }
-
-    public final boolean isEnabled(YAMLParser.Feature f) {
-        return (_formatParserFeatures & f.getMask()) != 0;
-    }
-    */
-
-    @Override
-    public int getFormatParserFeatures() { return 0; }
+    public int getFormatParserFeatures() { return _formatParserFeatures; }
 
     @Override
     public int getFormatGeneratorFeatures() { return _formatGeneratorFeatures; }
@@ -196,13 +206,34 @@ public class YAMLFactory
     /******************************************************
      */
 
+    /**
+     * Method for constructing parser for reading remaining contents of
+     * given {@link ByteBuffer} (from its position to its limit); position
+     * of the buffer is not modified. Contents of heap buffers are decoded
+     * directly from the backing array, without copying; contents of direct
+     * buffers are first copied into a byte array.
+     *
+     * @since 3.0
+     */
+    public YAMLParser createParser(ObjectReadContext readCtxt, ByteBuffer content) throws IOException
+    {
+        IOContext ioCtxt = _createContext(content, true);
+        if (content.hasArray()) {
+            return _createParser(readCtxt, ioCtxt, content.array(),
+                    content.arrayOffset() + content.position(), content.remaining());
+        }
+        byte[] data = new byte[content.remaining()];
+        content.duplicate().get(data);
+        return _createParser(readCtxt, ioCtxt, data, 0, data.length);
+    }
+
     @Override
     protected YAMLParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             InputStream in) throws IOException {
-        return new YAMLParser(readCtxt, ioCtxt,
-                _getBufferRecycler(),
-                readCtxt.getParserFeatures(_parserFeatures),
-                _createReader(in, null, ioCtxt));
+        return new YAMLParserBootstrapper(ioCtxt, in)
+                .constructParser(readCtxt,
+                        readCtxt.getParserFeatures(_parserFeatures),
+                        readCtxt.getFormatReadFeatures(_formatParserFeatures));
     }
 
     @Override
@@ -211,6 +242,7 @@ public class YAMLFactory
         return new YAMLParser(readCtxt, ioCtxt,
                 _getBufferRecycler(), 
                 readCtxt.getParserFeatures(_parserFeatures),
+                readCtxt.getFormatReadFeatures(_formatParserFeatures),
                 r);
     }
 
@@ -220,15 +252,17 @@ public class YAMLFactory
             boolean recyclable) throws IOException {
         return new YAMLParser(readCtxt, ioCtxt, _getBufferRecycler(),
                 readCtxt.getParserFeatures(_parserFeatures),
+                readCtxt.getFormatReadFeatures(_formatParserFeatures),
                 new CharArrayReader(data, offset, len));
     }
 
     @Override
     protected YAMLParser _createParser(ObjectReadContext readCtxt, IOContext ioCtxt,
             byte[] data, int offset, int len) throws IOException {
-        return new YAMLParser(readCtxt, ioCtxt, _getBufferRecycler(),
-                readCtxt.getParserFeatures(_parserFeatures),
-                _createReader(data, offset, len, null, ioCtxt));
+        return new YAMLParserBootstrapper(ioCtxt, data, offset, len)
+                .constructParser(readCtxt,
+                        readCtxt.getParserFeatures(_parserFeatures),
+                        readCtxt.getFormatReadFeatures(_formatParserFeatures));
     }
 
     @Override
@@ -237,6 +271,24 @@ public class YAMLFactory
         return _unsupported();
     }
 
+    /**
+     * Non-blocking parsers are supported for UTF-8 encoded content:
+     * content is fed using {@link com.fasterxml.jackson.core.async.ByteArrayFeeder}
+     * (or {@link NonBlockingYAMLParser#feedInput(ByteBuffer)}).
+     *
+     * @since 3.0
+     */
+    @Override
+    public NonBlockingYAMLParser createNonBlockingByteArrayParser(ObjectReadContext readCtxt)
+        throws IOException
+    {
+        IOContext ioCtxt = _createContext(null, false);
+        ioCtxt.setEncoding(JsonEncoding.UTF8);
+        return new NonBlockingYAMLParser(readCtxt, ioCtxt,
+                readCtxt.getParserFeatures(_parserFeatures),
+                readCtxt.getFormatReadFeatures(_formatParserFeatures));
+    }
+
     /*
     /******************************************************
     /* Factory methods: generators
@@ -107,6 +107,23 @@ public class YAMLGenerator extends GeneratorBase
          * Default value is `false` for backwards compatibility
          */
         INDENT_ARRAYS(false),
+
+        /**
+         * Feature that determines whether generator uses its own streaming emitter
+         * (instead of SnakeYAML emitter) for writing content: if enabled, keys,
+         * scalars and indentation are written directly into an output buffer, without
+         * constructing SnakeYAML events for tokens. Output is the same, and other
+         * features have the same effect; however, {@link #CANONICAL_OUTPUT} is
+         * only supported by SnakeYAML emitter, which is used if it is enabled.
+         *<p>
+         * Note that the emitter to use is chosen when generator is constructed,
+         * so changing this feature for an existing generator has no effect.
+         *<p>
+         * Feature is disabled by default.
+         *
+         * @since 3.0
+         */
+        USE_NATIVE_EMITTER(false),
         ;
 
         protected final boolean _defaultState;
@@ -194,6 +211,14 @@ public class YAMLGenerator extends GeneratorBase
 
     protected Emitter _emitter;
 
+    /**
+     * Native emitter used instead of {@link #_emitter} when
+     * {@link Feature#USE_NATIVE_EMITTER} is enabled.
+     *
+     * @since 3.0
+     */
+    protected YAMLEmitter _nativeEmitter;
+
     /**
      * YAML supports native Object identifiers, so databinder may indicate
      * need to output one.
@@ -225,13 +250,18 @@ public class YAMLGenerator extends GeneratorBase
 
         _outputOptions = buildDumperOptions(generatorFeatures, yamlFeatures, version);
 
+        boolean startMarker = Feature.WRITE_DOC_START_MARKER.enabledIn(yamlFeatures);
+        if (Feature.USE_NATIVE_EMITTER.enabledIn(yamlFeatures)
+                && !Feature.CANONICAL_OUTPUT.enabledIn(yamlFeatures)) {
+            _nativeEmitter = new YAMLEmitter(this, _writer, ioCtxt.allocConcatBuffer(),
+                    _outputOptions, startMarker, version);
+            return;
+        }
         _emitter = new Emitter(_writer, _outputOptions);
         // should we start output now, or try to defer?
         _emitter.emit(new StreamStartEvent(null, null));
         Map<String,String> noTags = Collections.emptyMap();
 
-        boolean startMarker = Feature.WRITE_DOC_START_MARKER.enabledIn(yamlFeatures);
-
         _emitter.emit(new DocumentStartEvent(null, null, startMarker,
                 version, // for 1.10 was: ((version == null) ? null : version.getArray()),
                 noTags));
@@ -309,10 +339,13 @@ public class YAMLGenerator extends GeneratorBase
 
     /**
      * SnakeYAML does not expose buffered content amount, so we can only return
-     * <code>-1</code> from here
+     * <code>-1</code> from here, unless native emitter is used
      */
     @Override
     public int getOutputBuffered() {
+        if (_nativeEmitter != null) {
+            return _nativeEmitter.getOutputBuffered();
+        }
         return -1;
     }
 
@@ -416,6 +449,10 @@ public class YAMLGenerator extends GeneratorBase
     @Override
     public final void flush() throws IOException
     {
+        if (_nativeEmitter != null) {
+            _nativeEmitter.flush();
+            return;
+        }
         _writer.flush();
     }
 
@@ -423,10 +460,15 @@ public class YAMLGenerator extends GeneratorBase
     public void close() throws IOException
     {
         if (!isClosed()) {
-            _emitter.emit(new DocumentEndEvent(null, null, false));
-            _emitter.emit(new StreamEndEvent(null, null));
+            if (_nativeEmitter != null) {
+                _nativeEmitter.close();
+            } else {
+                _emitter.emit(new DocumentEndEvent(null, null, false));
+                _emitter.emit(new StreamEndEvent(null, null));
+            }
             super.close();
             _writer.close();
+            _releaseBuffers();
         }
     }
 
@@ -448,6 +490,10 @@ public class YAMLGenerator extends GeneratorBase
         if (anchor != null) {
             _objectId = null;
         }
+        if (_nativeEmitter != null) {
+            _nativeEmitter.writeStartSequence(anchor, yamlTag);
+            return;
+        }
         _emitter.emit(new SequenceStartEvent(anchor, yamlTag,
                 implicit,  null, null, style));
     }
@@ -461,6 +507,10 @@ public class YAMLGenerator extends GeneratorBase
         // just to make sure we don't "leak" type ids
         _typeId = null;
         _outputContext = _outputContext.getParent();
+        if (_nativeEmitter != null) {
+            _nativeEmitter.writeEndSequence();
+            return;
+        }
         _emitter.emit(new SequenceEndEvent(null, null));
     }
 
@@ -476,6 +526,10 @@ public class YAMLGenerator extends GeneratorBase
         if (anchor != null) {
             _objectId = null;
         }
+        if (_nativeEmitter != null) {
+            _nativeEmitter.writeStartMapping(anchor, yamlTag);
+            return;
+        }
         _emitter.emit(new MappingStartEvent(anchor, yamlTag,
                 implicit, null, null, style));
     }
@@ -489,6 +543,10 @@ public class YAMLGenerator extends GeneratorBase
         // just to make sure we don't "leak" type ids
         _typeId = null;
         _outputContext = _outputContext.getParent();
+        if (_nativeEmitter != null) {
+            _nativeEmitter.writeEndMapping();
+            return;
+        }
         _emitter.emit(new MappingEndEvent(null, null));
     }
 
@@ -632,6 +690,10 @@ public class YAMLGenerator extends GeneratorBase
     public void writeNumber(int i) throws IOException
     {
         _verifyValueWrite("write number");
+        if (_canWritePlainNumber()) {
+            _nativeEmitter.writeNumber(i);
+            return;
+        }
         _writeScalar(String.valueOf(i), "int", STYLE_SCALAR);
     }
 
@@ -644,6 +706,10 @@ public class YAMLGenerator extends GeneratorBase
             return;
         }
         _verifyValueWrite("write number");
+        if (_canWritePlainNumber()) {
+            _nativeEmitter.writeNumber(l);
+            return;
+        }
         _writeScalar(String.valueOf(l), "long", STYLE_SCALAR);
     }
 
@@ -655,6 +721,10 @@ public class YAMLGenerator extends GeneratorBase
             return;
         }
         _verifyValueWrite("write number");
+        if (_canWritePlainNumber()) {
+            _nativeEmitter.writeNumber(v.toString());
+            return;
+        }
         _writeScalar(String.valueOf(v.toString()), "java.math.BigInteger", STYLE_SCALAR);
     }
 
@@ -662,6 +732,10 @@ public class YAMLGenerator extends GeneratorBase
     public void writeNumber(double d) throws IOException
     {
         _verifyValueWrite("write number");
+        if (_canWritePlainNumber()) {
+            _nativeEmitter.writeNumber(String.valueOf(d));
+            return;
+        }
         _writeScalar(String.valueOf(d), "double", STYLE_SCALAR);
     }
 
@@ -669,6 +743,10 @@ public class YAMLGenerator extends GeneratorBase
     public void writeNumber(float f) throws IOException
     {
         _verifyValueWrite("write number");
+        if (_canWritePlainNumber()) {
+            _nativeEmitter.writeNumber(String.valueOf(f));
+            return;
+        }
         _writeScalar(String.valueOf(f), "float", STYLE_SCALAR);
     }
 
@@ -681,6 +759,10 @@ public class YAMLGenerator extends GeneratorBase
         }
         _verifyValueWrite("write number");
         String str = isEnabled(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN) ? dec.toPlainString() : dec.toString();
+        if (_canWritePlainNumber()) {
+            _nativeEmitter.writeNumber(str);
+            return;
+        }
         _writeScalar(str, "java.math.BigDecimal", STYLE_SCALAR);
     }
 
@@ -736,6 +818,10 @@ public class YAMLGenerator extends GeneratorBase
         throws IOException
     {
         _verifyValueWrite("write Object reference");
+        if (_nativeEmitter != null) {
+            _nativeEmitter.writeAlias(String.valueOf(id));
+            return;
+        }
         AliasEvent evt = new AliasEvent(String.valueOf(id), null, null);
         _emitter.emit(evt);
     }
@@ -766,7 +852,12 @@ public class YAMLGenerator extends GeneratorBase
 
     @Override
     protected void _releaseBuffers() {
-        // nothing special to do...
+        if (_nativeEmitter != null) {
+            char[] buf = _nativeEmitter.releaseBuffer();
+            if (buf != null) {
+                _ioContext.releaseConcatBuffer(buf);
+            }
+        }
     }
 
     /*
@@ -783,9 +874,30 @@ public class YAMLGenerator extends GeneratorBase
 
     protected void _writeScalar(String value, String type, Character style) throws IOException
     {
+        if (_nativeEmitter != null) {
+            String yamlTag = _typeId;
+            if (yamlTag != null) {
+                _typeId = null;
+            }
+            String anchor = _objectId;
+            if (anchor != null) {
+                _objectId = null;
+            }
+            _nativeEmitter.writeScalar(value, anchor, yamlTag, false,
+                    (style == null) ? YAMLEmitter.STYLE_PLAIN : style.charValue());
+            return;
+        }
         _emitter.emit(_scalarEvent(value, style));
     }
 
+    /**
+     * Helper method to check whether number can be written by native emitter
+     * as is: only if there is no pending anchor or tag for it.
+     */
+    private boolean _canWritePlainNumber() {
+        return (_nativeEmitter != null) && (_objectId == null) && (_typeId == null);
+    }
+
     private void _writeScalarBinary(Base64Variant b64variant,
             byte[] data) throws IOException
     {
@@ -795,6 +907,10 @@ public class YAMLGenerator extends GeneratorBase
             b64variant = Base64Variants.MIME;
         }
         String encoded = b64variant.encode(data);
+        if (_nativeEmitter != null) {
+            _nativeEmitter.writeScalar(encoded, null, TAG_BINARY, true, STYLE_BASE64.charValue());
+            return;
+        }
         _emitter.emit(new ScalarEvent(null, TAG_BINARY, EXPLICIT_TAGS, encoded,
                 null, null, STYLE_BASE64));
     }
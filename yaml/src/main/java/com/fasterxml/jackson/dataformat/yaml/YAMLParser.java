@@ -7,11 +7,8 @@ import java.util.regex.Pattern;
 
 import org.yaml.snakeyaml.error.Mark;
 import org.yaml.snakeyaml.events.*;
-import org.yaml.snakeyaml.nodes.NodeId;
-import org.yaml.snakeyaml.nodes.Tag;
 import org.yaml.snakeyaml.parser.ParserImpl;
 import org.yaml.snakeyaml.reader.StreamReader;
-import org.yaml.snakeyaml.resolver.Resolver;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.ParserBase;
@@ -25,11 +22,37 @@ import com.fasterxml.jackson.core.util.BufferRecycler;
  */
 public class YAMLParser extends ParserBase
 {
-    // 04-Feb-2018, tatu: None defined yet so...
     /**
      * Enumeration that defines all togglable features for YAML parsers.
+     */
     public enum Feature implements FormatFeature
     {
+        /**
+         * Feature that determines whether parser uses its own streaming scanner
+         * (instead of SnakeYAML parser) for the common subset of YAML: block and
+         * flow mappings and sequences, plain and quoted single-line scalars,
+         * literal block scalars, anchors and aliases. Scanner produces tokens
+         * directly from input without constructing SnakeYAML events; for any
+         * other construct (such as tags, folded scalars or complex keys), parser
+         * switches to SnakeYAML for the rest of content, starting from the
+         * beginning of the current document.
+         *<p>
+         * When reading from byte sources ({@code byte[]}, {@link java.io.InputStream}),
+         * scanner also decodes content itself, directly from the input buffer,
+         * instead of reading through a {@link java.io.Reader}.
+         *<p>
+         * Note that to be able to switch to SnakeYAML, content of the current
+         * document is retained in memory, up to 64k characters: if a document is
+         * longer than that, SnakeYAML is used for the rest of it (which means that
+         * memory usage stays bounded, but very long documents do not benefit from
+         * this feature). Non-blocking parsers, for which this feature is always used,
+         * instead retain all of the current document.
+         *<p>
+         * Feature is disabled by default.
+         *
+         * @since 3.0
+         */
+        USE_NATIVE_SCANNER(false),
         ;
 
         final boolean _defaultState;
@@ -60,7 +83,6 @@ public class YAMLParser extends ParserBase
         @Override
         public int getMask() { return _mask; }
     }
-    */
 
     // note: does NOT include '0', handled separately
 //    private final static Pattern PATTERN_INT = Pattern.compile("-?[1-9][0-9]*");
@@ -78,7 +100,7 @@ public class YAMLParser extends ParserBase
     /**********************************************************************
      */
 
-//    protected int _formatFeatures;
+    protected int _formatFeatures;
 
     /*
     /**********************************************************************
@@ -92,8 +114,43 @@ public class YAMLParser extends ParserBase
      */
     protected final Reader _reader;
 
-    protected final ParserImpl _yamlParser;
-    protected final Resolver _yamlResolver = new Resolver();
+    /**
+     * Underlying stream, if content is decoded from bytes by {@link #_scanner}
+     * (instead of reading from {@link #_reader}).
+     *
+     * @since 3.0
+     */
+    protected final InputStream _inputStream;
+
+    /**
+     * Buffer {@link #_scanner} decodes bytes from, if any.
+     *
+     * @since 3.0
+     */
+    protected byte[] _inputBuffer;
+
+    /**
+     * Flag that indicates whether the {@link #_inputBuffer} was allocated from
+     * {@link IOContext} and is to be released when parser is closed;
+     * false for caller-provided content.
+     *
+     * @since 3.0
+     */
+    protected boolean _bufferRecyclable;
+
+    /**
+     * SnakeYAML parser used for decoding; constructed lazily if
+     * {@link #_scanner} is used first.
+     */
+    protected ParserImpl _yamlParser;
+
+    /**
+     * Native scanner used when {@link Feature#USE_NATIVE_SCANNER} is enabled,
+     * until (and unless) content it does not support is encountered.
+     *
+     * @since 3.0
+     */
+    protected YAMLScanner _scanner;
 
     /*
     /**********************************************************************
@@ -133,7 +190,15 @@ public class YAMLParser extends ParserBase
      * structured types, value whose first token current token is.
      */
     protected String _currentAnchor;
-    
+
+    /**
+     * Number of node events returned by {@link #_scanner} for the current
+     * document, needed to skip same events when switching to SnakeYAML.
+     *
+     * @since 3.0
+     */
+    protected int _scannerEventCount;
+
     /*
     /**********************************************************************
     /* Life-cycle
@@ -141,12 +206,59 @@ public class YAMLParser extends ParserBase
      */
     
     public YAMLParser(ObjectReadContext readCtxt, IOContext ioCtxt,
-            BufferRecycler br, int parserFeatures, Reader reader)
+            BufferRecycler br, int parserFeatures, int formatFeatures,
+            Reader reader)
     {
         super(readCtxt, ioCtxt, parserFeatures);    
-//        _formatFeatures = formatFeatures;
+        _formatFeatures = formatFeatures;
         _reader = reader;
-        _yamlParser = new ParserImpl(new StreamReader(reader));
+        _inputStream = null;
+        if (Feature.USE_NATIVE_SCANNER.enabledIn(formatFeatures)) {
+            _scanner = new YAMLScanner(reader);
+        } else {
+            _yamlParser = new ParserImpl(new StreamReader(reader));
+        }
+    }
+
+    /**
+     * Constructor used when content is decoded directly from bytes by the
+     * native scanner, without {@link Reader}: encoding is that of given
+     * {@link IOContext}, and <code>inputBuffer</code> contains first bytes
+     * of content (possibly all of it, if <code>in</code> is null).
+     *
+     * @since 3.0
+     */
+    public YAMLParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int formatFeatures,
+            InputStream in, byte[] inputBuffer, int start, int end,
+            boolean bufferRecyclable)
+    {
+        super(readCtxt, ioCtxt, parserFeatures);
+        _formatFeatures = formatFeatures;
+        _reader = null;
+        _inputStream = in;
+        _inputBuffer = inputBuffer;
+        _bufferRecyclable = bufferRecyclable;
+        _scanner = new YAMLScanner(in, inputBuffer, start, end, ioCtxt.getEncoding());
+    }
+
+    /**
+     * Constructor used by {@link NonBlockingYAMLParser}: content is fed
+     * to given scanner, using given buffer (allocated from {@link IOContext}).
+     *
+     * @since 3.0
+     */
+    YAMLParser(ObjectReadContext readCtxt, IOContext ioCtxt,
+            int parserFeatures, int formatFeatures,
+            YAMLScanner scanner, byte[] inputBuffer)
+    {
+        super(readCtxt, ioCtxt, parserFeatures);
+        _formatFeatures = formatFeatures;
+        _reader = null;
+        _inputStream = null;
+        _inputBuffer = inputBuffer;
+        _bufferRecyclable = true;
+        _scanner = scanner;
     }
 
     /*                                                                                       
@@ -192,21 +304,45 @@ public class YAMLParser extends ParserBase
 
     @Override
     protected void _closeInput() throws IOException {
-        _reader.close();
+        if (_reader != null) {
+            _reader.close();
+        } else if (_inputStream != null) {
+            if (_ioContext.isResourceManaged() || isEnabled(JsonParser.Feature.AUTO_CLOSE_SOURCE)) {
+                _inputStream.close();
+            }
+        }
+    }
+
+    @Override
+    protected void _releaseBuffers() throws IOException {
+        super._releaseBuffers();
+        if (_bufferRecyclable) {
+            byte[] buf = _inputBuffer;
+            if (buf != null) {
+                _inputBuffer = null;
+                _ioContext.releaseReadIOBuffer(buf);
+            }
+        }
     }
     
     /*
     /**********************************************************                              
-    /* FormatFeature support (none yet)
+    /* FormatFeature support
     /**********************************************************                              
      */
 
-    /*
     @Override
     public int getFormatFeatures() {
         return _formatFeatures;
     }
-    */
+
+    /**
+     * Method for checking whether specified YAML {@link Feature}
+     * is enabled.
+     */
+    public boolean isEnabled(Feature f) {
+        return (_formatFeatures & f.getMask()) != 0;
+    }
 
 //    @Override public CsvSchema getSchema() 
     
@@ -219,6 +355,9 @@ public class YAMLParser extends ParserBase
     @Override
     public JsonLocation getTokenLocation()
     {
+        if (_scanner != null) {
+            return _locationFor(_scanner.tokenLine(), _scanner.tokenColumn());
+        }
         if (_lastEvent == null) {
             return JsonLocation.NA;
         }
@@ -228,6 +367,9 @@ public class YAMLParser extends ParserBase
     @Override
     public JsonLocation getCurrentLocation() {
         // can assume we are at the end of token now...
+        if (_scanner != null) {
+            return _locationFor(_scanner.currentLine(), _scanner.currentColumn());
+        }
         if (_lastEvent == null) {
             return JsonLocation.NA;
         }
@@ -240,10 +382,15 @@ public class YAMLParser extends ParserBase
             return new JsonLocation(_ioContext.getSourceReference(),
                     -1, -1, -1);
         }
+        return _locationFor(m.getLine(), m.getColumn());
+    }
+
+    protected JsonLocation _locationFor(int line, int column)
+    {
         return new JsonLocation(_ioContext.getSourceReference(),
                 -1,
-                m.getLine() + 1, // from 0- to 1-based
-                m.getColumn() + 1); // ditto
+                line + 1, // from 0- to 1-based
+                column + 1); // ditto
     }
 
     // Note: SHOULD override 'getTokenLineNr', 'getTokenColumnNr', but those are final in 2.0
@@ -254,7 +401,6 @@ public class YAMLParser extends ParserBase
     /**********************************************************
      */
 
-    @SuppressWarnings("deprecation")
     @Override
     public JsonToken nextToken() throws IOException
     {
@@ -264,18 +410,16 @@ public class YAMLParser extends ParserBase
         if (_closed) {
             return null;
         }
-
-        while (true) {
-            Event evt;
+        if (_scanner != null) {
             try {
-                evt = _yamlParser.getEvent();
-            } catch (org.yaml.snakeyaml.error.YAMLException e) {
-                if (e instanceof org.yaml.snakeyaml.error.MarkedYAMLException) {
-                    throw com.fasterxml.jackson.dataformat.yaml.snakeyaml.error.MarkedYAMLException.from
-                        (this, (org.yaml.snakeyaml.error.MarkedYAMLException) e);
-                }
-                throw com.fasterxml.jackson.dataformat.yaml.snakeyaml.error.YAMLException.from(this, e);
+                return _nextTokenFromScanner();
+            } catch (YAMLScanner.UnsupportedContentException e) {
+                _switchToSnakeYAML();
             }
+        }
+
+        while (true) {
+            Event evt = _nextEvent();
             // is null ok? Assume it is, for now, consider to be same as end-of-doc
             if (evt == null) {
                 return (_currToken = null);
@@ -370,38 +514,143 @@ public class YAMLParser extends ParserBase
         }
     }
 
+    @SuppressWarnings("deprecation")
+    protected Event _nextEvent() throws IOException
+    {
+        try {
+            return _yamlParser.getEvent();
+        } catch (org.yaml.snakeyaml.error.YAMLException e) {
+            if (e instanceof org.yaml.snakeyaml.error.MarkedYAMLException) {
+                throw com.fasterxml.jackson.dataformat.yaml.snakeyaml.error.MarkedYAMLException.from
+                    (this, (org.yaml.snakeyaml.error.MarkedYAMLException) e);
+            }
+            throw com.fasterxml.jackson.dataformat.yaml.snakeyaml.error.YAMLException.from(this, e);
+        }
+    }
+
+    /**
+     * Counterpart of {@link #nextToken} used when reading events from
+     * {@link #_scanner}.
+     *
+     * @since 3.0
+     */
+    protected JsonToken _nextTokenFromScanner() throws IOException
+    {
+        final YAMLScanner scanner = _scanner;
+        while (true) {
+            final int evt = scanner.next();
+            if (evt == YAMLScanner.EVT_NOT_AVAILABLE) { // only for non-blocking parser
+                return (_currToken = JsonToken.NOT_AVAILABLE);
+            }
+            if (evt == YAMLScanner.EVT_DOC_START) {
+                _scannerEventCount = 0;
+                continue;
+            }
+            if (evt == YAMLScanner.EVT_STREAM_END) { // end-of-input; force closure
+                close();
+                return (_currToken = null);
+            }
+            ++_scannerEventCount;
+
+            // Same as with SnakeYAML events, field names inferred from context
+            if (_parsingContext.inObject() && _currToken != JsonToken.FIELD_NAME) {
+                if (evt != YAMLScanner.EVT_SCALAR) {
+                    if (evt == YAMLScanner.EVT_MAP_END) {
+                        _parsingContext = _parsingContext.getParent();
+                        return (_currToken = JsonToken.END_OBJECT);
+                    }
+                    _reportError("Expected a field name (Scalar value in YAML), got start of a collection or an alias instead");
+                }
+                String name = scanner.text();
+                _currentFieldName = name;
+                _parsingContext.setCurrentName(name);
+                _currentAnchor = scanner.anchor();
+                return (_currToken = JsonToken.FIELD_NAME);
+            }
+            switch (evt) {
+            case YAMLScanner.EVT_SCALAR:
+                return (_currToken = _decodeScalar(scanner.text(), null, scanner.isPlain()));
+            case YAMLScanner.EVT_MAP_START:
+                _currentAnchor = scanner.anchor();
+                _parsingContext = _parsingContext.createChildObjectContext(scanner.tokenLine(),
+                        scanner.tokenColumn());
+                return (_currToken = JsonToken.START_OBJECT);
+            case YAMLScanner.EVT_SEQ_START:
+                _currentAnchor = scanner.anchor();
+                _parsingContext = _parsingContext.createChildArrayContext(scanner.tokenLine(),
+                        scanner.tokenColumn());
+                return (_currToken = JsonToken.START_ARRAY);
+            case YAMLScanner.EVT_SEQ_END:
+                if (!_parsingContext.inArray()) {
+                    _reportMismatchedEndMarker(']', '}');
+                }
+                _parsingContext = _parsingContext.getParent();
+                return (_currToken = JsonToken.END_ARRAY);
+            case YAMLScanner.EVT_ALIAS:
+                _currentIsAlias = true;
+                _textValue = scanner.text();
+                _cleanedTextValue = null;
+                return (_currToken = JsonToken.VALUE_STRING);
+            case YAMLScanner.EVT_MAP_END:
+                _reportError("Not expecting END_OBJECT but a value");
+            }
+        }
+    }
+
+    /**
+     * Method called when {@link #_scanner} encounters content it can not
+     * handle: SnakeYAML parser is constructed to read the current document
+     * from its beginning, and events that scanner already returned are
+     * skipped.
+     *
+     * @since 3.0
+     */
+    protected void _switchToSnakeYAML() throws IOException
+    {
+        _yamlParser = new ParserImpl(new StreamReader(_scanner.replayReader()));
+        _scanner = null;
+        int toSkip = _scannerEventCount;
+        while (toSkip > 0) {
+            Event evt = _nextEvent();
+            if (evt == null) {
+                break;
+            }
+            if (evt.is(Event.ID.StreamStart) || evt.is(Event.ID.DocumentStart)
+                    || evt.is(Event.ID.DocumentEnd)) {
+                continue;
+            }
+            --toSkip;
+        }
+    }
+
     protected JsonToken _decodeScalar(ScalarEvent scalar) throws IOException
     {
-        String value = scalar.getValue();
+        return _decodeScalar(scalar.getValue(), scalar.getTag(),
+                scalar.getImplicit().canOmitTagInPlainScalar());
+    }
+
+    /**
+     * @param value Textual value of the scalar
+     * @param typeTag Explicit tag of the scalar, if any
+     * @param plainImplicit Whether scalar was plain (unquoted) one without tag,
+     *    to be resolved based on its value
+     *
+     * @since 3.0
+     */
+    protected JsonToken _decodeScalar(String value, String typeTag, boolean plainImplicit)
+        throws IOException
+    {
         _textValue = value;
         _cleanedTextValue = null;
         // we may get an explicit tag, if so, use for corroborating...
-        String typeTag = scalar.getTag();
         final int len = value.length();
 
         if (typeTag == null || typeTag.equals("!")) { // no, implicit
-            Tag nodeTag = _yamlResolver.resolve(NodeId.scalar, value, scalar.getImplicit().canOmitTagInPlainScalar());
-            if (nodeTag == Tag.STR) {
-                return JsonToken.VALUE_STRING;
-            }
-            if (nodeTag == Tag.INT) {
-                return _decodeNumberScalar(value, len);
-            }
-            if (nodeTag == Tag.FLOAT) {
-                _numTypesValid = 0;
-                return _cleanYamlFloat(value);
-            }
-            if (nodeTag == Tag.BOOL) {
-                Boolean B = _matchYAMLBoolean(value, len);
-                if (B != null) {
-                    return B ? JsonToken.VALUE_TRUE : JsonToken.VALUE_FALSE;
-                }
-            } else if (nodeTag == Tag.NULL) {
-                return JsonToken.VALUE_NULL;
-            } else {
-                // what to do with timestamp and binary and merge etc.
-                return JsonToken.VALUE_STRING;
+            // only plain scalars have their type resolved, quoted ones are Strings
+            if (plainImplicit) {
+                return _decodeImplicitScalar(value);
             }
+            return JsonToken.VALUE_STRING;
         } else { // yes, got type tag
             if (typeTag.startsWith("tag:yaml.org,2002:")) {
                 typeTag = typeTag.substring("tag:yaml.org,2002:".length());
@@ -539,6 +788,341 @@ public class YAMLParser extends ParserBase
     {
         return JsonToken.VALUE_NUMBER_INT;
     }
+
+    /*
+    /**********************************************************
+    /* Implicit scalar type resolution
+    /**********************************************************
+     */
+
+    /**
+     * Method for resolving type of a plain scalar without a tag, using the same
+     * YAML 1.1 rules as SnakeYAML <code>Resolver</code> for nulls, booleans,
+     * integers (decimal, with optional underscores; hexadecimal, octal and binary)
+     * and floating-point numbers, but without regular expressions and with a
+     * single pass over the value: value of an integer is decoded in the same
+     * pass, as is the text to parse for a floating-point number.
+     * Sexagesimal (base 60) numbers are exposed as Strings, like timestamps.
+     *
+     * @since 3.0
+     */
+    protected JsonToken _decodeImplicitScalar(String value)
+    {
+        final int len = value.length();
+        if (len == 0) {
+            return JsonToken.VALUE_NULL;
+        }
+        switch (value.charAt(0)) {
+        case '~':
+        case ' ':
+            if (len == 1) {
+                return JsonToken.VALUE_NULL;
+            }
+            break;
+        case 'n': case 'N':
+            if (_matchKeyword(value, "null")) {
+                return JsonToken.VALUE_NULL;
+            }
+            if (_matchKeyword(value, "no")) {
+                return JsonToken.VALUE_FALSE;
+            }
+            break;
+        case 'y': case 'Y':
+            if (_matchKeyword(value, "yes")) {
+                return JsonToken.VALUE_TRUE;
+            }
+            break;
+        case 't': case 'T':
+            if (_matchKeyword(value, "true")) {
+                return JsonToken.VALUE_TRUE;
+            }
+            break;
+        case 'f': case 'F':
+            if (_matchKeyword(value, "false")) {
+                return JsonToken.VALUE_FALSE;
+            }
+            break;
+        case 'o': case 'O':
+            if (_matchKeyword(value, "on")) {
+                return JsonToken.VALUE_TRUE;
+            }
+            if (_matchKeyword(value, "off")) {
+                return JsonToken.VALUE_FALSE;
+            }
+            break;
+        case '.':
+            if (".nan".equals(value) || ".NaN".equals(value) || ".NAN".equals(value)) {
+                return _setDoubleValue(value, Double.NaN);
+            }
+            return _decodeImplicitNumber(value, len, 0, false);
+        case '-':
+            return _decodeImplicitNumber(value, len, 1, true);
+        case '+':
+            return _decodeImplicitNumber(value, len, 1, false);
+        case '0': case '1': case '2': case '3': case '4':
+        case '5': case '6': case '7': case '8': case '9':
+            return _decodeImplicitNumber(value, len, 0, false);
+        }
+        return JsonToken.VALUE_STRING;
+    }
+
+    /**
+     * @param i Offset of the first character after optional sign
+     */
+    private JsonToken _decodeImplicitNumber(String value, final int len, int i,
+            boolean negative)
+    {
+        if (i == len) {
+            return JsonToken.VALUE_STRING;
+        }
+        char c = value.charAt(i);
+        if (c == '.') {
+            if ((len - i) == 4) {
+                if (value.regionMatches(i, ".inf", 0, 4) || value.regionMatches(i, ".Inf", 0, 4)
+                        || value.regionMatches(i, ".INF", 0, 4)) {
+                    return _setDoubleValue(value,
+                            negative ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+                }
+            }
+            return _decodeImplicitFloat(value, len, i, false, 0, 0);
+        }
+        if ((c == '0') && ((i+1) < len)) {
+            char c2 = value.charAt(i+1);
+            if (c2 == 'x') {
+                return _decodeImplicitInt(value, len, i+2, negative, 16);
+            }
+            if (c2 == 'b') {
+                return _decodeImplicitInt(value, len, i+2, negative, 2);
+            }
+        }
+        if (((c < '0') || (c > '9')) && (c != '_')) {
+            return JsonToken.VALUE_STRING;
+        }
+        // Integral part, "[0-9_]+"; all but octal integers decoded as we go
+        final int start = i;
+        long l = 0L;
+        int digits = 0;
+        int underscores = 0;
+        boolean octal = true;
+        for (; i < len; ++i) {
+            c = value.charAt(i);
+            if ((c >= '0') && (c <= '9')) {
+                l = (l * 10) + (c - '0');
+                ++digits;
+                if (c >= '8') {
+                    octal = false;
+                }
+            } else if (c == '_') {
+                ++underscores;
+            } else {
+                break;
+            }
+        }
+        if (i < len) {
+            if ((c == '.') || (c == 'e') || (c == 'E')) {
+                return _decodeImplicitFloat(value, len, i, true, digits, underscores);
+            }
+            // sexagesimal numbers, timestamps, or just Strings
+            return JsonToken.VALUE_STRING;
+        }
+        // Resolver would consider underscores without digits a float; not a number we can use
+        if (digits == 0) {
+            return JsonToken.VALUE_STRING;
+        }
+        // integers can not start with an underscore, but floats can ("-_5")
+        c = value.charAt(start);
+        if (c == '_') {
+            return _setFloatText(value, underscores);
+        }
+        // leading zero means octal; if not valid octal (like "08"), float
+        if ((c == '0') && ((len - start) > 1)) {
+            if (!octal) {
+                return _setFloatText(value, underscores);
+            }
+            return _decodeImplicitInt(value, len, start, negative, 8);
+        }
+        _numberNegative = negative;
+        if (digits > 18) { // may not fit in a long
+            return _setBigIntValue(value, start, len, negative, 10);
+        }
+        return _setIntValue(negative ? -l : l);
+    }
+
+    /**
+     * Method for decoding digits of a hexadecimal, octal or binary integer
+     * (with possible underscores), starting at given offset.
+     */
+    private JsonToken _decodeImplicitInt(String value, final int len, int i,
+            boolean negative, int radix)
+    {
+        final int start = i;
+        // max digits that are guaranteed to fit in 63 bits
+        final int maxDigits = (radix == 16) ? 15 : ((radix == 8) ? 21 : 63);
+        long l = 0L;
+        int digits = 0;
+        for (; i < len; ++i) {
+            char c = value.charAt(i);
+            int d;
+            if ((c >= '0') && (c <= '9')) {
+                d = c - '0';
+            } else if ((c >= 'a') && (c <= 'f')) {
+                d = c - ('a' - 10);
+            } else if ((c >= 'A') && (c <= 'F')) {
+                d = c - ('A' - 10);
+            } else if (c == '_') {
+                continue;
+            } else {
+                return JsonToken.VALUE_STRING;
+            }
+            if (d >= radix) {
+                return JsonToken.VALUE_STRING;
+            }
+            l = (l * radix) + d;
+            ++digits;
+        }
+        if (digits == 0) {
+            return JsonToken.VALUE_STRING;
+        }
+        _numberNegative = negative;
+        if (digits > maxDigits) {
+            return _setBigIntValue(value, start, len, negative, radix);
+        }
+        return _setIntValue(negative ? -l : l);
+    }
+
+    /**
+     * Method for verifying the rest of a floating-point number, starting with
+     * either decimal point or exponent marker.
+     */
+    private JsonToken _decodeImplicitFloat(String value, final int len, int i,
+            boolean hasIntPart, int digits, int underscores)
+    {
+        char c = value.charAt(i);
+        if (c == '.') {
+            while (++i < len) {
+                c = value.charAt(i);
+                if (c == '_') {
+                    // without integral part, fraction may only have digits
+                    if (!hasIntPart) {
+                        return JsonToken.VALUE_STRING;
+                    }
+                    ++underscores;
+                } else if ((c >= '0') && (c <= '9')) {
+                    ++digits;
+                } else {
+                    break;
+                }
+            }
+        }
+        // need at least one digit on either side of decimal point
+        if (digits == 0) {
+            return JsonToken.VALUE_STRING;
+        }
+        if (i == len) {
+            return _setFloatText(value, underscores);
+        }
+        if ((c != 'e') && (c != 'E')) {
+            return JsonToken.VALUE_STRING;
+        }
+        if (++i < len) {
+            c = value.charAt(i);
+            if ((c == '-') || (c == '+')) {
+                ++i;
+            }
+        }
+        if (i == len) {
+            return JsonToken.VALUE_STRING;
+        }
+        for (; i < len; ++i) {
+            c = value.charAt(i);
+            if ((c < '0') || (c > '9')) {
+                return JsonToken.VALUE_STRING;
+            }
+        }
+        return _setFloatText(value, underscores);
+    }
+
+    private JsonToken _setIntValue(long l)
+    {
+        if ((l >= Integer.MIN_VALUE) && (l <= Integer.MAX_VALUE)) {
+            _numberInt = (int) l;
+            _numTypesValid = NR_INT;
+        } else {
+            _numberLong = l;
+            _numTypesValid = NR_LONG;
+        }
+        return JsonToken.VALUE_NUMBER_INT;
+    }
+
+    private JsonToken _setBigIntValue(String value, int start, final int len,
+            boolean negative, int radix)
+    {
+        StringBuilder sb = new StringBuilder(len - start + 1);
+        if (negative) {
+            sb.append('-');
+        }
+        for (int i = start; i < len; ++i) {
+            char c = value.charAt(i);
+            if (c != '_') {
+                sb.append(c);
+            }
+        }
+        BigInteger n = new BigInteger(sb.toString(), radix);
+        if (n.bitLength() <= 63) {
+            return _setIntValue(n.longValue());
+        }
+        _numberBigInt = n;
+        _numTypesValid = NR_BIGINT;
+        return JsonToken.VALUE_NUMBER_INT;
+    }
+
+    private JsonToken _setDoubleValue(String value, double d)
+    {
+        _cleanedTextValue = value;
+        _numberDouble = d;
+        _numTypesValid = NR_DOUBLE;
+        return JsonToken.VALUE_NUMBER_FLOAT;
+    }
+
+    private JsonToken _setFloatText(String value, int underscores)
+    {
+        _numTypesValid = 0;
+        if (underscores == 0) {
+            _cleanedTextValue = value;
+            return JsonToken.VALUE_NUMBER_FLOAT;
+        }
+        return _cleanYamlFloat(value);
+    }
+
+    /**
+     * Helper method for checking whether given value is the lower-case,
+     * capitalized or upper-case variant of given (lower-case) keyword.
+     */
+    private static boolean _matchKeyword(String value, String keyword)
+    {
+        final int len = keyword.length();
+        if (value.length() != len) {
+            return false;
+        }
+        final char first = keyword.charAt(0);
+        final char c = value.charAt(0);
+        final boolean upperFirst = (c == (char) (first - 32));
+        if (!upperFirst && (c != first)) {
+            return false;
+        }
+        // rest is either all lower- or (if first is) all upper-case
+        final boolean upperRest = upperFirst && (value.charAt(1) < 'a');
+        for (int i = 1; i < len; ++i) {
+            char exp = keyword.charAt(i);
+            if (upperRest) {
+                exp -= 32;
+            }
+            if (value.charAt(i) != exp) {
+                return false;
+            }
+        }
+        return true;
+    }
     
     /*
     /**********************************************************
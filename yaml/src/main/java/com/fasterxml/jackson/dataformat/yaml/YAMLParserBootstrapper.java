@@ -0,0 +1,317 @@
+package com.fasterxml.jackson.dataformat.yaml;
+
+import java.io.*;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.core.io.MergedStream;
+import com.fasterxml.jackson.core.io.UTF32Reader;
+
+/**
+ * This class is used to determine the encoding of byte stream
+ * that is to contain YAML document, and to construct parser for it.
+ * YAML specification uses same rules as JSON: byte order mark is checked
+ * first, and if none found, null bytes of the first (ASCII) character
+ * indicate UTF-16 or UTF-32; otherwise content is UTF-8.
+ *<p>
+ * If {@link YAMLParser.Feature#USE_NATIVE_SCANNER} is enabled, bytes are
+ * decoded by parser itself, directly from the input buffer; otherwise a
+ * {@link Reader} is constructed for SnakeYAML to read from.
+ *
+ * @since 3.0
+ */
+final class YAMLParserBootstrapper
+{
+    /*
+    /**********************************************************
+    /* Configuration
+    /**********************************************************
+     */
+
+    private final IOContext _context;
+
+    /*
+    /**********************************************************
+    /* Input buffering
+    /**********************************************************
+     */
+
+    private final InputStream _in;
+
+    private final byte[] _inputBuffer;
+
+    private int _inputPtr;
+
+    private int _inputEnd;
+
+    /*
+    /**********************************************************
+    /* Data gathered
+    /**********************************************************
+     */
+
+    private boolean _bigEndian = true;
+
+    private int _bytesPerChar = 0; // 0 means "dunno yet"
+
+    /*
+    /**********************************************************
+    /* Life-cycle
+    /**********************************************************
+     */
+
+    public YAMLParserBootstrapper(IOContext ctxt, InputStream in)
+    {
+        _context = ctxt;
+        _in = in;
+        _inputBuffer = ctxt.allocReadIOBuffer();
+        _inputEnd = _inputPtr = 0;
+    }
+
+    public YAMLParserBootstrapper(IOContext ctxt,
+            byte[] inputBuffer, int inputStart, int inputLen)
+    {
+        _context = ctxt;
+        _in = null;
+        _inputBuffer = inputBuffer;
+        _inputPtr = inputStart;
+        _inputEnd = (inputStart + inputLen);
+    }
+
+    /*
+    /**********************************************************
+    /* Public API
+    /**********************************************************
+     */
+
+    public YAMLParser constructParser(ObjectReadContext readCtxt,
+            int parserFeatures, int formatFeatures) throws IOException
+    {
+        JsonEncoding enc = detectEncoding();
+        _context.setEncoding(enc);
+        if (YAMLParser.Feature.USE_NATIVE_SCANNER.enabledIn(formatFeatures)) {
+            // buffer is ours to recycle only if we allocated it (for InputStream)
+            return new YAMLParser(readCtxt, _context, parserFeatures, formatFeatures,
+                    _in, _inputBuffer, _inputPtr, _inputEnd, (_in != null));
+        }
+        return new YAMLParser(readCtxt, _context, null, parserFeatures, formatFeatures,
+                _createReader(enc, JsonParser.Feature.AUTO_CLOSE_SOURCE.enabledIn(parserFeatures)));
+    }
+
+    public JsonEncoding detectEncoding() throws IOException
+    {
+        boolean foundEncoding = false;
+
+        // First things first: BOM handling
+        if (ensureLoaded(4)) {
+            int quad =  (_inputBuffer[_inputPtr] << 24)
+                | ((_inputBuffer[_inputPtr+1] & 0xFF) << 16)
+                | ((_inputBuffer[_inputPtr+2] & 0xFF) << 8)
+                | (_inputBuffer[_inputPtr+3] & 0xFF);
+
+            if (handleBOM(quad)) {
+                foundEncoding = true;
+            } else {
+                // If no BOM, null bytes indicate fixed-width multi-byte encoding,
+                // since first character of YAML document must be ASCII
+                if (checkUTF32(quad)) {
+                    foundEncoding = true;
+                } else if (checkUTF16(quad >>> 16)) {
+                    foundEncoding = true;
+                }
+            }
+        } else if (ensureLoaded(2)) {
+            int i16 = ((_inputBuffer[_inputPtr] & 0xFF) << 8)
+                | (_inputBuffer[_inputPtr+1] & 0xFF);
+            if (checkUTF16(i16)) {
+                foundEncoding = true;
+            } else if ((i16 >>> 8) == 0xEF) {
+                // may still have (partial) UTF-8 BOM
+                if (ensureLoaded(3) && handleBOM(i16 << 16
+                        | ((_inputBuffer[_inputPtr+2] & 0xFF) << 8))) {
+                    foundEncoding = true;
+                }
+            }
+        }
+
+        // Not found yet? As per specs, this means it must be UTF-8
+        if (!foundEncoding || _bytesPerChar == 1) {
+            return JsonEncoding.UTF8;
+        }
+        if (_bytesPerChar == 2) {
+            return _bigEndian ? JsonEncoding.UTF16_BE : JsonEncoding.UTF16_LE;
+        }
+        if (_bytesPerChar == 4) {
+            return _bigEndian ? JsonEncoding.UTF32_BE : JsonEncoding.UTF32_LE;
+        }
+        throw new RuntimeException("Internal error"); // should never get here
+    }
+
+    @SuppressWarnings("resource")
+    private Reader _createReader(JsonEncoding enc, boolean autoClose) throws IOException
+    {
+        autoClose |= _context.isResourceManaged();
+        switch (enc) {
+        case UTF32_BE:
+        case UTF32_LE:
+            // Important: do not pass context, if we got byte[], nothing to release
+            return new UTF32Reader((_in == null) ? null : _context, _nonClosing(_in, autoClose),
+                    _inputBuffer, _inputPtr, _inputEnd, enc.isBigEndian());
+        case UTF16_BE:
+        case UTF16_LE:
+            {
+                InputStream in;
+                if (_in == null) {
+                    in = new ByteArrayInputStream(_inputBuffer, _inputPtr, _inputEnd - _inputPtr);
+                } else {
+                    in = new MergedStream(_context, _nonClosing(_in, autoClose),
+                            _inputBuffer, _inputPtr, _inputEnd);
+                }
+                return new InputStreamReader(in, enc.getJavaName());
+            }
+        case UTF8:
+            if (_in == null) {
+                return new UTF8Reader(_inputBuffer, _inputPtr, _inputEnd - _inputPtr, true);
+            }
+            // Merged stream returns bytes already read first, then releases buffer
+            return new UTF8Reader(new MergedStream(_context, _in, _inputBuffer, _inputPtr, _inputEnd),
+                    autoClose);
+        default:
+            throw new RuntimeException();
+        }
+    }
+
+    /**
+     * Helper method for preventing readers from closing caller's stream, if
+     * {@link JsonParser.Feature#AUTO_CLOSE_SOURCE} is disabled (since parser
+     * always closes its reader).
+     */
+    private static InputStream _nonClosing(InputStream in, boolean autoClose)
+    {
+        if (autoClose || (in == null)) {
+            return in;
+        }
+        return new FilterInputStream(in) {
+            @Override
+            public void close() { }
+        };
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods, parsing
+    /**********************************************************
+     */
+
+    /**
+     * @return True if a BOM was succesfully found, and encoding
+     *   thereby recognized.
+     */
+    private boolean handleBOM(int quad) throws IOException
+    {
+        // Handling of (usually) optional BOM; first 32-bit charsets:
+        switch (quad) {
+        case 0x0000FEFF:
+            _bigEndian = true;
+            _inputPtr += 4;
+            _bytesPerChar = 4;
+            return true;
+        case 0xFFFE0000: // UCS-4, LE?
+            _inputPtr += 4;
+            _bytesPerChar = 4;
+            _bigEndian = false;
+            return true;
+        case 0x0000FFFE: // UCS-4, in-order...
+            reportWeirdUCS4("2143"); // throws exception
+        case 0xFEFF0000: // UCS-4, in-order...
+            reportWeirdUCS4("3412"); // throws exception
+        }
+        // Ok, if not, how about 16-bit encoding BOMs?
+        int msw = quad >>> 16;
+        if (msw == 0xFEFF) { // UTF-16, BE
+            _inputPtr += 2;
+            _bytesPerChar = 2;
+            _bigEndian = true;
+            return true;
+        }
+        if (msw == 0xFFFE) { // UTF-16, LE
+            _inputPtr += 2;
+            _bytesPerChar = 2;
+            _bigEndian = false;
+            return true;
+        }
+        // And if not, then UTF-8 BOM?
+        if ((quad >>> 8) == 0xEFBBBF) { // UTF-8
+            _inputPtr += 3;
+            _bytesPerChar = 1;
+            _bigEndian = true; // doesn't really matter
+            return true;
+        }
+        return false;
+    }
+
+    private boolean checkUTF32(int quad) throws IOException
+    {
+        if ((quad >> 8) == 0) { // 0x000000?? -> UTF32-BE
+            _bigEndian = true;
+        } else if ((quad & 0x00FFFFFF) == 0) { // 0x??000000 -> UTF32-LE
+            _bigEndian = false;
+        } else if ((quad & ~0x00FF0000) == 0) { // 0x00??0000 -> UTF32-in-order
+            reportWeirdUCS4("3412");
+        } else if ((quad & ~0x0000FF00) == 0) { // 0x0000??00 -> UTF32-in-order
+            reportWeirdUCS4("2143");
+        } else {
+            return false;
+        }
+        // Not BOM (just regular content), nothing to skip past
+        _bytesPerChar = 4;
+        return true;
+    }
+
+    private boolean checkUTF16(int i16)
+    {
+        if ((i16 & 0xFF00) == 0) { // UTF-16BE
+            _bigEndian = true;
+        } else if ((i16 & 0x00FF) == 0) { // UTF-16LE
+            _bigEndian = false;
+        } else { // nope, not  UTF-16
+            return false;
+        }
+        // Not BOM (just regular content), nothing to skip past
+        _bytesPerChar = 2;
+        return true;
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods, problem reporting
+    /**********************************************************
+     */
+
+    private void reportWeirdUCS4(String type) throws IOException {
+        throw new CharConversionException("Unsupported UCS-4 endianness ("+type+") detected");
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods, raw input access
+    /**********************************************************
+     */
+
+    private boolean ensureLoaded(int minimum) throws IOException
+    {
+        int gotten = (_inputEnd - _inputPtr);
+        while (gotten < minimum) {
+            if (_in == null) { // block source
+                return false;
+            }
+            int count = _in.read(_inputBuffer, _inputEnd, _inputBuffer.length - _inputEnd);
+            if (count < 1) {
+                return false;
+            }
+            _inputEnd += count;
+            gotten += count;
+        }
+        return true;
+    }
+}
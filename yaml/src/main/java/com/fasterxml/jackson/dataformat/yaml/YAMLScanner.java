@@ -0,0 +1,2065 @@
+package com.fasterxml.jackson.dataformat.yaml;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+
+/**
+ * Streaming scanner used by {@link YAMLParser} when
+ * {@link YAMLParser.Feature#USE_NATIVE_SCANNER} is enabled. Instead of
+ * building SnakeYAML tokens, events and marks, it produces a light-weight
+ * stream of events (accessed via {@link #next()} and accessors) directly
+ * from input, for the commonly used subset of YAML: block and flow mappings
+ * and sequences; plain (single-line), quoted (single-line) and literal
+ * scalars; anchors and aliases; comments and document markers.
+ *<p>
+ * Anything else (tags, directives, complex keys, folded or multi-line
+ * scalars, tabs used as whitespace) as well as invalid content is
+ * signalled by throwing {@link UnsupportedContentException}, after which
+ * caller is expected to re-parse the current document using SnakeYAML,
+ * using {@link #replayReader()}. To allow this, all content of the current
+ * document is retained in the input buffer; but to keep memory usage bounded,
+ * only up to {@link #MAX_BUFFER_SIZE} characters: for longer documents
+ * (except in non-blocking mode) SnakeYAML takes over once that is reached.
+ *<p>
+ * Input is either read from a {@link Reader}, or decoded directly from
+ * a byte buffer (possibly refilled from an {@link InputStream}) in
+ * one of the Unicode encodings.
+ *<p>
+ * Finally, scanner may be used in non-blocking mode, in which UTF-8 encoded
+ * content is fed by caller (see {@link #feedInput(byte[], int, int)}): in this
+ * mode scanning state is saved before each scanning step, and if the step
+ * can not be completed with content fed so far, state is restored and
+ * {@link #EVT_NOT_AVAILABLE} is returned; step is then retried once more
+ * content has been fed.
+ *
+ * @since 3.0
+ */
+final class YAMLScanner
+{
+    final static int EVT_SCALAR = 1;
+    final static int EVT_ALIAS = 2;
+    final static int EVT_MAP_START = 3;
+    final static int EVT_MAP_END = 4;
+    final static int EVT_SEQ_START = 5;
+    final static int EVT_SEQ_END = 6;
+
+    /**
+     * Event that indicates start of a document after an earlier one: events
+     * before it are not part of content that {@link #replayReader()} returns.
+     */
+    final static int EVT_DOC_START = 7;
+
+    final static int EVT_STREAM_END = 8;
+
+    /**
+     * Pseudo-event returned in non-blocking mode, if the next event can not
+     * be returned before more content is fed.
+     */
+    final static int EVT_NOT_AVAILABLE = 9;
+
+    /**
+     * Maximum size of input buffer, and thereby of content retained for
+     * {@link #replayReader()}: if the current document does not fit, it
+     * is handled as unsupported content (except in non-blocking mode,
+     * where all content has to be retained until fully fed).
+     */
+    final static int MAX_BUFFER_SIZE = 64000;
+
+    /**
+     * Exception used to indicate that content can not be handled by the
+     * scanner; it carries no information (and no stack trace), the same
+     * instance being used for all cases.
+     */
+    final static class UnsupportedContentException extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedContentException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final static UnsupportedContentException UNSUPPORTED = new UnsupportedContentException();
+
+    /**
+     * Exception used in non-blocking mode to abort a scanning step when
+     * more content is needed to complete it.
+     */
+    private final static class NeedMoreInputException extends RuntimeException
+    {
+        private static final long serialVersionUID = 1L;
+
+        NeedMoreInputException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final static NeedMoreInputException NEED_MORE_INPUT = new NeedMoreInputException();
+
+    // Types of open collections
+
+    private final static int BLOCK_MAP = 0;
+    private final static int BLOCK_SEQ = 1;
+    private final static int FLOW_MAP = 2;
+    private final static int FLOW_SEQ = 3;
+
+    // States of open block collections
+
+    /**
+     * Block mapping expecting a key (or end); block sequence expecting an
+     * entry (or end).
+     */
+    private final static int ST_BLOCK_NEXT = 0;
+
+    /**
+     * Key (or entry indicator) read, value to be read from following lines
+     */
+    private final static int ST_BLOCK_VALUE = 1;
+
+    // States of open flow collections
+
+    private final static int ST_FLOW_FIRST = 0;
+    private final static int ST_FLOW_ITEM = 1;
+    private final static int ST_FLOW_SEP = 2;
+    private final static int ST_FLOW_KEY_DONE = 3;
+    private final static int ST_FLOW_VALUE = 4;
+
+    // Document states
+
+    private final static int DOC_STREAM_START = 0;
+    private final static int DOC_EXPECT_ROOT = 1;
+    private final static int DOC_ROOT_DONE = 2;
+    private final static int DOC_ENDED = 3;
+    // start of a later document reported, marker not yet consumed
+    private final static int DOC_STARTED = 4;
+
+    /*
+    /**********************************************************************
+    /* Input handling
+    /**********************************************************************
+     */
+
+    private final Reader _reader;
+
+    /**
+     * Encoding of byte input, if bytes are decoded by scanner itself;
+     * null if reading from {@link #_reader}.
+     */
+    private final JsonEncoding _byteEncoding;
+
+    /**
+     * Stream from which to read more bytes, if any: if null, all bytes
+     * are in {@link #_byteBuffer}.
+     */
+    private final InputStream _byteStream;
+
+    /**
+     * Buffer of undecoded bytes: either caller-provided content (which is
+     * never modified), or buffer into which {@link #_byteStream} is read
+     * (or, in non-blocking mode, content is fed).
+     */
+    private byte[] _byteBuffer;
+
+    private int _bytePtr;
+
+    private int _byteEnd;
+
+    private char[] _buffer = new char[4000];
+
+    private int _inputPtr;
+
+    private int _inputEnd;
+
+    private boolean _endOfInput;
+
+    /**
+     * Flag set if input contains characters that scanner does not handle
+     * the way SnakeYAML does (non-printable characters, byte order marks,
+     * Unicode line separators).
+     */
+    private boolean _unsupportedInput;
+
+    /**
+     * Offset of the first character of the current document in input
+     * buffer: content is retained from this point on.
+     */
+    private int _docStart;
+
+    /**
+     * Line number (0-based) of {@link #_docStart}
+     */
+    private int _docStartLine;
+
+    private int _line;
+
+    private int _lineStart;
+
+    /*
+    /**********************************************************************
+    /* Non-blocking input handling
+    /**********************************************************************
+     */
+
+    /**
+     * Whether content is fed by caller, instead of being read as needed
+     */
+    private final boolean _nonBlocking;
+
+    /**
+     * Flag set when caller has indicated that no more content will be fed
+     */
+    private boolean _inputComplete;
+
+    /**
+     * Flag set when the last scanning step could not be completed with
+     * content fed so far; cleared when more content is fed.
+     */
+    private boolean _needMoreInput = true;
+
+    /**
+     * Flag set if content not supported by scanner was found before all
+     * of the content was fed: switching to SnakeYAML has to wait until then.
+     */
+    private boolean _unsupportedPending;
+
+    private boolean _bomChecked;
+
+    // State saved before each scanning step, in non-blocking mode
+
+    private int _markPtr, _markLine, _markLineStart;
+    private int _markDocStart, _markDocStartLine, _markDocState;
+    private int _markDepth;
+    private int[] _markLevelTypes, _markLevelIndents, _markLevelStates;
+    private String _markAnchor;
+    private int _markAnchorLine, _markAnchorColumn;
+    private int _markValueLine, _markValueColumn;
+    private int _markFlowKeyLine;
+    private int _markEventCount;
+
+    /*
+    /**********************************************************************
+    /* Parsing state
+    /**********************************************************************
+     */
+
+    private int _docState = DOC_STREAM_START;
+
+    private int[] _levelTypes = new int[16];
+    private int[] _levelIndents = new int[16];
+    private int[] _levelStates = new int[16];
+    private int _depth;
+
+    /**
+     * Anchor read for a node that has not yet been started
+     */
+    private String _anchor;
+
+    /**
+     * Location of {@link #_anchor}, which is also location of the node
+     */
+    private int _anchorLine, _anchorColumn;
+
+    /**
+     * Location right after the last indicator (':', '-' or document start)
+     * that may be followed by an empty value
+     */
+    private int _valueLine, _valueColumn;
+
+    /**
+     * Line of the last key of a flow mapping, to check that value indicator
+     * is on the same line
+     */
+    private int _flowKeyLine;
+
+    private final StringBuilder _textBuilder = new StringBuilder();
+
+    // Queue of events produced but not yet returned
+
+    private int[] _eventTypes = new int[8];
+    private String[] _eventTexts = new String[8];
+    private String[] _eventAnchors = new String[8];
+    private boolean[] _eventPlain = new boolean[8];
+    private int[] _eventLines = new int[8];
+    private int[] _eventColumns = new int[8];
+    private int _eventHead;
+    private int _eventCount;
+
+    // Current event
+
+    private String _text;
+    private String _currentAnchor;
+    private boolean _plain;
+    private int _tokenLine;
+    private int _tokenColumn;
+
+    public YAMLScanner(Reader r) {
+        _reader = r;
+        _byteEncoding = null;
+        _byteStream = null;
+        _byteBuffer = null;
+        _nonBlocking = false;
+    }
+
+    /**
+     * Constructor for scanner that decodes bytes itself.
+     *
+     * @param in Stream to read more content from, if any
+     * @param buffer Buffer that contains the first bytes to decode; if
+     *    <code>in</code> is not null, also used for reading more content
+     *    (and must then be at least 4 bytes long)
+     * @param start Offset of the first byte to decode
+     * @param end Offset after the last byte to decode
+     * @param enc Encoding of content
+     */
+    public YAMLScanner(InputStream in, byte[] buffer, int start, int end, JsonEncoding enc) {
+        _reader = null;
+        _byteEncoding = enc;
+        _byteStream = in;
+        _byteBuffer = buffer;
+        _bytePtr = start;
+        _byteEnd = end;
+        _nonBlocking = false;
+    }
+
+    /**
+     * Constructor for non-blocking scanner, for UTF-8 encoded content
+     * fed using {@link #feedInput(byte[], int, int)}.
+     *
+     * @param buffer Initial buffer for fed content; replaced with
+     *    a bigger one if necessary
+     */
+    public YAMLScanner(byte[] buffer) {
+        _reader = null;
+        _byteEncoding = JsonEncoding.UTF8;
+        _byteStream = null;
+        _byteBuffer = buffer;
+        _nonBlocking = true;
+        _markLevelTypes = new int[_levelTypes.length];
+        _markLevelIndents = new int[_levelTypes.length];
+        _markLevelStates = new int[_levelTypes.length];
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for advancing to the next event.
+     *
+     * @return Type of the event
+     *
+     * @throws UnsupportedContentException If the rest of the current document
+     *    can not be handled by this scanner
+     */
+    public int next() throws IOException
+    {
+        if (_eventHead == _eventCount) {
+            _eventHead = _eventCount = 0;
+        }
+        // events of a step are only returned once all steps needed are done;
+        // in non-blocking mode, that may take more than one call
+        if (_eventHead == 0) {
+            // none of queued events may be returned if rest of document is
+            // to be handled by SnakeYAML
+            if (_unsupportedPending) {
+                if (!_inputComplete) {
+                    return EVT_NOT_AVAILABLE;
+                }
+                throw UNSUPPORTED;
+            }
+            // as with SnakeYAML, node that ends collection(s) or empty value must
+            // be valid before end markers (or empty value) are returned
+            while ((_eventCount == 0)
+                    || ((_depth > 0) && _needsLookahead(_eventCount-1))) {
+                if (_nonBlocking) {
+                    if (!_scanStepNonBlocking()) {
+                        return EVT_NOT_AVAILABLE;
+                    }
+                } else {
+                    _scanStep();
+                }
+                // note: checked only after step, but before returning any of its events
+                if (_unsupportedInput) {
+                    throw UNSUPPORTED;
+                }
+            }
+        }
+        final int ix = _eventHead++;
+        _text = _eventTexts[ix];
+        _currentAnchor = _eventAnchors[ix];
+        _plain = _eventPlain[ix];
+        _tokenLine = _eventLines[ix];
+        _tokenColumn = _eventColumns[ix];
+        return _eventTypes[ix];
+    }
+
+    /**
+     * Value of the current scalar, or name of the anchor referenced
+     * by the current alias
+     */
+    public String text() { return _text; }
+
+    /**
+     * Anchor of the current scalar or collection start, if any
+     */
+    public String anchor() { return _currentAnchor; }
+
+    /**
+     * Whether current scalar is a plain (unquoted) one
+     */
+    public boolean isPlain() { return _plain; }
+
+    /**
+     * Line (0-based) at which the current event starts
+     */
+    public int tokenLine() { return _tokenLine; }
+
+    /**
+     * Column (0-based) at which the current event starts
+     */
+    public int tokenColumn() { return _tokenColumn; }
+
+    public int currentLine() { return _line; }
+
+    public int currentColumn() { return _inputPtr - _lineStart; }
+
+    /**
+     * Method for constructing a {@link Reader} that returns all content of
+     * the current document (starting from its document start marker, if
+     * any), followed by rest of input. Content before the document is
+     * replaced by line feeds, so that line numbers are same as for the
+     * original input.
+     */
+    public Reader replayReader() throws IOException {
+        Reader rest;
+        if (_byteEncoding == null) {
+            rest = _endOfInput ? null : _reader;
+        } else {
+            rest = _restOfBytesReader();
+        }
+        return new ReplayReader(_docStartLine, _buffer, _docStart, _inputEnd, rest);
+    }
+
+    /**
+     * Method for constructing a {@link Reader} for bytes not yet decoded
+     * (including possible malformed ones, for reader to report).
+     */
+    private Reader _restOfBytesReader() throws IOException
+    {
+        InputStream in = null;
+        if (_bytePtr < _byteEnd) {
+            in = new ByteArrayInputStream(_byteBuffer, _bytePtr, _byteEnd - _bytePtr);
+        }
+        if (_byteStream != null) {
+            in = (in == null) ? _byteStream : new SequenceInputStream(in, _byteStream);
+        }
+        if (in == null) {
+            return null;
+        }
+        // underlying stream is closed by parser
+        if (_byteEncoding == JsonEncoding.UTF8) {
+            return new UTF8Reader(in, false);
+        }
+        return new InputStreamReader(in, _byteEncoding.getJavaName());
+    }
+
+    /*
+    /**********************************************************************
+    /* Non-blocking input
+    /**********************************************************************
+     */
+
+    public boolean isInputComplete() {
+        return _inputComplete;
+    }
+
+    /**
+     * @return True if the last event could not be returned with content fed so
+     *    far (or if nothing has been fed yet), and more content has not been fed since
+     */
+    public boolean needMoreInput() {
+        return !_inputComplete && (_needMoreInput || _unsupportedPending);
+    }
+
+    public void endOfInput() {
+        _inputComplete = true;
+    }
+
+    public void feedInput(byte[] data, int offset, int end)
+    {
+        final int len = end - offset;
+        _ensureByteRoom(len);
+        System.arraycopy(data, offset, _byteBuffer, _byteEnd, len);
+        _byteEnd += len;
+        _needMoreInput = false;
+    }
+
+    public void feedInput(ByteBuffer data)
+    {
+        final int len = data.remaining();
+        _ensureByteRoom(len);
+        data.get(_byteBuffer, _byteEnd, len);
+        _byteEnd += len;
+        _needMoreInput = false;
+    }
+
+    /**
+     * Helper method that will make room for given number of bytes at the end of
+     * byte buffer: first by dropping bytes already decoded, and if that is
+     * not enough, by allocating a bigger buffer.
+     */
+    private void _ensureByteRoom(int needed)
+    {
+        if ((_byteEnd + needed) <= _byteBuffer.length) {
+            return;
+        }
+        final int remaining = _byteEnd - _bytePtr;
+        if (_bytePtr > 0) {
+            System.arraycopy(_byteBuffer, _bytePtr, _byteBuffer, 0, remaining);
+            _bytePtr = 0;
+            _byteEnd = remaining;
+        }
+        final int required = remaining + needed;
+        if (required > _byteBuffer.length) {
+            _byteBuffer = Arrays.copyOf(_byteBuffer,
+                    Math.max(required, _byteBuffer.length + (_byteBuffer.length >> 1)));
+        }
+    }
+
+    /**
+     * Method for trying to complete a scanning step with content fed so far:
+     * if that is not possible, state is restored to what it was before the step.
+     *
+     * @return True if step was completed; false if more input is needed
+     */
+    private boolean _scanStepNonBlocking() throws IOException
+    {
+        _mark();
+        try {
+            _scanStep();
+        } catch (NeedMoreInputException e) {
+            _resetToMark();
+            _needMoreInput = true;
+            return false;
+        } catch (UnsupportedContentException e) {
+            // SnakeYAML can only take over once all content is available
+            if (!_inputComplete) {
+                _setUnsupportedPending();
+                return false;
+            }
+            throw e;
+        }
+        if (_unsupportedInput && !_inputComplete) {
+            _setUnsupportedPending();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Method called when content not supported by scanner is found before all
+     * content has been fed: state (including queued events) is restored to
+     * what it was before the step, so that nothing past that point is used.
+     */
+    private void _setUnsupportedPending()
+    {
+        _resetToMark();
+        _unsupportedPending = true;
+    }
+
+    private void _mark()
+    {
+        _markPtr = _inputPtr;
+        _markLine = _line;
+        _markLineStart = _lineStart;
+        _markDocStart = _docStart;
+        _markDocStartLine = _docStartLine;
+        _markDocState = _docState;
+        final int depth = _depth;
+        _markDepth = depth;
+        if (depth > _markLevelTypes.length) {
+            _markLevelTypes = new int[_levelTypes.length];
+            _markLevelIndents = new int[_levelTypes.length];
+            _markLevelStates = new int[_levelTypes.length];
+        }
+        System.arraycopy(_levelTypes, 0, _markLevelTypes, 0, depth);
+        System.arraycopy(_levelIndents, 0, _markLevelIndents, 0, depth);
+        System.arraycopy(_levelStates, 0, _markLevelStates, 0, depth);
+        _markAnchor = _anchor;
+        _markAnchorLine = _anchorLine;
+        _markAnchorColumn = _anchorColumn;
+        _markValueLine = _valueLine;
+        _markValueColumn = _valueColumn;
+        _markFlowKeyLine = _flowKeyLine;
+        _markEventCount = _eventCount;
+    }
+
+    private void _resetToMark()
+    {
+        _inputPtr = _markPtr;
+        _line = _markLine;
+        _lineStart = _markLineStart;
+        _docStart = _markDocStart;
+        _docStartLine = _markDocStartLine;
+        _docState = _markDocState;
+        final int depth = _markDepth;
+        _depth = depth;
+        System.arraycopy(_markLevelTypes, 0, _levelTypes, 0, depth);
+        System.arraycopy(_markLevelIndents, 0, _levelIndents, 0, depth);
+        System.arraycopy(_markLevelStates, 0, _levelStates, 0, depth);
+        _anchor = _markAnchor;
+        _anchorLine = _markAnchorLine;
+        _anchorColumn = _markAnchorColumn;
+        _valueLine = _markValueLine;
+        _valueColumn = _markValueColumn;
+        _flowKeyLine = _markFlowKeyLine;
+        _eventCount = _markEventCount;
+    }
+
+    /*
+    /**********************************************************************
+    /* Block context
+    /**********************************************************************
+     */
+
+    private void _scanStep() throws IOException
+    {
+        if (_depth > 0 && _levelTypes[_depth-1] >= FLOW_MAP) {
+            _scanFlow();
+            return;
+        }
+        final int c = _skipWhitespace();
+        if (c < 0) {
+            _handleEndOfInput();
+            return;
+        }
+        final int col = _inputPtr - _lineStart;
+        if ((col == 0) && ((c == '-') || (c == '.')) && _isDocMarker(c)) {
+            _handleDocMarker(c);
+            return;
+        }
+        if (_depth == 0) {
+            if ((_docState == DOC_ROOT_DONE) || (_docState == DOC_ENDED)) {
+                throw UNSUPPORTED;
+            }
+            _docState = DOC_ROOT_DONE;
+            if (_scanBlockNode(-1, true)) {
+                _docState = DOC_EXPECT_ROOT;
+            }
+            return;
+        }
+        final int top = _depth-1;
+        final int indent = _levelIndents[top];
+
+        if (_levelTypes[top] == BLOCK_MAP) {
+            if (_levelStates[top] == ST_BLOCK_VALUE) {
+                _levelStates[top] = ST_BLOCK_NEXT;
+                if (col > indent) {
+                    if (_scanBlockNode(indent, true)) {
+                        _levelStates[top] = ST_BLOCK_VALUE;
+                    }
+                } else if ((col == indent) && (c == '-') && _isBlank(_peek(1))) {
+                    // sequence as value need not be indented
+                    _startBlockSequence(col);
+                } else {
+                    _addNullScalar(_valueLine, _valueColumn);
+                }
+                return;
+            }
+            if (col < indent) {
+                --_depth;
+                _addEvent(EVT_MAP_END, null, null, false, _line, col);
+                return;
+            }
+            if (col > indent) {
+                throw UNSUPPORTED;
+            }
+            _scanBlockKey(top);
+            return;
+        }
+
+        // Otherwise, block sequence
+        if (_levelStates[top] == ST_BLOCK_VALUE) {
+            _levelStates[top] = ST_BLOCK_NEXT;
+            if (col > indent) {
+                if (_scanBlockNode(indent, true)) {
+                    _levelStates[top] = ST_BLOCK_VALUE;
+                }
+            } else {
+                _addNullScalar(_valueLine, _valueColumn);
+            }
+            return;
+        }
+        if ((col == indent) && (c == '-') && _isBlank(_peek(1))) {
+            ++_inputPtr;
+            _markValueStart();
+            int c2 = _skipSpaces();
+            if ((c2 == '#') || (c2 == '\r') || (c2 == '\n') || (c2 < 0)) {
+                _finishLine();
+                _levelStates[top] = ST_BLOCK_VALUE;
+            } else if (_scanBlockNode(indent, true)) {
+                _levelStates[top] = ST_BLOCK_VALUE;
+            }
+            return;
+        }
+        if ((col < indent)
+                // non-indented sequence as mapping value ends at next key
+                || ((col == indent) && (top > 0) && (_levelTypes[top-1] == BLOCK_MAP)
+                        && (_levelIndents[top-1] == indent))) {
+            --_depth;
+            _addEvent(EVT_SEQ_END, null, null, false, _line, col);
+            return;
+        }
+        throw UNSUPPORTED;
+    }
+
+    private void _handleEndOfInput() throws IOException
+    {
+        if (_depth > 0) {
+            _closeBlockLevel();
+            return;
+        }
+        if (_docState == DOC_EXPECT_ROOT) {
+            _docState = DOC_ROOT_DONE;
+            _addNullScalar(_valueLine, _valueColumn);
+            return;
+        }
+        _addEvent(EVT_STREAM_END, null, null, false, _line, _inputPtr - _lineStart);
+    }
+
+    private void _handleDocMarker(int c) throws IOException
+    {
+        if (_depth > 0) {
+            _closeBlockLevel();
+            return;
+        }
+        if (_docState == DOC_EXPECT_ROOT) {
+            _docState = DOC_ROOT_DONE;
+            _addNullScalar(_valueLine, _valueColumn);
+            return;
+        }
+        if (c == '.') { // document end marker
+            if (_docState != DOC_ROOT_DONE) {
+                throw UNSUPPORTED;
+            }
+            _inputPtr += 3;
+            _finishLine();
+            _docState = DOC_ENDED;
+            return;
+        }
+        if ((_docState != DOC_STREAM_START) && (_docState != DOC_STARTED)) {
+            // must be returned before any content of the new document is scanned
+            _docStart = _lineStart;
+            _docStartLine = _line;
+            _docState = DOC_STARTED;
+            _addEvent(EVT_DOC_START, null, null, false, _line, 0);
+            return;
+        }
+        _inputPtr += 3;
+        _docState = DOC_EXPECT_ROOT;
+        int c2 = _skipSpaces();
+        _markValueStart();
+        if ((c2 == '#') || (c2 == '\r') || (c2 == '\n') || (c2 < 0)) {
+            _finishLine();
+            return;
+        }
+        _docState = DOC_ROOT_DONE;
+        if (_scanBlockNode(-1, false)) {
+            _docState = DOC_EXPECT_ROOT;
+        }
+    }
+
+    /**
+     * Method called to close the innermost open block collection at end of
+     * input or document; or if a value is still expected for it, to add
+     * an empty one.
+     */
+    private void _closeBlockLevel()
+    {
+        final int top = _depth-1;
+        if (_levelStates[top] == ST_BLOCK_VALUE) {
+            _levelStates[top] = ST_BLOCK_NEXT;
+            _addNullScalar(_valueLine, _valueColumn);
+            return;
+        }
+        --_depth;
+        _addEvent((_levelTypes[top] == BLOCK_MAP) ? EVT_MAP_END : EVT_SEQ_END,
+                null, null, false, _line, _inputPtr - _lineStart);
+    }
+
+    private void _scanBlockKey(int level) throws IOException
+    {
+        final int line = _line;
+        final int col = _inputPtr - _lineStart;
+        final int c = _peek(0);
+        String key;
+        boolean plain;
+        if ((c == '"') || (c == '\'')) {
+            key = _scanQuoted(c);
+            plain = false;
+        } else if (_canStartPlain(c, false)) {
+            key = _scanPlainBlock();
+            plain = true;
+        } else {
+            throw UNSUPPORTED;
+        }
+        if (!_isKeyIndicator()) {
+            throw UNSUPPORTED;
+        }
+        ++_inputPtr;
+        _addEvent(EVT_SCALAR, key, null, plain, line, col);
+        _scanBlockMapValue(level);
+    }
+
+    /**
+     * Method called after ':' of a block mapping entry.
+     */
+    private void _scanBlockMapValue(int level) throws IOException
+    {
+        _markValueStart();
+        int c = _skipSpaces();
+        if ((c == '#') || (c == '\r') || (c == '\n') || (c < 0)) {
+            _finishLine();
+            _levelStates[level] = ST_BLOCK_VALUE;
+            return;
+        }
+        _levelStates[level] = ST_BLOCK_NEXT;
+        if (_scanBlockNode(_levelIndents[level], false)) {
+            _levelStates[level] = ST_BLOCK_VALUE;
+        }
+    }
+
+    /**
+     * Method for scanning a node in block context, starting at the current
+     * position.
+     *
+     * @param parentIndent Indentation of the enclosing block collection;
+     *    -1 for root level
+     * @param allowBlock Whether node may start a block collection: if not,
+     *    node is on the same line as a mapping key or document start
+     *
+     * @return True if only an anchor was found, node itself being on
+     *    one of following lines
+     */
+    private boolean _scanBlockNode(int parentIndent, boolean allowBlock) throws IOException
+    {
+        int c = _peek(0);
+        if (c == '&') {
+            if (_anchor != null) {
+                throw UNSUPPORTED;
+            }
+            _anchorLine = _line;
+            _anchorColumn = _inputPtr - _lineStart;
+            _anchor = _scanAnchorName();
+            c = _skipSpaces();
+            if ((c == '#') || (c == '\r') || (c == '\n') || (c < 0)) {
+                _finishLine();
+                return true;
+            }
+            // "&a key: value" would anchor the key, not mapping; not supported
+            allowBlock = false;
+        }
+        final int line = _line;
+        final int col = _inputPtr - _lineStart;
+        String text;
+
+        switch (c) {
+        case '*':
+            if (_anchor != null) {
+                throw UNSUPPORTED;
+            }
+            text = _scanAnchorName();
+            if (_skipSpaces() == ':') { // alias as key
+                throw UNSUPPORTED;
+            }
+            _addEvent(EVT_ALIAS, text, null, false, line, col);
+            _endBlockNode(parentIndent);
+            return false;
+        case '[':
+        case '{':
+            if (_isFlowKey()) {
+                throw UNSUPPORTED;
+            }
+            _startFlow(c, line, col);
+            return false;
+        case '|':
+            text = _scanLiteral(parentIndent);
+            _addEvent(EVT_SCALAR, text, _takeAnchor(), false, line, col);
+            return false;
+        case '"':
+        case '\'':
+            text = _scanQuoted(c);
+            if (_isKeyIndicator()) {
+                _startBlockMapping(allowBlock, text, false, line, col);
+                return false;
+            }
+            _addEvent(EVT_SCALAR, text, _takeAnchor(), false, line, col);
+            _endBlockNode(parentIndent);
+            return false;
+        case '-':
+            if (_isBlank(_peek(1))) {
+                if (!allowBlock) {
+                    throw UNSUPPORTED;
+                }
+                _startBlockSequence(col);
+                return false;
+            }
+            break;
+        }
+        if (!_canStartPlain(c, false)) {
+            throw UNSUPPORTED;
+        }
+        text = _scanPlainBlock();
+        if (_isKeyIndicator()) {
+            _startBlockMapping(allowBlock, text, true, line, col);
+            return false;
+        }
+        _addEvent(EVT_SCALAR, text, _takeAnchor(), true, line, col);
+        _endBlockNode(parentIndent);
+        return false;
+    }
+
+    private void _startBlockMapping(boolean allowBlock, String key, boolean plain,
+            int line, int col) throws IOException
+    {
+        if (!allowBlock) {
+            throw UNSUPPORTED;
+        }
+        _addEvent(EVT_MAP_START, null, _takeAnchor(), false, line, col);
+        _addEvent(EVT_SCALAR, key, null, plain, line, col);
+        _push(BLOCK_MAP, col, ST_BLOCK_NEXT);
+        ++_inputPtr; // ':'
+        _scanBlockMapValue(_depth-1);
+    }
+
+    private void _startBlockSequence(int col)
+    {
+        _addEvent(EVT_SEQ_START, null, _takeAnchor(), false, _line, col);
+        // note: entry indicator is left for the next step to handle
+        _push(BLOCK_SEQ, col, ST_BLOCK_NEXT);
+    }
+
+    /**
+     * Method called after a scalar, alias or flow collection in block
+     * context, to verify that the rest of the line is empty, and that
+     * the following content is not indented more than its parent (which
+     * would either be a continuation of a multi-line scalar, or invalid).
+     */
+    private void _endBlockNode(int parentIndent) throws IOException
+    {
+        _finishLine();
+        int c = _skipWhitespace();
+        if (c >= 0) {
+            int col = _inputPtr - _lineStart;
+            if ((col > parentIndent)
+                    && !((col == 0) && ((c == '-') || (c == '.')) && _isDocMarker(c))) {
+                throw UNSUPPORTED;
+            }
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Flow context
+    /**********************************************************************
+     */
+
+    private void _scanFlow() throws IOException
+    {
+        final int c = _skipWhitespace();
+        if (c < 0) {
+            throw UNSUPPORTED;
+        }
+        final int line = _line;
+        final int col = _inputPtr - _lineStart;
+        if ((col == 0) && ((c == '-') || (c == '.')) && _isDocMarker(c)) {
+            throw UNSUPPORTED;
+        }
+        final int top = _depth-1;
+        final int state = _levelStates[top];
+
+        if (_levelTypes[top] == FLOW_SEQ) {
+            if (c == ']') {
+                _endFlow(EVT_SEQ_END, line, col);
+                return;
+            }
+            if (state == ST_FLOW_SEP) {
+                if (c != ',') {
+                    throw UNSUPPORTED;
+                }
+                ++_inputPtr;
+                _levelStates[top] = ST_FLOW_ITEM;
+                return;
+            }
+            if (c == ',') {
+                throw UNSUPPORTED;
+            }
+            _levelStates[top] = ST_FLOW_SEP;
+            if (_scanFlowNode(c, line, col)) {
+                // single-pair mappings within sequences not supported
+                if (_skipSpaces() == ':') {
+                    throw UNSUPPORTED;
+                }
+            }
+            return;
+        }
+
+        switch (state) {
+        case ST_FLOW_SEP:
+            if (c == '}') {
+                _endFlow(EVT_MAP_END, line, col);
+                return;
+            }
+            if (c != ',') {
+                throw UNSUPPORTED;
+            }
+            ++_inputPtr;
+            _levelStates[top] = ST_FLOW_ITEM;
+            return;
+        case ST_FLOW_KEY_DONE:
+            if (c == ':') {
+                if (line != _flowKeyLine) {
+                    throw UNSUPPORTED;
+                }
+                ++_inputPtr;
+                _markValueStart();
+                _levelStates[top] = ST_FLOW_VALUE;
+                return;
+            }
+            if ((c == ',') || (c == '}')) {
+                _levelStates[top] = ST_FLOW_SEP;
+                _addNullScalar();
+                return;
+            }
+            throw UNSUPPORTED;
+        case ST_FLOW_VALUE:
+            _levelStates[top] = ST_FLOW_SEP;
+            if ((c == ',') || (c == '}')) {
+                _addNullScalar(_valueLine, _valueColumn);
+                return;
+            }
+            _scanFlowNode(c, line, col);
+            return;
+        }
+        // Otherwise expecting key, or end
+        if (c == '}') {
+            _endFlow(EVT_MAP_END, line, col);
+            return;
+        }
+        String key;
+        boolean plain;
+        if ((c == '"') || (c == '\'')) {
+            key = _scanQuoted(c);
+            plain = false;
+        } else if (_canStartPlain(c, true)) {
+            key = _scanPlainFlow();
+            plain = true;
+        } else {
+            throw UNSUPPORTED;
+        }
+        _addEvent(EVT_SCALAR, key, null, plain, line, col);
+        _levelStates[top] = ST_FLOW_KEY_DONE;
+        _flowKeyLine = line;
+    }
+
+    /**
+     * @return True if node was a scalar or alias; false if a collection
+     *    was started
+     */
+    private boolean _scanFlowNode(int c, int line, int col) throws IOException
+    {
+        if (c == '&') {
+            if (_anchor != null) {
+                throw UNSUPPORTED;
+            }
+            _anchorLine = _line;
+            _anchorColumn = _inputPtr - _lineStart;
+            _anchor = _scanAnchorName();
+            c = _skipSpaces();
+        }
+        String text;
+        switch (c) {
+        case '*':
+            if (_anchor != null) {
+                throw UNSUPPORTED;
+            }
+            text = _scanAnchorName();
+            _addEvent(EVT_ALIAS, text, null, false, line, col);
+            return true;
+        case '[':
+        case '{':
+            _startFlow(c, line, col);
+            return false;
+        case '"':
+        case '\'':
+            text = _scanQuoted(c);
+            _addEvent(EVT_SCALAR, text, _takeAnchor(), false, line, col);
+            return true;
+        }
+        if (!_canStartPlain(c, true)) {
+            throw UNSUPPORTED;
+        }
+        text = _scanPlainFlow();
+        _addEvent(EVT_SCALAR, text, _takeAnchor(), true, line, col);
+        return true;
+    }
+
+    private void _startFlow(int c, int line, int col)
+    {
+        ++_inputPtr;
+        if (c == '{') {
+            _addEvent(EVT_MAP_START, null, _takeAnchor(), false, line, col);
+            _push(FLOW_MAP, col, ST_FLOW_FIRST);
+        } else {
+            _addEvent(EVT_SEQ_START, null, _takeAnchor(), false, line, col);
+            _push(FLOW_SEQ, col, ST_FLOW_FIRST);
+        }
+    }
+
+    private void _endFlow(int type, int line, int col) throws IOException
+    {
+        ++_inputPtr;
+        --_depth;
+        _addEvent(type, null, null, false, line, col);
+        if (_depth == 0) {
+            _endBlockNode(-1);
+        } else if (_levelTypes[_depth-1] < FLOW_MAP) {
+            _endBlockNode(_levelIndents[_depth-1]);
+        }
+    }
+
+    /**
+     * Method called at start of a flow collection in block context, to check
+     * whether it may be used as a mapping key (which is not supported).
+     */
+    private boolean _isFlowKey() throws IOException
+    {
+        int nesting = 0;
+        int i = 0;
+        while (true) {
+            int c = _peek(i++);
+            if ((c < 0) || (c == '\r') || (c == '\n')) {
+                return false;
+            }
+            if ((c == '[') || (c == '{')) {
+                ++nesting;
+            } else if ((c == ']') || (c == '}')) {
+                if (--nesting == 0) {
+                    break;
+                }
+            } else if ((c == '"') || (c == '\'')) {
+                while (true) {
+                    int c2 = _peek(i++);
+                    if ((c2 < 0) || (c2 == '\r') || (c2 == '\n')) {
+                        return false;
+                    }
+                    if (c2 == c) {
+                        break;
+                    }
+                    if ((c2 == '\\') && (c == '"')) {
+                        ++i;
+                    }
+                }
+            } else if ((c == '#') && (_peek(i-2) == ' ')) {
+                return false;
+            }
+        }
+        while (_peek(i) == ' ') {
+            ++i;
+        }
+        // anything but comment on the same line could make it a key
+        final int c = _peek(i);
+        return !((c < 0) || (c == '\r') || (c == '\n') || (c == '#'));
+    }
+
+    /*
+    /**********************************************************************
+    /* Scalars
+    /**********************************************************************
+     */
+
+    private boolean _canStartPlain(int c, boolean inFlow) throws IOException
+    {
+        switch (c) {
+        case -1: case ' ': case '\t': case '\r': case '\n':
+        case ',': case '[': case ']': case '{': case '}': case '#':
+        case '&': case '*': case '!': case '|': case '>':
+        case '\'': case '"': case '%': case '@': case '`':
+            return false;
+        case '-':
+            return !_isBlank(_peek(1));
+        case '?':
+        case ':':
+            return !inFlow && !_isBlank(_peek(1));
+        }
+        return true;
+    }
+
+    /**
+     * Method for scanning a single-line plain scalar in block context; it
+     * ends at ": ", " #" or end of line (trailing spaces excluded).
+     */
+    private String _scanPlainBlock() throws IOException
+    {
+        int len = 0;
+        int end = 0;
+        while (true) {
+            int c = _peek(len);
+            if (c == ' ') {
+                ++len;
+                continue;
+            }
+            if ((c < 0) || (c == '\r') || (c == '\n')) {
+                break;
+            }
+            if (c == ':') {
+                if (_isBlank(_peek(len+1))) {
+                    break;
+                }
+            } else if (c == '#') {
+                if (len > end) { // comment
+                    break;
+                }
+            } else if (c == '\t') {
+                throw UNSUPPORTED;
+            }
+            end = ++len;
+        }
+        String text = new String(_buffer, _inputPtr, end);
+        _inputPtr += end;
+        return text;
+    }
+
+    /**
+     * Method for scanning a single-line plain scalar in flow context; it
+     * ends at flow indicators, ':', " #" or end of line.
+     */
+    private String _scanPlainFlow() throws IOException
+    {
+        int len = 0;
+        int end = 0;
+        int c;
+        while (true) {
+            c = _peek(len);
+            if (c == ' ') {
+                ++len;
+                continue;
+            }
+            if ((c < 0) || (c == '\r') || (c == '\n')) {
+                break;
+            }
+            if ((c == ',') || (c == '[') || (c == ']') || (c == '{') || (c == '}')) {
+                break;
+            }
+            if (c == ':') {
+                int next = _peek(len+1);
+                if (_isBlank(next) || (next == ',') || (next == '[') || (next == ']')
+                        || (next == '{') || (next == '}')) {
+                    break;
+                }
+                throw UNSUPPORTED;
+            }
+            if (c == '#') {
+                if (len > end) {
+                    break;
+                }
+            } else if ((c == '?') || (c == '\t')) {
+                throw UNSUPPORTED;
+            }
+            end = ++len;
+        }
+        // Multi-line plain scalars are not supported: check next line(s)
+        if ((c == '\r') || (c == '\n')) {
+            while (true) {
+                c = _peek(len++);
+                if ((c == ' ') || (c == '\r') || (c == '\n')) {
+                    continue;
+                }
+                if ((c >= 0) && (",:?[]{}#".indexOf(c) < 0)) {
+                    throw UNSUPPORTED;
+                }
+                if (c == ':') {
+                    c = _peek(len);
+                    if (!_isBlank(c) && (",[]{}".indexOf(c) < 0)) {
+                        throw UNSUPPORTED;
+                    }
+                }
+                break;
+            }
+        }
+        String text = new String(_buffer, _inputPtr, end);
+        _inputPtr += end;
+        return text;
+    }
+
+    /**
+     * Method for scanning a single-line single- or double-quoted scalar;
+     * multi-line ones are not supported.
+     */
+    private String _scanQuoted(int quote) throws IOException
+    {
+        ++_inputPtr;
+        StringBuilder sb = null;
+        while (true) {
+            int len = 0;
+            int c;
+            while (true) {
+                c = _peek(len);
+                if ((c == quote) || ((c == '\\') && (quote == '"'))) {
+                    break;
+                }
+                if ((c < 0) || (c == '\r') || (c == '\n')) {
+                    throw UNSUPPORTED;
+                }
+                ++len;
+            }
+            if (c == quote) {
+                if ((quote == '\'') && (_peek(len+1) == '\'')) { // escaped quote
+                    sb = _append(sb, len+1);
+                    ++_inputPtr;
+                    continue;
+                }
+                if (sb == null) { // common case, no escapes
+                    String text = new String(_buffer, _inputPtr, len);
+                    _inputPtr += len+1;
+                    return text;
+                }
+                sb = _append(sb, len);
+                ++_inputPtr;
+                return sb.toString();
+            }
+            // backslash escape
+            sb = _append(sb, len);
+            ++_inputPtr;
+            _appendEscaped(sb);
+        }
+    }
+
+    private StringBuilder _append(StringBuilder sb, int len)
+    {
+        if (sb == null) {
+            sb = _textBuilder;
+            sb.setLength(0);
+        }
+        sb.append(_buffer, _inputPtr, len);
+        _inputPtr += len;
+        return sb;
+    }
+
+    private void _appendEscaped(StringBuilder sb) throws IOException
+    {
+        int c = _peek(0);
+        ++_inputPtr;
+        switch (c) {
+        case '0': sb.append('\0'); return;
+        case 'a': sb.append('\u0007'); return;
+        case 'b': sb.append('\b'); return;
+        case 't': sb.append('\t'); return;
+        case 'n': sb.append('\n'); return;
+        case 'v': sb.append('\u000B'); return;
+        case 'f': sb.append('\f'); return;
+        case 'r': sb.append('\r'); return;
+        case 'e': sb.append('\u001B'); return;
+        case ' ': sb.append(' '); return;
+        case '"': sb.append('"'); return;
+        case '\\': sb.append('\\'); return;
+        case 'N': sb.append('\u0085'); return;
+        case '_': sb.append('\u00A0'); return;
+        case 'L': sb.append('\u2028'); return;
+        case 'P': sb.append('\u2029'); return;
+        case 'x': _appendCodePoint(sb, 2); return;
+        case 'u': _appendCodePoint(sb, 4); return;
+        case 'U': _appendCodePoint(sb, 8); return;
+        }
+        // line continuations, other escapes
+        throw UNSUPPORTED;
+    }
+
+    private void _appendCodePoint(StringBuilder sb, int digits) throws IOException
+    {
+        int value = 0;
+        for (int i = 0; i < digits; ++i) {
+            int d = Character.digit(_peek(i), 16);
+            if ((_peek(i) > 0x7F) || (d < 0)) {
+                throw UNSUPPORTED;
+            }
+            value = (value << 4) + d;
+        }
+        if ((value < 0) || (value > Character.MAX_CODE_POINT)) {
+            throw UNSUPPORTED;
+        }
+        _inputPtr += digits;
+        sb.appendCodePoint(value);
+    }
+
+    /**
+     * Method for scanning a literal block scalar, following SnakeYAML
+     * rules for indentation and chomping.
+     */
+    private String _scanLiteral(int parentIndent) throws IOException
+    {
+        ++_inputPtr; // '|'
+        int chomping = 0; // clip by default; -1 for strip, 1 for keep
+        int increment = -1;
+        for (int i = 0; i < 2; ++i) {
+            int c = _peek(0);
+            if ((chomping == 0) && ((c == '+') || (c == '-'))) {
+                chomping = (c == '+') ? 1 : -1;
+                ++_inputPtr;
+            } else if ((increment < 0) && (c >= '1') && (c <= '9')) {
+                increment = c - '0';
+                ++_inputPtr;
+            }
+        }
+        int c = _peek(0);
+        if ((c >= 0) && (c != ' ') && (c != '\r') && (c != '\n')) {
+            throw UNSUPPORTED;
+        }
+        _finishLine();
+
+        final int minIndent = Math.max(parentIndent + 1, 1);
+        final StringBuilder sb = _textBuilder;
+        sb.setLength(0);
+        int indent;
+        int breaks = 0;
+        if (increment < 0) { // auto-detect from the first non-empty line
+            int maxIndent = 0;
+            while (true) {
+                c = _peek(0);
+                if (c == ' ') {
+                    ++_inputPtr;
+                    maxIndent = Math.max(maxIndent, _inputPtr - _lineStart);
+                } else if ((c == '\r') || (c == '\n')) {
+                    _skipLineBreak();
+                    ++breaks;
+                } else {
+                    break;
+                }
+            }
+            indent = Math.max(minIndent, maxIndent);
+        } else {
+            indent = minIndent + increment - 1;
+            breaks = _skipLiteralBreaks(indent);
+        }
+        boolean lineBreak = false;
+        while (((_inputPtr - _lineStart) == indent) && (_peek(0) >= 0)) {
+            _appendLineFeeds(sb, breaks);
+            int len = 0;
+            while (((c = _peek(len)) >= 0) && (c != '\r') && (c != '\n')) {
+                ++len;
+            }
+            sb.append(_buffer, _inputPtr, len);
+            _inputPtr += len;
+            lineBreak = (c >= 0);
+            if (lineBreak) {
+                _skipLineBreak();
+            }
+            breaks = _skipLiteralBreaks(indent);
+            if (((_inputPtr - _lineStart) == indent) && (_peek(0) >= 0)) {
+                if (lineBreak) {
+                    sb.append('\n');
+                }
+            } else {
+                break;
+            }
+        }
+        if ((chomping >= 0) && lineBreak) {
+            sb.append('\n');
+        }
+        if (chomping > 0) {
+            _appendLineFeeds(sb, breaks);
+        }
+        return sb.toString();
+    }
+
+    private static void _appendLineFeeds(StringBuilder sb, int count) {
+        for (int i = 0; i < count; ++i) {
+            sb.append('\n');
+        }
+    }
+
+    /**
+     * Method for skipping indentation (up to given amount), and empty lines
+     * within a literal scalar.
+     *
+     * @return Number of line breaks skipped
+     */
+    private int _skipLiteralBreaks(int indent) throws IOException
+    {
+        int breaks = 0;
+        while (((_inputPtr - _lineStart) < indent) && (_peek(0) == ' ')) {
+            ++_inputPtr;
+        }
+        int c;
+        while (((c = _peek(0)) == '\r') || (c == '\n')) {
+            _skipLineBreak();
+            ++breaks;
+            while (((_inputPtr - _lineStart) < indent) && (_peek(0) == ' ')) {
+                ++_inputPtr;
+            }
+        }
+        return breaks;
+    }
+
+    /**
+     * Method for scanning name of an anchor or alias, starting with
+     * indicator character.
+     */
+    private String _scanAnchorName() throws IOException
+    {
+        ++_inputPtr;
+        int len = 0;
+        int c;
+        while (true) {
+            c = _peek(len);
+            if (((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z'))
+                    || ((c >= '0') && (c <= '9')) || (c == '-') || (c == '_')) {
+                ++len;
+            } else {
+                break;
+            }
+        }
+        if ((len == 0)
+                || !(_isBlank(c) || (c == ',') || (c == ']') || (c == '}'))) {
+            throw UNSUPPORTED;
+        }
+        String name = new String(_buffer, _inputPtr, len);
+        _inputPtr += len;
+        return name;
+    }
+
+    /*
+    /**********************************************************************
+    /* Whitespace handling
+    /**********************************************************************
+     */
+
+    /**
+     * Method for skipping spaces, comments and line breaks.
+     *
+     * @return Next character, or -1 for end of input
+     */
+    private int _skipWhitespace() throws IOException
+    {
+        while (true) {
+            int c = _peek(0);
+            switch (c) {
+            case ' ':
+                ++_inputPtr;
+                continue;
+            case '\r':
+            case '\n':
+                _skipLineBreak();
+                continue;
+            case '#':
+                _skipComment();
+                continue;
+            case '\t':
+                throw UNSUPPORTED;
+            }
+            return c;
+        }
+    }
+
+    /**
+     * Method for skipping spaces (but not line breaks) on the current line.
+     *
+     * @return Next character, or -1 for end of input
+     */
+    private int _skipSpaces() throws IOException
+    {
+        int c;
+        while ((c = _peek(0)) == ' ') {
+            ++_inputPtr;
+        }
+        if (c == '\t') {
+            throw UNSUPPORTED;
+        }
+        return c;
+    }
+
+    private void _skipComment() throws IOException
+    {
+        int c;
+        while (((c = _peek(0)) >= 0) && (c != '\r') && (c != '\n')) {
+            ++_inputPtr;
+        }
+    }
+
+    /**
+     * Method for skipping the rest of the current line, which may only
+     * contain spaces and a comment, and the line break.
+     */
+    private void _finishLine() throws IOException
+    {
+        int c = _skipSpaces();
+        if (c == '#') {
+            _skipComment();
+            c = _peek(0);
+        }
+        if ((c == '\r') || (c == '\n')) {
+            _skipLineBreak();
+        } else if (c >= 0) {
+            throw UNSUPPORTED;
+        }
+    }
+
+    private void _skipLineBreak() throws IOException
+    {
+        if ((_buffer[_inputPtr++] == '\r') && (_peek(0) == '\n')) {
+            ++_inputPtr;
+        }
+        ++_line;
+        _lineStart = _inputPtr;
+    }
+
+    /**
+     * Method for checking whether a ':' (possibly preceded by spaces) that
+     * indicates a mapping value follows.
+     */
+    private boolean _isKeyIndicator() throws IOException {
+        return (_skipSpaces() == ':') && _isBlank(_peek(1));
+    }
+
+    private boolean _isDocMarker(int c) throws IOException {
+        return (_peek(1) == c) && (_peek(2) == c) && _isBlank(_peek(3));
+    }
+
+    private static boolean _isBlank(int c) {
+        return (c == ' ') || (c == '\n') || (c == '\r') || (c == '\t') || (c < 0);
+    }
+
+    /*
+    /**********************************************************************
+    /* Input buffering
+    /**********************************************************************
+     */
+
+    /**
+     * @return Character at given offset from the current position, or -1
+     *    if end of input reached before it
+     */
+    private int _peek(int offset) throws IOException
+    {
+        int ix = _inputPtr + offset;
+        if (ix < _inputEnd) {
+            return _buffer[ix];
+        }
+        while ((_inputPtr + offset) >= _inputEnd) {
+            if (!_loadMore()) {
+                return -1;
+            }
+        }
+        return _buffer[_inputPtr + offset];
+    }
+
+    private boolean _loadMore() throws IOException
+    {
+        if (_endOfInput) {
+            return false;
+        }
+        // Content of current document must be retained; anything before may be dropped
+        // (but in non-blocking mode, not anything the current step may be restored to)
+        final int shift = _nonBlocking ? _markDocStart : _docStart;
+        if (shift > 0) {
+            System.arraycopy(_buffer, shift, _buffer, 0, _inputEnd - shift);
+            _inputPtr -= shift;
+            _inputEnd -= shift;
+            _lineStart -= shift;
+            _docStart -= shift;
+            if (_nonBlocking) {
+                _markPtr -= shift;
+                _markLineStart -= shift;
+                _markDocStart = 0;
+            }
+        }
+        // note: room for at least 2 chars (surrogate pair) needed when decoding
+        if (_inputEnd >= (_buffer.length - 1)) {
+            // rather than retaining all of a big document, let SnakeYAML stream it
+            if (!_nonBlocking && (_buffer.length >= MAX_BUFFER_SIZE)) {
+                throw UNSUPPORTED;
+            }
+            _buffer = Arrays.copyOf(_buffer, _buffer.length << 1);
+        }
+        int count;
+        if (_byteEncoding != null) {
+            count = _decodeBytes();
+        } else {
+            do {
+                count = _reader.read(_buffer, _inputEnd, _buffer.length - _inputEnd);
+            } while (count == 0);
+        }
+        if (count < 0) {
+            _endOfInput = true;
+            return false;
+        }
+        final int start = _inputEnd;
+        _inputEnd += count;
+        for (int i = start; i < _inputEnd; ++i) {
+            char c = _buffer[i];
+            if (c < 0x20) {
+                if ((c != '\n') && (c != '\r') && (c != '\t')) {
+                    _unsupportedInput = true;
+                }
+            } else if (c >= 0x7F) {
+                if ((c <= 0x9F) || (c == 0x2028) || (c == 0x2029)
+                        || (c == 0xFEFF) || (c >= 0xFFFE)) {
+                    _unsupportedInput = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Method for decoding more bytes into {@link #_buffer}, reading more
+     * from {@link #_byteStream} as necessary.
+     *
+     * @return Number of characters decoded; -1 for end of input, or if
+     *    malformed or truncated content was found (in which case
+     *    {@link #_unsupportedInput} is also set)
+     */
+    private int _decodeBytes() throws IOException
+    {
+        if (!_bomChecked && _nonBlocking) {
+            _skipBOM();
+        }
+        // leave room for a surrogate pair
+        final int outEnd = _buffer.length - 1;
+        while (true) {
+            if (_unsupportedInput) {
+                return -1;
+            }
+            int count;
+            switch (_byteEncoding) {
+            case UTF8:
+                count = _decodeUTF8(outEnd);
+                break;
+            case UTF16_BE:
+            case UTF16_LE:
+                count = _decodeUTF16(outEnd, _byteEncoding.isBigEndian());
+                break;
+            default:
+                count = _decodeUTF32(outEnd, _byteEncoding.isBigEndian());
+                break;
+            }
+            if (count > 0) {
+                return count;
+            }
+            if (!_unsupportedInput && !_loadBytes()) {
+                if (_bytePtr < _byteEnd) { // partial character at end
+                    _unsupportedInput = true;
+                }
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Method for reading more bytes from {@link #_byteStream}, after moving
+     * any remaining (partial character) bytes to the beginning of buffer.
+     */
+    private boolean _loadBytes() throws IOException
+    {
+        if (_byteStream == null) {
+            if (_nonBlocking && !_inputComplete) {
+                throw NEED_MORE_INPUT;
+            }
+            return false;
+        }
+        final int remaining = _byteEnd - _bytePtr;
+        if ((remaining > 0) && (_bytePtr > 0)) {
+            System.arraycopy(_byteBuffer, _bytePtr, _byteBuffer, 0, remaining);
+        }
+        _bytePtr = 0;
+        _byteEnd = remaining;
+        int count;
+        do {
+            count = _byteStream.read(_byteBuffer, _byteEnd, _byteBuffer.length - _byteEnd);
+        } while (count == 0);
+        if (count < 0) {
+            return false;
+        }
+        _byteEnd += count;
+        return true;
+    }
+
+    /**
+     * Method for skipping UTF-8 BOM at the beginning of fed content, if any:
+     * for blocking input, it is skipped before scanner is constructed.
+     */
+    private void _skipBOM()
+    {
+        final int avail = _byteEnd - _bytePtr;
+        final byte[] buf = _byteBuffer;
+        final int ptr = _bytePtr;
+        if (avail < 3) {
+            if (!_inputComplete && (avail == 0
+                    || (buf[ptr] == (byte) 0xEF && (avail == 1 || buf[ptr+1] == (byte) 0xBB)))) {
+                throw NEED_MORE_INPUT;
+            }
+        } else if (buf[ptr] == (byte) 0xEF && buf[ptr+1] == (byte) 0xBB && buf[ptr+2] == (byte) 0xBF) {
+            _bytePtr += 3;
+        }
+        _bomChecked = true;
+    }
+
+    private int _decodeUTF8(final int outEnd)
+    {
+        final byte[] bytes = _byteBuffer;
+        final char[] cbuf = _buffer;
+        final int end = _byteEnd;
+        int ptr = _bytePtr;
+        int outPtr = _inputEnd;
+
+        main_loop:
+        while ((outPtr < outEnd) && (ptr < end)) {
+            int c = bytes[ptr];
+            if (c >= 0) { // ASCII, the common case
+                cbuf[outPtr++] = (char) c;
+                ++ptr;
+                continue;
+            }
+            int needed;
+            int min;
+            if ((c & 0xE0) == 0xC0) {
+                c &= 0x1F;
+                needed = 1;
+                min = 0x80;
+            } else if ((c & 0xF0) == 0xE0) {
+                c &= 0x0F;
+                needed = 2;
+                min = 0x800;
+            } else if ((c & 0xF8) == 0xF0) {
+                c &= 0x07;
+                needed = 3;
+                min = 0x10000;
+            } else {
+                _unsupportedInput = true;
+                break;
+            }
+            if ((ptr + needed) >= end) { // need more bytes
+                break;
+            }
+            for (int i = 1; i <= needed; ++i) {
+                int d = bytes[ptr+i];
+                if ((d & 0xC0) != 0x80) {
+                    _unsupportedInput = true;
+                    break main_loop;
+                }
+                c = (c << 6) | (d & 0x3F);
+            }
+            // no overlong sequences, surrogates or values outside Unicode range
+            if ((c < min) || ((c >= 0xD800) && (c <= 0xDFFF)) || (c > 0x10FFFF)) {
+                _unsupportedInput = true;
+                break;
+            }
+            ptr += needed+1;
+            if (c >= 0x10000) {
+                c -= 0x10000;
+                cbuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                cbuf[outPtr++] = (char) (0xDC00 | (c & 0x3FF));
+            } else {
+                cbuf[outPtr++] = (char) c;
+            }
+        }
+        _bytePtr = ptr;
+        return outPtr - _inputEnd;
+    }
+
+    private int _decodeUTF16(final int outEnd, boolean bigEndian)
+    {
+        final byte[] bytes = _byteBuffer;
+        final char[] cbuf = _buffer;
+        final int hi = bigEndian ? 0 : 1;
+        final int lo = 1 - hi;
+        int ptr = _bytePtr;
+        int outPtr = _inputEnd;
+        while ((outPtr < outEnd) && ((ptr + 1) < _byteEnd)) {
+            char c = (char) (((bytes[ptr+hi] & 0xFF) << 8) | (bytes[ptr+lo] & 0xFF));
+            cbuf[outPtr++] = c;
+            ptr += 2;
+            // surrogate pairs are not split, to keep rest of bytes decodable
+            if ((c >= 0xD800) && (c <= 0xDBFF)) {
+                if ((ptr + 1) >= _byteEnd) {
+                    --outPtr;
+                    ptr -= 2;
+                    break;
+                }
+                cbuf[outPtr++] = (char) (((bytes[ptr+hi] & 0xFF) << 8) | (bytes[ptr+lo] & 0xFF));
+                ptr += 2;
+            }
+        }
+        _bytePtr = ptr;
+        return outPtr - _inputEnd;
+    }
+
+    private int _decodeUTF32(final int outEnd, boolean bigEndian)
+    {
+        final byte[] bytes = _byteBuffer;
+        final char[] cbuf = _buffer;
+        int ptr = _bytePtr;
+        int outPtr = _inputEnd;
+        while ((outPtr < outEnd) && ((ptr + 3) < _byteEnd)) {
+            int c;
+            if (bigEndian) {
+                c = (bytes[ptr] << 24) | ((bytes[ptr+1] & 0xFF) << 16)
+                        | ((bytes[ptr+2] & 0xFF) << 8) | (bytes[ptr+3] & 0xFF);
+            } else {
+                c = (bytes[ptr+3] << 24) | ((bytes[ptr+2] & 0xFF) << 16)
+                        | ((bytes[ptr+1] & 0xFF) << 8) | (bytes[ptr] & 0xFF);
+            }
+            if ((c < 0) || (c > 0x10FFFF)) {
+                _unsupportedInput = true;
+                break;
+            }
+            ptr += 4;
+            if (c >= 0x10000) {
+                c -= 0x10000;
+                cbuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                cbuf[outPtr++] = (char) (0xDC00 | (c & 0x3FF));
+            } else {
+                cbuf[outPtr++] = (char) c;
+            }
+        }
+        _bytePtr = ptr;
+        return outPtr - _inputEnd;
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods, other
+    /**********************************************************************
+     */
+
+    private void _push(int type, int indent, int state)
+    {
+        if (_depth == _levelTypes.length) {
+            int newSize = _depth << 1;
+            _levelTypes = Arrays.copyOf(_levelTypes, newSize);
+            _levelIndents = Arrays.copyOf(_levelIndents, newSize);
+            _levelStates = Arrays.copyOf(_levelStates, newSize);
+        }
+        _levelTypes[_depth] = type;
+        _levelIndents[_depth] = indent;
+        _levelStates[_depth] = state;
+        ++_depth;
+    }
+
+    private boolean _needsLookahead(int ix) {
+        switch (_eventTypes[ix]) {
+        case EVT_MAP_END:
+        case EVT_SEQ_END:
+            return true;
+        case EVT_SCALAR: // only empty values are plain and empty
+            return _eventPlain[ix] && _eventTexts[ix].isEmpty();
+        }
+        return false;
+    }
+
+    private String _takeAnchor()
+    {
+        String anchor = _anchor;
+        _anchor = null;
+        return anchor;
+    }
+
+    private void _markValueStart() {
+        _valueLine = _line;
+        _valueColumn = _inputPtr - _lineStart;
+    }
+
+    private void _addNullScalar() {
+        _addNullScalar(_line, _inputPtr - _lineStart);
+    }
+
+    private void _addNullScalar(int line, int col) {
+        _addEvent(EVT_SCALAR, "", _takeAnchor(), true, line, col);
+    }
+
+    private void _addEvent(int type, String text, String anchor, boolean plain,
+            int line, int col)
+    {
+        final int ix = _eventCount;
+        if (ix == _eventTypes.length) {
+            int newSize = ix << 1;
+            _eventTypes = Arrays.copyOf(_eventTypes, newSize);
+            _eventTexts = Arrays.copyOf(_eventTexts, newSize);
+            _eventAnchors = Arrays.copyOf(_eventAnchors, newSize);
+            _eventPlain = Arrays.copyOf(_eventPlain, newSize);
+            _eventLines = Arrays.copyOf(_eventLines, newSize);
+            _eventColumns = Arrays.copyOf(_eventColumns, newSize);
+        }
+        // as with SnakeYAML, anchored node starts at its anchor
+        if (anchor != null) {
+            line = _anchorLine;
+            col = _anchorColumn;
+        }
+        _eventTypes[ix] = type;
+        _eventTexts[ix] = text;
+        _eventAnchors[ix] = anchor;
+        _eventPlain[ix] = plain;
+        _eventLines[ix] = line;
+        _eventColumns[ix] = col;
+        _eventCount = ix+1;
+    }
+
+    /**
+     * {@link Reader} that first returns given number of line feeds, then
+     * buffered content, and finally rest of the underlying input.
+     */
+    private final static class ReplayReader extends Reader
+    {
+        private int _lineFeeds;
+        private final char[] _buffer;
+        private int _ptr;
+        private final int _end;
+        private final Reader _rest;
+
+        ReplayReader(int lineFeeds, char[] buffer, int start, int end, Reader rest) {
+            _lineFeeds = lineFeeds;
+            _buffer = buffer;
+            _ptr = start;
+            _end = end;
+            _rest = rest;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException
+        {
+            if (len == 0) {
+                return 0;
+            }
+            // Fill as much as possible: SnakeYAML does not handle short reads
+            // well when looking ahead
+            int count = 0;
+            if (_lineFeeds > 0) {
+                count = Math.min(len, _lineFeeds);
+                Arrays.fill(cbuf, off, off+count, '\n');
+                _lineFeeds -= count;
+            }
+            if ((count < len) && (_ptr < _end)) {
+                int amount = Math.min(len - count, _end - _ptr);
+                System.arraycopy(_buffer, _ptr, cbuf, off+count, amount);
+                _ptr += amount;
+                count += amount;
+            }
+            if ((count < len) && (_rest != null)) {
+                int amount = _rest.read(cbuf, off+count, len-count);
+                if (amount > 0) {
+                    count += amount;
+                }
+            }
+            return (count == 0) ? -1 : count;
+        }
+
+        // underlying reader is closed by parser
+        @Override
+        public void close() { }
+    }
+}
@@ -0,0 +1,68 @@
+package com.fasterxml.jackson.dataformat.yaml;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Tests to verify that with {@link YAMLParser.Feature#USE_NATIVE_SCANNER}
+ * only a bounded amount of a big document is retained: SnakeYAML takes over
+ * once retained content would exceed the limit.
+ */
+public class NativeScannerLimitTest extends ModuleTestBase
+{
+    private final YAMLMapper MAPPER = newObjectMapper();
+
+    private final YAMLMapper NATIVE_MAPPER = YAMLMapper.builder()
+            .enable(YAMLParser.Feature.USE_NATIVE_SCANNER)
+            .build();
+
+    public void testSmallDocumentNotHandedOver() throws Exception
+    {
+        YAMLParser p = (YAMLParser) NATIVE_MAPPER.createParser(_document(100));
+        while (p.nextToken() != JsonToken.END_OBJECT) { }
+        assertNotNull(p._scanner);
+        p.close();
+    }
+
+    public void testBigDocumentHandedOver() throws Exception
+    {
+        final int entries = 20000;
+        final String doc = _document(entries);
+        assertTrue(doc.length() > 2 * YAMLScanner.MAX_BUFFER_SIZE);
+
+        final byte[] bytes = doc.getBytes("UTF-8");
+        YAMLParser[] parsers = new YAMLParser[] {
+                (YAMLParser) NATIVE_MAPPER.createParser(new StringReader(doc)),
+                (YAMLParser) NATIVE_MAPPER.createParser(bytes),
+                (YAMLParser) NATIVE_MAPPER.createParser(new ByteArrayInputStream(bytes))
+        };
+        for (YAMLParser p : parsers) {
+            YAMLParser exp = (YAMLParser) MAPPER.createParser(doc);
+            int count = 0;
+            JsonToken t;
+            while ((t = exp.nextToken()) != null) {
+                assertToken(t, p.nextToken());
+                assertEquals(exp.getText(), p.getText());
+                assertEquals(exp.getTokenLocation().getLineNr(), p.getTokenLocation().getLineNr());
+                // not all of the content can have been read by scanner
+                if (++count == entries) {
+                    assertNull(p._scanner);
+                }
+            }
+            assertNull(p.nextToken());
+            exp.close();
+            p.close();
+        }
+    }
+
+    private String _document(int entries)
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < entries; ++i) {
+            sb.append("key").append(i).append(": [a, 'b c', ").append(i).append("]\n");
+        }
+        return sb.toString();
+    }
+}
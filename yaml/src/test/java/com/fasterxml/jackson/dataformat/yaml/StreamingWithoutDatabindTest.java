@@ -0,0 +1,79 @@
+package com.fasterxml.jackson.dataformat.yaml;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+
+/**
+ * Tests to verify that streaming parsers can be used without databind
+ * (which is only a "provided" dependency).
+ */
+public class StreamingWithoutDatabindTest extends ModuleTestBase
+{
+    private final static String DOC = "name: value\nlist: [1, 2.5, true]\n";
+
+    public void testDirectByteBuffer() throws Exception
+    {
+        YAMLFactory f = new YAMLFactory();
+        final byte[] doc = ("xx"+DOC).getBytes("UTF-8");
+        ByteBuffer direct = ByteBuffer.allocateDirect(doc.length);
+        direct.put(doc);
+        direct.position(2);
+        JsonParser p = f.createParser(ObjectReadContext.empty(), direct);
+        assertEquals(_tokens(f.createParser(ObjectReadContext.empty(), DOC)), _tokens(p));
+        assertEquals(2, direct.position());
+    }
+
+    public void testFactoryWithoutDatabind() throws Exception
+    {
+        // only main classes of this module, core and SnakeYAML visible
+        ClassLoader loader = new URLClassLoader(new URL[] {
+                _location(YAMLFactory.class),
+                _location(JsonParser.class),
+                _location(org.yaml.snakeyaml.Yaml.class)
+        }, null);
+        try {
+            loader.loadClass("com.fasterxml.jackson.databind.ObjectMapper");
+            fail("Should not have databind");
+        } catch (ClassNotFoundException e) { }
+
+        Class<?> factoryClass = Class.forName(YAMLFactory.class.getName(), true, loader);
+        Class<?> ctxtClass = loader.loadClass(ObjectReadContext.class.getName());
+        Object factory = factoryClass.getConstructor().newInstance();
+        Object ctxt = ctxtClass.getMethod("empty").invoke(null);
+        ByteBuffer direct = ByteBuffer.allocateDirect(DOC.length());
+        direct.put(DOC.getBytes("UTF-8"));
+        direct.flip();
+        Object p = factoryClass.getMethod("createParser", ctxtClass, ByteBuffer.class)
+                .invoke(factory, ctxt, direct);
+
+        List<String> tokens = new ArrayList<>();
+        Object t;
+        while ((t = p.getClass().getMethod("nextToken").invoke(p)) != null) {
+            tokens.add(t+":"+p.getClass().getMethod("getText").invoke(p));
+        }
+        YAMLFactory f = new YAMLFactory();
+        assertEquals(_tokens(f.createParser(ObjectReadContext.empty(), DOC)), tokens);
+    }
+
+    private URL _location(Class<?> cls) {
+        return cls.getProtectionDomain().getCodeSource().getLocation();
+    }
+
+    private List<String> _tokens(JsonParser p) throws Exception
+    {
+        List<String> result = new ArrayList<>();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            result.add(t+":"+p.getText());
+        }
+        p.close();
+        return result;
+    }
+}
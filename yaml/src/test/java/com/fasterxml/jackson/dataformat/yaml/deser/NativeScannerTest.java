@@ -0,0 +1,230 @@
+package com.fasterxml.jackson.dataformat.yaml.deser;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.yaml.ModuleTestBase;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLParser;
+
+/**
+ * Tests to verify that {@link YAMLParser.Feature#USE_NATIVE_SCANNER}
+ * produces same tokens as the default SnakeYAML-based decoding, both for
+ * content scanner handles itself and for content it hands over to SnakeYAML.
+ */
+public class NativeScannerTest extends ModuleTestBase
+{
+    private final YAMLMapper MAPPER = newObjectMapper();
+
+    private final YAMLMapper NATIVE_MAPPER = YAMLMapper.builder()
+            .enable(YAMLParser.Feature.USE_NATIVE_SCANNER)
+            .build();
+
+    public void testBlockCollections() throws Exception
+    {
+        _verifySame("name: app\n"
+                +"replicas: 3\n"
+                +"enabled: true\n"
+                +"ratio: 0.25\n"
+                +"missing:\n"
+                +"labels:\n"
+                +"  tier: backend # comment\n"
+                +"  'quoted key': \"a\\tb\"\n"
+                +"ports:\n"
+                +"- 8080\n"
+                +"- name: http\n"
+                +"  port: 80\n"
+                +"-\n"
+                +"after: 'it''s'\n");
+        _verifySame("- - a\n  - b\n- - c\n- [1, 2]\n");
+    }
+
+    public void testFlowCollections() throws Exception
+    {
+        _verifySame("{a: 1, b: [x, {c: d}], e: , f: \"g\"}\n");
+        _verifySame("list: [a,\n  b, c]\nmap: {x: 1,\n  y: 2}\nempty: []\n");
+    }
+
+    public void testLiteralScalars() throws Exception
+    {
+        _verifySame("clip: |\n  line1\n  line2\n\n"
+                +"strip: |-\n   text\n"
+                +"keep: |+\n  kept\n\n\n"
+                +"last: end\n");
+    }
+
+    public void testAnchorsAndAliases() throws Exception
+    {
+        final String YAML = "base: &b\n  x: 1\n"
+                +"copy: *b\n"
+                +"seq: &s\n- &v value\n- *v\n";
+        _verifySame(YAML);
+
+        JsonParser p = NATIVE_MAPPER.createParser(YAML);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("b", p.getObjectId());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertTrue(((YAMLParser) p).isCurrentAlias());
+        assertEquals("b", p.getText());
+        p.close();
+    }
+
+    public void testMultipleDocuments() throws Exception
+    {
+        final String YAML = "---\na: 1\n---\n- b\n...\n---\nc\n";
+        _verifySame(YAML);
+
+        MappingIterator<Object> it = NATIVE_MAPPER.readerFor(Object.class)
+                .readValues(YAML);
+        assertTrue(it.hasNextValue());
+        assertEquals(1, ((Map<?,?>) it.nextValue()).get("a"));
+        assertTrue(it.hasNextValue());
+        it.nextValue();
+        assertTrue(it.hasNextValue());
+        assertEquals("c", it.nextValue());
+        assertFalse(it.hasNextValue());
+        it.close();
+    }
+
+    public void testFallbackToSnakeYAML() throws Exception
+    {
+        // tags, folded and multi-line scalars, complex keys are not handled by scanner
+        _verifySame("a: 1\nb: !!str 2\nc: 3\n");
+        _verifySame("a: [1, 2]\nb: >\n  folded\n  text\nc: 3\n");
+        _verifySame("a: multi\n  line plain\nb: 2\n");
+        _verifySame("? complex\n: value\n");
+        // and in a later document
+        _verifySame("a: 1\n---\nb: \"multi\n  line\"\n---\nc: 3\n");
+    }
+
+    public void testByteInput() throws Exception
+    {
+        final String YAML = "name: \u00e9t\u00e9\n"
+                +"list: [\u4e2d, \"\ud83d\ude00\"]\n"
+                +"next: !!str tagged\n";
+        final String[] ENCODINGS = { "UTF-8", "UTF-16BE", "UTF-16LE", "UTF-32BE", "UTF-32LE" };
+        for (String enc : ENCODINGS) {
+            for (boolean bom : new boolean[] { false, true }) {
+                byte[] doc = ((bom ? "\uFEFF" : "") + YAML).getBytes(enc);
+                for (YAMLMapper mapper : new YAMLMapper[] { MAPPER, NATIVE_MAPPER }) {
+                    Map<?,?> result = mapper.readValue(doc, Map.class);
+                    _verifyByteInput(result);
+                    result = mapper.readValue(new ByteArrayInputStream(doc), Map.class);
+                    _verifyByteInput(result);
+                }
+            }
+        }
+        // as well as contents of a ByteBuffer
+        YAMLFactory f = YAMLFactory.builder()
+                .enable(YAMLParser.Feature.USE_NATIVE_SCANNER)
+                .build();
+        byte[] doc = ("xx"+YAML).getBytes("UTF-8");
+        ByteBuffer buf = ByteBuffer.wrap(doc);
+        buf.position(2);
+        JsonParser p = f.createParser(ObjectReadContext.empty(), buf);
+        _verifyByteInput(NATIVE_MAPPER.readValue(p, Map.class));
+        assertEquals(2, buf.position());
+        ByteBuffer direct = ByteBuffer.allocateDirect(doc.length);
+        direct.put(doc);
+        direct.position(2);
+        p = f.createParser(ObjectReadContext.empty(), direct);
+        _verifyByteInput(NATIVE_MAPPER.readValue(p, Map.class));
+    }
+
+    public void testByteInputNotClosed() throws Exception
+    {
+        final String[] ENCODINGS = { "UTF-8", "UTF-16BE", "UTF-16LE", "UTF-32BE", "UTF-32LE" };
+        for (String enc : ENCODINGS) {
+            for (boolean useNative : new boolean[] { false, true }) {
+                YAMLFactory f = YAMLFactory.builder()
+                        .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)
+                        .configure(YAMLParser.Feature.USE_NATIVE_SCANNER, useNative)
+                        .build();
+                final boolean[] closed = new boolean[1];
+                InputStream in = new ByteArrayInputStream("a: 1\n".getBytes(enc)) {
+                    @Override
+                    public void close() {
+                        closed[0] = true;
+                    }
+                };
+                JsonParser p = f.createParser(ObjectReadContext.empty(), in);
+                assertToken(JsonToken.START_OBJECT, p.nextToken());
+                assertToken(JsonToken.FIELD_NAME, p.nextToken());
+                assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+                assertToken(JsonToken.END_OBJECT, p.nextToken());
+                p.close();
+                assertFalse("Stream closed for "+enc, closed[0]);
+            }
+        }
+    }
+
+    public void testLocation() throws Exception
+    {
+        JsonParser p = NATIVE_MAPPER.createParser("a:\n  b: 1\n");
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals(2, p.getTokenLocation().getLineNr());
+        assertEquals(3, p.getTokenLocation().getColumnNr());
+        p.close();
+    }
+
+    public void testInvalidContent() throws Exception
+    {
+        JsonParser p = NATIVE_MAPPER.createParser("a: 1\nb: [x, y\n");
+        try {
+            while (p.nextToken() != null) { }
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "expected ',' or ']'");
+        }
+        p.close();
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    private void _verifyByteInput(Map<?,?> result)
+    {
+        assertEquals(3, result.size());
+        assertEquals("\u00e9t\u00e9", result.get("name"));
+        assertEquals(Arrays.asList("\u4e2d", "\ud83d\ude00"), result.get("list"));
+        assertEquals("tagged", result.get("next"));
+    }
+
+    private void _verifySame(String yaml) throws Exception
+    {
+        JsonParser exp = MAPPER.createParser(yaml);
+        JsonParser act = NATIVE_MAPPER.createParser(yaml);
+        JsonToken t;
+        while ((t = exp.nextToken()) != null) {
+            assertToken(t, act.nextToken());
+            assertEquals(exp.getText(), act.getText());
+            assertEquals(exp.getObjectId(), act.getObjectId());
+            if (t.isNumeric()) {
+                assertEquals(exp.getNumberValue(), act.getNumberValue());
+            }
+        }
+        assertNull(act.nextToken());
+        exp.close();
+        act.close();
+    }
+}
@@ -0,0 +1,205 @@
+package com.fasterxml.jackson.dataformat.yaml.deser;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.ObjectReadContext;
+import com.fasterxml.jackson.dataformat.yaml.ModuleTestBase;
+import com.fasterxml.jackson.dataformat.yaml.NonBlockingYAMLParser;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+
+public class NonBlockingParserTest extends ModuleTestBase
+{
+    private final YAMLMapper MAPPER = newObjectMapper();
+
+    private final static String DOC =
+            "name: app\n"
+            +"labels:\n"
+            +"  tier: backend # comment\n"
+            +"  'quoted key': \"Café \\t 😀\"\n"
+            +"ports:\n"
+            +"- 8080\n"
+            +"- name: http\n"
+            +"  port: 80\n"
+            +"-\n"
+            +"flow: {a: [1, 2,\n"
+            +"  3], b: &x anchored}\n"
+            +"ref: *x\n"
+            +"text: |\n"
+            +"  line1\n"
+            +"  中文\n"
+            +"last: no linefeed";
+
+    public void testNotAvailableUntilTokenComplete() throws Exception
+    {
+        NonBlockingYAMLParser p = _asyncParser();
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        assertTrue(p.needMoreInput());
+        _feed(p, "key: val");
+        // plain scalar may still continue
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        assertTrue(p.needMoreInput());
+        _feed(p, "ue\nlist:\n  - [a");
+        assertFalse(p.needMoreInput());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("key", p.currentName());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("value", p.getText());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("list", p.currentName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        // indentation and flow context retained across chunks
+        _feed(p, ", b]\n  - c\nx");
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("a", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("b", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("c", p.getText());
+        // end of sequence only known once following key (and its value) is complete
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        _feed(p, ": 1\n");
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        p.endOfInput();
+        assertFalse(p.needMoreInput());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("x", p.currentName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(1, p.getIntValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testSameTokensAsBlocking() throws Exception
+    {
+        final List<String> exp = _tokens(MAPPER.createParser(DOC.getBytes("UTF-8")));
+        for (int chunk : new int[] { 1, 2, 3, 7, 100, 10000 }) {
+            assertEquals("Chunk size "+chunk, exp, _asyncTokens(DOC, chunk));
+        }
+        // including multiple documents
+        final String docs = "---\na: 1\n...\n--- [x, y]\n---\n- z\n";
+        final List<String> exp2 = _tokens(MAPPER.createParser(docs.getBytes("UTF-8")));
+        for (int chunk : new int[] { 1, 4, 100 }) {
+            assertEquals("Chunk size "+chunk, exp2, _asyncTokens(docs, chunk));
+        }
+    }
+
+    public void testUnsupportedContent() throws Exception
+    {
+        // tags and folded scalars are handled by SnakeYAML, once all content is fed
+        final String doc = "a: 1\nb: !!str 2\nc: >\n  folded\n  text\nd: [e]\n";
+        final List<String> exp = _tokens(MAPPER.createParser(doc.getBytes("UTF-8")));
+        for (int chunk : new int[] { 1, 5, 100 }) {
+            assertEquals("Chunk size "+chunk, exp, _asyncTokens(doc, chunk));
+        }
+        // as are multi-line plain scalars and single-pair mappings in flow sequences,
+        // found only after some of their tokens have been scanned
+        for (String doc2 : new String[] {
+                "key: value\n  continued\n",
+                "[k: v]\n",
+                "x: [k: v]\n",
+                "- a\n- [b, k: v]\n- c\n"
+        }) {
+            final List<String> exp2 = _tokens(MAPPER.createParser(doc2.getBytes("UTF-8")));
+            for (int chunk : new int[] { 1, 2, 3, 100 }) {
+                assertEquals("Chunk size "+chunk, exp2, _asyncTokens(doc2, chunk));
+            }
+        }
+    }
+
+    public void testByteBufferFeeding() throws Exception
+    {
+        NonBlockingYAMLParser p = _asyncParser();
+        p.feedInput(ByteBuffer.wrap("\uFEFF- a\n- b".getBytes("UTF-8")));
+        p.endOfInput();
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("a", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("b", p.getText());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertNull(p.nextToken());
+
+        try {
+            p.feedInput(new byte[1], 0, 1);
+            fail("Should not pass");
+        } catch (Exception e) {
+            verifyException(e, "Already closed");
+        }
+        p.close();
+    }
+
+    private NonBlockingYAMLParser _asyncParser() throws Exception
+    {
+        assertTrue(MAPPER.tokenStreamFactory().canParseAsync());
+        return MAPPER.tokenStreamFactory()
+                .createNonBlockingByteArrayParser(ObjectReadContext.empty());
+    }
+
+    private List<String> _asyncTokens(String doc, int chunk) throws Exception
+    {
+        final byte[] input = doc.getBytes("UTF-8");
+        NonBlockingYAMLParser p = _asyncParser();
+        List<String> result = new ArrayList<>();
+        int offset = 0;
+        JsonToken t;
+        while (true) {
+            t = p.nextToken();
+            if (t == JsonToken.NOT_AVAILABLE) {
+                if (offset < input.length) {
+                    int end = Math.min(input.length, offset + chunk);
+                    p.feedInput(input, offset, end);
+                    offset = end;
+                } else {
+                    p.endOfInput();
+                }
+                continue;
+            }
+            if (t == null) {
+                break;
+            }
+            result.add(_desc(p, t));
+        }
+        p.close();
+        return result;
+    }
+
+    private List<String> _tokens(JsonParser p) throws Exception
+    {
+        List<String> result = new ArrayList<>();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            result.add(_desc(p, t));
+        }
+        p.close();
+        return result;
+    }
+
+    private String _desc(JsonParser p, JsonToken t) throws Exception
+    {
+        switch (t) {
+        case FIELD_NAME:
+            return t+":"+p.currentName();
+        case VALUE_STRING:
+        case VALUE_NUMBER_INT:
+            return t+":"+p.getText()+"@"+p.getTokenLocation().getLineNr()
+                    +":"+p.getTokenLocation().getColumnNr();
+        default:
+            return t.toString();
+        }
+    }
+
+    private void _feed(NonBlockingYAMLParser p, String content) throws Exception {
+        byte[] b = content.getBytes("UTF-8");
+        p.feedInput(b, 0, b.length);
+    }
+}
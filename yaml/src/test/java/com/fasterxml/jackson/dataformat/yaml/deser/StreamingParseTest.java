@@ -299,6 +299,123 @@ public class StreamingParseTest extends ModuleTestBase
         p.close();
     }
 
+    // Hexadecimal, octal and binary integers, as per YAML 1.1
+    public void testIntParsingOtherRadixes() throws Exception
+    {
+        JsonParser p = MAPPER.createParser("[0x1F, -0x_ff, 017, 0b1010_1010, 0x7FFF_FFFF_FFFF, 0x1_0000_0000_0000_0000, 00, 0_, 0x]");
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(31, p.getIntValue());
+        assertEquals("0x1F", p.getText());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(-255, p.getIntValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(15, p.getIntValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(170, p.getIntValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.LONG, p.getNumberType());
+        assertEquals(0x7FFFFFFFFFFFL, p.getLongValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(JsonParser.NumberType.BIG_INTEGER, p.getNumberType());
+        assertEquals(BigInteger.ONE.shiftLeft(64), p.getBigIntegerValue());
+
+        // leading zero alone is octal, too
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(0, p.getIntValue());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(0, p.getIntValue());
+
+        // not valid hex number
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("0x", p.getText());
+
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+    }
+
+    // Values that are not valid integers but that SnakeYAML Resolver considers floats
+    public void testImplicitFloatsNotIntegers() throws Exception
+    {
+        JsonParser p = MAPPER.createParser("[08, 019, -0_9, -_5, +_1.5, ._5, _5, -_]");
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals("08", p.getText());
+        assertEquals(8.0, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(19.0, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(-9.0, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals("-_5", p.getText());
+        assertEquals(-5.0, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(1.5, p.getDoubleValue());
+
+        // but not these: no underscore in fraction without integral part, nor as
+        // the first character; and there must be a digit
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("._5", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("_5", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("-_", p.getText());
+
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+
+        // and same as with explicit tag
+        p = MAPPER.createParser("[!!float 08, !!float -_5]");
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(8.0, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(-5.0, p.getDoubleValue());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+    }
+
+    public void testImplicitScalarTypes() throws Exception
+    {
+        JsonParser p = MAPPER.createParser(
+                "[yes, No, ON, off, tRUE, y, Null, nULL, 1e3, -.5, 1., .inf, -.Inf, .NaN, 1.2.3, '12']");
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+
+        assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+        assertToken(JsonToken.VALUE_FALSE, p.nextToken());
+        assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+        assertToken(JsonToken.VALUE_FALSE, p.nextToken());
+        // mixed case is not recognized, nor are single letters
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(1000.0, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(-0.5, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(1.0, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(Double.POSITIVE_INFINITY, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertEquals(Double.NEGATIVE_INFINITY, p.getDoubleValue());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertTrue(Double.isNaN(p.getDoubleValue()));
+        assertEquals(".NaN", p.getText());
+
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("1.2.3", p.getText());
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        assertEquals("12", p.getText());
+
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.close();
+    }
+
     // [cbor#4]: accidental recognition as double, with multiple dots
     public void testDoubleParsing() throws Exception
     {
@@ -0,0 +1,176 @@
+package com.fasterxml.jackson.dataformat.yaml.ser;
+
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.yaml.ModuleTestBase;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+
+/**
+ * Tests to verify that output of {@link YAMLGenerator.Feature#USE_NATIVE_EMITTER}
+ * matches that of the default (SnakeYAML-backed) emitter.
+ */
+public class NativeEmitterTest extends ModuleTestBase
+{
+    static class Values {
+        public String name = "Billy \"the kid\"";
+        public String empty = "";
+        public String multi = "first line\nsecond line\n";
+        public String special = "key: value # not a comment";
+        public String number = "1234";
+        public String bool = "true";
+        public int i = -42;
+        public long l = Long.MIN_VALUE;
+        public double d = 0.25;
+        public float f = -1.5f;
+        public boolean b = true;
+        public String nil = null;
+        public byte[] data = new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+        public List<String> list = Arrays.asList("a", "b c", "- d");
+        public List<Integer> emptyList = Collections.emptyList();
+        public Map<String,Object> emptyMap = Collections.emptyMap();
+        public List<List<Integer>> nested = Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3));
+    }
+
+    @JsonIdentityInfo(generator=ObjectIdGenerators.IntSequenceGenerator.class, property="@id")
+    static class Node {
+        public String name;
+        public Node next;
+
+        public Node() { }
+        public Node(String name) {
+            this.name = name;
+        }
+    }
+
+    @JsonTypeInfo(use=JsonTypeInfo.Id.NAME)
+    static class Base {
+        public int value = 3;
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    private final YAMLMapper MAPPER = newObjectMapper();
+
+    private final YAMLMapper NATIVE_MAPPER = YAMLMapper.builder()
+            .enable(YAMLGenerator.Feature.USE_NATIVE_EMITTER)
+            .build();
+
+    public void testDefaultSettings() throws Exception
+    {
+        _verifySame(MAPPER.writer(), NATIVE_MAPPER.writer(), new Values());
+    }
+
+    public void testFeatureCombinations() throws Exception
+    {
+        final YAMLGenerator.Feature[] features = new YAMLGenerator.Feature[] {
+                YAMLGenerator.Feature.MINIMIZE_QUOTES,
+                YAMLGenerator.Feature.ALWAYS_QUOTE_NUMBERS_AS_STRINGS,
+                YAMLGenerator.Feature.LITERAL_BLOCK_STYLE,
+                YAMLGenerator.Feature.INDENT_ARRAYS,
+        };
+        for (int mask = 0; mask < (1 << features.length); ++mask) {
+            ObjectWriter w = MAPPER.writer();
+            ObjectWriter nw = NATIVE_MAPPER.writer();
+            for (int i = 0; i < features.length; ++i) {
+                if ((mask & (1 << i)) != 0) {
+                    w = w.with(features[i]);
+                    nw = nw.with(features[i]);
+                }
+            }
+            _verifySame(w, nw, new Values());
+        }
+        _verifySame(MAPPER.writer().without(YAMLGenerator.Feature.WRITE_DOC_START_MARKER),
+                NATIVE_MAPPER.writer().without(YAMLGenerator.Feature.WRITE_DOC_START_MARKER),
+                new Values());
+    }
+
+    public void testSplitLines() throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40; ++i) {
+            sb.append("word").append(i).append(' ');
+        }
+        Map<String,Object> input = Collections.<String,Object>singletonMap("text", sb.toString());
+        _verifySame(MAPPER.writer(), NATIVE_MAPPER.writer(), input);
+        _verifySame(MAPPER.writer().without(YAMLGenerator.Feature.SPLIT_LINES),
+                NATIVE_MAPPER.writer().without(YAMLGenerator.Feature.SPLIT_LINES), input);
+    }
+
+    public void testNativeIds() throws Exception
+    {
+        Node first = new Node("first");
+        Node second = new Node("second");
+        first.next = second;
+        second.next = first;
+        _verifySame(MAPPER.writer(), NATIVE_MAPPER.writer(), first);
+        _verifySame(MAPPER.writer(), NATIVE_MAPPER.writer(), new Base());
+
+        // and with native ids disabled, too
+        _verifySame(MAPPER.writer().without(YAMLGenerator.Feature.USE_NATIVE_OBJECT_ID)
+                .without(YAMLGenerator.Feature.USE_NATIVE_TYPE_ID),
+                NATIVE_MAPPER.writer().without(YAMLGenerator.Feature.USE_NATIVE_OBJECT_ID)
+                .without(YAMLGenerator.Feature.USE_NATIVE_TYPE_ID),
+                first);
+    }
+
+    public void testScalarRoots() throws Exception
+    {
+        _verifySame(MAPPER.writer(), NATIVE_MAPPER.writer(), "text");
+        _verifySame(MAPPER.writer(), NATIVE_MAPPER.writer(), Integer.valueOf(17));
+        _verifySame(MAPPER.writer(), NATIVE_MAPPER.writer(), new ArrayList<Object>());
+        _verifySame(MAPPER.writer(), NATIVE_MAPPER.writer(), new LinkedHashMap<String,Object>());
+    }
+
+    public void testRoundTrip() throws Exception
+    {
+        String yaml = NATIVE_MAPPER.writeValueAsString(new Values());
+        Values result = MAPPER.readValue(yaml, Values.class);
+        assertEquals(new Values().name, result.name);
+        assertEquals(new Values().multi, result.multi);
+        assertEquals(Long.MIN_VALUE, result.l);
+        assertEquals(Arrays.asList("a", "b c", "- d"), result.list);
+
+        // and bytes, too
+        byte[] b = NATIVE_MAPPER.writeValueAsBytes(Collections.singletonMap("key", "été €"));
+        assertEquals("été €", MAPPER.readTree(b).get("key").textValue());
+    }
+
+    public void testMultipleRootValues() throws Exception
+    {
+        ObjectMapper mapper = NATIVE_MAPPER;
+        try (JsonGenerator g = mapper.createGenerator(new java.io.StringWriter())) {
+            g.writeNumber(1);
+            try {
+                g.writeNumber(2);
+                fail("Should not pass");
+            } catch (Exception e) {
+                verifyException(e, "more than one root-level value");
+            }
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private void _verifySame(ObjectWriter w, ObjectWriter nativeW, Object value) throws Exception
+    {
+        String exp = w.writeValueAsString(value);
+        assertEquals(exp, nativeW.writeValueAsString(value));
+        assertEquals(exp, new String(nativeW.writeValueAsBytes(value), "UTF-8"));
+    }
+}